@@ -66,7 +66,6 @@ import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
 import jparsec.util.Configuration;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 import jparsec.util.Logger;
 import jparsec.util.Logger.LEVEL;
@@ -246,23 +245,109 @@ public class Ephem
 			ObserverElement obs, // Observer Element
 			EphemerisElement eph_in, // Ephemeris Element
 			boolean full_ephem, boolean preferPrecision) throws JPARSECException
+	{
+		if (!eph_in.preferPrecisionInEphemerides) preferPrecision = false;
+		EphemerisElement eph = Ephem.resolveAlgorithm(time, obs, eph_in, preferPrecision);
+
+		// Obtain ephemeris
+		EphemElement ephem_elem = Ephem.getEphemerisResult(time, obs, eph, full_ephem, preferPrecision);
+
+		// Obtain rise/set/transit times. Note we use here the default 34
+		// arcminute value with no correction for depresion of the horizon.
+		if (eph.isTopocentric && full_ephem && eph.algorithm != EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE &&
+				eph.algorithm != EphemerisElement.ALGORITHM.STAR) {
+			double[] gcrs = EphemerisContext.getCurrent().gcrs;
+			ephem_elem = RiseSetTransit.obtainCurrentOrNextRiseSetTransit(time, obs, eph, ephem_elem,
+					RiseSetTransit.TWILIGHT.HORIZON_ASTRONOMICAL_34arcmin);
+			EphemerisContext.getCurrent().gcrs = gcrs;
+		}
+
+		return ephem_elem;
+	}
+
+	/**
+	 * Calculate planetary positions, providing full data. This method applies
+	 * the planetary algorithm selected in the ephemeris object, without
+	 * considering the value of {@linkplain EphemerisElement#preferPrecisionInEphemerides}. Full
+	 * data includes rise, set, and transit times, referred to the current day or
+	 * the next events in time (if the object is actually below the horizon).
+	 *
+	 * Natural satellite ephemeris are calculated using the best possible method for the mother planet,
+	 * with maximum possible precision. JPL DE405 when available (external files supported), and Series96
+	 * or Moshier when JPL is not available. The theory used for the satellite will be a specific one
+	 * for the satellites around the planet (L1, TASS, GUST86, ...) or JPL elliptic elements in case
+	 * precise ephemeris is not requested or the satellite position can only be calculated in this way.
+	 *
+	 * Using this method for planets could launch exceptions if the required algorithm is not available
+	 * in the classpath or it requires external files that cannot be found. For natural satellites no problem
+	 * will appear, but the algorithm used for the position of the mother planet will give preference to
+	 * JPL DE406/405 or Series96, using Moshier only if they are unavailable.
+	 *
+	 * @param time Time object containing the date.
+	 * @param obs Observer object containing the observer position.
+	 * @param eph Ephemeris object defining the ephemeris properties.
+	 * @param full_ephem True to obtain also instants of rise, set, transit. Refraction
+	 * at horizon is supposed to be 34', and the angular radius of the object in taken
+	 * into account.
+	 * @return Ephem object containing full ephemeris data.
+	 * @throws JPARSECException Thrown if the calculation fails.
+	 */
+	public static EphemElement getEphemeris(TimeElement time, // Time Element
+			ObserverElement obs, // Observer Element
+			EphemerisElement eph, // Ephemeris Element
+			boolean full_ephem) throws JPARSECException
+
+	{
+		// Check Ephemeris object
+		if (!EphemerisElement.checkEphemeris(eph))
+			throw new JPARSECException("invalid ephemeris object.");
+
+		// Obtain ephemeris
+		EphemElement ephem_elem = Ephem.getEphemerisResult(time, obs, eph, full_ephem, true);
+
+		// Obtain rise/set/transit times. Note we use here the default 34
+		// arcminute value with no correction for depresion of the horizon.
+		if (eph.isTopocentric && full_ephem && eph.algorithm != EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE &&
+				eph.algorithm != EphemerisElement.ALGORITHM.STAR) {
+			double[] gcrs = EphemerisContext.getCurrent().gcrs;
+			ephem_elem = RiseSetTransit.obtainCurrentRiseSetTransit(time, obs, eph, ephem_elem,
+					RiseSetTransit.TWILIGHT.HORIZON_ASTRONOMICAL_34arcmin);
+			EphemerisContext.getCurrent().gcrs = gcrs;
+		}
+
+		return ephem_elem;
+	}
+
+	/**
+	 * Selects the algorithm, reduction method, and frame to be used for the given
+	 * body and date, as explained in
+	 * {@linkplain #getEphemeris(TimeElement, ObserverElement, EphemerisElement, boolean, boolean)},
+	 * and checks the resulting ephemeris object.
+	 * @param time Time object.
+	 * @param obs Observer object.
+	 * @param eph_in Input ephemeris object, not modified.
+	 * @param preferPrecision True to prefer precision.
+	 * @return A copy of the input ephemeris object with the algorithm to use.
+	 * @throws JPARSECException If the ephemeris object is invalid.
+	 */
+	private static EphemerisElement resolveAlgorithm(TimeElement time, ObserverElement obs,
+			EphemerisElement eph_in, boolean preferPrecision) throws JPARSECException
 	{
 		EphemerisElement eph = (EphemerisElement) eph_in.clone();
 		boolean isPlanet = eph.targetBody.isPlanet() || eph.targetBody == TARGET.Pluto || eph.targetBody == TARGET.Moon;
 		if (eph.algorithm == EphemerisElement.ALGORITHM.NATURAL_SATELLITE || eph.algorithm == EphemerisElement.ALGORITHM.ORBIT ||
 				eph.algorithm == EphemerisElement.ALGORITHM.PROBE || eph.algorithm == EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE ||
 				eph.algorithm == EphemerisElement.ALGORITHM.STAR) isPlanet = false;
-		if (!eph.preferPrecisionInEphemerides) preferPrecision = false;
 		if (isPlanet) {
 			if (preferPrecision) {
 				double jd = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 				JPLEphemeris jpl = null;
 				try {
-					jpl = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE406, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+					jpl = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE406, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 					if (!jpl.isAvailable(jd)) throw new Exception("Not available.");
 				} catch (Exception exc) {
 					try {
-						jpl = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE405, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+						jpl = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE405, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 					} catch (Exception exc2) {}
 				}
 				//if (jd >= 2414992.5+0.5 && jd <= 2488080.5-0.5 && jpl.isAvailable(jd))	{ // offset 0.5 because light-time corrections could give jd out of range
@@ -302,73 +387,156 @@ public class Ephem
 			throw new JPARSECException("invalid ephemeris object.");
 		}
 
-		// Obtain ephemeris
-		EphemElement ephem_elem = Ephem.getEphemerisResult(time, obs, eph, full_ephem, preferPrecision);
+		return eph;
+	}
 
-		// Obtain rise/set/transit times. Note we use here the default 34
-		// arcminute value with no correction for depresion of the horizon.
-		if (eph.isTopocentric && full_ephem && eph.algorithm != EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE &&
-				eph.algorithm != EphemerisElement.ALGORITHM.STAR) {
-			Object gcrs = DataBase.getData("GCRS", true);
-			ephem_elem = RiseSetTransit.obtainCurrentOrNextRiseSetTransit(time, obs, eph, ephem_elem,
-					RiseSetTransit.TWILIGHT.HORIZON_ASTRONOMICAL_34arcmin);
-			DataBase.addData("GCRS", gcrs, true);
+	/**
+	 * Checks if {@linkplain #resolveAlgorithm(TimeElement, ObserverElement, EphemerisElement, boolean)}
+	 * selects the same algorithm for all dates between two given ones. This is false
+	 * when any of the dates used to select it (the limits of Series96, of the inner
+	 * planets with Moshier, and of each JPL ephemerides file) falls within the interval.
+	 * @param time0 Time object for the initial date.
+	 * @param time1 Time object for the final date.
+	 * @param obs Observer object.
+	 * @param eph Input ephemeris object.
+	 * @param preferPrecision True to prefer precision.
+	 * @return True if the algorithm is the same for the whole interval.
+	 * @throws JPARSECException If the dates are invalid.
+	 */
+	private static boolean isAlgorithmUniform(TimeElement time0, TimeElement time1, ObserverElement obs,
+			EphemerisElement eph, boolean preferPrecision) throws JPARSECException
+	{
+		boolean isPlanet = eph.targetBody.isPlanet() || eph.targetBody == TARGET.Pluto || eph.targetBody == TARGET.Moon;
+		if (eph.algorithm == EphemerisElement.ALGORITHM.NATURAL_SATELLITE || eph.algorithm == EphemerisElement.ALGORITHM.ORBIT ||
+				eph.algorithm == EphemerisElement.ALGORITHM.PROBE || eph.algorithm == EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE ||
+				eph.algorithm == EphemerisElement.ALGORITHM.STAR) isPlanet = false;
+		if (!isPlanet || !preferPrecision) return true;
+
+		double jd0 = TimeScale.getJD(time0, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		double jd1 = TimeScale.getJD(time1, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		if (jd1 < jd0) {
+			double tmp = jd0;
+			jd0 = jd1;
+			jd1 = tmp;
 		}
-
-		return ephem_elem;
+		double limits[] = new double[] {1228335.5, 2415020.5 + 0.5, 2488092.5 - 0.5};
+		for (int i=0; i<limits.length; i++)
+		{
+			if (limits[i] >= jd0 && limits[i] <= jd1) return false;
+		}
+		ALGORITHM jplVersions[] = new ALGORITHM[] {ALGORITHM.JPL_DE406, ALGORITHM.JPL_DE405};
+		for (int i=0; i<jplVersions.length; i++)
+		{
+			try {
+				JPLEphemeris jpl = JPLEphemeris.getInstance(jplVersions[i], Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+				if (!jpl.isAvailabilityUniform(jd0, jd1)) return false;
+			} catch (Exception exc) {}
+		}
+		return true;
 	}
 
 	/**
-	 * Calculate planetary positions, providing full data. This method applies
-	 * the planetary algorithm selected in the ephemeris object, without
-	 * considering the value of {@linkplain EphemerisElement#preferPrecisionInEphemerides}. Full
-	 * data includes rise, set, and transit times, referred to the current day or
-	 * the next events in time (if the object is actually below the horizon).
-	 *
-	 * Natural satellite ephemeris are calculated using the best possible method for the mother planet,
-	 * with maximum possible precision. JPL DE405 when available (external files supported), and Series96
-	 * or Moshier when JPL is not available. The theory used for the satellite will be a specific one
-	 * for the satellites around the planet (L1, TASS, GUST86, ...) or JPL elliptic elements in case
-	 * precise ephemeris is not requested or the satellite position can only be calculated in this way.
+	 * Calculate ephemerides for a series of equally spaced instants. The algorithm
+	 * is selected as in {@linkplain #getEphemeris(TimeElement, ObserverElement, EphemerisElement, boolean, boolean)},
+	 * only once for the whole series when none of the dates that change the selection
+	 * falls within it, and otherwise at each instant.
+	 * <P>
+	 * For planets, the Sun, and the Moon as seen from the Earth, the full calculation is
+	 * only done at the nodes of Chebyshev polynomials fitted to the apparent position,
+	 * the magnitude, and the sidereal time, and the horizontal coordinates are then
+	 * computed at each instant from the polynomials. The equatorial coordinates agree
+	 * with those of single calls to 0.2 mas, the horizontal ones to 1 mas, and the
+	 * magnitudes to 1E-5. Topocentric series for another equinox than the equinox of
+	 * date or with the equatorial coordinates corrected for refraction, series for
+	 * other bodies or observers, and series with too few instants per day for the fit
+	 * to pay off are calculated step by step. The steps share a calculation context in
+	 * which the quantities that vary slowly with time (precession-nutation matrices,
+	 * TT-UT1, TDB-TT, Earth Orientation Parameters) are reused within the interval
+	 * given by {@linkplain Configuration#EPHEMERIS_SERIES_REUSE_INTERVAL}.
+	 * Rise, set, and transit times, the constellation, and the lunar librations are
+	 * not computed.
 	 *
-	 * Using this method for planets could launch exceptions if the required algorithm is not available
-	 * in the classpath or it requires external files that cannot be found. For natural satellites no problem
-	 * will appear, but the algorithm used for the position of the mother planet will give preference to
-	 * JPL DE406/405 or Series96, using Moshier only if they are unavailable.
+	 * @param start Time object for the first instant. Its time scale is used for
+	 * the rest of instants.
+	 * @param step Time step in days.
+	 * @param n Number of instants.
+	 * @param obs Observer object.
+	 * @param eph Ephemeris object.
+	 * @param preferPrecision True to prefer precision, see
+	 * {@linkplain #getEphemeris(TimeElement, ObserverElement, EphemerisElement, boolean, boolean)}.
+	 * @return The ephemerides.
+	 * @throws JPARSECException Thrown if the calculation fails.
+	 */
+	public static EphemerisSeries getEphemerisSeries(TimeElement start, double step, int n,
+			ObserverElement obs, EphemerisElement eph, boolean preferPrecision) throws JPARSECException
+	{
+		if (n < 0) throw new JPARSECException("invalid number of instants.");
+		EphemerisSeries out = new EphemerisSeries(n);
+		if (n == 0) return out;
+
+		if (!eph.preferPrecisionInEphemerides) preferPrecision = false;
+		double jd0 = start.astroDate.jd();
+		EphemerisElement first = Ephem.resolveAlgorithm(start, obs, eph, preferPrecision);
+		boolean sameAlgorithm = n == 1 || Ephem.isAlgorithmUniform(start,
+				new TimeElement(jd0 + step * (n - 1), start.timeScale), obs, eph, preferPrecision);
+
+		EphemerisContext context = new EphemerisContext();
+		context.positionsOnly = true;
+		EphemerisContext previous = EphemerisContext.setCurrent(context);
+		try {
+			if (sameAlgorithm && EphemerisSeriesFit.isSupported(obs, first) &&
+					EphemerisSeriesFit.calculate(start, step, n, obs, first, preferPrecision, out)) return out;
+
+			context.reuseInterval = Configuration.EPHEMERIS_SERIES_REUSE_INTERVAL;
+			EphemerisElement ephi = first;
+			for (int i = 0; i < n; i++) {
+				double jd = jd0 + step * i;
+				TimeElement time = new TimeElement(jd, start.timeScale);
+				if (!sameAlgorithm && i > 0) ephi = Ephem.resolveAlgorithm(time, obs, eph, preferPrecision);
+				EphemElement ephem = Ephem.getEphemerisResult(time, obs, ephi, false, preferPrecision);
+
+				out.jd[i] = jd;
+				out.rightAscension[i] = ephem.rightAscension;
+				out.declination[i] = ephem.declination;
+				out.distance[i] = ephem.distance;
+				out.azimuth[i] = ephem.azimuth;
+				out.elevation[i] = ephem.elevation;
+				out.magnitude[i] = ephem.magnitude;
+			}
+		} finally {
+			EphemerisContext.setCurrent(previous);
+		}
+		return out;
+	}
+
+	/**
+	 * Calculate ephemeris using an explicit calculation context. The intermediate results
+	 * cached during the calculation (GCRS position, precession-nutation matrix, TT-UT1,
+	 * TDB-TT, Earth Orientation Parameters, ...) are stored in the given context instead of
+	 * the one of the current thread, so that independent calculations can share or isolate
+	 * them as desired. The context of the calling thread is restored before returning.
 	 *
 	 * @param time Time object containing the date.
 	 * @param obs Observer object containing the observer position.
 	 * @param eph Ephemeris object defining the ephemeris properties.
-	 * @param full_ephem True to obtain also instants of rise, set, transit. Refraction
-	 * at horizon is supposed to be 34', and the angular radius of the object in taken
-	 * into account.
+	 * @param full_ephem True to obtain also instants of rise, set, transit.
+	 * @param preferPrecision True to prefer precision, see
+	 * {@linkplain #getEphemeris(TimeElement, ObserverElement, EphemerisElement, boolean, boolean)}.
+	 * @param context The calculation context. Should not be used by two threads at the same
+	 * time. Null to use a fresh context for the calling thread.
 	 * @return Ephem object containing full ephemeris data.
 	 * @throws JPARSECException Thrown if the calculation fails.
 	 */
-	public static EphemElement getEphemeris(TimeElement time, // Time Element
-			ObserverElement obs, // Observer Element
-			EphemerisElement eph, // Ephemeris Element
-			boolean full_ephem) throws JPARSECException
-
+	public static EphemElement getEphemeris(TimeElement time, ObserverElement obs, EphemerisElement eph,
+			boolean full_ephem, boolean preferPrecision, EphemerisContext context) throws JPARSECException
 	{
-		// Check Ephemeris object
-		if (!EphemerisElement.checkEphemeris(eph))
-			throw new JPARSECException("invalid ephemeris object.");
-
-		// Obtain ephemeris
-		EphemElement ephem_elem = Ephem.getEphemerisResult(time, obs, eph, full_ephem, true);
-
-		// Obtain rise/set/transit times. Note we use here the default 34
-		// arcminute value with no correction for depresion of the horizon.
-		if (eph.isTopocentric && full_ephem && eph.algorithm != EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE &&
-				eph.algorithm != EphemerisElement.ALGORITHM.STAR) {
-			Object gcrs = DataBase.getData("GCRS", true);
-			ephem_elem = RiseSetTransit.obtainCurrentRiseSetTransit(time, obs, eph, ephem_elem,
-					RiseSetTransit.TWILIGHT.HORIZON_ASTRONOMICAL_34arcmin);
-			DataBase.addData("GCRS", gcrs, true);
+		if (context == null) context = new EphemerisContext();
+		EphemerisContext previous = EphemerisContext.setCurrent(context);
+		try {
+			return getEphemeris(time, obs, eph, full_ephem, preferPrecision);
+		} finally {
+			EphemerisContext.setCurrent(previous);
 		}
-
-		return ephem_elem;
 	}
 
 	static EphemElement getEphemerisResult(TimeElement time, // Time Element
@@ -394,7 +562,7 @@ public class Ephem
 			case JPL_DE430:
 				JPLEphemeris jpl = null;
 				try {
-					jpl = new JPLEphemeris(eph.algorithm, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+					jpl = JPLEphemeris.getInstance(eph.algorithm, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 				} catch (Exception exc) {
 					Logger.log(LEVEL.WARNING, "Could not use JPL ephemerides ("+eph.algorithm+"). Using Moshier instead.");
 					ephem_elem = PlanetEphem.MoshierEphemeris(time, obs, eph);
@@ -429,11 +597,11 @@ public class Ephem
 				double JD = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 				JPLEphemeris jplEph = null;
 				try {
-					jplEph = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE406, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+					jplEph = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE406, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 					if (!jplEph.isAvailable(JD)) throw new Exception("Not available.");
 				} catch (Exception exc) {
 					try {
-						jplEph = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE405, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+						jplEph = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE405, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 					} catch (Exception exc2) {}
 				}
 				if (preferPrecision && jplEph != null && jplEph.isAvailable(JD)) {
@@ -1222,13 +1390,10 @@ public class Ephem
 			for (int i=0; i<additionalBodies.length; i++) {
 				if (additionalBodies[i] == obs.getMotherBody()) continue; // Earth unsupported as deflector, since ephemerides are initially geocentric
 
-				deflector = PlanetEphem.getHeliocentricEclipticPositionJ2000(jdTDB, additionalBodies[i]);
-				if (!ecliptic) deflector = Ephem.eclipticToEquatorial(deflector, Constant.J2000, eph);
-
 				// Project light-time to the gravitating body onto the incoming rays
 				double nout = Functions.getNorm(out);
 				double u1[] = Functions.scalarProduct(out, 1.0 / nout);
-				double p[] = PlanetEphem.getGeocentricPosition(jdTDB, additionalBodies[i], 0.0, false, obs);
+				double p[] = Ephem.getDeflectorPosition(jdTDB, additionalBodies[i], true, obs);
 				if (!ecliptic) p = Ephem.eclipticToEquatorial(p, Constant.J2000, eph);
 				double dlt = Functions.scalarProduct(new double[] {p[0], p[1], p[2]}, u1) * Constant.LIGHT_TIME_DAYS_PER_AU;
 
@@ -1236,7 +1401,7 @@ public class Ephem
 				if (dlt > 0.0) tclose = jdTDB - dlt;
 				if (tlt < dlt) tclose = jdTDB - tlt;
 
-				deflector = PlanetEphem.getHeliocentricEclipticPositionJ2000(tclose, additionalBodies[i]);
+				deflector = Ephem.getDeflectorPosition(tclose, additionalBodies[i], false, obs);
 				if (!ecliptic) deflector = Ephem.eclipticToEquatorial(deflector, Constant.J2000, eph);
 
 				out = Ephem.deflectionCorrection(vep, ves, vsp, deflector, additionalBodies[i].relativeMass);
@@ -1246,6 +1411,48 @@ public class Ephem
 		return out;
 	}
 
+	/**
+	 * Returns the position of a deflecting body. For an observer on the Earth the one
+	 * stored in the current {@linkplain EphemerisContext} is reused when it is within
+	 * its reuse interval.
+	 * @param jdTDB The Julian day in TDB.
+	 * @param body The deflecting body.
+	 * @param geocentric True for the geocentric position, false for the heliocentric one.
+	 * @param obs The observer.
+	 * @return The ecliptic position (x, y, z) for equinox J2000.
+	 * @throws JPARSECException For invalid calculation dates.
+	 */
+	private static double[] getDeflectorPosition(double jdTDB, TARGET body, boolean geocentric, ObserverElement obs)
+			throws JPARSECException
+	{
+		if (obs.getMotherBody() != TARGET.EARTH) {
+			if (geocentric) return PlanetEphem.getGeocentricPosition(jdTDB, body, 0.0, false, obs);
+			return PlanetEphem.getHeliocentricEclipticPositionJ2000(jdTDB, body);
+		}
+
+		EphemerisContext context = EphemerisContext.getCurrent();
+		if (context.deflectors == null) context.deflectors = new double[TARGET.values().length][];
+		double c[] = context.deflectors[body.ordinal()];
+		if (c == null) {
+			c = new double[] {Double.NaN, 0, 0, 0, Double.NaN, 0, 0, 0};
+			context.deflectors[body.ordinal()] = c;
+		}
+		int index = geocentric ? 4 : 0;
+		if (jdTDB != c[index] && !(Math.abs(jdTDB - c[index]) < context.reuseInterval)) {
+			double p[];
+			if (geocentric) {
+				p = PlanetEphem.getGeocentricPosition(jdTDB, body, 0.0, false, obs);
+			} else {
+				p = PlanetEphem.getHeliocentricEclipticPositionJ2000(jdTDB, body);
+			}
+			c[index] = jdTDB;
+			c[index + 1] = p[0];
+			c[index + 2] = p[1];
+			c[index + 3] = p[2];
+		}
+		return new double[] {c[index + 1], c[index + 2], c[index + 3]};
+	}
+
 	/**
 	 * Correct apparent coordinates for solar deflection, using an algorithm
 	 * from NOVAS package, based on Murray (1981), <I>Monthly Notices Royal
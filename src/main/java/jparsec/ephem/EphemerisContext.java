@@ -0,0 +1,226 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem;
+
+import jparsec.observer.ObserverElement;
+
+/**
+ * Holds the intermediate results and the caches used along the computation of
+ * ephemerides, like the GCRS position of the last object computed, the
+ * planetocentric offset of a natural satellite, the last NPB matrix, or the last
+ * values of TDB-TT, TT-UT1, Daylight Saving Time, and the Earth Orientation Parameters.
+ * <P>
+ * Each thread has its own default context, used when no other context is given.
+ * To isolate a calculation from previous ones executed in the same thread (for
+ * instance in a pool of threads serving different requests), a new instance
+ * can be passed to {@linkplain Ephem#getEphemeris(jparsec.time.TimeElement, jparsec.observer.ObserverElement, EphemerisElement, boolean, boolean, EphemerisContext)},
+ * or set with {@linkplain #setCurrent(EphemerisContext)}. A context should not
+ * be used by different threads at the same time.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class EphemerisContext
+{
+	/**
+	 * Geocentric equatorial position in the GCRS (apparent coordinates, J2000
+	 * equinox) of the last object computed, or null if it is not available.
+	 */
+	public double[] gcrs;
+
+	/**
+	 * Planetocentric position of the natural satellite being computed, to be
+	 * added to the position of the mother planet, or null.
+	 */
+	public double[] offsetPosition;
+
+	/**
+	 * Julian day (TT) of the last NPB matrix computed.
+	 */
+	public double npbJD = Double.NaN;
+	/**
+	 * Last NPB matrix computed, or null.
+	 */
+	public double[][] npb;
+
+	/**
+	 * Julian day (TT) of the last GCRS to CIRS matrix computed.
+	 */
+	public double gcrsToCirsJD = Double.NaN;
+	/**
+	 * Last GCRS to CIRS matrix computed, or null.
+	 */
+	public double[][] gcrsToCirs;
+
+	/**
+	 * Julian day (TT) of the last value of TDB-TT.
+	 */
+	public double tdbMinusTTJD = -1E100;
+	/**
+	 * Last value of TDB-TT in seconds.
+	 */
+	public double tdbMinusTT = 0.0;
+
+	/**
+	 * Julian day (UT1) of the last value of TT-UT1.
+	 */
+	public double ttMinusUT1JD = -10000.0;
+	/**
+	 * Last value of TT-UT1 in seconds.
+	 */
+	public double ttMinusUT1 = 0.0;
+
+	/**
+	 * Fractional year of the last value of TT-UT1 computed from a date.
+	 */
+	public double ttMinusUT1Year = -10000.0;
+	/**
+	 * Last value of TT-UT1 computed from a date, in seconds.
+	 */
+	public double ttMinusUT1ForYear = 0.0;
+
+	/**
+	 * Observer of the last value of the Daylight Saving Time.
+	 */
+	public ObserverElement dstObserver;
+	/**
+	 * Julian day (UT) of the last value of the Daylight Saving Time.
+	 */
+	public double dstJD = -1.0;
+	/**
+	 * Last value of the Daylight Saving Time, 1 or 0 hours.
+	 */
+	public int dstValue = 0;
+
+	/**
+	 * Julian centuries (TT) of the last value of the complementary terms of
+	 * the equation of the equinoxes.
+	 */
+	public double eectT = -1E100;
+	/**
+	 * Last value of the complementary terms of the equation of the equinoxes.
+	 */
+	public double eect = 0.0;
+
+	/**
+	 * Last nutation in longitude and obliquity (radians), the Julian centuries
+	 * (TT) they refer to, and the flags of the calculation. Null if they were
+	 * not computed.
+	 */
+	public double[] nutation;
+
+	/**
+	 * Earth Orientation Parameters: dPsi, dEpsilon, x, y, UT1-UTC, the UTC
+	 * Julian day they refer to, and the ordinal of the reduction method.
+	 * Null if they were not computed.
+	 */
+	public double[] eop;
+
+	/**
+	 * Positions of the additional bodies used in the corrections for planetary
+	 * deflection for an observer on the Earth, by ordinal of the body: Julian day
+	 * (TDB) and heliocentric ecliptic position, and Julian day (TDB) and geocentric
+	 * ecliptic position. Null if they were not computed.
+	 */
+	public double[][] deflectors;
+
+	/**
+	 * Time interval in days within which the NPB and GCRS to CIRS matrices,
+	 * TT-UT1, TDB-TT, and the positions of the deflecting bodies are reused instead of being recomputed. Default value is
+	 * 0, so that they are only reused for exactly the same date. It is not
+	 * modified by {@linkplain #clear()}.
+	 */
+	public double reuseInterval = 0.0;
+
+	/**
+	 * True to compute only positions, magnitudes, and the other basic values,
+	 * skipping the constellation and the lunar librations. Default value is
+	 * false. It is not modified by {@linkplain #clear()}.
+	 */
+	public boolean positionsOnly = false;
+
+	/**
+	 * Default constructor.
+	 */
+	public EphemerisContext() { }
+
+	/**
+	 * Clears all values in this context.
+	 */
+	public void clear() {
+		gcrs = null;
+		offsetPosition = null;
+		npbJD = Double.NaN;
+		npb = null;
+		gcrsToCirsJD = Double.NaN;
+		gcrsToCirs = null;
+		tdbMinusTTJD = -1E100;
+		tdbMinusTT = 0.0;
+		ttMinusUT1JD = -10000.0;
+		ttMinusUT1 = 0.0;
+		ttMinusUT1Year = -10000.0;
+		ttMinusUT1ForYear = 0.0;
+		dstObserver = null;
+		dstJD = -1.0;
+		dstValue = 0;
+		eectT = -1E100;
+		eect = 0.0;
+		eop = null;
+		nutation = null;
+		deflectors = null;
+	}
+
+	private static final ThreadLocal<EphemerisContext> defaultContext = new ThreadLocal<EphemerisContext>() {
+		@Override
+		protected EphemerisContext initialValue() {
+			return new EphemerisContext();
+		}
+	};
+	private static final ThreadLocal<EphemerisContext> current = new ThreadLocal<EphemerisContext>();
+
+	/**
+	 * Returns the context currently used by the calling thread.
+	 * @return The context set with {@linkplain #setCurrent(EphemerisContext)},
+	 * or the default context of the thread.
+	 */
+	public static EphemerisContext getCurrent() {
+		EphemerisContext c = current.get();
+		if (c == null) return defaultContext.get();
+		return c;
+	}
+
+	/**
+	 * Sets the context to be used by the calling thread.
+	 * @param context The context, or null to use the default one of the thread.
+	 * @return The context used previously, or null if it was the default one.
+	 * It should be set again when the calculations finish.
+	 */
+	public static EphemerisContext setCurrent(EphemerisContext context) {
+		EphemerisContext previous = current.get();
+		if (context == null) {
+			current.remove();
+		} else {
+			current.set(context);
+		}
+		return previous;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem;
+
+import java.io.Serializable;
+
+/**
+ * Holds the ephemerides of a body for a set of equally spaced instants, as returned by
+ * {@linkplain Ephem#getEphemerisSeries(jparsec.time.TimeElement, double, int, jparsec.observer.ObserverElement, EphemerisElement, boolean)}.
+ * Each quantity is stored in a separate array of primitives, with index i
+ * corresponding to the instant i.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class EphemerisSeries implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Julian days of the instants, in the time scale of the input time object.
+	 */
+	public final double[] jd;
+	/**
+	 * Right ascensions in radians.
+	 */
+	public final double[] rightAscension;
+	/**
+	 * Declinations in radians.
+	 */
+	public final double[] declination;
+	/**
+	 * Distances in AU.
+	 */
+	public final double[] distance;
+	/**
+	 * Azimuths in radians.
+	 */
+	public final double[] azimuth;
+	/**
+	 * Elevations in radians.
+	 */
+	public final double[] elevation;
+	/**
+	 * Apparent magnitudes.
+	 */
+	public final float[] magnitude;
+
+	/**
+	 * Constructor for an empty series.
+	 * @param n Number of instants.
+	 */
+	public EphemerisSeries(int n)
+	{
+		jd = new double[n];
+		rightAscension = new double[n];
+		declination = new double[n];
+		distance = new double[n];
+		azimuth = new double[n];
+		elevation = new double[n];
+		magnitude = new float[n];
+	}
+
+	/**
+	 * Returns the number of instants.
+	 * @return Number of instants.
+	 */
+	public int size()
+	{
+		return jd.length;
+	}
+}
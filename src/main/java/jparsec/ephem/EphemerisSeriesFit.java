@@ -0,0 +1,257 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem;
+
+import jparsec.astronomy.Star;
+import jparsec.ephem.Target.TARGET;
+import jparsec.ephem.planets.EphemElement;
+import jparsec.math.ChebyshevFit;
+import jparsec.math.Constant;
+import jparsec.observer.ObserverElement;
+import jparsec.time.SiderealTime;
+import jparsec.time.TimeElement;
+import jparsec.util.JPARSECException;
+
+/**
+ * Calculates a series of ephemerides of a planet, the Sun, or the Moon for an
+ * observer on the Earth from a few complete calculations. The apparent position
+ * (rectangular coordinates for the equinox of date), the magnitude, and the local
+ * apparent sidereal time are computed with the selected algorithm at the Chebyshev
+ * nodes of segments covering the whole series, in one pass forward in time. Each
+ * segment is accepted when the polynomials reproduce the full calculation at a set of
+ * check points, otherwise it is divided. Then the polynomials are evaluated at each
+ * instant, and the horizontal coordinates, refraction, and extinction are computed
+ * from them and written directly into the arrays of the series.
+ * <P>
+ * The positions are fitted to 2.5E-10 times the distance (0.05 mas), the
+ * magnitudes to 1E-5, and the sidereal time to 1E-8 radians (2 mas), a few times the
+ * noise given by the resolution of the Julian day.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+final class EphemerisSeriesFit implements ChebyshevFit.Function
+{
+	/** Degree of the polynomials. */
+	private static final int DEGREE = 16;
+	/** Initial length of the segments in days, for topocentric and geocentric positions. */
+	private static final double TOPOCENTRIC_SEGMENT = 1.0, GEOCENTRIC_SEGMENT = 16.0;
+	/** Maximum error of the positions relative to the distance. */
+	private static final double POSITION_ERROR = 2.5E-10;
+	/** Maximum error of the magnitudes. */
+	private static final double MAGNITUDE_ERROR = 1.0E-5;
+	/** Maximum error of the cosine and sine of the sidereal time. */
+	private static final double SIDEREAL_TIME_ERROR = 1.0E-8;
+	/** Maximum number of halvings of an initial segment. */
+	private static final int MAX_LEVELS = 8;
+	/** Number of fitted components: x, y, z, magnitude, cosine and sine of the sidereal time. */
+	private static final int COMPONENTS = 6;
+
+	private final TimeElement start;
+	private final double jd0, step, absStep, sinlat, coslat, height;
+	private final int n, budget;
+	private final ObserverElement obs;
+	private final EphemerisElement eph, ephNode;
+	private final boolean preferPrecision, horizontal, refraction, extinction;
+	private final EphemerisSeries out;
+	private int evaluations = 0, index = 0;
+
+	private EphemerisSeriesFit(TimeElement start, double step, int n, ObserverElement obs, EphemerisElement eph,
+			boolean preferPrecision, EphemerisSeries out) throws JPARSECException
+	{
+		this.start = start;
+		this.jd0 = start.astroDate.jd();
+		this.step = step;
+		this.absStep = Math.abs(step);
+		this.n = n;
+		this.budget = n / 4;
+		this.obs = obs;
+		this.eph = eph;
+		this.preferPrecision = preferPrecision;
+		this.out = out;
+
+		ephNode = eph.clone();
+		ephNode.correctForExtinction = false;
+		horizontal = eph.isTopocentric;
+		refraction = horizontal && eph.ephemType == EphemerisElement.COORDINATES_TYPE.APPARENT;
+		extinction = refraction && eph.correctForExtinction;
+		sinlat = Math.sin(obs.getLatitudeRad());
+		coslat = Math.cos(obs.getLatitudeRad());
+		height = obs.getHeight() / 1000.0;
+	}
+
+	/**
+	 * Returns if a series can be calculated with this method.
+	 * @param obs The observer.
+	 * @param eph The ephemeris object, with the algorithm already selected.
+	 * @return True for planets, the Sun, and the Moon using Moshier, VSOP87/ELP2000,
+	 * Series96, or JPL ephemerides, as seen from the Earth, and for topocentric
+	 * positions only when they are referred to the equinox of date and the
+	 * equatorial coordinates are not corrected for refraction.
+	 */
+	static boolean isSupported(ObserverElement obs, EphemerisElement eph)
+	{
+		if (obs.getMotherBody() != TARGET.EARTH) return false;
+		if (eph.targetBody != TARGET.SUN && eph.targetBody != TARGET.Moon && eph.targetBody != TARGET.Pluto &&
+				(!eph.targetBody.isPlanet() || eph.targetBody == TARGET.EARTH)) return false;
+		if (eph.isTopocentric && (eph.equinox != EphemerisElement.EQUINOX_OF_DATE || eph.correctEquatorialCoordinatesForRefraction))
+			return false;
+
+		switch (eph.algorithm)
+		{
+		case MOSHIER:
+		case SERIES96_MOSHIERForMoon:
+		case VSOP87_ELP2000ForMoon:
+		case JPL_DE200:
+		case JPL_DE403:
+		case JPL_DE405:
+		case JPL_DE406:
+		case JPL_DE413:
+		case JPL_DE414:
+		case JPL_DE422:
+		case JPL_DE424:
+		case JPL_DE430:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Calculates the series. The full calculations are done in the current
+	 * {@linkplain EphemerisContext}. The method gives up when it would require more
+	 * full calculations than a quarter of the number of instants, or when a segment
+	 * cannot be fitted, and then the series should be calculated step by step.
+	 * @param start Time object for the first instant.
+	 * @param step Time step in days.
+	 * @param n Number of instants.
+	 * @param obs Observer object.
+	 * @param eph Ephemeris object, with the algorithm already selected.
+	 * @param preferPrecision True to prefer precision.
+	 * @param out The series where the results are written.
+	 * @return True if the series was calculated, false otherwise.
+	 * @throws JPARSECException Thrown if the calculation fails.
+	 */
+	static boolean calculate(TimeElement start, double step, int n, ObserverElement obs, EphemerisElement eph,
+			boolean preferPrecision, EphemerisSeries out) throws JPARSECException
+	{
+		double span = Math.abs(step) * (n - 1);
+		int segments = (int) Math.ceil(span / (eph.isTopocentric ? TOPOCENTRIC_SEGMENT : GEOCENTRIC_SEGMENT));
+		if (span <= 0.0 || segments * (2 * DEGREE + 3) > n / 4) return false;
+
+		EphemerisSeriesFit series = new EphemerisSeriesFit(start, step, n, obs, eph, preferPrecision, out);
+		ChebyshevFit fit = new ChebyshevFit(DEGREE, COMPONENTS, MAX_LEVELS);
+		return fit.fit(series, 0.0, span, segments) && series.index == n;
+	}
+
+	/**
+	 * Computes the fitted components at a given instant with the full calculation.
+	 * @return False if any of them is not a number, or if the maximum number of
+	 * full calculations is reached.
+	 */
+	public boolean evaluate(double u, double out[]) throws JPARSECException
+	{
+		evaluations++;
+		if (evaluations > budget) return false;
+		TimeElement time = new TimeElement(step < 0.0 ? jd0 - u : jd0 + u, start.timeScale);
+		EphemElement ephem = Ephem.getEphemerisResult(time, obs, ephNode, false, preferPrecision);
+		double cosdec = Math.cos(ephem.declination);
+		out[0] = ephem.distance * Math.cos(ephem.rightAscension) * cosdec;
+		out[1] = ephem.distance * Math.sin(ephem.rightAscension) * cosdec;
+		out[2] = ephem.distance * Math.sin(ephem.declination);
+		out[3] = ephem.magnitude;
+		if (horizontal) {
+			double lst = SiderealTime.apparentSiderealTime(time, obs, ephNode);
+			out[4] = Math.cos(lst);
+			out[5] = Math.sin(lst);
+		}
+		for (int c = 0; c < COMPONENTS; c++)
+		{
+			if (Double.isNaN(out[c]) || Double.isInfinite(out[c])) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the maximum errors, the one of the positions from the minimum distance
+	 * at the nodes.
+	 */
+	public void getMaximumError(double values[][], double maxError[])
+	{
+		double minDistance = Double.MAX_VALUE;
+		for (int k = 0; k < values[0].length; k++)
+		{
+			minDistance = Math.min(minDistance, Math.sqrt(values[0][k] * values[0][k] + values[1][k] * values[1][k] + values[2][k] * values[2][k]));
+		}
+		maxError[0] = maxError[1] = maxError[2] = POSITION_ERROR * minDistance;
+		maxError[3] = MAGNITUDE_ERROR;
+		maxError[4] = maxError[5] = SIDEREAL_TIME_ERROR;
+	}
+
+	/**
+	 * Evaluates the polynomials at the instants inside a segment and writes the
+	 * results into the series. Segments are accepted in time order, so these
+	 * instants follow the previous ones.
+	 */
+	public boolean accept(double a, double b, double coefs[]) throws JPARSECException
+	{
+		int nodes = DEGREE + 1;
+		double half = (b - a) * 0.5, mid = (a + b) * 0.5;
+		for (; index < n && index * absStep <= b; index++)
+		{
+			double x = (index * absStep - mid) / half;
+			double px = ChebyshevFit.evaluate(coefs, 0, nodes, x);
+			double py = ChebyshevFit.evaluate(coefs, nodes, nodes, x);
+			double pz = ChebyshevFit.evaluate(coefs, 2 * nodes, nodes, x);
+			double ra = 0.0, dec = Constant.PI_OVER_TWO;
+			if (pz < 0.0) dec = -dec;
+			if (px != 0.0 || py != 0.0) {
+				ra = Math.atan2(py, px);
+				dec = Math.atan(pz / Math.sqrt(px * px + py * py));
+				if (ra < 0.0) ra += Constant.TWO_PI;
+			}
+			double mag = ChebyshevFit.evaluate(coefs, 3 * nodes, nodes, x);
+
+			out.jd[index] = jd0 + step * index;
+			out.rightAscension[index] = ra;
+			out.declination[index] = dec;
+			out.distance[index] = Math.sqrt(px * px + py * py + pz * pz);
+			if (horizontal) {
+				double lst = Math.atan2(ChebyshevFit.evaluate(coefs, 5 * nodes, nodes, x),
+						ChebyshevFit.evaluate(coefs, 4 * nodes, nodes, x));
+
+				// As in Ephem.horizontalCoordinates
+				double angh = lst - ra;
+				double sindec = Math.sin(dec), cosdec = Math.cos(dec);
+				double cosangh = Math.cos(angh);
+				double alt = Math.asin(sinlat * sindec + coslat * cosdec * cosangh);
+				double azi = Math.PI + Math.atan2(Math.sin(angh), cosangh * sinlat - sindec * coslat / cosdec);
+				if (refraction) alt = Ephem.getApparentElevation(eph, obs, alt, 50);
+				if (extinction) mag += Star.getExtinction(Constant.PI_OVER_TWO - alt, height, 5);
+				out.azimuth[index] = azi;
+				out.elevation[index] = alt;
+			}
+			out.magnitude[index] = (float) mag;
+		}
+		return true;
+	}
+}
@@ -39,7 +39,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -148,14 +147,16 @@ public class IAU2006
 	throws JPARSECException {
 		BigDecimal JD_TT = TimeScale.getExactJD(time, observer, eph, SCALE.TERRESTRIAL_TIME);
 
-		Object o = DataBase.getData("NPB", true);
-		if (o != null) {
-			Object oo[] = (Object[]) o;
-			double jd = (Double) oo[0];
-			if (jd == JD_TT.doubleValue()) {
-				double matrix[][] = (double[][]) oo[1];
-				return new Matrix(matrix);
-			}
+		EphemerisContext context = EphemerisContext.getCurrent();
+		if (context.npb != null && (context.npbJD == JD_TT.doubleValue() ||
+				Math.abs(context.npbJD - JD_TT.doubleValue()) < context.reuseInterval))
+			return new Matrix(context.npb);
+		int flags = getCacheFlags(eph, 0);
+		double cached[][] = ReductionCache.NPB.getMatrix(JD_TT.doubleValue(), flags);
+		if (cached != null) {
+			context.npbJD = JD_TT.doubleValue();
+			context.npb = cached;
+			return new Matrix(cached);
 		}
 
 		double T = Functions.toCenturies(JD_TT).doubleValue();
@@ -193,7 +194,6 @@ public class IAU2006
 		EarthOrientationParameters.obtainEOP(JD_UTC, eph);
 		eph.correctForEOP = eop;
 		eph.correctForPolarMotion = eopP;
-		Nutation.clearPreviousCalculation();
 		EphemerisElement eph0 = eph.clone();
 		eph0.ephemMethod = REDUCTION_METHOD.IAU_2006;
 		Nutation.calcNutation(T, eph0);
@@ -208,7 +208,9 @@ public class IAU2006
 		npb = npb.times(Matrix.getR2(XI0));
 		npb = npb.times(Matrix.getR3(DA0));
 
-		DataBase.addData("NPB", new Object[] {JD_TT.doubleValue(), npb.getArray()}, true);
+		context.npbJD = JD_TT.doubleValue();
+		context.npb = npb.getArray();
+		ReductionCache.NPB.putMatrix(JD_TT.doubleValue(), flags, context.npb);
 		return npb;
 	}
 
@@ -227,14 +229,16 @@ public class IAU2006
 	throws JPARSECException {
 		BigDecimal jd_TT = TimeScale.getExactJD(time, obs, eph, SCALE.TERRESTRIAL_TIME);
 
-		Object o = DataBase.getData("GCRS-CIRS", true);
-		if (o != null) {
-			Object oo[] = (Object[]) o;
-			double jd = (Double) oo[0];
-			if (jd == jd_TT.doubleValue()) {
-				double matrix[][] = (double[][]) oo[1];
-				return new Matrix(matrix);
-			}
+		EphemerisContext context = EphemerisContext.getCurrent();
+		if (context.gcrsToCirs != null && (context.gcrsToCirsJD == jd_TT.doubleValue() ||
+				Math.abs(context.gcrsToCirsJD - jd_TT.doubleValue()) < context.reuseInterval))
+			return new Matrix(context.gcrsToCirs);
+		int flags = getCacheFlags(eph, 1024);
+		double cached[][] = ReductionCache.NPB.getMatrix(jd_TT.doubleValue(), flags);
+		if (cached != null) {
+			context.gcrsToCirsJD = jd_TT.doubleValue();
+			context.gcrsToCirs = cached;
+			return new Matrix(cached);
 		}
 
 		double T = Functions.toCenturies(jd_TT).doubleValue();
@@ -280,10 +284,26 @@ public class IAU2006
 		};
 		Matrix NPB_CIO = new Matrix(cio); // NPB_CIO is the GCRS to CIRS matrix
 
-		DataBase.addData("GCRS-CIRS", new Object[] {jd_TT.doubleValue(), NPB_CIO.getArray()}, true);
+		context.gcrsToCirsJD = jd_TT.doubleValue();
+		context.gcrsToCirs = NPB_CIO.getArray();
+		ReductionCache.NPB.putMatrix(jd_TT.doubleValue(), flags, context.gcrsToCirs);
 		return NPB_CIO;
 	}
 
+	/**
+	 * Returns the flags that identify the matrices computed for a given
+	 * ephemeris object in {@linkplain ReductionCache#NPB}.
+	 * @param eph Ephemeris object.
+	 * @param kind 0 for the NPB matrix, 1024 for the GCRS to CIRS one.
+	 * @return The flags.
+	 */
+	private static int getCacheFlags(EphemerisElement eph, int kind) {
+		int flags = eph.ephemMethod.ordinal() | kind;
+		if (eph.correctForEOP) flags |= 256;
+		if (eph.useVondrak2011PrecessionFormulaInsteadOfIAU2006) flags |= 512;
+		return flags;
+	}
+
 	/**
 	 * Returns to matrix to transform coordinates in the GCRS (geocentric)
 	 * to TIRS. See the 'reference method' by Capitaine et al. at
@@ -424,7 +444,7 @@ public class IAU2006
 			CIO_EPHEMERIS output) throws JPARSECException {
 		EphemElement ephem = Ephem.getEphemeris(time, obs, eph, false);
 
-		Object o = DataBase.getData("GCRS", true);
+		Object o = EphemerisContext.getCurrent().gcrs;
 		if (o == null) throw new JPARSECException("Cannot retrieve GCRS coordinates!");
 
 		double gcrs[] = (double[]) o;
@@ -483,7 +503,7 @@ public class IAU2006
 		if (star.frame != FRAME.ICRF) s = StarEphem.transformStarElementsToOutputEquinoxAndFrame(s, FRAME.ICRF, Constant.J2000, Constant.J2000);
 		StarEphemElement ephem = StarEphem.starEphemeris(time, obs, eph, s, false);
 
-		Object o = DataBase.getData("GCRS", true);
+		Object o = EphemerisContext.getCurrent().gcrs;
 		if (o == null) throw new JPARSECException("Cannot retrieve GCRS coordinates! Maybe the eph object is not set to apparent coordinates?");
 
 		double gcrs[] = (double[]) o;
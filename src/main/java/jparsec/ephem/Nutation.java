@@ -25,7 +25,6 @@ import jparsec.math.Constant;
 import jparsec.observer.EarthOrientationParameters;
 import jparsec.time.AstroDate;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -56,47 +55,23 @@ public class Nutation
 	 */
 	private static double cc[][] = new double[5][8];
 
-	/** Holds the latest nutation calculation. DataBase clas not used since this data
-	 * is requested too many times, and it is faster to hold it here. */
-	private static double[] lastCalc = null;
-
 	/**
 	 * Returns the nutation in longitude.
 	 * @return Nutation in longitude, in radians.
 	 */
 	public static double getNutationInLongitude() {
+		double lastCalc[] = EphemerisContext.getCurrent().nutation;
 		if (lastCalc == null) return 0;
 		return lastCalc[0];
-
-/*		Object o = DataBase.getData("Nutation", true);
-		if (o == null) return 0;
-		double[] data = (double[]) o;
-		return data[0];
-*/
 	}
 	/**
 	 * Returns the nutation in obliquity.
 	 * @return Nutation in obliquity, in radians.
 	 */
 	public static double getNutationInObliquity() {
+		double lastCalc[] = EphemerisContext.getCurrent().nutation;
 		if (lastCalc == null) return 0;
 		return lastCalc[1];
-
-/*		Object o = DataBase.getData("Nutation", true);
-		if (o == null) return 0;
-		double[] data = (double[]) o;
-		return data[1];
-*/
-	}
-	private static double[] getLastCalc() {
-		if (lastCalc == null) return null;
-		return lastCalc.clone();
-
-/*		Object o = DataBase.getData("Nutation", true);
-		if (o == null) return null;
-		double[] data = (double[]) o;
-		return data;
-*/
 	}
 
 	/**
@@ -155,8 +130,9 @@ public class Nutation
 
 	/**
 	 * Calculate nutation in longitude and obliquity. Results are saved in
-	 * {@linkplain DataBase}, using as identifier 'Nutation' for the array
-	 * containing the values.
+	 * {@linkplain ReductionCache#NUTATION} and in the current {@linkplain EphemerisContext},
+	 * from where the last values can be retrieved with {@linkplain #getNutationInLongitude()}
+	 * and {@linkplain #getNutationInObliquity()}.
 	 *
 	 * @param T Julian centuries from J2000 epoch in dynamical time.
 	 * @param eph Ephemeris properties including if EOP correction should be
@@ -168,9 +144,17 @@ public class Nutation
 	public static double[] calcNutation(double T, EphemerisElement eph) throws JPARSECException
 	{
 		EphemerisElement.REDUCTION_METHOD type = eph.ephemMethod;
-		double data[] = getLastCalc();
+		int flags = type.ordinal() | (eph.correctForEOP ? 256 : 0);
+		EphemerisContext context = EphemerisContext.getCurrent();
+		double data[] = context.nutation;
 		if (data != null) {
-			if (data[3] == type.ordinal() && Math.abs(T - data[2]) == 0) return new double[] {data[0], data[1]};
+			if (data[3] == flags && Math.abs(T - data[2]) == 0) return new double[] {data[0], data[1]};
+		}
+		double key = T * Constant.JULIAN_DAYS_PER_CENTURY;
+		data = ReductionCache.NUTATION.getVector(key, flags);
+		if (data != null) {
+			context.nutation = new double[] {data[0], data[1], T, flags};
+			return data;
 		}
 
 		/*
@@ -215,12 +199,8 @@ public class Nutation
 			break;
 		}
 
-		lastCalc = new double[] {nutationInLongitude, nutationInObliquity, T, type.ordinal()};
-
-/*		DataBase.addData("Nutation", new double[] {
-				nutationInLongitude, nutationInObliquity, T, type.ordinal()
-		}, true);
-*/
+		context.nutation = new double[] {nutationInLongitude, nutationInObliquity, T, flags};
+		ReductionCache.NUTATION.putVector(key, flags, new double[] {nutationInLongitude, nutationInObliquity});
 		return new double[] {nutationInLongitude, nutationInObliquity};
 	}
 
@@ -228,16 +208,13 @@ public class Nutation
 	 * Clears previous calculation so that the next call to
 	 * nutation calculation will be processed calling the
 	 * algorithms instead of using previous calculated values
-	 * to save time (if results are expected to be the same).
+	 * to save time (if results are expected to be the same). The cached
+	 * NPB matrices, that include the nutation, are also cleared.
 	 */
 	public static void clearPreviousCalculation() {
-		double data[] = getLastCalc();
-		if (data != null) {
-			data[2] = -1.0E100;
-			data[3] = -1;
-			lastCalc = data;
-//			DataBase.addData("Nutation", data, true);
-		}
+		EphemerisContext.getCurrent().nutation = null;
+		ReductionCache.NUTATION.clear();
+		ReductionCache.NPB.clear();
 	}
 
 	/**
@@ -495,7 +472,7 @@ public class Nutation
 
 		// * Add free core nutation.
 		if (eph.correctForEOP) {
-			Object o = DataBase.getData("EOP", true);
+			Object o = EphemerisContext.getCurrent().eop;
 			double eop[] = new double[] {0.0, 0.0, 0.0, 0.0, 0}; // dPsi, dEpsilon, UT1-UTC, lastJD, lastMethod
 			if (o != null) {
 				eop = (double[]) o;
@@ -735,7 +712,7 @@ public class Nutation
 
 		// * Add free core nutation.
 		if (eph.correctForEOP) {
-			Object o = DataBase.getData("EOP", true);
+			Object o = EphemerisContext.getCurrent().eop;
 			double eop[] = new double[] {0.0, 0.0, 0.0, 0.0, 0}; // dPsi, dEpsilon, UT1-UTC, lastJD, lastMethod
 			if (o != null) {
 				eop = (double[]) o;
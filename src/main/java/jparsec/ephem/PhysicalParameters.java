@@ -117,7 +117,8 @@ public class PhysicalParameters
 
 		// Constellation where the object is in
 		ephem.constellation = "";
-		try {
+		boolean positionsOnly = EphemerisContext.getCurrent().positionsOnly;
+		if (!positionsOnly) try {
 			// I use here JD instead of eph.getEpoch(JD) since this method is called before passing
 			// to output equinox. Input ephemerides are always apparent and respect equinox of date.
 			String cons = Constellation.getConstellationName(ephem.rightAscension, ephem.declination, JD,
@@ -193,7 +194,7 @@ public class PhysicalParameters
 			ephem.surfaceBrightness = (float) Star.getSurfaceBrightness(mag, 
 					Math.sqrt(ephem.angularRadius * ephem.angularRadius * ephem.phase) * Constant.RAD_TO_ARCSEC);
 
-		if (eph.targetBody == TARGET.Moon && obs.getMotherBody() == TARGET.EARTH) {
+		if (eph.targetBody == TARGET.Moon && obs.getMotherBody() == TARGET.EARTH && !positionsOnly) {
 			// Substitute librations by the results of Eckhardt's theory. IAU rotation model is extremely inaccurate (in
 			// longitude of central meridian) far from year 2000.
 			try {
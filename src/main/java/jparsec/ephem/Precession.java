@@ -150,6 +150,19 @@ public class Precession
 	 * @throws JPARSECException If the reduction method is not supported.
 	 */
 	public static double[] getAngles(boolean toJ2000, double JD, EphemerisElement eph) throws JPARSECException
+	{
+		int flags = eph.ephemMethod.ordinal() | 8192;
+		if (toJ2000) flags |= 4096;
+		if (eph.useVondrak2011PrecessionFormulaInsteadOfIAU2006) flags |= 512;
+		double angles[] = ReductionCache.PRECESSION.getVector(JD, flags);
+		if (angles == null) {
+			angles = computeAngles(toJ2000, JD, eph);
+			ReductionCache.PRECESSION.putVector(JD, flags, angles);
+		}
+		return angles;
+	}
+
+	private static double[] computeAngles(boolean toJ2000, double JD, EphemerisElement eph) throws JPARSECException
 	{
 		double JD0 = Constant.J2000;
 
@@ -314,55 +327,88 @@ public class Precession
 			new double[] {128.38, -333.322021, -446.656435},
 			new double[] {490.00, 110.512834, 142.525186}
 	};
+	private static final int MODEL_IAU2006 = 0, MODEL_IAU2000 = 1, MODEL_VONDRAK2011 = 2;
+
 	/**
-	 * Precession following Vondrak et al. 2011. See A&amp;A 534, A22.
-	 *
-	 * @param JD0 Julian day of input vector (equatorial rectangular).
-	 * @param JD Julian day of output. Either JD or JD0 must be equal to
-	 *        Constant.J2000.
-	 * @param R Input vector.
-	 * @return Vector referred to mean equinox and equator of JD.
+	 * Returns the elements XX, YX, ZX, XY, YY, ZY, XZ, YZ, ZZ of the precession
+	 * matrix between J2000 and another epoch, from {@linkplain ReductionCache#PRECESSION}
+	 * when possible.
+	 * @param model The precession model.
+	 * @param JD0 Julian day of input vector.
+	 * @param JD Julian day of output.
+	 * @return The matrix elements.
 	 * @throws JPARSECException If JD and JD0 are non equal to J2000.
 	 */
-	public static double[] precessionVondrak2011(double JD0, double JD, double[] R) throws JPARSECException
+	private static double[] getMatrix(int model, double JD0, double JD) throws JPARSECException
 	{
 		if (JD != Constant.J2000 && JD0 != Constant.J2000)
 			throw new JPARSECException("Precession must be from or to J2000 epoch.");
 
+		double epoch = JD0 == Constant.J2000 ? JD : JD0;
+		int flags = model | 2048;
+		if (model == MODEL_IAU2000 && JD == Constant.J2000) flags |= 4096;
+		double m[] = ReductionCache.PRECESSION.getVector(epoch, flags);
+		if (m != null) return m;
+
 		double T = (JD - JD0) / Constant.JULIAN_DAYS_PER_CENTURY;
 		if (JD == Constant.J2000)
 			T = -T;
 
-		double x = 0, y = 0, z = 0;
-		double w = Constant.TWO_PI * T;
-		for (int i=0; i<14; i++) {
-			double a = w / xyper[i][0];
-			double s = Math.sin(a);
-			double c = Math.cos(a);
-			x += c * xyper[i][1] + s * xyper[i][3];
-			y += c * xyper[i][2] + s * xyper[i][4];
-
-			a = w / zper[i][0];
-			s = Math.sin(a);
-			c = Math.cos(a);
-			z += c * zper[i][1] + s * zper[i][2];
-		}
+		double EPS0, PSIA, OMEGAA, CHIA;
+		switch (model) {
+		case MODEL_VONDRAK2011:
+			double x = 0, y = 0, z = 0;
+			double w = Constant.TWO_PI * T;
+			for (int i=0; i<14; i++) {
+				double a = w / xyper[i][0];
+				double s = Math.sin(a);
+				double c = Math.cos(a);
+				x += c * xyper[i][1] + s * xyper[i][3];
+				y += c * xyper[i][2] + s * xyper[i][4];
+
+				a = w / zper[i][0];
+				s = Math.sin(a);
+				c = Math.cos(a);
+				z += c * zper[i][1] + s * zper[i][2];
+			}
 
-		w = 1.0;
-		for (int j=0; j<4; j++) {
-			x += xypol[0][j] * w;
-			y += xypol[1][j] * w;
-			z += xypol[2][j] * w;
-			w *= T;
+			w = 1.0;
+			for (int j=0; j<4; j++) {
+				x += xypol[0][j] * w;
+				y += xypol[1][j] * w;
+				z += xypol[2][j] * w;
+				w *= T;
+			}
+			PSIA = x * Constant.ARCSEC_TO_RAD;
+			OMEGAA = y * Constant.ARCSEC_TO_RAD;
+			CHIA = z * Constant.ARCSEC_TO_RAD;
+			EPS0 = 84381.406 * Constant.ARCSEC_TO_RAD;
+			break;
+		case MODEL_IAU2000:
+			double T0 = Functions.toCenturies(JD);
+			EPS0 = 84381.448;
+			PSIA = ((((-0.0 * T + 0.0) * T - 0.001147) * T - 1.07259) * T + 5038.7784) * T - 0.29965 * T0;
+			OMEGAA = ((((+0.0 * T - 0.0) * T - 0.007726) * T + 0.05127) * T - 0.0) * T + EPS0 - 0.02524 * T0;
+			CHIA = ((((-0.0 * T + 0.0) * T - 0.001125) * T - 2.38064) * T + 10.5526) * T;
+
+			EPS0 *= Constant.ARCSEC_TO_RAD;
+			PSIA *= Constant.ARCSEC_TO_RAD;
+			OMEGAA *= Constant.ARCSEC_TO_RAD;
+			CHIA *= Constant.ARCSEC_TO_RAD;
+			break;
+		default:
+			EPS0 = 84381.406;
+			PSIA = ((((-0.0000000951 * T + 0.000132851) * T - 0.00114045) * T - 1.0790069) * T + 5038.481507) * T;
+			OMEGAA = ((((+0.0000003337 * T - 0.000000467) * T - 0.00772503) * T + 0.0512623) * T - 0.025754) * T + EPS0;
+			CHIA = ((((-0.0000000560 * T + 0.000170663) * T - 0.00121197) * T - 2.3814292) * T + 10.556403) * T;
+
+			EPS0 *= Constant.ARCSEC_TO_RAD;
+			PSIA *= Constant.ARCSEC_TO_RAD;
+			OMEGAA *= Constant.ARCSEC_TO_RAD;
+			CHIA *= Constant.ARCSEC_TO_RAD;
+			break;
 		}
-		x *= Constant.ARCSEC_TO_RAD;
-		y *= Constant.ARCSEC_TO_RAD;
-		z *= Constant.ARCSEC_TO_RAD;
-		//w = x * x + y * y;
-		//double z = 0.0;
-		//if (w < 1.0) z = -Math.sqrt(1.0 - w);
 
-		double PSIA = x, OMEGAA = y, CHIA = z, EPS0 = 84381.406 * Constant.ARCSEC_TO_RAD;
 		double SA = Math.sin(EPS0);
 		double CA = Math.cos(EPS0);
 		double SB = Math.sin(-PSIA);
@@ -374,35 +420,65 @@ public class Precession
 
 		// COMPUTE ELEMENTS OF PRECESSION ROTATION MATRIX
 		// EQUIVALENT TO R3(CHI_A)R1(-OMEGA_A)R3(-PSI_A)R1(EPSILON_0)
-		double XX = CD * CB - SB * SD * CC;
-		double YX = CD * SB * CA + SD * CC * CB * CA - SA * SD * SC;
-		double ZX = CD * SB * SA + SD * CC * CB * SA + CA * SD * SC;
-		double XY = -SD * CB - SB * CD * CC;
-		double YY = -SD * SB * CA + CD * CC * CB * CA - SA * CD * SC;
-		double ZY = -SD * SB * SA + CD * CC * CB * SA + CA * CD * SC;
-		double XZ = SB * SC;
-		double YZ = -SC * CB * CA - SA * CC;
-		double ZZ = -SC * CB * SA + CC * CA;
+		m = new double[] {
+			CD * CB - SB * SD * CC,
+			CD * SB * CA + SD * CC * CB * CA - SA * SD * SC,
+			CD * SB * SA + SD * CC * CB * SA + CA * SD * SC,
+			-SD * CB - SB * CD * CC,
+			-SD * SB * CA + CD * CC * CB * CA - SA * CD * SC,
+			-SD * SB * SA + CD * CC * CB * SA + CA * CD * SC,
+			SB * SC,
+			-SC * CB * CA - SA * CC,
+			-SC * CB * SA + CC * CA
+		};
+		ReductionCache.PRECESSION.putVector(epoch, flags, m);
+		return m;
+	}
 
+	/**
+	 * Applies a precession matrix to a vector.
+	 * @param m The elements XX, YX, ZX, XY, YY, ZY, XZ, YZ, ZZ of the matrix.
+	 * @param fromJ2000 True to rotate from J2000 to the epoch, false for the opposite.
+	 * @param R Input vector.
+	 * @return Output vector.
+	 */
+	private static double[] rotate(double m[], boolean fromJ2000, double R[])
+	{
 		double px = 0.0, py = 0.0, pz = 0.0;
 
-		if (JD0 == Constant.J2000)
+		if (fromJ2000)
 		{
 			// PERFORM ROTATION FROM J2000.0 TO EPOCH
-			px = XX * R[0] + YX * R[1] + ZX * R[2];
-			py = XY * R[0] + YY * R[1] + ZY * R[2];
-			pz = XZ * R[0] + YZ * R[1] + ZZ * R[2];
+			px = m[0] * R[0] + m[1] * R[1] + m[2] * R[2];
+			py = m[3] * R[0] + m[4] * R[1] + m[5] * R[2];
+			pz = m[6] * R[0] + m[7] * R[1] + m[8] * R[2];
 		} else
 		{
 			// PERFORM ROTATION FROM EPOCH TO J2000.0
-			px = XX * R[0] + XY * R[1] + XZ * R[2];
-			py = YX * R[0] + YY * R[1] + YZ * R[2];
-			pz = ZX * R[0] + ZY * R[1] + ZZ * R[2];
+			px = m[0] * R[0] + m[3] * R[1] + m[6] * R[2];
+			py = m[1] * R[0] + m[4] * R[1] + m[7] * R[2];
+			pz = m[2] * R[0] + m[5] * R[1] + m[8] * R[2];
 		}
 
 		return new double[] { px, py, pz };
 	}
 
+	/**
+	 * Precession following Vondrak et al. 2011. See A&amp;A 534, A22.
+	 *
+	 * @param JD0 Julian day of input vector (equatorial rectangular).
+	 * @param JD Julian day of output. Either JD or JD0 must be equal to
+	 *        Constant.J2000.
+	 * @param R Input vector.
+	 * @return Vector referred to mean equinox and equator of JD.
+	 * @throws JPARSECException If JD and JD0 are non equal to J2000.
+	 */
+	public static double[] precessionVondrak2011(double JD0, double JD, double[] R) throws JPARSECException
+	{
+		double m[] = getMatrix(MODEL_VONDRAK2011, JD0, JD);
+		return rotate(m, JD0 == Constant.J2000, R);
+	}
+
 	/**
 	 * Precession following Capitaine et al. 2003.
 	 * <P>
@@ -423,61 +499,8 @@ public class Precession
 	 */
 	protected static double[] precessionIAU2006(double JD0, double JD, double[] R) throws JPARSECException
 	{
-		if (JD != Constant.J2000 && JD0 != Constant.J2000)
-			throw new JPARSECException("Precession must be from or to J2000 epoch.");
-
-		double T = (JD - JD0) / Constant.JULIAN_DAYS_PER_CENTURY;
-		if (JD == Constant.J2000)
-			T = -T;
-
-		double EPS0 = 84381.406;
-		double PSIA = ((((-0.0000000951 * T + 0.000132851) * T - 0.00114045) * T - 1.0790069) * T + 5038.481507) * T;
-		double OMEGAA = ((((+0.0000003337 * T - 0.000000467) * T - 0.00772503) * T + 0.0512623) * T - 0.025754) * T + EPS0;
-		double CHIA = ((((-0.0000000560 * T + 0.000170663) * T - 0.00121197) * T - 2.3814292) * T + 10.556403) * T;
-
-		EPS0 *= Constant.ARCSEC_TO_RAD;
-		PSIA *= Constant.ARCSEC_TO_RAD;
-		OMEGAA *= Constant.ARCSEC_TO_RAD;
-		CHIA *= Constant.ARCSEC_TO_RAD;
-
-		double SA = Math.sin(EPS0);
-		double CA = Math.cos(EPS0);
-		double SB = Math.sin(-PSIA);
-		double CB = Math.cos(-PSIA);
-		double SC = Math.sin(-OMEGAA);
-		double CC = Math.cos(-OMEGAA);
-		double SD = Math.sin(CHIA);
-		double CD = Math.cos(CHIA);
-
-		// COMPUTE ELEMENTS OF PRECESSION ROTATION MATRIX
-		// EQUIVALENT TO R3(CHI_A)R1(-OMEGA_A)R3(-PSI_A)R1(EPSILON_0)
-		double XX = CD * CB - SB * SD * CC;
-		double YX = CD * SB * CA + SD * CC * CB * CA - SA * SD * SC;
-		double ZX = CD * SB * SA + SD * CC * CB * SA + CA * SD * SC;
-		double XY = -SD * CB - SB * CD * CC;
-		double YY = -SD * SB * CA + CD * CC * CB * CA - SA * CD * SC;
-		double ZY = -SD * SB * SA + CD * CC * CB * SA + CA * CD * SC;
-		double XZ = SB * SC;
-		double YZ = -SC * CB * CA - SA * CC;
-		double ZZ = -SC * CB * SA + CC * CA;
-
-		double px = 0.0, py = 0.0, pz = 0.0;
-
-		if (JD0 == Constant.J2000)
-		{
-			// PERFORM ROTATION FROM J2000.0 TO EPOCH
-			px = XX * R[0] + YX * R[1] + ZX * R[2];
-			py = XY * R[0] + YY * R[1] + ZY * R[2];
-			pz = XZ * R[0] + YZ * R[1] + ZZ * R[2];
-		} else
-		{
-			// PERFORM ROTATION FROM EPOCH TO J2000.0
-			px = XX * R[0] + XY * R[1] + XZ * R[2];
-			py = YX * R[0] + YY * R[1] + YZ * R[2];
-			pz = ZX * R[0] + ZY * R[1] + ZZ * R[2];
-		}
-
-		return new double[] { px, py, pz };
+		double m[] = getMatrix(MODEL_IAU2006, JD0, JD);
+		return rotate(m, JD0 == Constant.J2000, R);
 	}
 
 	/**
@@ -495,59 +518,8 @@ public class Precession
 	 */
 	private static double[] precessionIAU2000(double JD0, double JD, double[] R) throws JPARSECException
 	{
-		if (JD != Constant.J2000 && JD0 != Constant.J2000) throw new JPARSECException("Precession must be from or to J2000 epoch.");
-
-		double T = (JD - JD0) / Constant.JULIAN_DAYS_PER_CENTURY;
-		double T0 = Functions.toCenturies(JD);
-		if (JD == Constant.J2000) T = -T;
-
-		double EPS0 = 84381.448;
-		double PSIA = ((((-0.0 * T + 0.0) * T - 0.001147) * T - 1.07259) * T + 5038.7784) * T - 0.29965 * T0;
-		double OMEGAA = ((((+0.0 * T - 0.0) * T - 0.007726) * T + 0.05127) * T - 0.0) * T + EPS0 - 0.02524 * T0;
-		double CHIA = ((((-0.0 * T + 0.0) * T - 0.001125) * T - 2.38064) * T + 10.5526) * T;
-
-		EPS0 *= Constant.ARCSEC_TO_RAD;
-		PSIA *= Constant.ARCSEC_TO_RAD;
-		OMEGAA *= Constant.ARCSEC_TO_RAD;
-		CHIA *= Constant.ARCSEC_TO_RAD;
-
-		double SA = Math.sin(EPS0);
-		double CA = Math.cos(EPS0);
-		double SB = Math.sin(-PSIA);
-		double CB = Math.cos(-PSIA);
-		double SC = Math.sin(-OMEGAA);
-		double CC = Math.cos(-OMEGAA);
-		double SD = Math.sin(CHIA);
-		double CD = Math.cos(CHIA);
-
-		// COMPUTE ELEMENTS OF PRECESSION ROTATION MATRIX
-		// EQUIVALENT TO R3(CHI_A)R1(-OMEGA_A)R3(-PSI_A)R1(EPSILON_0)
-		double XX = CD * CB - SB * SD * CC;
-		double YX = CD * SB * CA + SD * CC * CB * CA - SA * SD * SC;
-		double ZX = CD * SB * SA + SD * CC * CB * SA + CA * SD * SC;
-		double XY = -SD * CB - SB * CD * CC;
-		double YY = -SD * SB * CA + CD * CC * CB * CA - SA * CD * SC;
-		double ZY = -SD * SB * SA + CD * CC * CB * SA + CA * CD * SC;
-		double XZ = SB * SC;
-		double YZ = -SC * CB * CA - SA * CC;
-		double ZZ = -SC * CB * SA + CC * CA;
-
-		double px = 0.0, py = 0.0, pz = 0.0;
-
-		if (JD0 == Constant.J2000)
-		{
-			// PERFORM ROTATION FROM J2000.0 TO EPOCH
-			px = XX * R[0] + YX * R[1] + ZX * R[2];
-			py = XY * R[0] + YY * R[1] + ZY * R[2];
-			pz = XZ * R[0] + YZ * R[1] + ZZ * R[2];
-		} else {
-			// PERFORM ROTATION FROM EPOCH TO J2000.0
-			px = XX * R[0] + XY * R[1] + XZ * R[2];
-			py = YX * R[0] + YY * R[1] + YZ * R[2];
-			pz = ZX * R[0] + ZY * R[1] + ZZ * R[2];
-		}
-
-		return new double[] { px, py, pz };
+		double m[] = getMatrix(MODEL_IAU2000, JD0, JD);
+		return rotate(m, JD0 == Constant.J2000, R);
 	}
 
 	/**
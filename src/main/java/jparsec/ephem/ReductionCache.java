@@ -0,0 +1,228 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jparsec.util.Configuration;
+
+/**
+ * A small cache for the quantities used in the reduction of coordinates that
+ * depend only on time and on the reduction method: nutation angles, precession
+ * matrices, and the NPB and GCRS to CIRS matrices. Values are keyed by the
+ * instant and a set of flags (the reduction method, the use of Earth Orientation
+ * Parameters, ...), so that computations alternating between several dates
+ * (event searches, or planets and their satellites) find their values again
+ * instead of recomputing them.
+ * <P>
+ * Each cache holds up to {@linkplain Configuration#REDUCTION_CACHE_SIZE} entries
+ * and discards the least recently used one when it is full. Instants closer than
+ * {@linkplain Configuration#REDUCTION_CACHE_TOLERANCE} days share the same entry.
+ * Instances are thread-safe and are shared by all threads.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class ReductionCache
+{
+	/**
+	 * Cache for the nutation angles.
+	 */
+	public static final ReductionCache NUTATION = new ReductionCache("Nutation");
+	/**
+	 * Cache for the precession angles and matrices.
+	 */
+	public static final ReductionCache PRECESSION = new ReductionCache("Precession");
+	/**
+	 * Cache for the NPB and GCRS to CIRS matrices.
+	 */
+	public static final ReductionCache NPB = new ReductionCache("NPB");
+
+	private final String name;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final LinkedHashMap<Key, Object> map = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+			return size() > Configuration.REDUCTION_CACHE_SIZE;
+		}
+	};
+
+	private ReductionCache(String name) {
+		this.name = name;
+	}
+
+	private static final class Key {
+		private final long time;
+		private final int flags;
+
+		private Key(double jd, int flags) {
+			double tolerance = Configuration.REDUCTION_CACHE_TOLERANCE;
+			if (tolerance > 0) {
+				time = (long) Math.floor(jd / tolerance);
+			} else {
+				time = Double.doubleToLongBits(jd);
+			}
+			this.flags = flags;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) return false;
+			Key k = (Key) o;
+			return time == k.time && flags == k.flags;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (time ^ (time >>> 32)) * 31 + flags;
+		}
+	}
+
+	/**
+	 * Returns a vector from the cache.
+	 * @param jd The Julian day.
+	 * @param flags The flags that identify the value.
+	 * @return A copy of the vector, or null if it is not in the cache.
+	 */
+	public double[] getVector(double jd, int flags) {
+		double[] v = (double[]) get(jd, flags);
+		if (v == null) return null;
+		return v.clone();
+	}
+
+	/**
+	 * Returns a matrix from the cache.
+	 * @param jd The Julian day.
+	 * @param flags The flags that identify the value.
+	 * @return A copy of the matrix, or null if it is not in the cache.
+	 */
+	public double[][] getMatrix(double jd, int flags) {
+		double[][] m = (double[][]) get(jd, flags);
+		if (m == null) return null;
+		double out[][] = new double[m.length][];
+		for (int i = 0; i < m.length; i++) {
+			out[i] = m[i].clone();
+		}
+		return out;
+	}
+
+	/**
+	 * Adds a vector to the cache.
+	 * @param jd The Julian day.
+	 * @param flags The flags that identify the value.
+	 * @param v The vector. A copy is stored.
+	 */
+	public void putVector(double jd, int flags, double[] v) {
+		put(jd, flags, v.clone());
+	}
+
+	/**
+	 * Adds a matrix to the cache.
+	 * @param jd The Julian day.
+	 * @param flags The flags that identify the value.
+	 * @param m The matrix. A copy is stored.
+	 */
+	public void putMatrix(double jd, int flags, double[][] m) {
+		double copy[][] = new double[m.length][];
+		for (int i = 0; i < m.length; i++) {
+			copy[i] = m[i].clone();
+		}
+		put(jd, flags, copy);
+	}
+
+	private Object get(double jd, int flags) {
+		if (Configuration.REDUCTION_CACHE_SIZE <= 0) return null;
+		Object o;
+		synchronized (map) {
+			o = map.get(new Key(jd, flags));
+		}
+		if (o == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return o;
+	}
+
+	private void put(double jd, int flags, Object value) {
+		if (Configuration.REDUCTION_CACHE_SIZE <= 0) return;
+		synchronized (map) {
+			map.put(new Key(jd, flags), value);
+		}
+	}
+
+	/**
+	 * Returns the number of values found in the cache.
+	 * @return Number of hits.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of values not found in the cache.
+	 * @return Number of misses.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of entries in the cache.
+	 * @return Number of entries.
+	 */
+	public int size() {
+		synchronized (map) {
+			return map.size();
+		}
+	}
+
+	/**
+	 * Removes all entries and resets the counters.
+	 */
+	public void clear() {
+		synchronized (map) {
+			map.clear();
+		}
+		hits.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 * Clears all caches.
+	 */
+	public static void clearAll() {
+		NUTATION.clear();
+		PRECESSION.clear();
+		NPB.clear();
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + size() + " entries, " + getHits() + " hits, " + getMisses() + " misses";
+	}
+}
@@ -28,6 +28,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.ephem.Ephem;
@@ -95,7 +100,10 @@ public class EventReport {
 	/**
 	 * Variables that controls what is calculated and what is not. Everything is set to true by default except the comets
 	 * and asteroids flag in occultations and conjunctions.
+	 * @deprecated Use an {@linkplain EventReportElement} object instead, so that
+	 * several reports can be calculated at the same time.
 	 */
+	@Deprecated
 	public static boolean eclipses = true, lunarPhases = true, equinoxesAndSolstices = true, MercuryVenusTransits = true,
 		meteorShowers = true, calendar = true, variableStars = true, craters = true, planetaryEvents = true,
 		lunarPerigeeApogee = true, EarthPerihelionAphelion = true, occultationAndConjunctions = true,
@@ -105,27 +113,39 @@ public class EventReport {
 		lunarNeomenia = true;
 	/**
 	 * Maximum accuracy or not for planetary events. True means a few minutes of error at most, false a few hours.
+	 * @deprecated Use an {@linkplain EventReportElement} object instead, so that
+	 * several reports can be calculated at the same time.
 	 */
+	@Deprecated
 	public static boolean maximumAccuracy = true;
 
 	/**
 	 * Limiting magnitude for the conjunction between different objects. Default values are 5 for stars,
 	 * 10 for objects, and 9 for planets.
+	 * @deprecated Use an {@linkplain EventReportElement} object instead, so that
+	 * several reports can be calculated at the same time.
 	 */
+	@Deprecated
 	public static float occultationsConjunctionsStarMaglim = 5f, occultationsConjunctionsObjectMaglim = 10f,
 		occultationsConjunctionsPlanetMaglim = 9f;
 
 	/**
 	 * A set of artificial satellites names, separated by ',', to compute transit events.
 	 * Default value includes ISS, HST, and TIANGONG.
+	 * @deprecated Use an {@linkplain EventReportElement} object instead, so that
+	 * several reports can be calculated at the same time.
 	 */
+	@Deprecated
 	public static String artificialSatellites = "ISS,HST,TIANGONG";
 
 	/**
 	 * Set all static flags in this class to a given value, except the 
 	 * flag {@linkplain #maximumAccuracy}.
 	 * @param a The value.
+	 * @deprecated Use an {@linkplain EventReportElement} object instead, so that
+	 * several reports can be calculated at the same time.
 	 */
+	@Deprecated
 	public static void setEverythingTo(boolean a) {
 		eclipses = a;
 		MercuryVenusTransits = a;
@@ -156,6 +176,22 @@ public class EventReport {
 		artSatIridium = a;
 	}
 
+	/**
+	 * Returns the set of astronomical events between two given dates, using the
+	 * static flags defined in this class to select the events to calculate. See
+	 * {@linkplain #getEvents(TimeElement, TimeElement, ObserverElement, EphemerisElement, EventReportElement)}.
+	 *
+	 * @param init Initial date.
+	 * @param end Final date.
+	 * @param obs The observer.
+	 * @param ephIn The ephemeris properties.
+	 * @return The set of events.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static ArrayList<SimpleEventElement> getEvents(TimeElement init, TimeElement end, ObserverElement obs, EphemerisElement ephIn) throws JPARSECException {
+		return getEvents(init, end, obs, ephIn, getStaticConfiguration());
+	}
+
 	/**
 	 * Returns the set of astronomical events between two given dates. Events are
 	 * sorted in crescent order of date. Note this method requires a few hours in a
@@ -183,15 +219,22 @@ public class EventReport {
 	 * <BR>In the last two cases calculations are performed with the 'optimize' flag enabled in the constructor of the
 	 * {@linkplain MoonEvent} object. Values for precision and accuracy are 300 and 30 for normal events and
 	 * 100 and 30 for mutual events, respectively.
+	 * <BR>
+	 * <BR>Each category of events is calculated as an independent task, using the number
+	 * of threads set in the input configuration. Events of artificial satellites use the
+	 * static configuration of {@linkplain SatelliteEphem}, so they are calculated after
+	 * the other categories in the calling thread. The input objects are not modified.
 	 *
 	 * @param init Initial date.
 	 * @param end Final date.
 	 * @param obs The observer.
 	 * @param ephIn The ephemeris properties.
+	 * @param config The events to calculate and the options to calculate them.
 	 * @return The set of events.
 	 * @throws JPARSECException If an error occurs.
 	 */
-	public static ArrayList<SimpleEventElement> getEvents(TimeElement init, TimeElement end, ObserverElement obs, EphemerisElement ephIn) throws JPARSECException {
+	public static ArrayList<SimpleEventElement> getEvents(TimeElement init, TimeElement end, ObserverElement obs, EphemerisElement ephIn,
+			EventReportElement config) throws JPARSECException {
 		EphemerisElement eph = ephIn.clone();
 		eph.correctForEOP = false;
 		eph.correctForPolarMotion = false;
@@ -199,705 +242,804 @@ public class EventReport {
 
 		double jd0 = TimeScale.getJD(init, obs, eph, SCALE.TERRESTRIAL_TIME);
 		double jdf = TimeScale.getJD(end, obs, eph, SCALE.TERRESTRIAL_TIME);
-		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
 		double jdl0 = TimeScale.getJD(init, obs, eph, SCALE.LOCAL_TIME);
 		double jdlf = TimeScale.getJD(end, obs, eph, SCALE.LOCAL_TIME);
 		AstroDate al0 = new AstroDate(jdl0);
 		AstroDate alf = new AstroDate(jdlf);
 		int year0 = al0.getYear(), yearf = alf.getYear();
 
-		// Calculate events
-		for (int event = 0; event <= 58; event ++) {
-			double jd = jd0;
-			SimpleEventElement s = null, sold = null;
-			do {
-				EVENT_TIME eventTime = EVENT_TIME.NEXT;
-				if (jd == jd0) eventTime = EVENT_TIME.CLOSEST;
+		EventReportElement conf = config.clone();
 
-//				System.out.println(jd0+"/"+jdf+"/"+jd+"/"+event);
-				switch (event) {
-				case 0:
-					if (eclipses) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_LUNAR_ECLIPSE, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 1:
-					if (eclipses) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_SOLAR_ECLIPSE, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 2:
-					if (lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_FIRST_QUARTER, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 3:
-					if (lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_FULL, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 4:
-					if (lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_LAST_QUARTER, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 5:
-					if (lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_NEW, eventTime);
-					if (s != null) jd = s.time + 15;
-					break;
-				case 6:
-					if (equinoxesAndSolstices) {
-						for (int year = year0; year <= yearf; year ++) {
-							s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_SPRING_EQUINOX);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
-					}
-					s = null;
-					break;
-				case 7:
-					if (equinoxesAndSolstices) {
-						for (int year = year0; year <= yearf; year ++) {
-							s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_AUTUMN_EQUINOX);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+		// Calculate events, one task per category
+		ArrayList<EventTask> tasks = new ArrayList<EventTask>();
+		for (int event = 0; event <= LAST_EVENT; event ++) {
+			if (event == 51) {
+				tasks.add(new EventTask(event, TARGET.JUPITER, init, jd0, jdf, year0, yearf, obs, eph, conf));
+				tasks.add(new EventTask(event, TARGET.SATURN, init, jd0, jdf, year0, yearf, obs, eph, conf));
+				tasks.add(new EventTask(event, TARGET.URANUS, init, jd0, jdf, year0, yearf, obs, eph, conf));
+			} else {
+				tasks.add(new EventTask(event, null, init, jd0, jdf, year0, yearf, obs, eph, conf));
+			}
+		}
+
+		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
+		int threads = conf.threads;
+		if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+		if (threads == 1) {
+			for (int i=0; i<tasks.size(); i++) {
+				list.addAll(tasks.get(i).call());
+			}
+		} else {
+			ArrayList<ArrayList<SimpleEventElement>> events = new ArrayList<ArrayList<SimpleEventElement>>();
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+			try {
+				// Slowest tasks are submitted first, but results are merged in the order of the categories
+				ArrayList<Future<ArrayList<SimpleEventElement>>> results = new ArrayList<Future<ArrayList<SimpleEventElement>>>();
+				for (int i=0; i<tasks.size(); i++) {
+					results.add(null);
+				}
+				for (int pass = 0; pass < 2; pass ++) {
+					for (int i=0; i<tasks.size(); i++) {
+						if (tasks.get(i).isArtificialSatellites()) continue;
+						if (tasks.get(i).isSlow() == (pass == 0)) results.set(i, executor.submit(tasks.get(i)));
 					}
-					s = null;
+				}
+				for (int i=0; i<results.size(); i++) {
+					events.add(results.get(i) == null ? null : results.get(i).get());
+				}
+			} catch (ExecutionException e) {
+				throw new JPARSECException("error during calculations.", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JPARSECException("calculations interrupted.", e);
+			} finally {
+				executor.shutdownNow();
+			}
+
+			// Artificial satellites change the static configuration of SatelliteEphem, so they
+			// are calculated in this thread when the other categories are finished
+			for (int i=0; i<tasks.size(); i++) {
+				if (events.get(i) == null) events.set(i, tasks.get(i).call());
+				list.addAll(events.get(i));
+			}
+		}
+
+		// Sort in crescent order of time
+		double val[] = new double[list.size()];
+		for (int i=0; i<list.size(); i++) {
+			val[i] = list.get(i).time;
+		}
+		Object a[] = DataSet.sortInCrescent(list.toArray(), val);
+		for (int i=0; i<list.size(); i++) {
+			list.set(i, (SimpleEventElement) a[i]);
+		}
+
+		// Eliminate duplicate entries, if any
+		for (int i=1; i<list.size(); i++) {
+			do {
+				String entryI = list.get(i).toString();
+				String entryJ = list.get(i-1).toString();
+				if (entryI.equals(entryJ)) {
+					list.remove(i);
+					if (i == list.size()) break;
+				} else {
 					break;
-				case 8:
-					if (equinoxesAndSolstices) {
-						for (int year = year0; year <= yearf; year ++) {
-							s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_SUMMER_SOLSTICE);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+			} while(true);
+		}
+
+		return list;
+	}
+
+	private static final int LAST_EVENT = 58;
+
+	// Artificial satellites events change the static configuration of SatelliteEphem, so
+	// they are calculated after the other categories, and never at the same time in different reports
+	private static final Object ARTIFICIAL_SATELLITES_LOCK = new Object();
+
+	private static EventReportElement getStaticConfiguration() {
+		EventReportElement config = new EventReportElement();
+		config.eclipses = eclipses;
+		config.lunarPhases = lunarPhases;
+		config.equinoxesAndSolstices = equinoxesAndSolstices;
+		config.MercuryVenusTransits = MercuryVenusTransits;
+		config.meteorShowers = meteorShowers;
+		config.calendar = calendar;
+		config.variableStars = variableStars;
+		config.craters = craters;
+		config.planetaryEvents = planetaryEvents;
+		config.lunarPerigeeApogee = lunarPerigeeApogee;
+		config.EarthPerihelionAphelion = EarthPerihelionAphelion;
+		config.occultationAndConjunctions = occultationAndConjunctions;
+		config.occultationsConjunctionsAddCometsAsteroids = occultationsConjunctionsAddCometsAsteroids;
+		config.moonEvents = moonEvents;
+		config.moonEventsOnlySeveralNonMutualAtSameTime = moonEventsOnlySeveralNonMutualAtSameTime;
+		config.moonEventsAlsoMutualEvents = moonEventsAlsoMutualEvents;
+		config.includePlutoAsPlanet = includePlutoAsPlanet;
+		config.cometAsteroidVisibleNakedEye = cometAsteroidVisibleNakedEye;
+		config.cratersOnlyLunarX = cratersOnlyLunarX;
+		config.NEOs = NEOs;
+		config.lunarMaxMinDeclination = lunarMaxMinDeclination;
+		config.calendarDST = calendarDST;
+		config.artSatTransits = artSatTransits;
+		config.artSatTransitsSunMoon = artSatTransitsSunMoon;
+		config.artSatIridium = artSatIridium;
+		config.lunarNeomenia = lunarNeomenia;
+		config.maximumAccuracy = maximumAccuracy;
+		config.occultationsConjunctionsStarMaglim = occultationsConjunctionsStarMaglim;
+		config.occultationsConjunctionsObjectMaglim = occultationsConjunctionsObjectMaglim;
+		config.occultationsConjunctionsPlanetMaglim = occultationsConjunctionsPlanetMaglim;
+		config.artificialSatellites = artificialSatellites;
+		return config;
+	}
+
+	private static class EventTask implements Callable<ArrayList<SimpleEventElement>> {
+		private int event;
+		private TARGET moonPlanet;
+		private TimeElement init;
+		private double jd0, jdf;
+		private int year0, yearf;
+		private ObserverElement obs;
+		private EphemerisElement eph;
+		private EventReportElement config;
+		public EventTask(int event, TARGET moonPlanet, TimeElement init, double jd0, double jdf, int year0, int yearf,
+				ObserverElement obs, EphemerisElement eph, EventReportElement config) {
+			this.event = event;
+			this.moonPlanet = moonPlanet;
+			this.init = init;
+			this.jd0 = jd0;
+			this.jdf = jdf;
+			this.year0 = year0;
+			this.yearf = yearf;
+			this.obs = obs;
+			this.eph = eph;
+			this.config = config;
+		}
+		public boolean isSlow() {
+			return event == 47 || event == 48 || event == 51;
+		}
+		public boolean isArtificialSatellites() {
+			return event >= 55 && event <= 57;
+		}
+		public ArrayList<SimpleEventElement> call() throws JPARSECException {
+			if (isArtificialSatellites()) {
+				synchronized (ARTIFICIAL_SATELLITES_LOCK) {
+					return getEvents(event, moonPlanet, init.clone(), jd0, jdf, year0, yearf, obs.clone(), eph.clone(), config);
+				}
+			}
+			return getEvents(event, moonPlanet, init.clone(), jd0, jdf, year0, yearf, obs.clone(), eph.clone(), config);
+		}
+	}
+
+	private static ArrayList<SimpleEventElement> getEvents(int event, TARGET moonPlanet, TimeElement init, double jd0, double jdf,
+			int year0, int yearf, ObserverElement obs, EphemerisElement eph, EventReportElement config) throws JPARSECException {
+		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
+		double jd = jd0;
+		SimpleEventElement s = null, sold = null;
+		do {
+			EVENT_TIME eventTime = EVENT_TIME.NEXT;
+			if (jd == jd0) eventTime = EVENT_TIME.CLOSEST;
+
+//				System.out.println(jd0+"/"+jdf+"/"+jd+"/"+event);
+			switch (event) {
+			case 0:
+				if (config.eclipses) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_LUNAR_ECLIPSE, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 1:
+				if (config.eclipses) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_SOLAR_ECLIPSE, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 2:
+				if (config.lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_FIRST_QUARTER, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 3:
+				if (config.lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_FULL, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 4:
+				if (config.lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_LAST_QUARTER, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 5:
+				if (config.lunarPhases) s = MainEvents.MoonPhaseOrEclipse(jd, EVENT.MOON_NEW, eventTime);
+				if (s != null) jd = s.time + 15;
+				break;
+			case 6:
+				if (config.equinoxesAndSolstices) {
+					for (int year = year0; year <= yearf; year ++) {
+						s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_SPRING_EQUINOX);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 9:
-					if (equinoxesAndSolstices) {
-						for (int year = year0; year <= yearf; year ++) {
-							s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_WINTER_SOLSTICE);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 7:
+				if (config.equinoxesAndSolstices) {
+					for (int year = year0; year <= yearf; year ++) {
+						s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_AUTUMN_EQUINOX);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 10:
-					if (MercuryVenusTransits) s = MainEvents.getMercuryOrVenusTransit(TARGET.MERCURY, jd, jdf, maximumAccuracy);
-					if (s != null) {
-						s.details = Translate.getEntry(841, LANGUAGE.ENGLISH).toLowerCase()+" "+DataSet.replaceAll(s.details.toLowerCase(), ",", "\u00b0,", true);
-						jd = s.time + 30;
+				}
+				s = null;
+				break;
+			case 8:
+				if (config.equinoxesAndSolstices) {
+					for (int year = year0; year <= yearf; year ++) {
+						s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_SUMMER_SOLSTICE);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					break;
-				case 11:
-					if (MercuryVenusTransits) s = MainEvents.getMercuryOrVenusTransit(TARGET.VENUS, jd, jdf, maximumAccuracy);
-					if (s != null) {
-						s.details = Translate.getEntry(841, LANGUAGE.ENGLISH).toLowerCase()+" "+DataSet.replaceAll(s.details.toLowerCase(), ",", "\u00b0,", true);
-						jd = s.time + 30;
+				}
+				s = null;
+				break;
+			case 9:
+				if (config.equinoxesAndSolstices) {
+					for (int year = year0; year <= yearf; year ++) {
+						s = MainEvents.EquinoxesAndSolstices(year, EVENT.SUN_WINTER_SOLSTICE);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					break;
-				case 12:
-					if (meteorShowers) {
-						for (int year = year0; year <= yearf; year ++) {
-							SimpleEventElement ss[] = MainEvents.meteorShowers(year);
-							for (int si = 0; si < ss.length; si ++) {
-								if (ss[si].time > jd0 && ss[si].time < jdf) {
-									String d = ss[si].details;
-									String f[] = DataSet.toStringArray(d, "|", true);
-									ss[si].eventLocation = new LocationElement(Functions.parseRightAscension(f[2].substring(0, f[2].indexOf(",")).trim()),
-											Functions.parseDeclination(f[2].substring(f[2].indexOf(",") + 1)), 1.0);
-									ss[si].body = Translate.getEntry(1027, LANGUAGE.ENGLISH);
-									String shower = f[1];
-									//if (Translate.getDefaultLanguage() == LANGUAGE.SPANISH) shower = f[0];
-									d = Translate.getEntry(1022, LANGUAGE.ENGLISH)+" "+Translate.getEntry(160, LANGUAGE.ENGLISH)+" "+shower+" ("+Translate.getEntry(1024, LANGUAGE.ENGLISH).toLowerCase()+", "+Translate.getEntry(1023, LANGUAGE.ENGLISH)+" "+f[3]+")";
-									ss[si].details = d;
-									list.add(ss[si]);
-								}
+				}
+				s = null;
+				break;
+			case 10:
+				if (config.MercuryVenusTransits) s = MainEvents.getMercuryOrVenusTransit(TARGET.MERCURY, jd, jdf, config.maximumAccuracy);
+				if (s != null) {
+					s.details = Translate.getEntry(841, LANGUAGE.ENGLISH).toLowerCase()+" "+DataSet.replaceAll(s.details.toLowerCase(), ",", "\u00b0,", true);
+					jd = s.time + 30;
+				}
+				break;
+			case 11:
+				if (config.MercuryVenusTransits) s = MainEvents.getMercuryOrVenusTransit(TARGET.VENUS, jd, jdf, config.maximumAccuracy);
+				if (s != null) {
+					s.details = Translate.getEntry(841, LANGUAGE.ENGLISH).toLowerCase()+" "+DataSet.replaceAll(s.details.toLowerCase(), ",", "\u00b0,", true);
+					jd = s.time + 30;
+				}
+				break;
+			case 12:
+				if (config.meteorShowers) {
+					for (int year = year0; year <= yearf; year ++) {
+						SimpleEventElement ss[] = MainEvents.meteorShowers(year);
+						for (int si = 0; si < ss.length; si ++) {
+							if (ss[si].time > jd0 && ss[si].time < jdf) {
+								String d = ss[si].details;
+								String f[] = DataSet.toStringArray(d, "|", true);
+								ss[si].eventLocation = new LocationElement(Functions.parseRightAscension(f[2].substring(0, f[2].indexOf(",")).trim()),
+										Functions.parseDeclination(f[2].substring(f[2].indexOf(",") + 1)), 1.0);
+								ss[si].body = Translate.getEntry(1027, LANGUAGE.ENGLISH);
+								String shower = f[1];
+								//if (Translate.getDefaultLanguage() == LANGUAGE.SPANISH) shower = f[0];
+								d = Translate.getEntry(1022, LANGUAGE.ENGLISH)+" "+Translate.getEntry(160, LANGUAGE.ENGLISH)+" "+shower+" ("+Translate.getEntry(1024, LANGUAGE.ENGLISH).toLowerCase()+", "+Translate.getEntry(1023, LANGUAGE.ENGLISH)+" "+f[3]+")";
+								ss[si].details = d;
+								list.add(ss[si]);
 							}
 						}
 					}
-					s = null;
-					break;
-				case 13:
-					if (EarthPerihelionAphelion) //s = MainEvents.PerihelionAndAphelion(TARGET.EARTH, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT);
-						s = MainEvents.getPlanetaryEvent(TARGET.EARTH, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 30;
-					break;
-				case 14:
-					if (EarthPerihelionAphelion) //s = MainEvents.PerihelionAndAphelion(TARGET.EARTH, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT);
-						s = MainEvents.getPlanetaryEvent(TARGET.EARTH, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 30;
-					break;
-				case 15:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 30;
-					break;
-				case 16:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 30;
-					break;
-				case 17:
-					if (planetaryEvents)
-					s = MainEvents.getPlanetaryEvent(TARGET.MERCURY, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.CLOSEST, maximumAccuracy);
-					if (s != null) jd = s.time + 40;
-					break;
-				case 18:
-					if (planetaryEvents) {
-						s = MainEvents.getPlanetaryEvent(TARGET.MERCURY, jd, EVENT.PLANET_MINIMUM_ELONGATION, eventTime, maximumAccuracy);
-						try {
-							double elo = Double.parseDouble(s.details.substring(0, s.details.indexOf(",")));
-							if (elo < 0.25) s = null; // Transit on Sun
-						} catch (Exception exc) {}
-					}
-					if (s != null) jd = s.time + 40;
-					break;
-				case 19:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, eventTime, maximumAccuracy);
-					if (s != null) jd = s.time + 100;
-					break;
-				case 20:
-					if (planetaryEvents) {
-						s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MINIMUM_ELONGATION, eventTime, maximumAccuracy);
-						try {
-							double elo = Double.parseDouble(s.details.substring(0, s.details.indexOf(",")));
-							if (elo < 0.25) s = null; // Transit on Sun
-						} catch (Exception exc) {}
-					}
-					if (s != null) jd = s.time + 100;
-					break;
-				case 21:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_OPPOSITION;
-						jd = s.time + 200;
-					}
-					break;
-				case 22:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_CONJUNCTION;
-						jd = s.time + 200;
-					}
-					break;
-				case 23:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_OPPOSITION;
-						jd = s.time + 300;
-					}
-					break;
-				case 24:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_CONJUNCTION;
-						jd = s.time + 300;
-					}
-					break;
-				case 25:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_OPPOSITION;
-						jd = s.time + 300;
-					}
-					break;
-				case 26:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_CONJUNCTION;
-						jd = s.time + 300;
-					}
-					break;
-				case 27:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_OPPOSITION;
-						jd = s.time + 300;
-					}
-					break;
-				case 28:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_CONJUNCTION;
-						jd = s.time + 300;
-					}
-					break;
-				case 29:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_OPPOSITION;
-						jd = s.time + 300;
-					}
-					break;
-				case 30:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) {
-						s.eventType = EVENT.PLANET_CONJUNCTION;
-						jd = s.time + 300;
-					}
-					break;
-				case 31:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 32:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 33:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 34:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 35:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 36:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 37:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 38:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 39:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 100;
-					break;
-				case 40:
-					if (planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 300;
-					break;
-				case 41:
-					if (planetaryEvents) {
-						s = MainEvents.SaturnRingsEdgeOn(jd, eventTime);
-						if (s.time < jd && eventTime == EVENT_TIME.CLOSEST) 
-							s = MainEvents.SaturnRingsEdgeOn(jd, EVENT_TIME.NEXT);
-					}
-					if (s != null) jd = s.time + 300;
-					break;
-				case 42:
-					if (planetaryEvents) {
-						s = MainEvents.SaturnRingsMaximumAperture(jd, eventTime);
-						if (s.time < jd && eventTime == EVENT_TIME.CLOSEST) 
-							s = MainEvents.SaturnRingsMaximumAperture(jd, EVENT_TIME.NEXT);
-					}
-					if (s != null) jd = s.time + 300;
-					break;
-				case 43:
-					if (variableStars) {
-						for (int year = year0; year <= yearf; year ++) {
-							ArrayList<String[]> a = getVariableStarsEphemerides(
-									new TimeElement(new AstroDate(year, 1, 1), SCALE.UNIVERSAL_TIME_UTC), obs, VARIABLE_STARS_ALL,
-									5);
-							if (a != null) {
-								for (int i=0; i<a.size(); i++) {
-									String d[] = a.get(i);
-									double jdl = 0;
-									int in = d[d.length-1].indexOf(";");
-									if (in > 0) {
-										jdl = Double.parseDouble(d[d.length-1].substring(0, in).trim());
-										if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
-										jdl = Double.parseDouble(d[d.length-1].substring(in+1).trim());
-										if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
-									} else {
-										jdl = Double.parseDouble(d[d.length-1]);
-										if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
-									}
-									if (jdl > jd0 - 1 && jdl < jdf + 1) {
-										double jde = TimeScale.getJD(new TimeElement(jdl, SCALE.LOCAL_TIME), obs, eph, SCALE.TERRESTRIAL_TIME);
-										if (jde > jd0 && jde < jdf) {
-											if (d[0].equals("MIRA")) {
-												// mag range, jd of next maxima, jd of next minima
-												String details = Translate.getEntry(1025, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
-												//d[4]+", "+d[6].substring(0, d[6].indexOf(";")).trim()+", "+d[6].substring(d[6].indexOf(";")+1).trim();
-												s = new SimpleEventElement(jde, EVENT.VARIABLE_STAR_MIRA, details);
-											} else {
-												// mag range, phase, jd of next minima
-												String details = Translate.getEntry(1025, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
-												//d[4]+", "+d[5].substring(0, d[5].indexOf(";")).trim()+", "+d[6];
-												s = new SimpleEventElement(jde, EVENT.VARIABLE_STAR_ECLIPSING, details);
-											}
-											s.body = d[1];
-											s.eventLocation = new LocationElement(Double.parseDouble(d[2]), Double.parseDouble(d[3]), 1.0);
-											list.add(s);
-											if (d[0].equals("MIRA")) {
-												SimpleEventElement s2 = s.clone();
-												s2.details = Translate.getEntry(1026, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
-												s2.time = Double.parseDouble(d[6].substring(0, d[6].indexOf(";")).trim());
-												list.add(s2);
-											}
+				}
+				s = null;
+				break;
+			case 13:
+				if (config.EarthPerihelionAphelion) //s = MainEvents.PerihelionAndAphelion(TARGET.EARTH, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT);
+					s = MainEvents.getPlanetaryEvent(TARGET.EARTH, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 30;
+				break;
+			case 14:
+				if (config.EarthPerihelionAphelion) //s = MainEvents.PerihelionAndAphelion(TARGET.EARTH, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT);
+					s = MainEvents.getPlanetaryEvent(TARGET.EARTH, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 30;
+				break;
+			case 15:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 30;
+				break;
+			case 16:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 30;
+				break;
+			case 17:
+				if (config.planetaryEvents)
+				s = MainEvents.getPlanetaryEvent(TARGET.MERCURY, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.CLOSEST, config.maximumAccuracy);
+				if (s != null) jd = s.time + 40;
+				break;
+			case 18:
+				if (config.planetaryEvents) {
+					s = MainEvents.getPlanetaryEvent(TARGET.MERCURY, jd, EVENT.PLANET_MINIMUM_ELONGATION, eventTime, config.maximumAccuracy);
+					try {
+						double elo = Double.parseDouble(s.details.substring(0, s.details.indexOf(",")));
+						if (elo < 0.25) s = null; // Transit on Sun
+					} catch (Exception exc) {}
+				}
+				if (s != null) jd = s.time + 40;
+				break;
+			case 19:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, eventTime, config.maximumAccuracy);
+				if (s != null) jd = s.time + 100;
+				break;
+			case 20:
+				if (config.planetaryEvents) {
+					s = MainEvents.getPlanetaryEvent(TARGET.VENUS, jd, EVENT.PLANET_MINIMUM_ELONGATION, eventTime, config.maximumAccuracy);
+					try {
+						double elo = Double.parseDouble(s.details.substring(0, s.details.indexOf(",")));
+						if (elo < 0.25) s = null; // Transit on Sun
+					} catch (Exception exc) {}
+				}
+				if (s != null) jd = s.time + 100;
+				break;
+			case 21:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_OPPOSITION;
+					jd = s.time + 200;
+				}
+				break;
+			case 22:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_CONJUNCTION;
+					jd = s.time + 200;
+				}
+				break;
+			case 23:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_OPPOSITION;
+					jd = s.time + 300;
+				}
+				break;
+			case 24:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_CONJUNCTION;
+					jd = s.time + 300;
+				}
+				break;
+			case 25:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_OPPOSITION;
+					jd = s.time + 300;
+				}
+				break;
+			case 26:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_CONJUNCTION;
+					jd = s.time + 300;
+				}
+				break;
+			case 27:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_OPPOSITION;
+					jd = s.time + 300;
+				}
+				break;
+			case 28:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_CONJUNCTION;
+					jd = s.time + 300;
+				}
+				break;
+			case 29:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MAXIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_OPPOSITION;
+					jd = s.time + 300;
+				}
+				break;
+			case 30:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MINIMUM_ELONGATION, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) {
+					s.eventType = EVENT.PLANET_CONJUNCTION;
+					jd = s.time + 300;
+				}
+				break;
+			case 31:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 32:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.MARS, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 33:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 34:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.JUPITER, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 35:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 36:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.SATURN, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 37:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 38:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.URANUS, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 39:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 100;
+				break;
+			case 40:
+				if (config.planetaryEvents) s = MainEvents.getPlanetaryEvent(TARGET.NEPTUNE, jd, EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 300;
+				break;
+			case 41:
+				if (config.planetaryEvents) {
+					s = MainEvents.SaturnRingsEdgeOn(jd, eventTime);
+					if (s.time < jd && eventTime == EVENT_TIME.CLOSEST) 
+						s = MainEvents.SaturnRingsEdgeOn(jd, EVENT_TIME.NEXT);
+				}
+				if (s != null) jd = s.time + 300;
+				break;
+			case 42:
+				if (config.planetaryEvents) {
+					s = MainEvents.SaturnRingsMaximumAperture(jd, eventTime);
+					if (s.time < jd && eventTime == EVENT_TIME.CLOSEST) 
+						s = MainEvents.SaturnRingsMaximumAperture(jd, EVENT_TIME.NEXT);
+				}
+				if (s != null) jd = s.time + 300;
+				break;
+			case 43:
+				if (config.variableStars) {
+					for (int year = year0; year <= yearf; year ++) {
+						ArrayList<String[]> a = getVariableStarsEphemerides(
+								new TimeElement(new AstroDate(year, 1, 1), SCALE.UNIVERSAL_TIME_UTC), obs, VARIABLE_STARS_ALL,
+								5);
+						if (a != null) {
+							for (int i=0; i<a.size(); i++) {
+								String d[] = a.get(i);
+								double jdl = 0;
+								int in = d[d.length-1].indexOf(";");
+								if (in > 0) {
+									jdl = Double.parseDouble(d[d.length-1].substring(0, in).trim());
+									if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
+									jdl = Double.parseDouble(d[d.length-1].substring(in+1).trim());
+									if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
+								} else {
+									jdl = Double.parseDouble(d[d.length-1]);
+									if (jdl < jd0 - 1 || jdl > jdf + 1) continue;
+								}
+								if (jdl > jd0 - 1 && jdl < jdf + 1) {
+									double jde = TimeScale.getJD(new TimeElement(jdl, SCALE.LOCAL_TIME), obs, eph, SCALE.TERRESTRIAL_TIME);
+									if (jde > jd0 && jde < jdf) {
+										if (d[0].equals("MIRA")) {
+											// mag range, jd of next maxima, jd of next minima
+											String details = Translate.getEntry(1025, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
+											//d[4]+", "+d[6].substring(0, d[6].indexOf(";")).trim()+", "+d[6].substring(d[6].indexOf(";")+1).trim();
+											s = new SimpleEventElement(jde, EVENT.VARIABLE_STAR_MIRA, details);
+										} else {
+											// mag range, phase, jd of next minima
+											String details = Translate.getEntry(1025, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
+											//d[4]+", "+d[5].substring(0, d[5].indexOf(";")).trim()+", "+d[6];
+											s = new SimpleEventElement(jde, EVENT.VARIABLE_STAR_ECLIPSING, details);
+										}
+										s.body = d[1];
+										s.eventLocation = new LocationElement(Double.parseDouble(d[2]), Double.parseDouble(d[3]), 1.0);
+										list.add(s);
+										if (d[0].equals("MIRA")) {
+											SimpleEventElement s2 = s.clone();
+											s2.details = Translate.getEntry(1026, LANGUAGE.ENGLISH)+" of "+d[1]+" (mag "+d[4]+")";
+											s2.time = Double.parseDouble(d[6].substring(0, d[6].indexOf(";")).trim());
+											list.add(s2);
 										}
 									}
 								}
 							}
 						}
 					}
-					s = null;
-					break;
-				case 44:
-					if (calendar) {
-						ArrayList<SimpleEventElement> a = getCalendarEvents(jd0, jdf, year0, yearf, obs, eph);
-						for (int si = 0; si < a.size(); si ++) {
-							s = a.get(si);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 44:
+				if (config.calendar) {
+					ArrayList<SimpleEventElement> a = getCalendarEvents(jd0, jdf, year0, yearf, obs, eph);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 45:
-					if (lunarPerigeeApogee) s = MainEvents.getPlanetaryEvent(TARGET.Moon, jd, EVENT.PLANET_MAXIMUM_DISTANCE, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 10;
-					break;
-				case 46:
-					if (lunarPerigeeApogee) s = MainEvents.getPlanetaryEvent(TARGET.Moon, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, maximumAccuracy);
-					if (s != null) jd = s.time + 10;
-					break;
-				case 47:
-					if (craters) {
-						ArrayList<SimpleEventElement> a = getLTP(jd0, jdf, obs, eph);
-						for (int si = 0; si < a.size(); si ++) {
-							s = a.get(si);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 45:
+				if (config.lunarPerigeeApogee) s = MainEvents.getPlanetaryEvent(TARGET.Moon, jd, EVENT.PLANET_MAXIMUM_DISTANCE, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 10;
+				break;
+			case 46:
+				if (config.lunarPerigeeApogee) s = MainEvents.getPlanetaryEvent(TARGET.Moon, jd, EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, config.maximumAccuracy);
+				if (s != null) jd = s.time + 10;
+				break;
+			case 47:
+				if (config.craters) {
+					ArrayList<SimpleEventElement> a = getLTP(jd0, jdf, obs, eph, config);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 48:
-					if (occultationAndConjunctions) {
-						ArrayList<SimpleEventElement> a = getOccCon(jd0, jdf, obs, eph);
-						for (int si = 0; si < a.size(); si ++) {
-							s = a.get(si);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 48:
+				if (config.occultationAndConjunctions) {
+					ArrayList<SimpleEventElement> a = getOccCon(jd0, jdf, obs, eph, config);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 49:
-					if (cometAsteroidVisibleNakedEye) {
-						ArrayList<SimpleEventElement> a = getCometAsteroidVisibleNakedEye(jd0, jdf, obs, eph);
-						for (int si = 0; si < a.size(); si ++) {
-							s = a.get(si);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 49:
+				if (config.cometAsteroidVisibleNakedEye) {
+					ArrayList<SimpleEventElement> a = getCometAsteroidVisibleNakedEye(jd0, jdf, obs, eph);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 50:
-					if (NEOs) {
-						ArrayList<SimpleEventElement> a = getCloseApproachOfNEOs(jd0, jdf, obs, eph);
-						for (int si = 0; si < a.size(); si ++) {
-							s = a.get(si);
-							if (s.time > jd0 && s.time < jdf) list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 50:
+				if (config.NEOs) {
+					ArrayList<SimpleEventElement> a = getCloseApproachOfNEOs(jd0, jdf, obs, eph);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 51:
-					if (moonEvents) {
-						// Return events for Jupiter, Saturn, and Uranus
-						if (Runtime.getRuntime().availableProcessors() > 1) {
-							thread0 th0 = new thread0(jd0, jdf, obs, eph);
-							thread1 th1 = new thread1(jd0, jdf, obs, eph);
-							Thread t0 = new Thread(th0);
-							Thread t1 = new Thread(th1);
-							t0.start();
-							t1.start();
-							try {
-								t0.join();
-								t1.join();
-								if (th0.a != null) {
-									for (int si = 0; si < th0.a.size(); si ++) {
-										s = th0.a.get(si);
-										if (s.time > jd0 && s.time < jdf) list.add(s);
-									}
-								}
-								if (th1.a != null) {
-									for (int si = 0; si < th1.a.size(); si ++) {
-										s = th1.a.get(si);
-										if (s.time > jd0 && s.time < jdf) list.add(s);
-									}
-								}
-							} catch (Exception exc) {
-								exc.printStackTrace();
-							}
-						} else {
-							eph.targetBody = TARGET.JUPITER;
-							ArrayList<SimpleEventElement> a = getMoonEvents(jd0, jdf, obs, eph);
-							for (int si = 0; si < a.size(); si ++) {
-								s = a.get(si);
-								if (s.time > jd0 && s.time < jdf) list.add(s);
-							}
-							eph.targetBody = TARGET.SATURN;
-							a = getMoonEvents(jd0, jdf, obs, eph);
-							for (int si = 0; si < a.size(); si ++) {
-								s = a.get(si);
-								if (s.time > jd0 && s.time < jdf) list.add(s);
-							}
-							eph.targetBody = TARGET.URANUS;
-							a = getMoonEvents(jd0, jdf, obs, eph);
-							for (int si = 0; si < a.size(); si ++) {
-								s = a.get(si);
-								if (s.time > jd0 && s.time < jdf) list.add(s);
-							}
-						}
+				}
+				s = null;
+				break;
+			case 51:
+				// Events for Jupiter, Saturn, and Uranus are calculated in separate tasks
+				if (config.moonEvents && moonPlanet != null) {
+					eph.targetBody = moonPlanet;
+					ArrayList<SimpleEventElement> a = getMoonEvents(jd0, jdf, obs, eph, config);
+					for (int si = 0; si < a.size(); si ++) {
+						s = a.get(si);
+						if (s.time > jd0 && s.time < jdf) list.add(s);
 					}
-					s = null;
-					break;
-				case 52:
-					if (lunarMaxMinDeclination) s = LunarEvent.MoonMaximumDeclination(jd, EVENT_TIME.NEXT);
-					if (s != null) jd = s.time + 10;
-					break;
-				case 53:
-					if (lunarMaxMinDeclination) s = LunarEvent.MoonMinimumDeclination(jd, EVENT_TIME.NEXT);
-					if (s != null) jd = s.time + 10;
-					break;
-				case 54:
-					if (calendarDST) {
-						double times[] = TimeScale.getDSTStartEnd((new AstroDate((new AstroDate(jd)).getYear(), 6, 1)).jd(), obs);
-						double jd1 = TimeScale.getJD(new TimeElement(times[0], SCALE.UNIVERSAL_TIME_UTC), obs, eph, SCALE.TERRESTRIAL_TIME);
-						double jd2 = TimeScale.getJD(new TimeElement(times[1], SCALE.UNIVERSAL_TIME_UTC), obs, eph, SCALE.TERRESTRIAL_TIME);
-						if (jd1 > jd0 && jd1 < jdf) {
-							s = new SimpleEventElement(jd1, EVENT.CALENDAR, "DST1");
-							list.add(s);
-						}
-						if (jd2 > jd0 && jd2 < jdf) {
-							s = new SimpleEventElement(jd2 + 1.0/24.0, EVENT.CALENDAR, "DST2");
-							list.add(s);
-						}
+				}
+				s = null;
+				break;
+			case 52:
+				if (config.lunarMaxMinDeclination) s = LunarEvent.MoonMaximumDeclination(jd, EVENT_TIME.NEXT);
+				if (s != null) jd = s.time + 10;
+				break;
+			case 53:
+				if (config.lunarMaxMinDeclination) s = LunarEvent.MoonMinimumDeclination(jd, EVENT_TIME.NEXT);
+				if (s != null) jd = s.time + 10;
+				break;
+			case 54:
+				if (config.calendarDST) {
+					double times[] = TimeScale.getDSTStartEnd((new AstroDate((new AstroDate(jd)).getYear(), 6, 1)).jd(), obs);
+					double jd1 = TimeScale.getJD(new TimeElement(times[0], SCALE.UNIVERSAL_TIME_UTC), obs, eph, SCALE.TERRESTRIAL_TIME);
+					double jd2 = TimeScale.getJD(new TimeElement(times[1], SCALE.UNIVERSAL_TIME_UTC), obs, eph, SCALE.TERRESTRIAL_TIME);
+					if (jd1 > jd0 && jd1 < jdf) {
+						s = new SimpleEventElement(jd1, EVENT.CALENDAR, "DST1");
+						list.add(s);
 					}
-					s = null;
-					break;
-				case 55:
-					if (artSatTransits) {
-						SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
-						SatelliteEphem.setSatellitesFromExternalFile(null);
-	    				boolean withSats = false;
-	    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
-	    				try {
-		    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
-		    					withSats = true;
-		    				} else {
-		    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
-		    					if (pt != null) withSats = true;
-		    				}
-	    				} catch (Exception exc) {}
-	    				if (withSats) {
-							String name[] = DataSet.toStringArray(artificialSatellites, ",");
-		    				SatelliteOrbitalElement sat[] = new SatelliteOrbitalElement[name.length];
-		    				for (int i=0; i<name.length; i++) {
-		    					name[i] = name[i].trim();
-			    				sat[i] = SatelliteEphem.getArtificialSatelliteOrbitalElement(SatelliteEphem.getArtificialSatelliteTargetIndex(name[i]));
-		    				}
-		    				double min_elevation = 15 * Constant.DEG_TO_RAD, maxDays = jdf - jd0;
-
-		    				ArrayList<SimpleEventElement> newEvents = new ArrayList<SimpleEventElement>();
-		    				for (int i=0; i<name.length; i++) {
-		    					TimeElement initTime = init.clone();
-
-		    					while (true) {
-			    					double initJD = initTime.astroDate.jd();
-			    					if (initJD > jdf) break;
-			    					maxDays = jdf - initJD;
-			    					double jdNext = SDP4_SGP4.getNextPass(initTime, obs, eph, sat[i], min_elevation, maxDays, true);
-			    					if (Math.abs(jdNext) > jdf || jdNext == 0) break;
-		    						initTime.astroDate = new AstroDate(Math.abs(jdNext) + 30.0 / 1440.0);
-			    					eph.targetBody = TARGET.NOT_A_PLANET;
-			    					eph.targetBody.setIndex(SatelliteEphem.getArtificialSatelliteTargetIndex(name[i]));
-			    					double jdNextTT = TimeScale.getJD(new TimeElement(Math.abs(jdNext), SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-			    					SatelliteEphemElement sephem = SDP4_SGP4.satEphemeris(new TimeElement(jdNextTT, SCALE.TERRESTRIAL_TIME), obs, eph, false);
-			    					String ecl = "E";
-			    					if (jdNext > 0) ecl = Functions.formatValue(sephem.magnitude, 1)+"m";
-			    					SimpleEventElement newEvent = new SimpleEventElement(jdNextTT, SimpleEventElement.EVENT.ARTIFICIAL_SATELLITES_TRANSITS, ecl);
-			    					newEvent.body = sat[i].name;
-			    					newEvent.eventLocation = sephem.getEquatorialLocation();
-			    					newEvents.add(newEvent);
-		    					}
-		    				}
-		    				list.addAll(newEvents);
-	    				}
+					if (jd2 > jd0 && jd2 < jdf) {
+						s = new SimpleEventElement(jd2 + 1.0/24.0, EVENT.CALENDAR, "DST2");
+						list.add(s);
 					}
-					break;
-				case 56:
-					if (artSatTransitsSunMoon) {
-						SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
-						SatelliteEphem.setSatellitesFromExternalFile(null);
-	    				boolean withSats = false;
-	    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
-	    				try {
-		    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
-		    					withSats = true;
-		    				} else {
-		    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
-		    					if (pt != null) withSats = true;
-		    				}
-	    				} catch (Exception exc) {}
-	    				if (withSats) {
-							String satNames[] = DataSet.toStringArray(artificialSatellites, ",");
-							for (int i=0; i<satNames.length; i++) {
-								int index = SatelliteEphem.getArtificialSatelliteTargetIndex(satNames[i]);
-								if (index >= 0) {
-									SatelliteOrbitalElement sat = SatelliteEphem.getArtificialSatelliteOrbitalElement(index);
-									ArrayList<SimpleEventElement> more = SDP4_SGP4.getNextSunOrMoonTransits(new TimeElement(jd0, SCALE.TERRESTRIAL_TIME),
-										obs, eph, sat, jdf-jd0, 0.25);
-									if (more != null || more.size() > 0)
-										list.addAll(more);
-								}
-							}
+				}
+				s = null;
+				break;
+			case 55:
+				if (config.artSatTransits) {
+					SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
+					SatelliteEphem.setSatellitesFromExternalFile(null);
+    				boolean withSats = false;
+    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
+    				try {
+	    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
+	    					withSats = true;
+	    				} else {
+	    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
+	    					if (pt != null) withSats = true;
 	    				}
-					}
-					break;
-				case 57:
-					if (artSatIridium) {
-						SatelliteEphem.USE_IRIDIUM_SATELLITES = true;
-						SatelliteEphem.setSatellitesFromExternalFile(null);
-	    				boolean withSats = false;
-	    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
-	    				try {
-		    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
-		    					withSats = true;
-		    				} else {
-		    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
-		    					if (pt != null) withSats = true;
-		    				}
-	    				} catch (Exception exc) {}
-	    				if (withSats) {
-		    				double min_elevation = 15 * Constant.DEG_TO_RAD, maxDays = jdf - jd0;
-
-		    				ArrayList<SimpleEventElement> newEvents = new ArrayList<SimpleEventElement>();
-	        				String sstart = "start", send = "end", smax = "max";
-	        				/*if (Translate.getDefaultLanguage() == LANGUAGE.SPANISH) {
-	        					sstart = "inicio";
-	        					send = "final";
-	        					smax = Translate.translate(1321);
-	        				}*/
-	        				String mag = Translate.getEntry(157, LANGUAGE.ENGLISH).toLowerCase();
-	        				String az = Translate.getEntry(28, LANGUAGE.ENGLISH).toLowerCase();
-	        				String el = Translate.getEntry(29, LANGUAGE.ENGLISH).toLowerCase();
-	        				int n = SatelliteEphem.getArtificialSatelliteCount();
-	        				int precision = 5;
-		    				for (int i=0; i<n; i++) {
-		    	                eph.targetBody.setIndex(i);
-		    	                SatelliteOrbitalElement soe = SatelliteEphem.getArtificialSatelliteOrbitalElement(i);
-		    	                if (soe.getStatus() == SatelliteOrbitalElement.STATUS.FAILED || soe.getStatus() == SatelliteOrbitalElement.STATUS.UNKNOWN)
-		    	                    continue;
-		    	                soe.name = DataSet.replaceAll(soe.name, " [+]", "", true);
-		    					ArrayList<Object[]> flares = SatelliteEphem.getNextIridiumFlares(init, obs, eph, soe, min_elevation, maxDays, true, precision);
-		    					if (flares == null) continue;
-		    					for (int j=0;j<flares.size(); j++) {
-		    						Object data[] = flares.get(j);
-			    					double jdNext = (Double) data[0];
-			    					double jdEnd = (Double) data[1];
-			    					double jdMax = (Double) data[2];
-			    					SatelliteEphemElement satInit = (SatelliteEphemElement) data[4];
-			    					SatelliteEphemElement satEnd = (SatelliteEphemElement) data[5];
-			    					SatelliteEphemElement satMax = (SatelliteEphemElement) data[6];
-
-			    					AstroDate ainit = new AstroDate(jdNext);
-			    					AstroDate aend = new AstroDate(jdEnd);
-			    					AstroDate amax = new AstroDate(jdMax);
-			    					String det = sstart + " ("+DateTimeOps.twoDigits(ainit.getHour())+":"+DateTimeOps.twoDigits(ainit.getMinute()) + ":" + DateTimeOps.twoDigits((int) ainit.getSeconds()) + "): ";
-			    					det += az + " " +Functions.formatAngleAsDegrees(satInit.azimuth, 1)+", "+el+" "+Functions.formatAngleAsDegrees(satInit.elevation, 1) + ", "+mag+" "+Functions.formatValue(satInit.magnitude, 1)+ "; ";
-			    					det += send + " ("+DateTimeOps.twoDigits(aend.getHour())+":"+DateTimeOps.twoDigits(aend.getMinute()) + ":" + DateTimeOps.twoDigits((int) aend.getSeconds()) + "): ";
-			    					det += Functions.formatAngleAsDegrees(satEnd.azimuth, 1)+", "+Functions.formatAngleAsDegrees(satEnd.elevation, 1) + ", "+Functions.formatValue(satEnd.magnitude, 1)+"; ";
-			    					det += smax + " ("+DateTimeOps.twoDigits(amax.getHour())+":"+DateTimeOps.twoDigits(amax.getMinute()) + ":" + DateTimeOps.twoDigits((int) amax.getSeconds()) + "): ";
-			    					det += Functions.formatAngleAsDegrees(satMax.azimuth, 1)+", "+Functions.formatAngleAsDegrees(satMax.elevation, 1) + ", "+Functions.formatValue(satMax.magnitude, 1);
-			    					double jdNextTT = TimeScale.getJD(new TimeElement(jdNext, SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-			    					double jdEndTT = TimeScale.getJD(new TimeElement(jdEnd, SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-			    					SimpleEventElement newEvent = new SimpleEventElement(jdNextTT, SimpleEventElement.EVENT.ARTIFICIAL_SATELLITES_IRIDIUM_FLARES,
-			    							det);
-			    					newEvent.endTime = jdEndTT;
-			    					newEvent.body = soe.name;
-			    					newEvent.eventLocation = satInit.getEquatorialLocation();
-			    					newEvents.add(newEvent);
-		    					}
-		    				}
-		    				list.addAll(newEvents);
+    				} catch (Exception exc) {}
+    				if (withSats) {
+						String name[] = DataSet.toStringArray(config.artificialSatellites, ",");
+	    				SatelliteOrbitalElement sat[] = new SatelliteOrbitalElement[name.length];
+	    				for (int i=0; i<name.length; i++) {
+	    					name[i] = name[i].trim();
+		    				sat[i] = SatelliteEphem.getArtificialSatelliteOrbitalElement(SatelliteEphem.getArtificialSatelliteTargetIndex(name[i]));
 	    				}
-						SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
-						SatelliteEphem.setSatellitesFromExternalFile(null);
-					}
-					break;
-				case 58:
-					if (lunarNeomenia) {
-						s = null;
-						while (s == null && jd < jdf) {
-							s = LunarEvent.Neomenia(new TimeElement(jd, SCALE.TERRESTRIAL_TIME), obs, eph);
-							if (s != null) {
-								jd = s.time + 15;
-							} else {
-								jd = jd + 15;
+	    				double min_elevation = 15 * Constant.DEG_TO_RAD, maxDays = jdf - jd0;
+
+	    				ArrayList<SimpleEventElement> newEvents = new ArrayList<SimpleEventElement>();
+	    				for (int i=0; i<name.length; i++) {
+	    					TimeElement initTime = init.clone();
+
+	    					while (true) {
+		    					double initJD = initTime.astroDate.jd();
+		    					if (initJD > jdf) break;
+		    					maxDays = jdf - initJD;
+		    					double jdNext = SDP4_SGP4.getNextPass(initTime, obs, eph, sat[i], min_elevation, maxDays, true);
+		    					if (Math.abs(jdNext) > jdf || jdNext == 0) break;
+	    						initTime.astroDate = new AstroDate(Math.abs(jdNext) + 30.0 / 1440.0);
+		    					eph.targetBody = TARGET.NOT_A_PLANET;
+		    					eph.targetBody.setIndex(SatelliteEphem.getArtificialSatelliteTargetIndex(name[i]));
+		    					double jdNextTT = TimeScale.getJD(new TimeElement(Math.abs(jdNext), SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		    					SatelliteEphemElement sephem = SDP4_SGP4.satEphemeris(new TimeElement(jdNextTT, SCALE.TERRESTRIAL_TIME), obs, eph, false);
+		    					String ecl = "E";
+		    					if (jdNext > 0) ecl = Functions.formatValue(sephem.magnitude, 1)+"m";
+		    					SimpleEventElement newEvent = new SimpleEventElement(jdNextTT, SimpleEventElement.EVENT.ARTIFICIAL_SATELLITES_TRANSITS, ecl);
+		    					newEvent.body = sat[i].name;
+		    					newEvent.eventLocation = sephem.getEquatorialLocation();
+		    					newEvents.add(newEvent);
+	    					}
+	    				}
+	    				list.addAll(newEvents);
+    				}
+				}
+				break;
+			case 56:
+				if (config.artSatTransitsSunMoon) {
+					SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
+					SatelliteEphem.setSatellitesFromExternalFile(null);
+    				boolean withSats = false;
+    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
+    				try {
+	    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
+	    					withSats = true;
+	    				} else {
+	    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
+	    					if (pt != null) withSats = true;
+	    				}
+    				} catch (Exception exc) {}
+    				if (withSats) {
+						String satNames[] = DataSet.toStringArray(config.artificialSatellites, ",");
+						for (int i=0; i<satNames.length; i++) {
+							int index = SatelliteEphem.getArtificialSatelliteTargetIndex(satNames[i]);
+							if (index >= 0) {
+								SatelliteOrbitalElement sat = SatelliteEphem.getArtificialSatelliteOrbitalElement(index);
+								ArrayList<SimpleEventElement> more = SDP4_SGP4.getNextSunOrMoonTransits(new TimeElement(jd0, SCALE.TERRESTRIAL_TIME),
+									obs, eph, sat, jdf-jd0, 0.25);
+								if (more != null || more.size() > 0)
+									list.addAll(more);
 							}
 						}
-					}
-					break;
-				default:
+    				}
+				}
+				break;
+			case 57:
+				if (config.artSatIridium) {
+					SatelliteEphem.USE_IRIDIUM_SATELLITES = true;
+					SatelliteEphem.setSatellitesFromExternalFile(null);
+    				boolean withSats = false;
+    				AstroDate astroUT = new AstroDate(TimeScale.getJD(init, obs, eph, SCALE.UNIVERSAL_TIME_UTC));
+    				try {
+	    				if (Configuration.isAcceptableDateForArtificialSatellites(astroUT)) {
+	    					withSats = true;
+	    				} else {
+	    					String pt = Configuration.updateArtificialSatellitesInTempDir(astroUT);
+	    					if (pt != null) withSats = true;
+	    				}
+    				} catch (Exception exc) {}
+    				if (withSats) {
+	    				double min_elevation = 15 * Constant.DEG_TO_RAD, maxDays = jdf - jd0;
+
+	    				ArrayList<SimpleEventElement> newEvents = new ArrayList<SimpleEventElement>();
+        				String sstart = "start", send = "end", smax = "max";
+        				/*if (Translate.getDefaultLanguage() == LANGUAGE.SPANISH) {
+        					sstart = "inicio";
+        					send = "final";
+        					smax = Translate.translate(1321);
+        				}*/
+        				String mag = Translate.getEntry(157, LANGUAGE.ENGLISH).toLowerCase();
+        				String az = Translate.getEntry(28, LANGUAGE.ENGLISH).toLowerCase();
+        				String el = Translate.getEntry(29, LANGUAGE.ENGLISH).toLowerCase();
+        				int n = SatelliteEphem.getArtificialSatelliteCount();
+        				int precision = 5;
+	    				for (int i=0; i<n; i++) {
+	    	                eph.targetBody.setIndex(i);
+	    	                SatelliteOrbitalElement soe = SatelliteEphem.getArtificialSatelliteOrbitalElement(i);
+	    	                if (soe.getStatus() == SatelliteOrbitalElement.STATUS.FAILED || soe.getStatus() == SatelliteOrbitalElement.STATUS.UNKNOWN)
+	    	                    continue;
+	    	                soe.name = DataSet.replaceAll(soe.name, " [+]", "", true);
+	    					ArrayList<Object[]> flares = SatelliteEphem.getNextIridiumFlares(init, obs, eph, soe, min_elevation, maxDays, true, precision);
+	    					if (flares == null) continue;
+	    					for (int j=0;j<flares.size(); j++) {
+	    						Object data[] = flares.get(j);
+		    					double jdNext = (Double) data[0];
+		    					double jdEnd = (Double) data[1];
+		    					double jdMax = (Double) data[2];
+		    					SatelliteEphemElement satInit = (SatelliteEphemElement) data[4];
+		    					SatelliteEphemElement satEnd = (SatelliteEphemElement) data[5];
+		    					SatelliteEphemElement satMax = (SatelliteEphemElement) data[6];
+
+		    					AstroDate ainit = new AstroDate(jdNext);
+		    					AstroDate aend = new AstroDate(jdEnd);
+		    					AstroDate amax = new AstroDate(jdMax);
+		    					String det = sstart + " ("+DateTimeOps.twoDigits(ainit.getHour())+":"+DateTimeOps.twoDigits(ainit.getMinute()) + ":" + DateTimeOps.twoDigits((int) ainit.getSeconds()) + "): ";
+		    					det += az + " " +Functions.formatAngleAsDegrees(satInit.azimuth, 1)+", "+el+" "+Functions.formatAngleAsDegrees(satInit.elevation, 1) + ", "+mag+" "+Functions.formatValue(satInit.magnitude, 1)+ "; ";
+		    					det += send + " ("+DateTimeOps.twoDigits(aend.getHour())+":"+DateTimeOps.twoDigits(aend.getMinute()) + ":" + DateTimeOps.twoDigits((int) aend.getSeconds()) + "): ";
+		    					det += Functions.formatAngleAsDegrees(satEnd.azimuth, 1)+", "+Functions.formatAngleAsDegrees(satEnd.elevation, 1) + ", "+Functions.formatValue(satEnd.magnitude, 1)+"; ";
+		    					det += smax + " ("+DateTimeOps.twoDigits(amax.getHour())+":"+DateTimeOps.twoDigits(amax.getMinute()) + ":" + DateTimeOps.twoDigits((int) amax.getSeconds()) + "): ";
+		    					det += Functions.formatAngleAsDegrees(satMax.azimuth, 1)+", "+Functions.formatAngleAsDegrees(satMax.elevation, 1) + ", "+Functions.formatValue(satMax.magnitude, 1);
+		    					double jdNextTT = TimeScale.getJD(new TimeElement(jdNext, SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		    					double jdEndTT = TimeScale.getJD(new TimeElement(jdEnd, SCALE.LOCAL_TIME), obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		    					SimpleEventElement newEvent = new SimpleEventElement(jdNextTT, SimpleEventElement.EVENT.ARTIFICIAL_SATELLITES_IRIDIUM_FLARES,
+		    							det);
+		    					newEvent.endTime = jdEndTT;
+		    					newEvent.body = soe.name;
+		    					newEvent.eventLocation = satInit.getEquatorialLocation();
+		    					newEvents.add(newEvent);
+	    					}
+	    				}
+	    				list.addAll(newEvents);
+    				}
+					SatelliteEphem.USE_IRIDIUM_SATELLITES = false;
+					SatelliteEphem.setSatellitesFromExternalFile(null);
+				}
+				break;
+			case 58:
+				if (config.lunarNeomenia) {
 					s = null;
-					break;
-				};
-
-				if (s == null) break;
-				if (s.equals(sold)) {
-					jd += (jd - s.time);
-				} else {
-					if (s.time > jd0 && s.time < jdf) {
-						if (event == 0 || event == 1 || event == 10 || event == 11) {
-							TimeElement time = new TimeElement(s.time, SCALE.TERRESTRIAL_TIME);
-							EphemerisElement ephCopy = eph.clone();
-							ephCopy.targetBody = TARGET.SUN;
-							if (event == 0) ephCopy.targetBody = TARGET.Moon;
-							if (event == 10) ephCopy.targetBody = TARGET.MERCURY;
-							if (event == 11) ephCopy.targetBody = TARGET.VENUS;
-							EphemElement ephemSun = Ephem.getEphemeris(time, obs, ephCopy, false);
-							boolean solarEclipseNotVisible = false;
-							if (event == 1 && ephemSun.elevation >= 0) {
-								RenderEclipse re = null;
+					while (s == null && jd < jdf) {
+						s = LunarEvent.Neomenia(new TimeElement(jd, SCALE.TERRESTRIAL_TIME), obs, eph);
+						if (s != null) {
+							jd = s.time + 15;
+						} else {
+							jd = jd + 15;
+						}
+					}
+				}
+				break;
+			default:
+				s = null;
+				break;
+			};
+
+			if (s == null) break;
+			if (s.equals(sold)) {
+				jd += (jd - s.time);
+			} else {
+				if (s.time > jd0 && s.time < jdf) {
+					if (event == 0 || event == 1 || event == 10 || event == 11) {
+						TimeElement time = new TimeElement(s.time, SCALE.TERRESTRIAL_TIME);
+						EphemerisElement ephCopy = eph.clone();
+						ephCopy.targetBody = TARGET.SUN;
+						if (event == 0) ephCopy.targetBody = TARGET.Moon;
+						if (event == 10) ephCopy.targetBody = TARGET.MERCURY;
+						if (event == 11) ephCopy.targetBody = TARGET.VENUS;
+						EphemElement ephemSun = Ephem.getEphemeris(time, obs, ephCopy, false);
+						boolean solarEclipseNotVisible = false;
+						if (event == 1 && ephemSun.elevation >= 0) {
+							RenderEclipse re = null;
+							try {
+								re = new RenderEclipse(new AstroDate(s.time-0.25));
+							} catch (Exception exc) {
 								try {
-									re = new RenderEclipse(new AstroDate(s.time-0.25));
-								} catch (Exception exc) {
-									try {
-										re = new RenderEclipse(new AstroDate(s.time+0.25));
-									} catch (Exception exc2) {	}
-								}
-								if (re != null && Math.abs(re.getEclipseDate().jd()-s.time) < 3)
-									if (!re.isVisible(obs)) solarEclipseNotVisible = true;
+									re = new RenderEclipse(new AstroDate(s.time+0.25));
+								} catch (Exception exc2) {	}
 							}
-							if (ephemSun.elevation < 0 || solarEclipseNotVisible)
-								s.details += ". "+Translate.getEntry(1021, LANGUAGE.ENGLISH)+" "+obs.getName();
+							if (re != null && Math.abs(re.getEclipseDate().jd()-s.time) < 3)
+								if (!re.isVisible(obs)) solarEclipseNotVisible = true;
 						}
-						list.add(s);
-					} else {
-						if (s.time > jdf || jd > jdf) break;
+						if (ephemSun.elevation < 0 || solarEclipseNotVisible)
+							s.details += ". "+Translate.getEntry(1021, LANGUAGE.ENGLISH)+" "+obs.getName();
 					}
-				}
-				sold = s;
-			} while (true);
-		}
-
-		// Sort in crescent order of time
-		double val[] = new double[list.size()];
-		for (int i=0; i<list.size(); i++) {
-			val[i] = list.get(i).time;
-		}
-		Object a[] = DataSet.sortInCrescent(list.toArray(), val);
-		for (int i=0; i<list.size(); i++) {
-			list.set(i, (SimpleEventElement) a[i]);
-		}
-
-		// Eliminate duplicate entries, if any
-		for (int i=1; i<list.size(); i++) {
-			do {
-				String entryI = list.get(i).toString();
-				String entryJ = list.get(i-1).toString();
-				if (entryI.equals(entryJ)) {
-					list.remove(i);
-					if (i == list.size()) break;
+					list.add(s);
 				} else {
-					break;
+					if (s.time > jdf || jd > jdf) break;
 				}
-			} while(true);
-		}
+			}
+			sold = s;
+		} while (true);
 
 		return list;
 	}
@@ -985,51 +1127,6 @@ public class EventReport {
 		return feed;
 	}
 
-	private static class thread0 implements Runnable {
-		private double jd0, jdf;
-		private ObserverElement obs;
-		private EphemerisElement eph;
-		public ArrayList<SimpleEventElement> a = null;
-		public thread0(double jd0, double jdf, ObserverElement obs, EphemerisElement eph) {
-			this.jd0 = jd0;
-			this.jdf = jdf;
-			this.obs = obs.clone();
-			this.eph = eph.clone();
-		}
-		public void run() {
-			try {
-				eph.targetBody = TARGET.JUPITER;
-				a = getMoonEvents(jd0, jdf, obs, eph);
-				eph.targetBody = TARGET.URANUS;
-				ArrayList<SimpleEventElement> aa = getMoonEvents(jd0, jdf, obs, eph);
-				if (aa != null) {
-					for (int si = 0; si < aa.size(); si ++) {
-						a.add(aa.get(si));
-					}
-				}
-			} catch (Exception exc) {}
-		}
-	}
-
-	private static class thread1 implements Runnable {
-		private double jd0, jdf;
-		private ObserverElement obs;
-		private EphemerisElement eph;
-		public ArrayList<SimpleEventElement> a = null;
-		public thread1(double jd0, double jdf, ObserverElement obs, EphemerisElement eph) {
-			this.jd0 = jd0;
-			this.jdf = jdf;
-			this.obs = obs.clone();
-			this.eph = eph.clone();
-		}
-		public void run() {
-			try {
-				eph.targetBody = TARGET.SATURN;
-				a = getMoonEvents(jd0, jdf, obs, eph);
-			} catch (Exception exc) {	}
-		}
-	}
-
 	private static String getPDate(ObserverElement obs) throws JPARSECException {
 		// Assume the execution is by the observer defined here
 		return (new AstroDate()).toStandarizedString(obs);
@@ -1496,7 +1593,8 @@ public class EventReport {
 		return list;
 	}
 
-	private static ArrayList<SimpleEventElement> getOccCon(double jd0, double jdf, ObserverElement obs, EphemerisElement ephIn) throws JPARSECException {
+	private static ArrayList<SimpleEventElement> getOccCon(double jd0, double jdf, ObserverElement obs, EphemerisElement ephIn,
+			EventReportElement config) throws JPARSECException {
 		int stepTest = 0;
 		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
 
@@ -1504,8 +1602,8 @@ public class EventReport {
 		re_star.setPath(FileIO.DATA_STARS_SKY2000_DIRECTORY + "JPARSEC_Sky2000.txt");
 		re_star.setFormat(ReadFile.FORMAT.JPARSEC_SKY2000);
 
-		readFileOfStars(occultationsConjunctionsStarMaglim, re_star);
-		ArrayList<Object> objects = readObjects(occultationsConjunctionsObjectMaglim);
+		readFileOfStars(config.occultationsConjunctionsStarMaglim, re_star);
+		ArrayList<Object> objects = readObjects(config.occultationsConjunctionsObjectMaglim);
 
 		double step = 0.0125; // 0.0125 d = 18 min => errors around 1 minute in star/planet occultations by Moon
 		EphemerisElement eph = ephIn.clone();
@@ -1519,7 +1617,7 @@ public class EventReport {
 
 		int ncomet = OrbitEphem.getCometsCount();
 		int naster = OrbitEphem.getAsteroidsCount();
-		double maglim = occultationsConjunctionsPlanetMaglim;
+		double maglim = config.occultationsConjunctionsPlanetMaglim;
 		ArrayList listEphem = new ArrayList();
 		ArrayList<String> source = new ArrayList<String>();
 		ArrayList<EphemElement> sourceEphem = new ArrayList<EphemElement>();
@@ -1536,7 +1634,7 @@ public class EventReport {
 
 			eph.algorithm = ALGORITHM.MOSHIER;
 			for (int target = 0; target<=TARGET.Moon.ordinal(); target ++) {
-				if ((target != TARGET.EARTH.ordinal() || obs.getMotherBody() != TARGET.EARTH) && (target != TARGET.Pluto.ordinal() || includePlutoAsPlanet)) {
+				if ((target != TARGET.EARTH.ordinal() || obs.getMotherBody() != TARGET.EARTH) && (target != TARGET.Pluto.ordinal() || config.includePlutoAsPlanet)) {
 					if (jd == jd0) {
 						eph.targetBody = TARGET.values()[target];
 						EphemElement ephem = Ephem.getEphemeris(time, obs, eph, false);
@@ -1551,7 +1649,7 @@ public class EventReport {
 				}
 			}
 
-			if (occultationsConjunctionsAddCometsAsteroids) {
+			if (config.occultationsConjunctionsAddCometsAsteroids) {
 				eph.targetBody = TARGET.Comet;
 				eph.algorithm = EphemerisElement.ALGORITHM.ORBIT;
 				for (int index = 0; index < ncomet; index++)
@@ -1613,7 +1711,7 @@ public class EventReport {
 		}
 
 		int moon = 8;
-		if (includePlutoAsPlanet) moon ++;
+		if (config.includePlutoAsPlanet) moon ++;
 		if (obs.getMotherBody() != TARGET.EARTH) moon ++;
 
 		int nbody = source.size();
@@ -2029,7 +2127,8 @@ public class EventReport {
 	// Get events when Lunar Transient Phenomena (LTP) are more common. This method is based on historical records by
 	// NASA showing frequent/periodical LTP in certain craters at sunrise/sunset, so they can be 'predicted'. Although probably
 	// nothing strange would be visible within a few hours around the event, it is also nice to see the sun rising on them!
-	private static ArrayList<SimpleEventElement> getLTP(double jd0, double jdf, ObserverElement obs, EphemerisElement eph) throws JPARSECException {
+	private static ArrayList<SimpleEventElement> getLTP(double jd0, double jdf, ObserverElement obs, EphemerisElement eph,
+			EventReportElement config) throws JPARSECException {
 		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
 
 		double step = 2.0 / (60.0 * 24.0);
@@ -2043,7 +2142,7 @@ public class EventReport {
 				"Plato -9.4 51.6 0.7",
 				"Lunar-X 0.9 -25.3 0.5"
 		};
-		if (cratersOnlyLunarX) crater = new String[] {"Lunar-X 0.9 -25.3 0.5"};
+		if (config.cratersOnlyLunarX) crater = new String[] {"Lunar-X 0.9 -25.3 0.5"};
 		double maxDif = 0.05;
 		boolean event[] = new boolean[crater.length];
 		for (int i=0; i<crater.length; i++) {
@@ -2355,7 +2454,8 @@ public class EventReport {
 		return null;
 	}
 
-	private static ArrayList<SimpleEventElement> getMoonEvents(double jd0, double jdf, ObserverElement obs, EphemerisElement ephIn)
+	private static ArrayList<SimpleEventElement> getMoonEvents(double jd0, double jdf, ObserverElement obs, EphemerisElement ephIn,
+			EventReportElement config)
 			throws JPARSECException {
 		ArrayList<SimpleEventElement> list = new ArrayList<SimpleEventElement>();
 		TimeElement timei = new TimeElement(jd0, SCALE.TERRESTRIAL_TIME);
@@ -2365,7 +2465,7 @@ public class EventReport {
 				ephIn.algorithm == ALGORITHM.STAR) ephIn.algorithm = ALGORITHM.MOSHIER;
 
 		// Return only several events at the same time for non-mutual phenomena
-		boolean onlySimultaneousEvents = moonEventsOnlySeveralNonMutualAtSameTime;
+		boolean onlySimultaneousEvents = config.moonEventsOnlySeveralNonMutualAtSameTime;
 		if (ephIn.targetBody == TARGET.JUPITER || ephIn.targetBody == TARGET.SATURN ||
 				ephIn.targetBody == TARGET.URANUS) {
 			MoonEvent me = new MoonEvent(timei, obs, ephIn, timef, 300, 10, true);
@@ -2387,7 +2487,7 @@ public class EventReport {
 		}
 
 		// Return all events for mutual phenomena
-		if (!moonEventsAlsoMutualEvents) return list;
+		if (!config.moonEventsAlsoMutualEvents) return list;
 		onlySimultaneousEvents = false;
 		if (ephIn.targetBody == TARGET.JUPITER || ephIn.targetBody == TARGET.SATURN ||
 				ephIn.targetBody == TARGET.URANUS) {
@@ -0,0 +1,154 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.event;
+
+import java.io.Serializable;
+
+/**
+ * Holds the set of events to be calculated by {@linkplain EventReport}, and
+ * the options to calculate them. Each call to {@linkplain EventReport#getEvents(jparsec.time.TimeElement,
+ * jparsec.time.TimeElement, jparsec.observer.ObserverElement, jparsec.ephem.EphemerisElement, EventReportElement)}
+ * uses its own instance, so that different reports can be computed at the same time without
+ * interfering with each other. Everything is set to true by default except the comets and
+ * asteroids flag in occultations and conjunctions.
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class EventReportElement implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default constructor. Everything is set to the default values.
+	 */
+	public EventReportElement() {}
+
+	/**
+	 * Flags that controls what is calculated and what is not.
+	 */
+	public boolean eclipses = true, lunarPhases = true, equinoxesAndSolstices = true, MercuryVenusTransits = true,
+		meteorShowers = true, calendar = true, variableStars = true, craters = true, planetaryEvents = true,
+		lunarPerigeeApogee = true, EarthPerihelionAphelion = true, occultationAndConjunctions = true,
+		occultationsConjunctionsAddCometsAsteroids = false, moonEvents = true, moonEventsOnlySeveralNonMutualAtSameTime = true, moonEventsAlsoMutualEvents = true,
+		includePlutoAsPlanet = true, cometAsteroidVisibleNakedEye = true, cratersOnlyLunarX = false, NEOs = true,
+		lunarMaxMinDeclination = true, calendarDST = true, artSatTransits = true, artSatTransitsSunMoon = true, artSatIridium = true,
+		lunarNeomenia = true;
+	/**
+	 * Maximum accuracy or not for planetary events. True means a few minutes of error at most, false a few hours.
+	 */
+	public boolean maximumAccuracy = true;
+
+	/**
+	 * Limiting magnitude for the conjunction between different objects. Default values are 5 for stars,
+	 * 10 for objects, and 9 for planets.
+	 */
+	public float occultationsConjunctionsStarMaglim = 5f, occultationsConjunctionsObjectMaglim = 10f,
+		occultationsConjunctionsPlanetMaglim = 9f;
+
+	/**
+	 * A set of artificial satellites names, separated by ',', to compute transit events.
+	 * Default value includes ISS, HST, and TIANGONG.
+	 */
+	public String artificialSatellites = "ISS,HST,TIANGONG";
+
+	/**
+	 * Number of threads used to calculate the different categories of events. 0 or
+	 * less (default value) means the number of available processors, 1 means to do
+	 * everything in the calling thread.
+	 */
+	public int threads = 0;
+
+	/**
+	 * Set all flags in this instance to a given value, except the
+	 * flag {@linkplain #maximumAccuracy}.
+	 * @param a The value.
+	 */
+	public void setEverythingTo(boolean a) {
+		eclipses = a;
+		MercuryVenusTransits = a;
+		planetaryEvents = a;
+		lunarPhases = a;
+		equinoxesAndSolstices = a;
+		meteorShowers = a;
+		calendar = a;
+		variableStars = a;
+		craters = a;
+		lunarPerigeeApogee = a;
+		lunarMaxMinDeclination = a;
+		lunarNeomenia = a;
+		EarthPerihelionAphelion = a;
+		occultationAndConjunctions = a;
+		occultationsConjunctionsAddCometsAsteroids = a;
+		moonEvents = a;
+		moonEventsOnlySeveralNonMutualAtSameTime = a;
+		moonEventsAlsoMutualEvents = a;
+		includePlutoAsPlanet = a;
+		cometAsteroidVisibleNakedEye = a;
+		cratersOnlyLunarX = a;
+		NEOs = a;
+		calendarDST = a;
+		artSatTransits = a;
+		artSatTransitsSunMoon = a;
+		artSatIridium = a;
+	}
+
+	/**
+	 * Clones this instance.
+	 */
+	@Override
+	public EventReportElement clone()
+	{
+		EventReportElement e = new EventReportElement();
+		e.eclipses = eclipses;
+		e.lunarPhases = lunarPhases;
+		e.equinoxesAndSolstices = equinoxesAndSolstices;
+		e.MercuryVenusTransits = MercuryVenusTransits;
+		e.meteorShowers = meteorShowers;
+		e.calendar = calendar;
+		e.variableStars = variableStars;
+		e.craters = craters;
+		e.planetaryEvents = planetaryEvents;
+		e.lunarPerigeeApogee = lunarPerigeeApogee;
+		e.EarthPerihelionAphelion = EarthPerihelionAphelion;
+		e.occultationAndConjunctions = occultationAndConjunctions;
+		e.occultationsConjunctionsAddCometsAsteroids = occultationsConjunctionsAddCometsAsteroids;
+		e.moonEvents = moonEvents;
+		e.moonEventsOnlySeveralNonMutualAtSameTime = moonEventsOnlySeveralNonMutualAtSameTime;
+		e.moonEventsAlsoMutualEvents = moonEventsAlsoMutualEvents;
+		e.includePlutoAsPlanet = includePlutoAsPlanet;
+		e.cometAsteroidVisibleNakedEye = cometAsteroidVisibleNakedEye;
+		e.cratersOnlyLunarX = cratersOnlyLunarX;
+		e.NEOs = NEOs;
+		e.lunarMaxMinDeclination = lunarMaxMinDeclination;
+		e.calendarDST = calendarDST;
+		e.artSatTransits = artSatTransits;
+		e.artSatTransitsSunMoon = artSatTransitsSunMoon;
+		e.artSatIridium = artSatIridium;
+		e.lunarNeomenia = lunarNeomenia;
+		e.maximumAccuracy = maximumAccuracy;
+		e.occultationsConjunctionsStarMaglim = occultationsConjunctionsStarMaglim;
+		e.occultationsConjunctionsObjectMaglim = occultationsConjunctionsObjectMaglim;
+		e.occultationsConjunctionsPlanetMaglim = occultationsConjunctionsPlanetMaglim;
+		e.artificialSatellites = artificialSatellites;
+		e.threads = threads;
+		return e;
+	}
+}
@@ -0,0 +1,365 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.event;
+
+import java.util.ArrayList;
+
+import jparsec.ephem.event.MainEvents.EVENT_TIME;
+import jparsec.util.JPARSECException;
+
+/**
+ * A generic engine to search for events defined by a scalar function of time,
+ * like a distance, an elongation, or a declination. Events are the extrema of
+ * the function or the instants when it crosses a given value. They are first
+ * bracketed by stepping from an initial time with a step that should be a small
+ * fraction of the period of the function, and then refined using Brent's methods
+ * for roots and for minimization, which require much less evaluations than a
+ * search with a decreasing step.<P>
+ * When many events are searched in the same interval of time, for instance when
+ * computing tables of events for several years with {@linkplain #findAll(double, double, int, double)},
+ * the function can be built on positions compiled with
+ * {@linkplain jparsec.ephem.planets.ChebyshevEphemeris} to avoid the full
+ * calculation of the ephemerides at each step.
+ * Instances of this class are not thread-safe.
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class EventSearch
+{
+	/**
+	 * The interface for the function of time that defines the events.
+	 */
+	public interface Function
+	{
+		/**
+		 * Evaluates the function.
+		 * @param jd The Julian day.
+		 * @return The value.
+		 * @throws JPARSECException If an error occurs.
+		 */
+		public double evaluate(double jd) throws JPARSECException;
+	}
+
+	/** ID constant for a search of minima. */
+	public static final int MINIMUM = 0;
+	/** ID constant for a search of maxima. */
+	public static final int MAXIMUM = 1;
+	/** ID constant for a search of crossings with a given value. */
+	public static final int CROSSING = 2;
+
+	/** Maximum number of steps when bracketing an event without a limit in time. */
+	private static final int MAX_STEPS = 100000;
+	/** Maximum number of iterations in Brent's methods. */
+	private static final int MAX_ITERATIONS = 100;
+	private static final double GOLDEN = 0.3819660112501051;
+
+	private final Function function;
+	private final double step, precision;
+	private int evaluations = 0;
+
+	/**
+	 * Constructor.
+	 * @param function The function.
+	 * @param step The step in days to bracket the events. It should be
+	 * lower than half of the shortest period of the function.
+	 * @param precision The precision in days of the instant of the events.
+	 * @throws JPARSECException If the step or the precision are not positive.
+	 */
+	public EventSearch(Function function, double step, double precision)
+	throws JPARSECException {
+		if (step <= 0.0 || precision <= 0.0) throw new JPARSECException("invalid step or precision.");
+		this.function = function;
+		this.step = step;
+		this.precision = precision;
+	}
+
+	/**
+	 * Returns the number of evaluations of the function done so far.
+	 * @return Number of evaluations.
+	 */
+	public int getNumberOfEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Searchs for a minimum of the function.
+	 * @param jd The initial Julian day.
+	 * @param eventType Next or previous to search for the first minimum after
+	 * or before the initial time, or closest to search for the minimum that is
+	 * reached going downhill from it.
+	 * @return The Julian day of the minimum.
+	 * @throws JPARSECException If no minimum is found or the function fails.
+	 */
+	public double findMinimum(double jd, EVENT_TIME eventType) throws JPARSECException {
+		return findExtremum(jd, eventType, 1.0, Double.NaN);
+	}
+
+	/**
+	 * Searchs for a maximum of the function.
+	 * @param jd The initial Julian day.
+	 * @param eventType Next or previous to search for the first maximum after
+	 * or before the initial time, or closest to search for the maximum that is
+	 * reached going uphill from it.
+	 * @return The Julian day of the maximum.
+	 * @throws JPARSECException If no maximum is found or the function fails.
+	 */
+	public double findMaximum(double jd, EVENT_TIME eventType) throws JPARSECException {
+		return findExtremum(jd, eventType, -1.0, Double.NaN);
+	}
+
+	/**
+	 * Searchs for the instant when the function crosses a given value.
+	 * @param jd The initial Julian day.
+	 * @param value The value.
+	 * @param eventType Next or previous to search for the first crossing after
+	 * or before the initial time, or closest to search in the direction in which
+	 * the function approaches the value.
+	 * @return The Julian day of the crossing.
+	 * @throws JPARSECException If no crossing is found or the function fails.
+	 */
+	public double findCrossing(double jd, double value, EVENT_TIME eventType) throws JPARSECException {
+		return findCrossing(jd, value, eventType, Double.NaN);
+	}
+
+	/**
+	 * Searchs for a crossing, stopping when the bracket goes beyond a limit in
+	 * time. Returns NaN in that case. A NaN limit means no limit.
+	 */
+	private double findCrossing(double jd, double value, EVENT_TIME eventType, double limit) throws JPARSECException {
+		double dir = getDirection(jd, eventType, 0.0, value);
+		double t0 = jd, h0 = evaluate(t0) - value;
+		if (h0 == 0.0) return t0;
+		for (int i = 0; ; i++)
+		{
+			if (dir * (t0 - limit) > 0.0) return Double.NaN;
+			if (i == MAX_STEPS && Double.isNaN(limit))
+				throw new JPARSECException("no crossing found after "+MAX_STEPS+" steps.");
+			double t1 = t0 + dir * step, h1 = evaluate(t1) - value;
+			if (h1 == 0.0) return t1;
+			if ((h0 < 0.0) != (h1 < 0.0)) return findRoot(Math.min(t0, t1), Math.max(t0, t1), value);
+			t0 = t1;
+			h0 = h1;
+		}
+	}
+
+	/**
+	 * Returns all the events of a given type between two dates.
+	 * @param jd0 Initial Julian day.
+	 * @param jdf Final Julian day.
+	 * @param type The type of events, {@linkplain #MINIMUM}, {@linkplain #MAXIMUM},
+	 * or {@linkplain #CROSSING}.
+	 * @param value The value for crossings, ignored for the other types.
+	 * @return The Julian days of the events, in crescent order.
+	 * @throws JPARSECException If the type is invalid or the function fails.
+	 */
+	public double[] findAll(double jd0, double jdf, int type, double value) throws JPARSECException {
+		if (type != MINIMUM && type != MAXIMUM && type != CROSSING) throw new JPARSECException("invalid type "+type+".");
+		ArrayList<Double> list = new ArrayList<Double>();
+		double last = jd0 - step;
+		while (true) {
+			double jd = Math.max(jd0, last + precision * 10.0);
+			if (jd > jdf) break;
+			if (type == MINIMUM) jd = findExtremum(jd, EVENT_TIME.NEXT, 1.0, jdf);
+			if (type == MAXIMUM) jd = findExtremum(jd, EVENT_TIME.NEXT, -1.0, jdf);
+			if (type == CROSSING) jd = findCrossing(jd, value, EVENT_TIME.NEXT, jdf);
+			if (Double.isNaN(jd) || jd > jdf) break;
+			if (jd >= jd0) list.add(jd);
+			last = Math.max(jd, last + precision * 10.0);
+		}
+		double out[] = new double[list.size()];
+		for (int i = 0; i < out.length; i++)
+		{
+			out[i] = list.get(i);
+		}
+		return out;
+	}
+
+	/**
+	 * Searchs for an extremum, stopping when the bracket goes beyond a limit in
+	 * time. Returns NaN in that case. A NaN limit means no limit.
+	 */
+	private double findExtremum(double jd, EVENT_TIME eventType, double sign, double limit) throws JPARSECException {
+		double dir = getDirection(jd, eventType, sign, 0.0);
+		double t0 = jd, g0 = sign * evaluate(t0);
+		double t1 = t0 + dir * step, g1 = sign * evaluate(t1);
+		if (g1 > g0) {
+			// The extremum can be within the first step, so it is bracketed around the initial time
+			double tm = t0 - dir * step, gm = sign * evaluate(tm);
+			if (gm >= g0) {
+				double t = findMinimum(Math.min(tm, t1), Math.max(tm, t1), t0, sign);
+				if (eventType == EVENT_TIME.CLOSEST || dir * (t - jd) >= 0.0) return t;
+			}
+		}
+		for (int i = 0; ; i++)
+		{
+			if (dir * (t0 - limit) > 0.0) return Double.NaN;
+			if (i == MAX_STEPS && Double.isNaN(limit))
+				throw new JPARSECException("no extremum found after "+MAX_STEPS+" steps.");
+			double t2 = t1 + dir * step, g2 = sign * evaluate(t2);
+			if (g1 <= g0 && g1 < g2) return findMinimum(Math.min(t0, t2), Math.max(t0, t2), t1, sign);
+			t0 = t1;
+			g0 = g1;
+			t1 = t2;
+			g1 = g2;
+		}
+	}
+
+	private double getDirection(double jd, EVENT_TIME eventType, double sign, double value) throws JPARSECException {
+		if (eventType == EVENT_TIME.NEXT) return 1.0;
+		if (eventType == EVENT_TIME.PREVIOUS) return -1.0;
+		double h = Math.max(precision, step * 0.01);
+		double fm = evaluate(jd - h), fp = evaluate(jd + h);
+		if (sign == 0.0) return Math.abs(fp - value) < Math.abs(fm - value) ? 1.0 : -1.0;
+		return sign * fp < sign * fm ? 1.0 : -1.0;
+	}
+
+	/**
+	 * Brent's method for roots, given a bracket.
+	 */
+	private double findRoot(double a, double b, double value) throws JPARSECException {
+		double fa = evaluate(a) - value, fb = evaluate(b) - value;
+		double c = b, fc = fb, d = b - a, e = d;
+		for (int iter = 0; iter < MAX_ITERATIONS; iter++)
+		{
+			if ((fb > 0.0 && fc > 0.0) || (fb < 0.0 && fc < 0.0)) {
+				c = a;
+				fc = fa;
+				e = d = b - a;
+			}
+			if (Math.abs(fc) < Math.abs(fb)) {
+				a = b;
+				b = c;
+				c = a;
+				fa = fb;
+				fb = fc;
+				fc = fa;
+			}
+			double tol = 0.5 * precision, xm = 0.5 * (c - b);
+			if (Math.abs(xm) <= tol || fb == 0.0) return b;
+			if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+				// Inverse quadratic interpolation or secant
+				double p, q, r, s = fb / fa;
+				if (a == c) {
+					p = 2.0 * xm * s;
+					q = 1.0 - s;
+				} else {
+					q = fa / fc;
+					r = fb / fc;
+					p = s * (2.0 * xm * q * (q - r) - (b - a) * (r - 1.0));
+					q = (q - 1.0) * (r - 1.0) * (s - 1.0);
+				}
+				if (p > 0.0) q = -q;
+				p = Math.abs(p);
+				if (2.0 * p < Math.min(3.0 * xm * q - Math.abs(tol * q), Math.abs(e * q))) {
+					e = d;
+					d = p / q;
+				} else {
+					d = xm;
+					e = d;
+				}
+			} else {
+				d = xm;
+				e = d;
+			}
+			a = b;
+			fa = fb;
+			if (Math.abs(d) > tol) {
+				b += d;
+			} else {
+				b += xm > 0.0 ? tol : -tol;
+			}
+			fb = evaluate(b) - value;
+		}
+		return b;
+	}
+
+	/**
+	 * Brent's method for minimization in a given interval, starting from a point
+	 * inside it. The function is multiplied by the sign, so -1 searches for maxima.
+	 */
+	private double findMinimum(double a, double b, double x, double sign) throws JPARSECException {
+		double w = x, v = x;
+		double fx = sign * evaluate(x), fw = fx, fv = fx;
+		double d = 0.0, e = 0.0;
+		for (int iter = 0; iter < MAX_ITERATIONS; iter++)
+		{
+			double xm = 0.5 * (a + b), tol1 = 0.5 * precision, tol2 = 2.0 * tol1;
+			if (Math.abs(x - xm) <= tol2 - 0.5 * (b - a)) return x;
+			boolean golden = true;
+			if (Math.abs(e) > tol1) {
+				// Parabolic step
+				double r = (x - w) * (fx - fv), q = (x - v) * (fx - fw), p = (x - v) * q - (x - w) * r;
+				q = 2.0 * (q - r);
+				if (q > 0.0) p = -p;
+				q = Math.abs(q);
+				double etemp = e;
+				e = d;
+				if (Math.abs(p) < Math.abs(0.5 * q * etemp) && p > q * (a - x) && p < q * (b - x)) {
+					d = p / q;
+					double u = x + d;
+					if (u - a < tol2 || b - u < tol2) d = xm > x ? tol1 : -tol1;
+					golden = false;
+				}
+			}
+			if (golden) {
+				e = x >= xm ? a - x : b - x;
+				d = GOLDEN * e;
+			}
+			double u = Math.abs(d) >= tol1 ? x + d : x + (d > 0.0 ? tol1 : -tol1);
+			double fu = sign * evaluate(u);
+			if (fu <= fx) {
+				if (u >= x) {
+					a = x;
+				} else {
+					b = x;
+				}
+				v = w;
+				w = x;
+				x = u;
+				fv = fw;
+				fw = fx;
+				fx = fu;
+			} else {
+				if (u < x) {
+					a = u;
+				} else {
+					b = u;
+				}
+				if (fu <= fw || w == x) {
+					v = w;
+					w = u;
+					fv = fw;
+					fw = fu;
+				} else if (fu <= fv || v == x || v == w) {
+					v = u;
+					fv = fu;
+				}
+			}
+		}
+		return x;
+	}
+
+	private double evaluate(double jd) throws JPARSECException {
+		evaluations ++;
+		return function.evaluate(jd);
+	}
+}
@@ -1086,7 +1086,7 @@ public class LunarEvent
 		case JPL_DE405:
 		case JPL_DE413:
 		case JPL_DE414:
-			JPLEphemeris jpl = new JPLEphemeris(eph.algorithm);
+			JPLEphemeris jpl = JPLEphemeris.getInstance(eph.algorithm);
 			lib = jpl.getPositionAndVelocity(jd, TARGET.Libration);
 			break;
 		case MOSHIER:
@@ -561,51 +561,18 @@ public class MainEvents
 			time.add(2*step);
 			EphemElement ephem2 = Ephem.getEphemeris(time, observer, eph, false);
 			time.add(-step);
-			if (Math.abs(ephem1.subsolarLatitude) < Math.abs(ephem2.subsolarLatitude)) step = -step;
-		} else {
-			if (eventType == EVENT_TIME.PREVIOUS) step = -step;
+			eventType = EVENT_TIME.NEXT;
+			if (Math.abs(ephem1.subsolarLatitude) < Math.abs(ephem2.subsolarLatitude)) eventType = EVENT_TIME.PREVIOUS;
 		}
-		
-		// First the minimum inclination as seen from Sun
-		do {
-			EphemElement ephem0 = Ephem.getEphemeris(time, observer, eph, false);
-			double pa0 = ephem0.subsolarLatitude, pa1 = pa0;
-			if (pa0 == 0.0) break;
-			do {
-				time.add(step);
-				EphemElement ephem1 = Ephem.getEphemeris(time, observer, eph, false);
-				pa1 = ephem1.subsolarLatitude;
-
-				if (pa1 == 0.0) break;
-			} while (FastMath.sign(pa0) == FastMath.sign(pa1));
-			if (pa1 == 0.0) break;
-			time.add(-step);
-			step = step / 2.0;
-		} while (Math.abs(step) > precision);
-		
-		step = 10;
-		// Now as seen from Earth
-		do {
-			EphemElement ephem0 = Ephem.getEphemeris(time, observer, eph, false);
-			double pa0 = ephem0.positionAngleOfPole, pa1 = pa0;
-			if (pa0 == 0.0) break;
-			do {
-				time.add(step);
-				EphemElement ephem1 = Ephem.getEphemeris(time, observer, eph, false);
-				pa1 = ephem1.positionAngleOfPole;
-				if (FastMath.sign(pa0) == FastMath.sign(pa1) && Math.abs(pa1) > Math.abs(pa0))
-					step = -step;
-
-				if (pa1 == 0.0) break;
-			} while (FastMath.sign(pa0) == FastMath.sign(pa1));
-			if (pa1 == 0.0) break;
-			time.add(-step);
-			step = step / 2.0;
-		} while (Math.abs(step) > precision);
 
+		// First the minimum inclination as seen from Sun, then as seen from Earth
+		EventSearch search = new EventSearch(getSaturnRingsFunction(observer, eph, false, false), step, precision);
+		jd = search.findCrossing(jd, 0.0, eventType);
+		search = new EventSearch(getSaturnRingsFunction(observer, eph, true, false), 10, precision);
+		jd = search.findCrossing(jd, 0.0, EVENT_TIME.CLOSEST);
 
 		String details = "";
-		SimpleEventElement see = new SimpleEventElement(time.astroDate.jd(), EVENT.SATURN_RINGS_EDGE_ON, details);
+		SimpleEventElement see = new SimpleEventElement(jd, EVENT.SATURN_RINGS_EDGE_ON, details);
 		see.body = TARGET.SATURN.getName();
 		return see;
 	}
@@ -636,58 +603,35 @@ public class MainEvents
 			time.add(2*step);
 			EphemElement ephem2 = Ephem.getEphemeris(time, observer, eph, false);
 			time.add(-step);
-			if (Math.abs(ephem1.subsolarLatitude) > Math.abs(ephem2.subsolarLatitude)) step = -step;
-		} else {
-			if (eventType == EVENT_TIME.PREVIOUS) step = -step;
+			eventType = EVENT_TIME.NEXT;
+			if (Math.abs(ephem1.subsolarLatitude) > Math.abs(ephem2.subsolarLatitude)) eventType = EVENT_TIME.PREVIOUS;
 		}
 
-		EphemElement ephem0 = null;
-		ephem0 = Ephem.getEphemeris(time, observer, eph, false);
-		time.add(step);
-		EphemElement ephem1 = Ephem.getEphemeris(time, observer, eph, false);
-		double dif = Math.abs(ephem1.positionAngleOfPole) - Math.abs(ephem0.positionAngleOfPole);
-		if (dif < 0) {
-			// First go to pa = 0
-			SimpleEventElement s = SaturnRingsEdgeOn(jd, eventType);
-			time = new TimeElement(s.time + step, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-		}
-
-		// First the maximum inclination as seen from Sun
-		do {
-			ephem0 = Ephem.getEphemeris(time, observer, eph, false);
-			dif = 1.0;
-			double oldpa = ephem0.subsolarLatitude;
-			do {
-				time.add(step);
-				ephem1 = Ephem.getEphemeris(time, observer, eph, false);
-				dif = Math.abs(ephem1.subsolarLatitude) - Math.abs(oldpa);
-				oldpa = ephem1.subsolarLatitude;
-			} while (dif > 0);
-			step = -step / 2.0;
-		} while (Math.abs(step) > precision);
-
-		step = 10;
-		// Now as seen from Earth
-		do {
-			ephem0 = Ephem.getEphemeris(time, observer, eph, false);
-			dif = 1.0;
-			double oldpa = ephem0.positionAngleOfPole;
-			do {
-				time.add(step);
-				ephem1 = Ephem.getEphemeris(time, observer, eph, false);
-				dif = Math.abs(ephem1.positionAngleOfPole) - Math.abs(oldpa);
-				oldpa = ephem1.positionAngleOfPole;
-			} while (dif > 0);
-			step = -step / 2.0;
-		} while (Math.abs(step) > precision);
-
+		// First the maximum inclination as seen from Sun, then as seen from Earth
+		EventSearch search = new EventSearch(getSaturnRingsFunction(observer, eph, false, true), step, precision);
+		jd = search.findMaximum(jd, eventType);
+		search = new EventSearch(getSaturnRingsFunction(observer, eph, true, true), 10, precision);
+		jd = search.findMaximum(jd, EVENT_TIME.CLOSEST);
+		EphemElement ephem0 = Ephem.getEphemeris(new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME), observer, eph, false);
 
 		String details = ""+(float)(ephem0.positionAngleOfPole*Constant.RAD_TO_DEG);
-		SimpleEventElement see = new SimpleEventElement(time.astroDate.jd(), EVENT.SATURN_RINGS_MAXIMUM_APERTURE, details);
+		SimpleEventElement see = new SimpleEventElement(jd, EVENT.SATURN_RINGS_MAXIMUM_APERTURE, details);
 		see.body = TARGET.SATURN.getName();
 		return see;
 	}
 
+	// Inclination of Saturn rings as seen from the Sun (subsolar latitude) or the Earth (position angle of pole)
+	private static EventSearch.Function getSaturnRingsFunction(final ObserverElement observer, final EphemerisElement eph,
+			final boolean fromEarth, final boolean absolute) {
+		return new EventSearch.Function() {
+			public double evaluate(double jd) throws JPARSECException {
+				EphemElement ephem = Ephem.getEphemeris(new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME), observer, eph, false);
+				double value = fromEarth ? ephem.positionAngleOfPole : ephem.subsolarLatitude;
+				return absolute ? Math.abs(value) : value;
+			}
+		};
+	}
+
 	/**
 	 * Calculates the approximate instant of the closest perihelion or aphelion in time following Meeus.
 	 * In current dates the difference compared to {@linkplain MainEvents#getPlanetaryEvent(TARGET, double, EVENT, EVENT_TIME, boolean)}
@@ -1577,91 +1521,46 @@ public class MainEvents
 		if (ephem == null) ephem = Ephem.getEphemeris(time, obs, eph, false);
 
 		if (maximumAccuracy) {
-			TimeElement time1 = new TimeElement(jd+1.0/(24.0*60.0), SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-			EphemElement ephem1 = Ephem.getEphemeris(time1, obs, eph, false);
-			double d = 0.0;
+			boolean maximum = false;
 			switch (event) {
 			case PLANET_MAXIMUM_DISTANCE:
-				d = ephem1.distance - ephem.distance;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d > 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
-				break;
 			case PLANET_MAXIMUM_DISTANCE_FROM_SUN:
-				d = ephem1.distanceFromSun - ephem.distanceFromSun;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d > 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
-				break;
 			case PLANET_MAXIMUM_ELONGATION:
-				d = ephem1.elongation - ephem.elongation;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d > 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
+				maximum = true;
 				break;
 			case PLANET_MINIMUM_DISTANCE:
-				d = ephem1.distance - ephem.distance;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d < 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
-				break;
 			case PLANET_MINIMUM_DISTANCE_FROM_SUN:
-				d = ephem1.distanceFromSun - ephem.distanceFromSun;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d < 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
-				break;
 			case PLANET_MINIMUM_ELONGATION:
-				d = ephem1.elongation - ephem.elongation;
-				eventType = MainEvents.EVENT_TIME.PREVIOUS;
-				if (d < 0.0) eventType = MainEvents.EVENT_TIME.NEXT;
 				break;
 			default:
 				throw new JPARSECException("invalid event.");
 			}
 
-			double step = (target.ordinal() - TARGET.SUN.ordinal()) * 5.0;
-			if (target.compareTo(TARGET.SATURN) <= 0) step = 0.5 / 24.0;
-			if (target == TARGET.Moon) step = 0.5;
-			if (eventType == MainEvents.EVENT_TIME.PREVIOUS) step = -step;
-			double precission = 1.0 / (24.0 * 60.0); // 1 minute
-			d = 0.0;
-			int dd = 1;
-
-			do {
-				do {
-					jd = jd + step;
-					time1 = new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-					ephem1 = Ephem.getEphemeris(time1, obs, eph, false);
-					switch (event) {
-					case PLANET_MAXIMUM_DISTANCE:
-						d = ephem1.distance - ephem.distance;
-						break;
-					case PLANET_MAXIMUM_DISTANCE_FROM_SUN:
-						d = ephem1.distanceFromSun - ephem.distanceFromSun;
-						break;
-					case PLANET_MAXIMUM_ELONGATION:
-						d = ephem1.elongation - ephem.elongation;
-						break;
-					case PLANET_MINIMUM_DISTANCE:
-						d = ephem1.distance - ephem.distance;
-						dd = -1;
-						break;
-					case PLANET_MINIMUM_DISTANCE_FROM_SUN:
-						d = ephem1.distanceFromSun - ephem.distanceFromSun;
-						dd = -1;
-						break;
-					case PLANET_MINIMUM_ELONGATION:
-						d = ephem1.elongation - ephem.elongation;
-						dd = -1;
-						break;
-					default:
-						throw new JPARSECException("invalid event.");
-					}
-					ephem = ephem1.clone();
-				} while (FastMath.sign(d) == FastMath.sign(dd));
-				if (eventType == MainEvents.EVENT_TIME.PREVIOUS) {
-					eventType = MainEvents.EVENT_TIME.NEXT;
-				} else {
-					eventType = MainEvents.EVENT_TIME.PREVIOUS;
+			final ObserverElement fobs = obs;
+			final EphemerisElement feph = eph;
+			final EVENT fevent = event;
+			EventSearch.Function f = new EventSearch.Function() {
+				public double evaluate(double jd) throws JPARSECException {
+					EphemElement ephem = Ephem.getEphemeris(new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME), fobs, feph, false);
+					if (fevent == EVENT.PLANET_MAXIMUM_DISTANCE_FROM_SUN || fevent == EVENT.PLANET_MINIMUM_DISTANCE_FROM_SUN)
+						return ephem.distanceFromSun;
+					if (fevent == EVENT.PLANET_MAXIMUM_ELONGATION || fevent == EVENT.PLANET_MINIMUM_ELONGATION)
+						return ephem.elongation;
+					return ephem.distance;
 				}
-				step = -step / 4.0;
-			} while (Math.abs(step) > precission);
+			};
+
+			// Bracket the extremum closest to the approximate instant, then refine it to 1 minute.
+			// The step is only used to bracket, so it can be much longer than the precision
+			double step = (target.ordinal() - TARGET.SUN.ordinal()) * 5.0;
+			if (target.compareTo(TARGET.SATURN) <= 0 || target == TARGET.Moon) step = 0.5;
+			EventSearch search = new EventSearch(f, step, 1.0 / (24.0 * 60.0));
+			if (maximum) {
+				jd = search.findMaximum(jd, EVENT_TIME.CLOSEST);
+			} else {
+				jd = search.findMinimum(jd, EVENT_TIME.CLOSEST);
+			}
+			ephem = Ephem.getEphemeris(new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME), obs, eph, false);
 		}
 
 		String details = "";
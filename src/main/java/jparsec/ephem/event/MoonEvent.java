@@ -23,6 +23,11 @@ package jparsec.ephem.event;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jparsec.ephem.Ephem;
 import jparsec.ephem.EphemerisElement;
@@ -247,9 +252,9 @@ public class MoonEvent {
 		if (sat != null) this.sat = sat;
 	}
 
-	private MoonEphemElement[] getEphem(ObserverElement observer, EphemerisElement eph)
+	private MoonEphemElement[] getEphem(double jd, ObserverElement observer, EphemerisElement eph)
 	throws JPARSECException {
-		TimeElement myTime = new TimeElement(myjd, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		TimeElement myTime = new TimeElement(jd, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 		if (observer.getMotherBody() != TARGET.EARTH) {
 			return MoonEphem.calcAllSatellites(myTime, observer, eph, false);
 		} else {
@@ -282,7 +287,8 @@ public class MoonEvent {
 
 	/**
 	 * Obtains all mutual phenomena. Supported objects are Mars (2007 numerical integration theory),
-	 * Jupiter (L1 theory), Saturn (TASS 1.7), and Uranus (GUST86).
+	 * Jupiter (L1 theory), Saturn (TASS 1.7), and Uranus (GUST86). The search is done in parallel
+	 * using as many threads as available processors, see {@linkplain #getMutualPhenomena(boolean, int)}.
 	 *
 	 * @param all True to return all events including occultations/eclipses by the mother planet itself. Note
 	 * that in the latter case only events in a partial phase will be returned, i.e., the interval while the
@@ -293,36 +299,148 @@ public class MoonEvent {
 	 */
 	public MoonEventElement[] getMutualPhenomena(boolean all)
 	throws JPARSECException {
-		boolean approx = true;
-		ArrayList<MoonEventElement> vector = new ArrayList<MoonEventElement>();
+		return getMutualPhenomena(all, 0);
+	}
+
+	/**
+	 * Obtains all mutual phenomena. Supported objects are Mars (2007 numerical integration theory),
+	 * Jupiter (L1 theory), Saturn (TASS 1.7), and Uranus (GUST86).
+	 * <P>
+	 * Between events the search step is enlarged using the separation of each pair of satellites
+	 * (and of each satellite and the mother planet when all events are requested) as seen from the
+	 * observer and from the Sun, and the orbital speed of the satellites, so that no pair can reach
+	 * contact between two consecutive positions. The time interval is divided in chunks that are
+	 * calculated in parallel. Each event is returned by the chunk where it starts, events in progress
+	 * at the beginning of a chunk are completed by the previous one.
+	 *
+	 * @param all True to return all events including occultations/eclipses by the mother planet itself. Note
+	 * that in the latter case only events in a partial phase will be returned, i.e., the interval while the
+	 * eclipse/occultation is in progress.
+	 * @param threads The number of threads to use, or 0 or less to use the number of available
+	 * processors. 1 will do the calculations in the calling thread.
+	 * @return Events visible for the observer. Those events that started before the initial time and persists at
+	 * the initial time will have invalid initial times (jd = 0).
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public MoonEventElement[] getMutualPhenomena(boolean all, int threads)
+	throws JPARSECException {
 		double jd = TimeScale.getJD(time, observer, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		double jdf = TimeScale.getJD(timef, observer, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		myjd0 = jd;
+
+		// First calculation in this thread, so that data files required by the theories are read
+		// only once before starting the parallel tasks
+		if (jd < jdf) {
+			MoonEphemElement ephem[] = getEphem(jd, observer, eph);
+			if (!all && ephem.length == 1) return new MoonEventElement[] {};
+		}
+
+		if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+		int nchunks = 1;
+		if (threads > 1) nchunks = (int) Math.min(threads * 4, Math.floor((jdf - jd) / MUTUAL_PHENOMENA_MINIMUM_CHUNK));
+
+		ArrayList<MoonEventElement> vector = new ArrayList<MoonEventElement>();
+		if (nchunks <= 1) {
+			vector = getMutualPhenomena(jd, jdf, true, all, observer, eph);
+		} else {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, nchunks));
+			try {
+				ArrayList<Future<ArrayList<MoonEventElement>>> futures = new ArrayList<Future<ArrayList<MoonEventElement>>>();
+				double chunk = (jdf - jd) / nchunks;
+				for (int i = 0; i < nchunks; i++) {
+					double jd0 = jd + chunk * i, jd1 = jd + chunk * (i + 1);
+					if (i == nchunks - 1) jd1 = jdf;
+					futures.add(executor.submit(new MutualPhenomenaTask(jd0, jd1, i == nchunks - 1, all)));
+				}
+				for (int i = 0; i < futures.size(); i++) {
+					vector.addAll(futures.get(i).get());
+				}
+			} catch (ExecutionException e) {
+				throw new JPARSECException("error during calculations.", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JPARSECException("calculations interrupted.", e);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		events = new MoonEventElement[vector.size()];
+		for (int i=0; i<events.length;i++)
+		{
+			events[i] = vector.get(i);
+		}
+		return events;
+	}
+
+	/**
+	 * Minimum length in days of each of the chunks in which the time interval
+	 * is divided for the parallel search of mutual phenomena.
+	 */
+	private static final double MUTUAL_PHENOMENA_MINIMUM_CHUNK = 2.0;
+
+	/**
+	 * A task to search for mutual phenomena in a given chunk, using its own copies
+	 * of the observer and ephemeris objects.
+	 */
+	private class MutualPhenomenaTask implements Callable<ArrayList<MoonEventElement>> {
+		private double jd0, jdf;
+		private boolean last, all;
+
+		public MutualPhenomenaTask(double jd0, double jdf, boolean last, boolean all) {
+			this.jd0 = jd0;
+			this.jdf = jdf;
+			this.last = last;
+			this.all = all;
+		}
+
+		@Override
+		public ArrayList<MoonEventElement> call() throws Exception {
+			return getMutualPhenomena(jd0, jdf, last, all, observer.clone(), eph.clone());
+		}
+	}
+
+	/**
+	 * Searches for mutual phenomena starting between two dates. Events in progress
+	 * at jd0 get an initial time equal to 0. In case this is not the last chunk the
+	 * search continues up to the first position after jdf, so that the following chunk
+	 * can discard the events in progress at its initial time.
+	 */
+	private ArrayList<MoonEventElement> getMutualPhenomena(double jd0, double jdf, boolean last, boolean all,
+			ObserverElement observer, EphemerisElement eph)
+	throws JPARSECException {
+		ArrayList<MoonEventElement> vector = new ArrayList<MoonEventElement>();
 		double step = (double) precision / Constant.SECONDS_PER_DAY;
 		double step2 = (double) accuracy / Constant.SECONDS_PER_DAY;
-		double jdf = TimeScale.getJD(timef, observer, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 		String target = eph.targetBody.getName();
-		myjd0 = jd;
-		double lastStep = 0;
-		for (myjd = jd; myjd < jdf; myjd = myjd + step)
+		boolean first = (jd0 == myjd0);
+		double lastStep = 0, previousJD = 0, end[] = new double[1];
+		MoonEphemElement previous[] = null;
+		double myjd = jd0;
+		boolean done = false;
+		while (!done)
 		{
+			if (myjd >= jdf) {
+				if (last) break;
+				done = true;
+			}
 			lastStep += step;
-			MoonEphemElement ephem[] = getEphem(observer, eph);
-			if (!all && ephem.length == 1) return new MoonEventElement[] {};
+			MoonEphemElement ephem[] = getEphem(myjd, observer, eph);
 			boolean eventExist = false;
 			for (int i = 0; i<ephem.length; i++)
 			{
 				if (!ephem[i].mutualPhenomena.equals("") && (all || ephem[i].mutualPhenomena.indexOf(target) < 0)) { // && (!eph.isTopocentric || eph.isTopocentric && ephem[i].elevation > 0)) {
-					double oldJD = myjd;
-					MoonEventElement ev[] = getMutualEventDetails(observer, eph, lastStep, step2, approx, all);
-					// Since myjd maybe modified by getMutualEventDetails, we need to update the ephem array
-					if (myjd <= oldJD) myjd = oldJD;
+					MoonEventElement ev[] = getMutualEventDetails(observer, eph, myjd, jd0, lastStep, step2, all, end);
+					if (end[0] > myjd) myjd = end[0];
 					myjd += step;
-					ephem = getEphem(observer, eph);
+					ephem = getEphem(myjd, observer, eph);
 
 					if (ev != null) {
 						for (int j=0; j<ev.length; j++)
 						{
 							//ev[j].details = FileIO.getField(1, ev[j].details, ",", false)+"%";
-							if (all || (!all && ev[j].secondaryBody != eph.targetBody)) vector.add(ev[j]);
+							boolean inChunk = (first || ev[j].startTime >= jd0) && (last || ev[j].startTime < jdf);
+							if (inChunk && (all || (!all && ev[j].secondaryBody != eph.targetBody))) vector.add(ev[j]);
 							if ((ev[j].endTime+step) > myjd) myjd = ev[j].endTime+step;
 						}
 						eventExist = true;
@@ -330,53 +448,94 @@ public class MoonEvent {
 				}
 			}
 
-			double minDist = -1.0;
 			lastStep = 0;
 			if (!eventExist)
 			{
-				for (int i = 0; i<ephem.length; i++)
-				{
-					for (int j = i+1; j<ephem.length; j++)
-					{
-						LocationElement loci = LocationElement.parseRectangularCoordinates(ephem[i].xPosition,
-								ephem[i].yPosition, 0.0);
-						LocationElement locj = LocationElement.parseRectangularCoordinates(ephem[j].xPosition,
-								ephem[j].yPosition, 0.0);
-						double r = LocationElement.getLinearDistance(loci, locj);
-						if (r < minDist || minDist < 0.0) minDist = r;
-
-						loci = LocationElement.parseRectangularCoordinates(ephem[i].xPositionFromSun,
-								ephem[i].yPositionFromSun, 0.0);
-						locj = LocationElement.parseRectangularCoordinates(ephem[j].xPositionFromSun,
-								ephem[j].yPositionFromSun, 0.0);
-						r = LocationElement.getLinearDistance(loci, locj);
-						if (r < minDist || minDist < 0.0) minDist = r;
-					}
+				if (previous != null) {
+					double safeStep = getSafeStep(previous, ephem, myjd - previousJD, all, eph.targetBody.equatorialRadius);
+					if (safeStep > step) lastStep = safeStep - step;
 				}
-				if (minDist > 0) lastStep = minDist * step * Constant.SECONDS_PER_DAY / 50000.0;
+				previous = ephem;
+				previousJD = myjd;
 				myjd += lastStep;
+			} else {
+				previous = null;
 			}
+			myjd += step;
 		}
+		return vector;
+	}
 
-		events = new MoonEventElement[vector.size()];
-		for (int i=0; i<events.length;i++)
+	/**
+	 * Returns a time interval in which no pair of satellites can reach contact. The separation
+	 * between each pair, as seen from the observer and from the Sun, is divided by the sum of the
+	 * speeds of both satellites respect the mother planet, estimated from the previous positions.
+	 * The interval is also limited so that no satellite describes more than half a radian of its
+	 * orbit, to keep the speed estimate accurate for the next step.
+	 * @param previous The previous satellite positions.
+	 * @param ephem The current satellite positions.
+	 * @param dt The time in days between both sets of positions.
+	 * @param all True to consider also the mother planet.
+	 * @param planetRadius Equatorial radius of the mother planet in km.
+	 * @return The interval in days, or 0 if it cannot be computed or if some pair can already be in contact.
+	 */
+	private static double getSafeStep(MoonEphemElement previous[], MoonEphemElement ephem[], double dt,
+			boolean all, double planetRadius) {
+		if (previous.length != ephem.length || dt <= 0.0 || planetRadius <= 0.0) return 0.0;
+
+		double speed[] = new double[ephem.length], size[] = new double[ephem.length];
+		double safe = Double.MAX_VALUE;
+		for (int i = 0; i<ephem.length; i++)
 		{
-			events[i] = vector.get(i);
+			double dx = ephem[i].xPosition - previous[i].xPosition;
+			double dy = ephem[i].yPosition - previous[i].yPosition;
+			double dz = ephem[i].zPosition - previous[i].zPosition;
+			speed[i] = Math.sqrt(dx * dx + dy * dy + dz * dz) / dt;
+			// Satellite radius in planet radii, doubled to account for the penumbra in eclipses
+			size[i] = 2.0 * ephem[i].angularRadius * ephem[i].distance * Constant.AU / planetRadius;
+
+			double r = Math.sqrt(ephem[i].xPosition * ephem[i].xPosition + ephem[i].yPosition * ephem[i].yPosition +
+					ephem[i].zPosition * ephem[i].zPosition);
+			if (speed[i] > 0.0) {
+				safe = Math.min(safe, 0.5 * r / speed[i]);
+			}
+			if (all && speed[i] > 0.0) {
+				r = Math.min(FastMath.hypot(ephem[i].xPosition, ephem[i].yPosition),
+						FastMath.hypot(ephem[i].xPositionFromSun, ephem[i].yPositionFromSun));
+				double t = 0.5 * (r - 1.0 - size[i]) / speed[i];
+				if (t <= 0.0) return 0.0;
+				safe = Math.min(safe, t);
+			}
 		}
-		return events;
+
+		for (int i = 0; i<ephem.length; i++)
+		{
+			for (int j = i+1; j<ephem.length; j++)
+			{
+				double v = speed[i] + speed[j];
+				if (v <= 0.0) continue;
+				double r = Math.min(FastMath.hypot(ephem[i].xPosition - ephem[j].xPosition, ephem[i].yPosition - ephem[j].yPosition),
+						FastMath.hypot(ephem[i].xPositionFromSun - ephem[j].xPositionFromSun, ephem[i].yPositionFromSun - ephem[j].yPositionFromSun));
+				double t = 0.5 * (r - size[i] - size[j]) / v;
+				if (t <= 0.0) return 0.0;
+				safe = Math.min(safe, t);
+			}
+		}
+		if (safe == Double.MAX_VALUE) return 0.0;
+		return safe;
 	}
 
 	private MoonEventElement[] getMutualEventDetails(ObserverElement observer, EphemerisElement eph,
-			double mystep, double step, boolean approx, boolean all)
+			double jd, double jd0, double mystep, double step, boolean all, double end[])
 	throws JPARSECException {
 		boolean started = false;
 		boolean eventFound = false;
 		MoonEventElement ev[] = null;
-		myjd = myjd - mystep;
-		double jd = myjd;
+		jd = jd - mystep;
 		double endTime = 1.0;
 		String by = Translate.translate(161)+" ";
 		String target = eph.targetBody.getName();
+		double myjd;
 		for (myjd = jd; myjd < jd + endTime; myjd = myjd + step)
 		{
 			TimeElement myTime = new TimeElement(myjd, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
@@ -424,7 +583,7 @@ public class MoonEvent {
 								ev[i].details = per+", "+myjd;
 						}
 					}
-					if (myjd <= myjd0) ev[i].startTime = 0.0;
+					if (myjd <= jd0) ev[i].startTime = 0.0;
 				} else {
 					if (ev[i] != null) {
 						if (ev[i].endTime == -1.0) {
@@ -440,6 +599,7 @@ public class MoonEvent {
 
 			if (!eventPersists && eventFound) break;
 		}
+		end[0] = myjd;
 
 		int count = 0;
 		for (int i=0; i<ev.length; i++)
@@ -594,7 +754,7 @@ public class MoonEvent {
 		for (myjd = jd; myjd < jdf; myjd = myjd + step)
 		{
 			lastStep += step;
-			MoonEphemElement ephem[] = getEphem(observer, eph);
+			MoonEphemElement ephem[] = getEphem(myjd, observer, eph);
 			boolean eventExist = false;
 			for (int i = 0; i<ephem.length; i++)
 			{
@@ -605,7 +765,7 @@ public class MoonEvent {
 					// Since myjd maybe modified by getEventDetails, we need to update the ephem array
 					if (myjd <= oldJD) myjd = oldJD;
 					myjd += step;
-					ephem = getEphem(observer, eph);
+					ephem = getEphem(myjd, observer, eph);
 
 					if (ev != null) {
 						for (int j=0; j<ev.length; j++)
@@ -40,10 +40,6 @@ public class GUST86
 	// private constructor so that this class cannot be instantiated.
 	private GUST86() {}
 
-	private static double AN[] = new double[6];
-	private static double AE[] = new double[6];
-	private static double AI[] = new double[6];
-
 	/**
 	 * Returns the orbital elements given the output from
 	 * the GUST86 theory.
@@ -106,6 +102,9 @@ public class GUST86
 		 * NOEUD ASCENDANT. POUR ICODE=2 ET ICODE=3 : R(I,J),I=1,3 : POSITIONS
 		 * X, Y, Z (AU). R(I,J),I=4,6 : VITESSES X, Y, Z (AU/DAY).
 		 */
+		double AN[] = new double[6];
+		double AE[] = new double[6];
+		double AI[] = new double[6];
 		double EL[][] = new double[7][6];
 		double XU[][] = new double[7][6];
 		double XE[][] = new double[7][6];
@@ -200,19 +199,19 @@ public class GUST86
 		switch (IS)
 		{
 		case 1: // Miranda
-			RES = MIREL(T);
+			RES = MIREL(T, AN, AE, AI);
 			break;
 		case 2: // Ariel
-			RES = ARIEL(T);
+			RES = ARIEL(T, AN, AE, AI);
 			break;
 		case 3: // Umbriel
-			RES = UMBEL(T);
+			RES = UMBEL(T, AN, AE, AI);
 			break;
 		case 4: // Titania
-			RES = TITEL(T);
+			RES = TITEL(T, AN, AE, AI);
 			break;
 		case 5: // Oberon
-			RES = OBREL(T);
+			RES = OBREL(T, AN, AE, AI);
 			break;
 		}
 		double RN = RES[0];
@@ -275,7 +274,7 @@ public class GUST86
 
 	}
 
-	private static double[] MIREL(double T)
+	private static double[] MIREL(double T, double AN[], double AE[], double AI[])
 	{
 		/*
 		 * ---- CALCUL DES ELEMENTS ELLIPTIQUES DE MIRANDA (GUST86)
@@ -324,7 +323,7 @@ public class GUST86
 		{ RN, RL, RK, RH, RQ, RP };
 	}
 
-	private static double[] ARIEL(double T)
+	private static double[] ARIEL(double T, double AN[], double AE[], double AI[])
 	{
 
 		/*
@@ -375,7 +374,7 @@ public class GUST86
 		{ RN, RL, RK, RH, RQ, RP };
 	}
 
-	private static double[] UMBEL(double T)
+	private static double[] UMBEL(double T, double AN[], double AE[], double AI[])
 	{
 
 		/*
@@ -447,7 +446,7 @@ public class GUST86
 
 	}
 
-	private static double[] TITEL(double T)
+	private static double[] TITEL(double T, double AN[], double AE[], double AI[])
 	{
 		/*
 		 * ---- CALCUL DES ELEMENTS ELLIPTIQUES DE TITANIA (GUST86)
@@ -522,7 +521,7 @@ public class GUST86
 
 	}
 
-	private static double[] OBREL(double T)
+	private static double[] OBREL(double T, double AN[], double AE[], double AI[])
 	{
 		/*
 		 * ---- CALCUL DES ELEMENTS ELLIPTIQUES D'OBERON (GUST86)
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.COORDINATES_TYPE;
@@ -51,7 +52,6 @@ import jparsec.time.AstroDate;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 import jparsec.util.Translate;
 
@@ -95,7 +95,7 @@ public class MoonEphem
 	public static double[] fromPlutoBarycenterToPlutoCenter(double pos[], double jd, EphemerisElement.REDUCTION_METHOD method,
 			boolean checkOffset) throws JPARSECException {
 		if (checkOffset) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double p[] = (double[]) o;
 				// Return the barycenter position in case the ephemerides are for Charon
@@ -109,7 +109,7 @@ public class MoonEphem
 		return Functions.sumVectors(pos, dp);
 	}
 
-	static synchronized EphemElement getBodyEphem(TimeElement time, ObserverElement obs,
+	static EphemElement getBodyEphem(TimeElement time, ObserverElement obs,
 			EphemerisElement eph, double offset[], double JD)
 	throws JPARSECException {
 		if (!eph.targetBody.isNaturalSatellite() && eph.algorithm == EphemerisElement.ALGORITHM.NATURAL_SATELLITE)
@@ -166,7 +166,7 @@ public class MoonEphem
 			}
 		}
 
-		DataBase.addData("offsetPosition", eq, true);
+		EphemerisContext.getCurrent().offsetPosition = eq;
 	}
 
 	private static MoonOrbitalElement[] getMoonElements(String target, double jd) throws JPARSECException {
@@ -351,7 +351,7 @@ public class MoonEphem
 	 * @return Moon ephem object containing full ephemeris data.
 	 * @throws JPARSECException If the calculation fails.
 	 */
-	public synchronized static MoonEphemElement calcSatellite(TimeElement time,
+	public static MoonEphemElement calcSatellite(TimeElement time,
 			ObserverElement obs, EphemerisElement eph, MoonOrbitalElement orbit) throws JPARSECException
 	{
 		try
@@ -22,10 +22,15 @@
 package jparsec.ephem.moons;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jparsec.ephem.Functions;
 import jparsec.graph.DataSet;
@@ -69,61 +74,330 @@ public class TASS17
 	 */
 	public static double[] TASS17_theory(double JD, int nsat, boolean truncate) throws JPARSECException
 	{
-		computing = true;
-		if (!seriesRead || truncate != seriesTruncated) {
-			int icrt = 0;
-			if (truncate) icrt = 1;
-			LECSER(icrt);
-			seriesRead = true;
-			seriesTruncated = truncate;
+		Series series = getSeries(truncate);
+		computing.incrementAndGet();
+		try {
+			double ELEM[];
+			if (nsat == 7)
+			{
+				ELEM = series.ELEMHYP(JD);
+			} else
+			{
+				double DLO[] = series.CALCLON(JD);
+				ELEM = series.CALCELEM(JD, nsat, DLO);
+			}
+
+			return series.EDERED(ELEM, nsat);
+		} finally {
+			computing.decrementAndGet();
 		}
+	}
+
+	// Define global parameters of TASS 1.7
+	private static final int NTMX = 250;
+	private static final int NTP = 120, NTQ = 240, NTZ = 200, NTZT = 65;
+
+	/**
+	 * Identifier at the beginning of the binary file of data.
+	 */
+	static final int DATA_MAGIC = 0x54415337;
 
-		double ELEM[] = new double[] { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0 };
+	/**
+	 * Series of the full and truncated theory. Both are created at once when
+	 * any of them is first required, and are never modified after that, so they
+	 * can be used by any number of threads at the same time.
+	 */
+	private static volatile Series full = null, truncated = null;
+	private static final AtomicInteger computing = new AtomicInteger(0);
 
-		if (nsat == 7)
+	/**
+	 * Holds the series of the theory. The truncated version shares all arrays
+	 * with the full one, except the number of terms of each series.
+	 */
+	private static final class Series
+	{
+		private final double SERIES[][][][];
+		private final double IKS[][][][];
+		private final int NTR[][];
+		private final int NTRT[][];
+		private final double AL0[];
+		private final double AN0[];
+		private final double AAM[];
+		private final double TMAS[];
+		private final double AIA;
+		private final double OMA;
+		private final double GK1;
+
+		private final double SERP[];
+		private final double SERQ[];
+		private final double SERZ[];
+		private final double SERZT[];
+		private final double FAP[];
+		private final double FAQ[];
+		private final double FAZ[];
+		private final double FAZT[];
+		private final double FRP[];
+		private final double FRQ[];
+		private final double FRZ[];
+		private final double FRZT[];
+		private final int NBTP, NBTQ, NBTZ, NBTZT;
+		private final double T0, CSTP, CSTQ, AMM7;
+
+		/**
+		 * Constructor.
+		 * @param hyp The series for Hyperion, as amplitudes, phases, and frequencies
+		 * for the P, Q, Z, and ZT series.
+		 * @param nbt The number of terms of the P, Q, Z, and ZT series.
+		 */
+		private Series(double SERIES[][][][], double IKS[][][][], int NTR[][], int NTRT[][], double AL0[], double AN0[],
+				double AAM[], double TMAS[], double AIA, double OMA, double GK1, double hyp[][][], int nbt[],
+				double T0, double CSTP, double CSTQ, double AMM7)
 		{
-			ELEM = ELEMHYP(JD);
-		} else
+			this.SERIES = SERIES;
+			this.IKS = IKS;
+			this.NTR = NTR;
+			this.NTRT = NTRT;
+			this.AL0 = AL0;
+			this.AN0 = AN0;
+			this.AAM = AAM;
+			this.TMAS = TMAS;
+			this.AIA = AIA;
+			this.OMA = OMA;
+			this.GK1 = GK1;
+			SERP = hyp[0][0];
+			FAP = hyp[0][1];
+			FRP = hyp[0][2];
+			SERQ = hyp[1][0];
+			FAQ = hyp[1][1];
+			FRQ = hyp[1][2];
+			SERZ = hyp[2][0];
+			FAZ = hyp[2][1];
+			FRZ = hyp[2][2];
+			SERZT = hyp[3][0];
+			FAZT = hyp[3][1];
+			FRZT = hyp[3][2];
+			NBTP = nbt[0];
+			NBTQ = nbt[1];
+			NBTZ = nbt[2];
+			NBTZT = nbt[3];
+			this.T0 = T0;
+			this.CSTP = CSTP;
+			this.CSTQ = CSTQ;
+			this.AMM7 = AMM7;
+		}
+
+		private double[][][] getHyperionSeries()
 		{
-			double DLO[] = CALCLON(JD);
-			ELEM = CALCELEM(JD, nsat, DLO);
+			return new double[][][] {
+					new double[][] {SERP, FAP, FRP},
+					new double[][] {SERQ, FAQ, FRQ},
+					new double[][] {SERZ, FAZ, FRZ},
+					new double[][] {SERZT, FAZT, FRZT}
+			};
 		}
 
-		double pos[] = EDERED(ELEM, nsat);
-		computing = false;
-		return pos;
-	}
+		private int[] getHyperionTerms()
+		{
+			return new int[] {NBTP, NBTQ, NBTZ, NBTZT};
+		}
 
-	// Define global parameters of TASS 1.7
-	private static final int NTMX = 250;
-	private static double SERIES[][][][] = null;
-	private static double IKS[][][][] = null;
-	private static int NTR[][] = null;
-	private static double AL0[] = null;
-	private static double AN0[] = null;
-	private static double AAM[] = null;
-	private static double TMAS[] = null;
-	private static double AIA;
-	private static double OMA;
-	private static double GK1;
-	private static boolean computing = false;
-	private static boolean seriesRead = false;
-	private static boolean seriesTruncated = false;
+		private Series getTruncated()
+		{
+			return new Series(SERIES, IKS, NTRT, NTRT, AL0, AN0, AAM, TMAS, AIA, OMA, GK1, getHyperionSeries(),
+					getHyperionTerms(), T0, CSTP, CSTQ, AMM7);
+		}
 
-	private static final int NTP = 120, NTQ = 240, NTZ = 200, NTZT = 65;
-	private static double SERP[] = null;
-	private static double SERQ[] = null;
-	private static double SERZ[] = null;
-	private static double SERZT[] = null;
-	private static double FAP[] = null;
-	private static double FAQ[] = null;
-	private static double FAZ[] = null;
-	private static double FAZT[] = null;
-	private static double FRP[] = null;
-	private static double FRQ[] = null;
-	private static double FRZ[] = null;
-	private static double FRZT[] = null;
-	private static double NBTP, NBTQ, NBTZ, NBTZT, T0, CSTP, CSTQ, AMM7;
+		private double[] CALCELEM(double DJ, int IS, double DLO[])
+		{
+			double ELEM[] = new double[7];
+
+			double T = (DJ - 2444240.0) / 365.25;
+			double S = 0.0;
+			for (int I = 1; I <= NTR[1][IS]; I++)
+			{
+				double PHAS = SERIES[I][2][1][IS];
+				for (int JK = 1; JK <= 8; JK++)
+				{
+					PHAS = PHAS + IKS[I][1][IS][JK] * DLO[JK];
+				}
+				S += SERIES[I][1][1][IS] * Math.cos(PHAS + T * SERIES[I][3][1][IS]);
+			}
+			ELEM[1] = S;
+			S = DLO[IS] + AL0[IS];
+			for (int I = NTR[5][IS] + 1; I <= NTR[2][IS]; I++)
+			{
+				double PHAS = SERIES[I][2][2][IS];
+				for (int JK = 1; JK <= 8; JK++)
+				{
+					PHAS = PHAS + IKS[I][2][IS][JK] * DLO[JK];
+				}
+				S += SERIES[I][1][2][IS] * Math.sin(PHAS + T * SERIES[I][3][2][IS]);
+			}
+			S = S + AN0[IS] * T;
+			double CS = Math.cos(S);
+			double SN = Math.sin(S);
+			ELEM[2] = Math.atan2(SN, CS);
+			double S1 = 0.0;
+			double S2 = 0.0;
+			for (int I = 1; I <= NTR[3][IS]; I++)
+			{
+				double PHAS = SERIES[I][2][3][IS];
+				for (int JK = 1; JK <= 8; JK++)
+				{
+					PHAS = PHAS + IKS[I][3][IS][JK] * DLO[JK];
+				}
+				S1 += SERIES[I][1][3][IS] * Math.cos(PHAS + T * SERIES[I][3][3][IS]);
+				S2 += SERIES[I][1][3][IS] * Math.sin(PHAS + T * SERIES[I][3][3][IS]);
+			}
+			ELEM[3] = S1;
+			ELEM[4] = S2;
+			S1 = 0.0;
+			S2 = 0.0;
+			for (int I = 1; I <= NTR[4][IS]; I++)
+			{
+				double PHAS = SERIES[I][2][4][IS];
+				for (int JK = 1; JK <= 8; JK++)
+				{
+					PHAS = PHAS + IKS[I][4][IS][JK] * DLO[JK];
+				}
+				S1 += SERIES[I][1][4][IS] * Math.cos(PHAS + T * SERIES[I][3][4][IS]);
+				S2 += SERIES[I][1][4][IS] * Math.sin(PHAS + T * SERIES[I][3][4][IS]);
+			}
+			ELEM[5] = S1;
+			ELEM[6] = S2;
+
+			return ELEM;
+		}
+
+		private double[] CALCLON(double DJ)
+		{
+			double DLO[] = new double[9];
+			double T = (DJ - 2444240.0) / 365.25;
+			for (int IS = 1; IS <= 8; IS++)
+			{
+				if (IS != 7)
+				{
+					double S = 0.0;
+					for (int I = 1; I <= NTR[5][IS]; I++)
+					{
+						S += SERIES[I][1][2][IS] * Math.sin(SERIES[I][2][2][IS] + T * SERIES[I][3][2][IS]);
+					}
+					DLO[IS] = S;
+				} else
+				{
+					DLO[IS] = 0.0;
+				}
+			}
+
+			return DLO;
+		}
+
+		private double[] EDERED(double ELEM[], int ISAT)
+		{
+			double EPS = 1.0e-14;
+			double xyz[] = new double[4];
+			double vxyz[] = new double[4];
+			double XYZ2[] = new double[4];
+			double VXYZ2[] = new double[4];
+
+			double AMO = AAM[ISAT] * (1.0 + ELEM[1]);
+			double RMU = GK1 * (1.0 + TMAS[ISAT]);
+			double DGA = Math.pow(RMU / (AMO * AMO), 1.0 / 3.0);
+			double RL = ELEM[2];
+			double RK = ELEM[3];
+			double RH = ELEM[4];
+			double FLE = RL - RK * Math.sin(RL) + RH * Math.cos(RL);
+			double CORF = EPS;
+			do
+			{
+				double CF = Math.cos(FLE);
+				double SF = Math.sin(FLE);
+				CORF = (RL - FLE + RK * SF - RH * CF) / (1 - RK * CF - RH * SF);
+				FLE = FLE + CORF;
+			} while (Math.abs(CORF) >= EPS);
+
+			double CF = Math.cos(FLE);
+			double SF = Math.sin(FLE);
+			double DLF = -RK * SF + RH * CF;
+			double RSAM1 = -RK * CF - RH * SF;
+			double ASR = 1.0 / (1.0 + RSAM1);
+			double PHI = Math.sqrt(1.0 - RK * RK - RH * RH);
+			double PSI = 1.0 / (1.0 + PHI);
+			double X1 = DGA * (CF - RK - PSI * RH * DLF);
+			double Y1 = DGA * (SF - RH + PSI * RK * DLF);
+			double VX1 = AMO * ASR * DGA * (-SF - PSI * RH * RSAM1);
+			double VY1 = AMO * ASR * DGA * (CF + PSI * RK * RSAM1);
+			double DWHO = 2.0 * Math.sqrt(1.0 - ELEM[6] * ELEM[6] - ELEM[5] * ELEM[5]);
+			double RTP = 1.0 - 2.0 * ELEM[6] * ELEM[6];
+			double RTQ = 1.0 - 2.0 * ELEM[5] * ELEM[5];
+			double RDG = 2.0 * ELEM[6] * ELEM[5];
+			XYZ2[1] = X1 * RTP + Y1 * RDG;
+			XYZ2[2] = X1 * RDG + Y1 * RTQ;
+			XYZ2[3] = (-X1 * ELEM[6] + Y1 * ELEM[5]) * DWHO;
+			VXYZ2[1] = VX1 * RTP + VY1 * RDG;
+			VXYZ2[2] = VX1 * RDG + VY1 * RTQ;
+			VXYZ2[3] = (-VX1 * ELEM[6] + VY1 * ELEM[5]) * DWHO;
+			double CI = Math.cos(AIA);
+			double SI = Math.sin(AIA);
+			double CO = Math.cos(OMA);
+			double SO = Math.sin(OMA);
+
+			xyz[1] = CO * XYZ2[1] - SO * CI * XYZ2[2] + SO * SI * XYZ2[3];
+			xyz[2] = SO * XYZ2[1] + CO * CI * XYZ2[2] - CO * SI * XYZ2[3];
+			xyz[3] = SI * XYZ2[2] + CI * XYZ2[3];
+			vxyz[1] = CO * VXYZ2[1] - SO * CI * VXYZ2[2] + SO * SI * VXYZ2[3];
+			vxyz[2] = SO * VXYZ2[1] + CO * CI * VXYZ2[2] - CO * SI * VXYZ2[3];
+			vxyz[3] = SI * VXYZ2[2] + CI * VXYZ2[3];
+
+			return new double[]
+			{ xyz[1], xyz[2], xyz[3], vxyz[1] / 365.25, vxyz[2] / 365.25, vxyz[3] / 365.25 };
+		}
+
+		private double[] ELEMHYP(double DJ)
+		{
+			double WT;
+			double T = DJ - T0;
+
+			double P = CSTP;
+			for (int I = 1; I <= NBTP; I++)
+			{
+				WT = T * FRP[I] + FAP[I];
+				P = P + SERP[I] * Math.cos(WT);
+			}
+
+			double Q = CSTQ;
+			for (int I = 1; I <= NBTQ; I++)
+			{
+				WT = T * FRQ[I] + FAQ[I];
+				Q = Q + SERQ[I] * Math.sin(WT);
+			}
+
+			double ZR = 0.0;
+			double ZI = 0.0;
+			for (int I = 1; I <= NBTZ; I++)
+			{
+				WT = T * FRZ[I] + FAZ[I];
+				ZR = ZR + SERZ[I] * Math.cos(WT);
+				ZI = ZI + SERZ[I] * Math.sin(WT);
+			}
+
+			double ZTR = 0.0;
+			double ZTI = 0.0;
+			for (int I = 1; I <= NBTZT; I++)
+			{
+				WT = T * FRZT[I] + FAZT[I];
+				ZTR = ZTR + SERZT[I] * Math.cos(WT);
+				ZTI = ZTI + SERZT[I] * Math.sin(WT);
+			}
+
+			double VL = Functions.normalizeRadians(AMM7 * T + Q);
+
+			double ELEM[] = new double[]
+			{ 0.0, P, VL, ZR, ZI, ZTR, ZTI };
+
+			return ELEM;
+		}
+	}
 
 	/**
 	 * Returns if the computation of Saturn moons is currently running
@@ -131,38 +405,41 @@ public class TASS17
 	 * @return True or false.
 	 */
 	public static boolean running() {
-		return computing;
+		return computing.get() > 0;
 	}
 	
 	/**
 	 * Removes the static TASS data from memory. You will likely only need 
-	 * to call this function in Android to save about 1.5 MB of heap. It will
-	 * have no effect in case the computation of Saturn moons is currently
-	 * running.
+	 * to call this function in Android to save about 1.5 MB of heap. Calculations
+	 * currently running in other threads will end using the data they already
+	 * have, and the data will be read again when required.
 	 */
 	public static void clearDataTASS() {
-		if (computing) return;
-		seriesRead = false;
-		seriesTruncated = false;		
-		SERIES = null;
-		IKS = null;
-		NTR = null;
-		AL0 = null;
-		AN0 = null;
-		AAM = null;
-		TMAS = null;
-		SERP = null;
-		SERQ = null;
-		SERZ = null;
-		SERZT = null;
-		FAP = null;
-		FAQ = null;
-		FAZ = null;
-		FAZT = null;
-		FRP = null;
-		FRQ = null;
-		FRZ = null;
-		FRZT = null;
+		synchronized (TASS17.class) {
+			full = null;
+			truncated = null;
+		}
+	}
+
+	private static Series getSeries(boolean truncate) throws JPARSECException
+	{
+		Series s = truncate ? truncated : full;
+		if (s != null) return s;
+
+		synchronized (TASS17.class) {
+			if (full == null) {
+				InputStream is = TASS17.class.getClassLoader().getResourceAsStream(TASS17.PATH_BINARY);
+				Series f = null;
+				if (is != null) {
+					f = readBinary(is);
+				} else {
+					f = readText();
+				}
+				truncated = f.getTruncated();
+				full = f;
+			}
+			return truncate ? truncated : full;
+		}
 	}
 
 	/**
@@ -170,118 +447,236 @@ public class TASS17
 	 */
 	private static final String PATH = FileIO.DATA_ORBITAL_ELEMENTS_DIRECTORY + "redtass7.txt";
 
-	private static double[] CALCELEM(double DJ, int IS, double DLO[])
-	{
-		double ELEM[] = new double[7];
+	/**
+	 * Path to redtass7.bin file, used instead of the text file when available.
+	 */
+	private static final String PATH_BINARY = FileIO.DATA_ORBITAL_ELEMENTS_DIRECTORY + "redtass7.bin";
 
-		double T = (DJ - 2444240.0) / 365.25;
-		double S = 0.0;
-		for (int I = 1; I <= NTR[1][IS]; I++)
+	/**
+	 * Reads the series from the binary file. The file contains an identifier, the constants
+	 * of the theory, the number of terms of each full and truncated series, the terms of each
+	 * series as three double and eight integer values, and then the series for Hyperion, all
+	 * in big-endian order. The file is read at once and parsed from a buffer.
+	 */
+	private static Series readBinary(InputStream is) throws JPARSECException
+	{
+		try
 		{
-			double PHAS = SERIES[I][2][1][IS];
-			for (int JK = 1; JK <= 8; JK++)
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(512 * 1024);
+			byte buffer[] = new byte[65536];
+			int n;
+			while ((n = is.read(buffer)) > 0) {
+				bos.write(buffer, 0, n);
+			}
+
+			ByteBuffer buf = ByteBuffer.wrap(bos.toByteArray());
+			if (buf.getInt() != DATA_MAGIC) throw new JPARSECException("invalid format in file " + PATH_BINARY + ".");
+
+			double SERIES[][][][] = new double[NTMX + 1][4][5][9];
+			double IKS[][][][] = new double[NTMX + 1][5][9][9];
+			int NTR[][] = new int[6][9];
+			int NTRT[][] = new int[6][9];
+			double AL0[] = new double[9];
+			double AN0[] = new double[9];
+			double AAM[] = new double[10];
+			double TMAS[] = new double[10];
+			double GK1 = buf.getDouble();
+			double AIA = buf.getDouble();
+			double OMA = buf.getDouble();
+			buf.asDoubleBuffer().get(AAM);
+			buf.position(buf.position() + AAM.length * 8);
+			buf.asDoubleBuffer().get(TMAS);
+			buf.position(buf.position() + TMAS.length * 8);
+			buf.asDoubleBuffer().get(AL0);
+			buf.position(buf.position() + AL0.length * 8);
+			buf.asDoubleBuffer().get(AN0);
+			buf.position(buf.position() + AN0.length * 8);
+			for (int i = 0; i < 6; i++)
 			{
-				PHAS = PHAS + IKS[I][1][IS][JK] * DLO[JK];
+				buf.asIntBuffer().get(NTR[i]);
+				buf.position(buf.position() + 9 * 4);
 			}
-			S += SERIES[I][1][1][IS] * Math.cos(PHAS + T * SERIES[I][3][1][IS]);
-		}
-		ELEM[1] = S;
-		S = DLO[IS] + AL0[IS];
-		for (int I = NTR[5][IS] + 1; I <= NTR[2][IS]; I++)
-		{
-			double PHAS = SERIES[I][2][2][IS];
-			for (int JK = 1; JK <= 8; JK++)
+			for (int i = 0; i < 6; i++)
 			{
-				PHAS = PHAS + IKS[I][2][IS][JK] * DLO[JK];
+				buf.asIntBuffer().get(NTRT[i]);
+				buf.position(buf.position() + 9 * 4);
 			}
-			S += SERIES[I][1][2][IS] * Math.sin(PHAS + T * SERIES[I][3][2][IS]);
-		}
-		S = S + AN0[IS] * T;
-		double CS = Math.cos(S);
-		double SN = Math.sin(S);
-		ELEM[2] = Math.atan2(SN, CS);
-		double S1 = 0.0;
-		double S2 = 0.0;
-		for (int I = 1; I <= NTR[3][IS]; I++)
-		{
-			double PHAS = SERIES[I][2][3][IS];
-			for (int JK = 1; JK <= 8; JK++)
+			for (int IEQ = 1; IEQ <= 4; IEQ++)
 			{
-				PHAS = PHAS + IKS[I][3][IS][JK] * DLO[JK];
+				for (int IS = 1; IS <= 8; IS++)
+				{
+					for (int I = 1; I <= NTR[IEQ][IS]; I++)
+					{
+						SERIES[I][1][IEQ][IS] = buf.getDouble();
+						SERIES[I][2][IEQ][IS] = buf.getDouble();
+						SERIES[I][3][IEQ][IS] = buf.getDouble();
+						for (int JS = 1; JS < 9; JS++)
+						{
+							IKS[I][IEQ][IS][JS] = buf.getInt();
+						}
+					}
+				}
 			}
-			S1 += SERIES[I][1][3][IS] * Math.cos(PHAS + T * SERIES[I][3][3][IS]);
-			S2 += SERIES[I][1][3][IS] * Math.sin(PHAS + T * SERIES[I][3][3][IS]);
-		}
-		ELEM[3] = S1;
-		ELEM[4] = S2;
-		S1 = 0.0;
-		S2 = 0.0;
-		for (int I = 1; I <= NTR[4][IS]; I++)
-		{
-			double PHAS = SERIES[I][2][4][IS];
-			for (int JK = 1; JK <= 8; JK++)
+
+			double T0 = buf.getDouble();
+			double AMM7 = buf.getDouble();
+			double CSTP = buf.getDouble();
+			double CSTQ = buf.getDouble();
+			int nbt[] = new int[4];
+			buf.asIntBuffer().get(nbt);
+			buf.position(buf.position() + nbt.length * 4);
+			double hyp[][][] = new double[4][3][];
+			int size[] = new int[] {NTP, NTQ, NTZ, NTZT};
+			for (int i = 0; i < 4; i++)
+			{
+				for (int j = 0; j < 3; j++)
+				{
+					hyp[i][j] = new double[size[i] + 1];
+				}
+			}
+			for (int i = 0; i < 4; i++)
 			{
-				PHAS = PHAS + IKS[I][4][IS][JK] * DLO[JK];
+				for (int I = 1; I <= nbt[i]; I++)
+				{
+					hyp[i][0][I] = buf.getDouble();
+					hyp[i][1][I] = buf.getDouble();
+					hyp[i][2][I] = buf.getDouble();
+				}
 			}
-			S1 += SERIES[I][1][4][IS] * Math.cos(PHAS + T * SERIES[I][3][4][IS]);
-			S2 += SERIES[I][1][4][IS] * Math.sin(PHAS + T * SERIES[I][3][4][IS]);
+			return new Series(SERIES, IKS, NTR, NTRT, AL0, AN0, AAM, TMAS, AIA, OMA, GK1, hyp, nbt, T0, CSTP, CSTQ, AMM7);
+		} catch (JPARSECException e)
+		{
+			throw e;
+		} catch (Exception e)
+		{
+			throw new JPARSECException("error while reading file " + PATH_BINARY + ".", e);
+		} finally
+		{
+			try {
+				is.close();
+			} catch (IOException e) { }
 		}
-		ELEM[5] = S1;
-		ELEM[6] = S2;
-
-		return ELEM;
 	}
 
-	private static double[] CALCLON(double DJ)
+	/**
+	 * Writes the series read from the text file of the theory to a binary file,
+	 * that can be later added as redtass7.bin to the orbital elements jar file
+	 * for a faster reading.
+	 * @param path The path to the output file.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	static void writeBinaryData(String path) throws JPARSECException
 	{
-		double DLO[] = new double[9];
-		double T = (DJ - 2444240.0) / 365.25;
-		for (int IS = 1; IS <= 8; IS++)
+		Series s = readText();
+		DataOutputStream out = null;
+		try
 		{
-			if (IS != 7)
+			out = new DataOutputStream(new FileOutputStream(path));
+			out.writeInt(DATA_MAGIC);
+			out.writeDouble(s.GK1);
+			out.writeDouble(s.AIA);
+			out.writeDouble(s.OMA);
+			double arrays[][] = new double[][] {s.AAM, s.TMAS, s.AL0, s.AN0};
+			for (int i = 0; i < arrays.length; i++)
 			{
-				double S = 0.0;
-				for (int I = 1; I <= NTR[5][IS]; I++)
+				for (int j = 0; j < arrays[i].length; j++)
 				{
-					S += SERIES[I][1][2][IS] * Math.sin(SERIES[I][2][2][IS] + T * SERIES[I][3][2][IS]);
+					out.writeDouble(arrays[i][j]);
 				}
-				DLO[IS] = S;
-			} else
+			}
+			int ntr[][][] = new int[][][] {s.NTR, s.NTRT};
+			for (int k = 0; k < ntr.length; k++)
 			{
-				DLO[IS] = 0.0;
+				for (int i = 0; i < 6; i++)
+				{
+					for (int j = 0; j < 9; j++)
+					{
+						out.writeInt(ntr[k][i][j]);
+					}
+				}
+			}
+			for (int IEQ = 1; IEQ <= 4; IEQ++)
+			{
+				for (int IS = 1; IS <= 8; IS++)
+				{
+					for (int I = 1; I <= s.NTR[IEQ][IS]; I++)
+					{
+						out.writeDouble(s.SERIES[I][1][IEQ][IS]);
+						out.writeDouble(s.SERIES[I][2][IEQ][IS]);
+						out.writeDouble(s.SERIES[I][3][IEQ][IS]);
+						for (int JS = 1; JS < 9; JS++)
+						{
+							out.writeInt((int) s.IKS[I][IEQ][IS][JS]);
+						}
+					}
+				}
 			}
-		}
 
-		return DLO;
+			out.writeDouble(s.T0);
+			out.writeDouble(s.AMM7);
+			out.writeDouble(s.CSTP);
+			out.writeDouble(s.CSTQ);
+			int nbt[] = s.getHyperionTerms();
+			for (int i = 0; i < 4; i++)
+			{
+				out.writeInt(nbt[i]);
+			}
+			double hyp[][][] = s.getHyperionSeries();
+			for (int i = 0; i < 4; i++)
+			{
+				for (int I = 1; I <= nbt[i]; I++)
+				{
+					out.writeDouble(hyp[i][0][I]);
+					out.writeDouble(hyp[i][1][I]);
+					out.writeDouble(hyp[i][2][I]);
+				}
+			}
+			out.close();
+			out = null;
+		} catch (IOException e)
+		{
+			throw new JPARSECException("error while writing file " + path + ".", e);
+		} finally
+		{
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) { }
+			}
+		}
 	}
 
-	private static void LECSER(int ICRT) throws JPARSECException
+	private static Series readText() throws JPARSECException
 	{
-		SERIES = new double[NTMX + 1][4][5][9];
-		IKS = new double[NTMX + 1][5][9][9];
-		NTR = new int[6][9];
-		AL0 = new double[9];
-		AN0 = new double[9];
-		AAM = new double[10];
-		TMAS = new double[10];
-		SERP = new double[NTP + 1];
-		SERQ = new double[NTQ + 1];
-		SERZ = new double[NTZ + 1];
-		SERZT = new double[NTZT + 1];
-		FAP = new double[NTP + 1];
-		FAQ = new double[NTQ + 1];
-		FAZ = new double[NTZ + 1];
-		FAZT = new double[NTZT + 1];
-		FRP = new double[NTP + 1];
-		FRQ = new double[NTQ + 1];
-		FRZ = new double[NTZ + 1];
-		FRZT = new double[NTZT + 1];
+		double SERIES[][][][] = new double[NTMX + 1][4][5][9];
+		double IKS[][][][] = new double[NTMX + 1][5][9][9];
+		int NTR[][] = new int[6][9];
+		int NTRT[][] = new int[6][9];
+		double AL0[] = new double[9];
+		double AN0[] = new double[9];
+		double AAM[] = new double[10];
+		double TMAS[] = new double[10];
+		double GK1 = 0.0, AIA = 0.0, OMA = 0.0, T0 = 0.0, AMM7 = 0.0, CSTP = 0.0, CSTQ = 0.0;
+		int size[] = new int[] {NTP, NTQ, NTZ, NTZT};
+		int nbt[] = new int[4];
+		double hyp[][][] = new double[4][3][];
+		for (int i = 0; i < 4; i++)
+		{
+			for (int j = 0; j < 3; j++)
+			{
+				hyp[i][j] = new double[size[i] + 1];
+			}
+		}
+		double SERP[] = hyp[0][0], FAP[] = hyp[0][1], FRP[] = hyp[0][2];
+		double SERQ[] = hyp[1][0], FAQ[] = hyp[1][1], FRQ[] = hyp[1][2];
+		double SERZ[] = hyp[2][0], FAZ[] = hyp[2][1], FRZ[] = hyp[2][2];
+		double SERZT[] = hyp[3][0], FAZT[] = hyp[3][1], FRZT[] = hyp[3][2];
 		
 		double AM[] = new double[10];
 		double TAM[] = new double[10];
 		int IK[] = new int[9];
 		String line = "";
-		int NT = 0, KT = 0, IS = 0, IEQ = 0, ISAUT = 0;
+		int NT = 0, KT = 0, KTT = 0, IS = 0, IEQ = 0, ISAUT = 0;
 
 		int initialize = 1;
 
@@ -338,32 +733,36 @@ public class TASS17
 							break;
 						}
 
-						if (ISAUT != 1)
+						// Terms after the truncation mark are only used in the full theory
+						KT++;
+						if (ISAUT != 1) KTT++;
+						SERIES[KT][1][IEQ][IS] = A1;
+						SERIES[KT][2][IEQ][IS] = A2;
+						SERIES[KT][3][IEQ][IS] = A3;
+						for (int JS = 1; JS < 9; JS++)
 						{
-							KT++;
-							SERIES[KT][1][IEQ][IS] = A1;
-							SERIES[KT][2][IEQ][IS] = A2;
-							SERIES[KT][3][IEQ][IS] = A3;
-							for (int JS = 1; JS < 9; JS++)
-							{
-								IKS[KT][IEQ][IS][JS] = IK[JS];
-							}
+							IKS[KT][IEQ][IS][JS] = IK[JS];
 						}
 					} else
 					{
 						if (NT == 9998)
 						{
-							if (ICRT == 1)
-								ISAUT = 1;
+							ISAUT = 1;
 							if (IEQ == 2)
+							{
 								NTR[5][IS] = KT;
+								NTRT[5][IS] = KTT;
+							}
 						} else
 						{
 							if (NT == 9999)
 							{
 								if ((IEQ == 2) && (NTR[5][IS] == 0))
 									NTR[5][IS] = KT;
+								if ((IEQ == 2) && (NTRT[5][IS] == 0))
+									NTRT[5][IS] = KTT;
 								NTR[IEQ][IS] = KT;
+								NTRT[IEQ][IS] = KTT;
 								initialize = 4;
 							}
 						}
@@ -385,6 +784,7 @@ public class TASS17
 						AN0[IS] = DataSet.parseDouble(FileIO.getField(3, line, " ", true));
 					}
 					KT = 0;
+					KTT = 0;
 					ISAUT = 0;
 					initialize = 3;
 				}
@@ -401,10 +801,10 @@ public class TASS17
 			AMM7 = DataSet.parseDouble(line.trim());
 
 			line = dis.readLine();
-			NBTP = Integer.parseInt(line.trim());
+			nbt[0] = Integer.parseInt(line.trim());
 			line = dis.readLine();
 			CSTP = DataSet.parseDouble(line.trim());
-			for (int I = 1; I <= NBTP; I++)
+			for (int I = 1; I <= nbt[0]; I++)
 			{
 				line = dis.readLine();
 				SERP[I] = DataSet.parseDouble(FileIO.getField(1, line, " ", true));
@@ -413,10 +813,10 @@ public class TASS17
 			}
 
 			line = dis.readLine();
-			NBTQ = Integer.parseInt(line.trim());
+			nbt[1] = Integer.parseInt(line.trim());
 			line = dis.readLine();
 			CSTQ = DataSet.parseDouble(line.trim());
-			for (int I = 1; I <= NBTQ; I++)
+			for (int I = 1; I <= nbt[1]; I++)
 			{
 				line = dis.readLine();
 				SERQ[I] = DataSet.parseDouble(FileIO.getField(1, line, " ", true));
@@ -425,8 +825,8 @@ public class TASS17
 			}
 
 			line = dis.readLine();
-			NBTZ = Integer.parseInt(line.trim());
-			for (int I = 1; I <= NBTZ; I++)
+			nbt[2] = Integer.parseInt(line.trim());
+			for (int I = 1; I <= nbt[2]; I++)
 			{
 				line = dis.readLine();
 				SERZ[I] = DataSet.parseDouble(FileIO.getField(1, line, " ", true));
@@ -435,8 +835,8 @@ public class TASS17
 			}
 
 			line = dis.readLine();
-			NBTZT = Integer.parseInt(line.trim());
-			for (int I = 1; I <= NBTZT; I++)
+			nbt[3] = Integer.parseInt(line.trim());
+			for (int I = 1; I <= nbt[3]; I++)
 			{
 				line = dis.readLine();
 				SERZT[I] = DataSet.parseDouble(FileIO.getField(1, line, " ", true));
@@ -445,6 +845,7 @@ public class TASS17
 			}
 
 			dis.close();
+			return new Series(SERIES, IKS, NTR, NTRT, AL0, AN0, AAM, TMAS, AIA, OMA, GK1, hyp, nbt, T0, CSTP, CSTQ, AMM7);
 		} catch (FileNotFoundException e1)
 		{
 			throw new JPARSECException("file not found in path " + PATH, e1);
@@ -454,110 +855,4 @@ public class TASS17
 		}
 
 	}
-
-	private static double[] EDERED(double ELEM[], int ISAT)
-	{
-		double EPS = 1.0e-14;
-		double xyz[] = new double[4];
-		double vxyz[] = new double[4];
-		double XYZ2[] = new double[4];
-		double VXYZ2[] = new double[4];
-
-		double AMO = AAM[ISAT] * (1.0 + ELEM[1]);
-		double RMU = GK1 * (1.0 + TMAS[ISAT]);
-		double DGA = Math.pow(RMU / (AMO * AMO), 1.0 / 3.0);
-		double RL = ELEM[2];
-		double RK = ELEM[3];
-		double RH = ELEM[4];
-		double FLE = RL - RK * Math.sin(RL) + RH * Math.cos(RL);
-		double CORF = EPS;
-		do
-		{
-			double CF = Math.cos(FLE);
-			double SF = Math.sin(FLE);
-			CORF = (RL - FLE + RK * SF - RH * CF) / (1 - RK * CF - RH * SF);
-			FLE = FLE + CORF;
-		} while (Math.abs(CORF) >= EPS);
-
-		double CF = Math.cos(FLE);
-		double SF = Math.sin(FLE);
-		double DLF = -RK * SF + RH * CF;
-		double RSAM1 = -RK * CF - RH * SF;
-		double ASR = 1.0 / (1.0 + RSAM1);
-		double PHI = Math.sqrt(1.0 - RK * RK - RH * RH);
-		double PSI = 1.0 / (1.0 + PHI);
-		double X1 = DGA * (CF - RK - PSI * RH * DLF);
-		double Y1 = DGA * (SF - RH + PSI * RK * DLF);
-		double VX1 = AMO * ASR * DGA * (-SF - PSI * RH * RSAM1);
-		double VY1 = AMO * ASR * DGA * (CF + PSI * RK * RSAM1);
-		double DWHO = 2.0 * Math.sqrt(1.0 - ELEM[6] * ELEM[6] - ELEM[5] * ELEM[5]);
-		double RTP = 1.0 - 2.0 * ELEM[6] * ELEM[6];
-		double RTQ = 1.0 - 2.0 * ELEM[5] * ELEM[5];
-		double RDG = 2.0 * ELEM[6] * ELEM[5];
-		XYZ2[1] = X1 * RTP + Y1 * RDG;
-		XYZ2[2] = X1 * RDG + Y1 * RTQ;
-		XYZ2[3] = (-X1 * ELEM[6] + Y1 * ELEM[5]) * DWHO;
-		VXYZ2[1] = VX1 * RTP + VY1 * RDG;
-		VXYZ2[2] = VX1 * RDG + VY1 * RTQ;
-		VXYZ2[3] = (-VX1 * ELEM[6] + VY1 * ELEM[5]) * DWHO;
-		double CI = Math.cos(AIA);
-		double SI = Math.sin(AIA);
-		double CO = Math.cos(OMA);
-		double SO = Math.sin(OMA);
-
-		xyz[1] = CO * XYZ2[1] - SO * CI * XYZ2[2] + SO * SI * XYZ2[3];
-		xyz[2] = SO * XYZ2[1] + CO * CI * XYZ2[2] - CO * SI * XYZ2[3];
-		xyz[3] = SI * XYZ2[2] + CI * XYZ2[3];
-		vxyz[1] = CO * VXYZ2[1] - SO * CI * VXYZ2[2] + SO * SI * VXYZ2[3];
-		vxyz[2] = SO * VXYZ2[1] + CO * CI * VXYZ2[2] - CO * SI * VXYZ2[3];
-		vxyz[3] = SI * VXYZ2[2] + CI * VXYZ2[3];
-
-		return new double[]
-		{ xyz[1], xyz[2], xyz[3], vxyz[1] / 365.25, vxyz[2] / 365.25, vxyz[3] / 365.25 };
-	}
-
-	private static double[] ELEMHYP(double DJ)
-	{
-		double WT;
-		double T = DJ - T0;
-
-		double P = CSTP;
-		for (int I = 1; I <= NBTP; I++)
-		{
-			WT = T * FRP[I] + FAP[I];
-			P = P + SERP[I] * Math.cos(WT);
-		}
-
-		double Q = CSTQ;
-		for (int I = 1; I <= NBTQ; I++)
-		{
-			WT = T * FRQ[I] + FAQ[I];
-			Q = Q + SERQ[I] * Math.sin(WT);
-		}
-
-		double ZR = 0.0;
-		double ZI = 0.0;
-		for (int I = 1; I <= NBTZ; I++)
-		{
-			WT = T * FRZ[I] + FAZ[I];
-			ZR = ZR + SERZ[I] * Math.cos(WT);
-			ZI = ZI + SERZ[I] * Math.sin(WT);
-		}
-
-		double ZTR = 0.0;
-		double ZTI = 0.0;
-		for (int I = 1; I <= NBTZT; I++)
-		{
-			WT = T * FRZT[I] + FAZT[I];
-			ZTR = ZTR + SERZT[I] * Math.cos(WT);
-			ZTI = ZTI + SERZT[I] * Math.sin(WT);
-		}
-
-		double VL = Functions.normalizeRadians(AMM7 * T + Q);
-
-		double ELEM[] = new double[]
-		{ 0.0, P, VL, ZR, ZI, ZTR, ZTI };
-
-		return ELEM;
-	}
 }
@@ -0,0 +1,438 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.planets;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.EphemerisElement.REDUCTION_METHOD;
+import jparsec.ephem.Precession;
+import jparsec.ephem.Target.TARGET;
+import jparsec.ephem.planets.imcce.Elp2000;
+import jparsec.ephem.planets.imcce.Series96;
+import jparsec.ephem.planets.imcce.Vsop;
+import jparsec.math.ChebyshevFit;
+import jparsec.math.Constant;
+import jparsec.util.Configuration;
+import jparsec.util.JPARSECException;
+
+/**
+ * A class to compile the positions given by any theory into piecewise Chebyshev
+ * polynomials, in the same way as the JPL integrations are distributed. The
+ * positions of each body are sampled in a given interval of time and fitted with
+ * polynomials of a given degree, halving the segments where the difference with
+ * the theory at a set of check points inside the segment is above a given error,
+ * so that segments can have different lengths. The compiled ephemerides can be
+ * written to a compact binary file and read later, and positions and velocities
+ * are obtained in a similar way as in
+ * {@linkplain JPLEphemeris#getPositionAndVelocity(double, TARGET, double[])}.
+ * <P>
+ * The coordinates are those returned by the theory. Instances are immutable, so
+ * they can be used from different threads.
+ *
+ * @see JPLEphemeris
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class ChebyshevEphemeris
+{
+	/**
+	 * The interface for a source of positions.
+	 */
+	public interface Source
+	{
+		/**
+		 * Returns the position of a body.
+		 * @param jd Julian day in TDB.
+		 * @param target The body.
+		 * @return An array with at least the x, y, z components. Velocities
+		 * are not used.
+		 * @throws JPARSECException If an error occurs.
+		 */
+		public double[] getPosition(double jd, TARGET target) throws JPARSECException;
+	}
+
+	/**
+	 * Source for Moshier's theory, heliocentric ecliptic coordinates mean equinox
+	 * and ecliptic J2000 (geocentric for the Moon).
+	 */
+	public static final Source MOSHIER = new Source() {
+		public double[] getPosition(double jd, TARGET target) throws JPARSECException {
+			return PlanetEphem.getHeliocentricEclipticPositionJ2000(jd, target);
+		}
+	};
+
+	/**
+	 * Source for VSOP87A theory for the planets and ELP2000 for the Moon, heliocentric
+	 * ecliptic coordinates mean equinox and ecliptic J2000 (geocentric for the Moon).
+	 */
+	public static final Source VSOP87_ELP2000 = new Source() {
+		public double[] getPosition(double jd, TARGET target) throws JPARSECException {
+			if (target == TARGET.Moon) return Elp2000.calc(jd, 0);
+			return Vsop.getHeliocentricEclipticPositionJ2000(jd, target);
+		}
+	};
+
+	/**
+	 * Source for Series96 theory, heliocentric equatorial coordinates mean equinox and
+	 * equator J2000.
+	 */
+	public static final Source SERIES96 = new Source() {
+		public double[] getPosition(double jd, TARGET target) throws JPARSECException {
+			return Series96.getHeliocentricEquatorialPositionJ2000(jd, target);
+		}
+	};
+
+	/**
+	 * Returns a source for a body orbiting the Sun, given its orbital elements. The
+	 * target is ignored, and the positions are heliocentric ecliptic coordinates mean
+	 * equinox and ecliptic J2000.
+	 * @param orbit The orbital elements.
+	 * @return The source.
+	 */
+	public static Source getOrbitSource(final OrbitalElement orbit) {
+		final EphemerisElement eph = new EphemerisElement();
+		eph.ephemMethod = REDUCTION_METHOD.IAU_2006;
+		return new Source() {
+			public double[] getPosition(double jd, TARGET target) throws JPARSECException {
+				double coords[] = OrbitEphem.toEclipticPlane(orbit, OrbitEphem.orbitPlane(orbit, jd));
+				return Precession.precessPosAndVelInEcliptic(orbit.referenceEquinox, Constant.J2000, coords, eph);
+			}
+		};
+	}
+
+	/** The set of polynomials for one body. */
+	private static final class Body
+	{
+		final TARGET target;
+		final int segments, coefficients;
+		/** Limits of the segments, segments + 1 values in ascending order. */
+		final double limits[];
+		/** Coefficients, for each segment and component. */
+		final double data[];
+
+		Body(TARGET target, double limits[], int coefficients, double data[])
+		{
+			this.target = target;
+			this.limits = limits;
+			this.segments = limits.length - 1;
+			this.coefficients = coefficients;
+			this.data = data;
+		}
+	}
+
+	private static final int MAGIC = 0x4A434845;
+	private static final int FORMAT_VERSION = 1;
+	/** Maximum number of halvings of the interval when fitting a body. */
+	private static final int MAX_LEVELS = 24;
+
+	private final double jdStart, jdEnd;
+	private final HashMap<TARGET, Body> bodies;
+
+	private ChebyshevEphemeris(double jdStart, double jdEnd, ArrayList<Body> list)
+	{
+		this.jdStart = jdStart;
+		this.jdEnd = jdEnd;
+		bodies = new HashMap<TARGET, Body>();
+		for (int i = 0; i < list.size(); i++)
+		{
+			bodies.put(list.get(i).target, list.get(i));
+		}
+	}
+
+	/**
+	 * Compiles the positions given by a theory.
+	 * @param source The source of positions.
+	 * @param targets The bodies to compile.
+	 * @param jdStart Initial Julian day, TDB.
+	 * @param jdEnd Final Julian day, TDB.
+	 * @param maxError Maximum allowed error in each component, in the units of
+	 * the source (AU in the theories of JPARSEC).
+	 * @param degree Degree of the polynomials, for instance 12.
+	 * @return The compiled ephemerides.
+	 * @throws JPARSECException If the source fails, or if the error cannot be
+	 * reached.
+	 */
+	public static ChebyshevEphemeris compile(Source source, TARGET targets[], double jdStart, double jdEnd,
+			double maxError, int degree) throws JPARSECException
+	{
+		if (jdEnd <= jdStart) throw new JPARSECException("invalid interval of time.");
+		if (degree < 1) throw new JPARSECException("invalid degree "+degree+".");
+		if (maxError <= 0.0) throw new JPARSECException("invalid maximum error "+maxError+".");
+
+		ArrayList<Body> list = new ArrayList<Body>();
+		for (int i = 0; i < targets.length; i++)
+		{
+			list.add(compile(source, targets[i], jdStart, jdEnd, maxError, degree));
+		}
+		return new ChebyshevEphemeris(jdStart, jdEnd, list);
+	}
+
+	private static Body compile(final Source source, final TARGET target, double jdStart, double jdEnd,
+			final double maxError, int degree) throws JPARSECException
+	{
+		ChebyshevFit fit = new ChebyshevFit(degree, 3, MAX_LEVELS);
+		final int n = fit.getNumberOfCoefficients();
+		final int maxSegments = Configuration.MAX_CHEBYSHEV_SEGMENTS;
+		final ArrayList<double[]> segments = new ArrayList<double[]>();
+		final ArrayList<Double> ends = new ArrayList<Double>();
+		ChebyshevFit.Function f = new ChebyshevFit.Function() {
+			public boolean evaluate(double jd, double out[]) throws JPARSECException {
+				double p[] = source.getPosition(jd, target);
+				out[0] = p[0];
+				out[1] = p[1];
+				out[2] = p[2];
+				return true;
+			}
+			public void getMaximumError(double values[][], double out[]) {
+				out[0] = out[1] = out[2] = maxError;
+			}
+			public boolean accept(double start, double end, double coefs[]) throws JPARSECException {
+				if (segments.size() == maxSegments)
+					throw new JPARSECException("could not fit "+target+" with the required error using less than "+maxSegments+" segments. Use a higher degree or a larger error.");
+				segments.add(coefs.clone());
+				ends.add(end);
+				return true;
+			}
+		};
+		if (!fit.fit(f, jdStart, jdEnd, 1))
+			throw new JPARSECException("could not fit "+target+" with the required error. Use a higher degree or a larger error.");
+
+		double data[] = new double[segments.size() * 3 * n];
+		double limits[] = new double[segments.size() + 1];
+		limits[0] = jdStart;
+		for (int i = 0; i < segments.size(); i++)
+		{
+			System.arraycopy(segments.get(i), 0, data, i * 3 * n, 3 * n);
+			limits[i + 1] = ends.get(i);
+		}
+		return new Body(target, limits, n, data);
+	}
+
+	/**
+	 * Returns the initial Julian day of the compiled interval.
+	 * @return Julian day, TDB.
+	 */
+	public double getStartJD() {
+		return jdStart;
+	}
+
+	/**
+	 * Returns the final Julian day of the compiled interval.
+	 * @return Julian day, TDB.
+	 */
+	public double getEndJD() {
+		return jdEnd;
+	}
+
+	/**
+	 * Returns the bodies compiled.
+	 * @return The bodies.
+	 */
+	public TARGET[] getTargets() {
+		return bodies.keySet().toArray(new TARGET[bodies.size()]);
+	}
+
+	/**
+	 * Returns the number of segments used for a body.
+	 * @param target The body.
+	 * @return The number of segments, or 0 if the body is not available.
+	 */
+	public int getNumberOfSegments(TARGET target) {
+		Body b = bodies.get(target);
+		if (b == null) return 0;
+		return b.segments;
+	}
+
+	/**
+	 * Obtains position and velocity of certain body.
+	 * @param jd Julian day, TDB.
+	 * @param target The body.
+	 * @return A vector with the position and velocity, in the coordinates of the
+	 * source, with velocities in units per day.
+	 * @throws JPARSECException If the body is not available or the date is
+	 * outside the compiled interval.
+	 */
+	public double[] getPositionAndVelocity(double jd, TARGET target)
+	throws JPARSECException {
+		double out[] = new double[6];
+		this.getPositionAndVelocity(jd, target, out);
+		return out;
+	}
+
+	/**
+	 * Obtains position and velocity of certain body, writing the result into the
+	 * provided array. This method does not create any object.
+	 * @param jd Julian day, TDB.
+	 * @param target The body.
+	 * @param out Output array with a length of 6 or greater, where the position
+	 * and velocity will be set in the coordinates of the source, with velocities
+	 * in units per day.
+	 * @throws JPARSECException If the body is not available or the date is
+	 * outside the compiled interval.
+	 */
+	public void getPositionAndVelocity(double jd, TARGET target, double out[])
+	throws JPARSECException {
+		Body b = bodies.get(target);
+		if (b == null) throw new JPARSECException("invalid target "+target+".");
+		if (jd < jdStart || jd > jdEnd) throw new JPARSECException("cannot calculate ephemeris for this date.");
+
+		// Binary search of the segment
+		double limits[] = b.limits;
+		int s = 0, e = b.segments - 1;
+		while (s < e)
+		{
+			int m = (s + e + 1) >>> 1;
+			if (limits[m] <= jd) {
+				s = m;
+			} else {
+				e = m - 1;
+			}
+		}
+		double segment = limits[s + 1] - limits[s];
+		double x = 2.0 * (jd - limits[s]) / segment - 1.0;
+		double dxdt = 2.0 / segment;
+		int n = b.coefficients;
+		double data[] = b.data;
+		for (int c = 0; c < 3; c++)
+		{
+			int offset = (s * 3 + c) * n;
+			// T_j(x) and its derivative by recurrence
+			double t0 = 1.0, t1 = x, d0 = 0.0, d1 = 1.0;
+			double pos = data[offset], vel = 0.0;
+			if (n > 1) {
+				pos += data[offset + 1] * t1;
+				vel += data[offset + 1] * d1;
+			}
+			for (int j = 2; j < n; j++)
+			{
+				double t2 = 2.0 * x * t1 - t0;
+				double d2 = 2.0 * t1 + 2.0 * x * d1 - d0;
+				pos += data[offset + j] * t2;
+				vel += data[offset + j] * d2;
+				t0 = t1;
+				t1 = t2;
+				d0 = d1;
+				d1 = d2;
+			}
+			out[c] = pos;
+			out[c + 3] = vel * dxdt;
+		}
+	}
+
+	/**
+	 * Writes the compiled ephemerides to a binary file. The file contains an
+	 * identifier, the interval of time, and for each body its name, the number of
+	 * segments and coefficients, the limits of the segments, and the coefficients,
+	 * as big-endian doubles.
+	 * @param path Path to the file.
+	 * @throws JPARSECException If an error occurs writing the file.
+	 */
+	public void write(String path) throws JPARSECException {
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeDouble(jdStart);
+				out.writeDouble(jdEnd);
+				out.writeInt(bodies.size());
+				TARGET targets[] = getTargets();
+				for (int i = 0; i < targets.length; i++)
+				{
+					Body b = bodies.get(targets[i]);
+					out.writeUTF(b.target.name());
+					out.writeInt(b.segments);
+					out.writeInt(b.coefficients);
+					for (int j = 0; j < b.limits.length; j++)
+					{
+						out.writeDouble(b.limits[j]);
+					}
+					for (int j = 0; j < b.data.length; j++)
+					{
+						out.writeDouble(b.data[j]);
+					}
+				}
+			} finally {
+				out.close();
+			}
+		} catch (Exception e)
+		{
+			throw new JPARSECException("a problem was found when trying to write to the file "+path+".", e);
+		}
+	}
+
+	/**
+	 * Reads compiled ephemerides from a binary file created with {@linkplain #write(String)}.
+	 * @param path Path to the file.
+	 * @return The compiled ephemerides.
+	 * @throws JPARSECException If the file cannot be read or has an invalid format.
+	 */
+	public static ChebyshevEphemeris read(String path) throws JPARSECException {
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+			try {
+				if (in.readInt() != MAGIC)
+					throw new JPARSECException("invalid format in file "+path+".");
+				if (in.readInt() != FORMAT_VERSION)
+					throw new JPARSECException("invalid format in file "+path+".");
+				double jdStart = in.readDouble();
+				double jdEnd = in.readDouble();
+				int nb = in.readInt();
+				ArrayList<Body> list = new ArrayList<Body>();
+				for (int i = 0; i < nb; i++)
+				{
+					TARGET target = TARGET.valueOf(in.readUTF());
+					int segments = in.readInt();
+					int coefficients = in.readInt();
+					double limits[] = new double[segments + 1];
+					for (int j = 0; j <= segments; j++)
+					{
+						limits[j] = in.readDouble();
+					}
+					double data[] = new double[segments * 3 * coefficients];
+					for (int j = 0; j < data.length; j++)
+					{
+						data[j] = in.readDouble();
+					}
+					list.add(new Body(target, limits, coefficients, data));
+				}
+				return new ChebyshevEphemeris(jdStart, jdEnd, list);
+			} finally {
+				in.close();
+			}
+		} catch (JPARSECException e)
+		{
+			throw e;
+		} catch (Exception e)
+		{
+			throw new JPARSECException("a problem was found when trying to read the file "+path+".", e);
+		}
+	}
+}
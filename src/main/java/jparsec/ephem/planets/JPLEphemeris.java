@@ -21,14 +21,30 @@
  */
 package jparsec.ephem.planets;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.math.BigDecimal;
 import java.net.URLConnection;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.COORDINATES_TYPE;
@@ -56,7 +72,6 @@ import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
 import jparsec.util.Configuration;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -64,6 +79,9 @@ import jparsec.util.JPARSECException;
  * theories. Available integrations are DE200, DE403, DE405, DE406, DE413,
  * DE414, DE422, and DE430. The necessary files in ASCII format are provided to cover
  * the time span from 1950 to 2050, or greater in some cases.
+ * <P>
+ * Each instance keeps its own cache of coefficients, so different instances
+ * (or the same one) can be used from different threads.
  * @author T. Alonso Albi - OAN (Spain)
  * @version 1.0
  */
@@ -269,6 +287,62 @@ public class JPLEphemeris {
 			throw new JPARSECException("invalid jpl ephemeris version.");
 		}
 		this.readHeader();
+		availability = new Boolean[2][years.length];
+	}
+
+	private static final ConcurrentHashMap<String, Object> instances = new ConcurrentHashMap<String, Object>();
+
+	/**
+	 * Returns a shared instance for a given JPL integration, using the
+	 * external path set in {@linkplain Configuration#JPL_EPHEMERIDES_FILES_EXTERNAL_PATH}.
+	 * See {@linkplain #getInstance(EphemerisElement.ALGORITHM, String)}.
+	 * @param jplID ID for the JPL ephemeris version.
+	 * @return The instance.
+	 * @throws JPARSECException If the integration version is not available
+	 * (the header could not be read).
+	 */
+	public static JPLEphemeris getInstance(EphemerisElement.ALGORITHM jplID)
+	throws JPARSECException {
+		return getInstance(jplID, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+	}
+
+	/**
+	 * Returns a shared instance for a given JPL integration and external path.
+	 * Instances are created only once, so the header is read and the availability
+	 * of each file is checked only the first time. The failure to create an instance
+	 * is also remembered. Instances can be used from different threads, but the
+	 * public fields like {@linkplain #au} should not be modified. Call
+	 * {@linkplain #clearInstances()} after adding or removing files.
+	 * @param jplID ID for the JPL ephemeris version.
+	 * @param externalPath External path for the JPL files, or null.
+	 * @return The instance.
+	 * @throws JPARSECException If the integration version is not available
+	 * (the header could not be read).
+	 */
+	public static JPLEphemeris getInstance(EphemerisElement.ALGORITHM jplID, String externalPath)
+	throws JPARSECException {
+		if (externalPath != null && !externalPath.endsWith(FileIO.getFileSeparator())) externalPath += FileIO.getFileSeparator();
+		String key = jplID.name() + "|" + externalPath;
+		Object o = instances.get(key);
+		if (o == null) {
+			try {
+				o = new JPLEphemeris(jplID, externalPath);
+			} catch (Exception exc) {
+				o = exc;
+			}
+			Object previous = instances.putIfAbsent(key, o);
+			if (previous != null) o = previous;
+		}
+		if (o instanceof JPLEphemeris) return (JPLEphemeris) o;
+		throw new JPARSECException("JPL ephemerides "+jplID+" not available.", (Exception) o);
+	}
+
+	/**
+	 * Removes the shared instances, so that they are created again with the
+	 * current header and data files.
+	 */
+	public static void clearInstances() {
+		instances.clear();
 	}
 
 	/**
@@ -300,40 +374,65 @@ public class JPLEphemeris {
 	 * @return True or false.
 	 */
 	public boolean isAvailable(double jd) {
-		int i = 0;
-		String filename = " ";
-		double ephemerisDates[] = new double[3];
-		try
+		int index = this.getFileIndex(jd);
+		if (index < 0) return false;
+		return this.isAvailable(index, false) || this.isAvailable(index, true);
+	}
+
+	/**
+	 * Returns if the availability of the ephemerides files is the same for all
+	 * dates in an interval, so that {@linkplain #isAvailable(double)} returns
+	 * either true or false for all of them.
+	 * @param jdStart Initial Julian day.
+	 * @param jdEnd Final Julian day.
+	 * @return True if the availability does not change within the interval.
+	 */
+	public boolean isAvailabilityUniform(double jdStart, double jdEnd) {
+		if (jdEnd < jdStart) {
+			double tmp = jdStart;
+			jdStart = jdEnd;
+			jdEnd = tmp;
+		}
+		boolean first = this.isAvailable(jdStart);
+		for (int i=0; i<this.dates.length; i++)
 		{
-			int index = -1;
-			for (i=0; i<this.dates.length-1; i++)
-			{
-				if (jd >= this.dates[i] && jd < this.dates[i+1]) {
-					index = i;
-					break;
-				}
-			}
-			if (index < 0) throw new JPARSECException("cannot calculate ephemeris for this date.");
+			// Each file limit inside the interval starts a new file or ends the last one
+			if (this.dates[i] > jdStart && this.dates[i] <= jdEnd && this.isAvailable(this.dates[i]) != first) return false;
+		}
+		return true;
+	}
 
-			int year = this.years[index];
-			ephemerisDates[1] = dates[index];
-			ephemerisDates[2] = dates[index+1];
-			filename = "asc";
-			if (year >= 0) {
-				filename +="p";
-			} else {
-				filename +="m";
-			}
-			filename += ""+year+"."+this.getJPLVersion();
+	/**
+	 * Availability of the ASCII (index 0) and binary (index 1) files, null if unknown.
+	 * Writes are idempotent, so concurrent updates are harmless.
+	 */
+	private volatile Boolean availability[][];
+
+	private boolean isAvailable(int index, boolean binary) {
+		int type = binary ? 1 : 0;
+		Boolean available = availability[type][index];
+		if (available == null) {
+			available = Boolean.valueOf(this.checkAvailability(index, binary));
+			availability[type][index] = available;
+		}
+		return available.booleanValue();
+	}
 
-			String filePath = FileIO.DATA_JPL_EPHEM_DIRECTORY+"de"+this.getJPLVersion()+Zip.ZIP_SEPARATOR;
-			if (ReadFile.resourceAvailable(filePath + filename)) return true;
+	private boolean checkAvailability(int index, boolean binary) {
+		try
+		{
+			String filename = this.getFileName(index, binary);
+			if (!binary) {
+				String filePath = FileIO.DATA_JPL_EPHEM_DIRECTORY+"de"+this.getJPLVersion()+Zip.ZIP_SEPARATOR;
+				if (ReadFile.resourceAvailable(filePath + filename)) return true;
+			}
 
 			if (externalPath != null)
 				return (new File(externalPath + filename)).exists();
 		} catch (Exception exc) { }
 		return false;
 	}
+
 	private void readHeader()
 	throws JPARSECException {
 		int version = this.getJPLVersion();
@@ -440,11 +539,46 @@ public class JPLEphemeris {
 		this.au = this.cval[index];
 		interval_duration = this.jds;
 		numbers_per_interval = this.ncoeff-2;
+
+		// Layout of the coefficients of each body inside a record
+		bodyOffset = new int[14];
+		bodyCoefs = new int[14];
+		bodySets = new int[14];
+		bodyComponents = new int[14];
+		int offset = 0;
+		for (int j=1; j<=13; j++)
+		{
+			bodyOffset[j] = offset;
+			bodyCoefs[j] = this.lpt[1][j-1];
+			bodySets[j] = this.lpt[2][j-1];
+			bodyComponents[j] = 3;
+			if (j == 12) bodyComponents[j] = 2;
+			offset += bodyComponents[j] * bodySets[j] * bodyCoefs[j];
+		}
 	}
 
-	private static double[] ephemerisDates = new double[3];
-	private static double[] ephemerisCoefficients;
-	private static int jplVersion = -1;
+	/**
+	 * Immutable set of Chebyshev coefficients read from one file.
+	 */
+	private static final class CoefficientBlock {
+		private final int index;
+		private final double jdStart, jdEnd;
+		private final DoubleBuffer coefficients;
+		private volatile long lastUse;
+
+		private CoefficientBlock(int index, double jdStart, double jdEnd, DoubleBuffer coefficients) {
+			this.index = index;
+			this.jdStart = jdStart;
+			this.jdEnd = jdEnd;
+			this.coefficients = coefficients.asReadOnlyBuffer();
+		}
+	}
+
+	/** Blocks of coefficients read for this instance, by index of file. */
+	private final ConcurrentHashMap<Integer, CoefficientBlock> blocks = new ConcurrentHashMap<Integer, CoefficientBlock>();
+	/** The last block used, to avoid the search of the file in consecutive calls. */
+	private volatile CoefficientBlock lastBlock;
+	private final AtomicLong blockUse = new AtomicLong();
 
 	/** The Earth-Moon mass ratio. */
 	public double emrat;
@@ -452,10 +586,26 @@ public class JPLEphemeris {
 	public double au;
 	private double interval_duration;
 	private int numbers_per_interval;
+	/** Offset of the coefficients of each body inside a record. */
+	private int bodyOffset[];
+	/** Number of coefficients of each body. */
+	private int bodyCoefs[];
+	/** Number of sets of coefficients (subintervals) of each body. */
+	private int bodySets[];
+	/** Number of components of each body (2 for nutations, 3 for the rest). */
+	private int bodyComponents[];
 
 	private static TARGET targets[] = new TARGET[] {TARGET.NOT_A_PLANET, TARGET.MERCURY, TARGET.VENUS,
 		TARGET.Earth_Moon_Barycenter, TARGET.MARS, TARGET.JUPITER, TARGET.SATURN, TARGET.URANUS,
 		TARGET.NEPTUNE, TARGET.Pluto, TARGET.Moon, TARGET.SUN, TARGET.Nutation, TARGET.Libration, TARGET.Solar_System_Barycenter};
+	/** Index of each body in the records, by ordinal of the target. 0 for an invalid target. */
+	private static final int TARGET_INDEX[] = new int[TARGET.values().length];
+	static {
+		for (int i=1; i<targets.length; i++)
+		{
+			TARGET_INDEX[targets[i].ordinal()] = i;
+		}
+	}
 
 	/**
 	 * Calculate ephemeris, providing full data. This method uses JPL
@@ -584,7 +734,7 @@ public class JPLEphemeris {
 		// Solar system barycenter, we will need to subtract the position of the Sun here
 		double helio_object[] = this.getPositionAndVelocity(JD_TDB - light_time, eph.targetBody);
 		if (addOffset) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -619,9 +769,9 @@ public class JPLEphemeris {
 			if (obs.getMotherBody() != TARGET.EARTH || eph.targetBody != TARGET.Moon)
 				geo_eq = Ephem.aberration(geo_eq, baryc, light_time);
 
-			if (addGCRS) DataBase.addData("GCRS", geo_eq, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = geo_eq;
 		} else {
-			if (addGCRS) DataBase.addData("GCRS", null, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correction to output frame. */
@@ -778,7 +928,7 @@ public class JPLEphemeris {
 			return JPLEphemeris.INVALID_VECTOR;
 
 		if (addSat) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -848,7 +998,7 @@ public class JPLEphemeris {
 			return JPLEphemeris.INVALID_VECTOR;
 
 		if (addSat) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -899,14 +1049,6 @@ public class JPLEphemeris {
 	 */
 	public static final double[] INVALID_VECTOR = { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0 };
 
-	private double[] getEarthPositionAndVelocity(double JD) throws JPARSECException {
-		double helio_barycenter[] = this.getPositionAndVelocity(JD, TARGET.Earth_Moon_Barycenter);
-		if (Functions.equalVectors(helio_barycenter, JPLEphemeris.INVALID_VECTOR))
-			return JPLEphemeris.INVALID_VECTOR;
-		double moon[] = this.getPositionAndVelocity(JD, TARGET.Moon);
-		return Functions.substract(helio_barycenter, Functions.scalarProduct(moon, 1.0 / (1.0 + emrat)));
-	}
-
 	/**
 	 * Obtains position and velocity of certain object using the selected
 	 * JPL ephemeris version.
@@ -920,138 +1062,293 @@ public class JPLEphemeris {
 	 */
 	public double[] getPositionAndVelocity(double jd, TARGET target)
 	throws JPARSECException {
-		if (target == TARGET.Solar_System_Barycenter) return new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
-		if (target == TARGET.EARTH) return this.getEarthPositionAndVelocity(jd);
-		int object = DataSet.getIndex(targets, target);
-		if (object <= 0) throw new JPARSECException("invalid target "+target+".");
-
-		int interval = 0, numbers_to_skip = 0, pointer = 0, j = 0, k = 0, subinterval = 0;
+		double array[] = new double[6];
+		this.getPositionAndVelocity(jd, target, array);
 
-		double interval_start_time = 0, subinterval_duration = 0, chebyshev_time = 0;
+		if (target == TARGET.Nutation) array = DataSet.getSubArray(array, 0, 3);
+		return array;
+	}
 
-		double[] position_poly = new double[20];
-		double[][] coef = new double[4][20];
-		double[] velocity_poly = new double[20];
+	/**
+	 * Obtains position and velocity of certain object using the selected
+	 * JPL ephemeris version, writing the result into the provided array. This method
+	 * does not create any object, except for Pluto (conversion to body center) and
+	 * the first time a given file of coefficients is read, so it is the recommended
+	 * one for repeated calculations.
+	 * @param jd Julian day, TDB.
+	 * @param target Target. Can be a planet, Pluto, or the Sun, Moon, Earth-Moon
+	 * barycenter, or can be also nutation and libration.
+	 * @param out Output array with a length of 6 or greater, where the
+	 * equatorial position and velocity from Solar System Barycenter will be set,
+	 * refered to ICRS (or dynamical equinox and equator for DE200) and J2000 equinox.
+	 * For the Moon the geocentric position is returned. For nutations only the
+	 * first 4 values are set.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public void getPositionAndVelocity(double jd, TARGET target, double out[])
+	throws JPARSECException {
+		if (target == TARGET.Solar_System_Barycenter) {
+			for (int i=0; i<6; i++)
+			{
+				out[i] = 0.0;
+			}
+			return;
+		}
+		if (target == TARGET.EARTH) {
+			this.evaluate(jd, TARGET_INDEX[TARGET.Earth_Moon_Barycenter.ordinal()], true, out, false, 0.0);
+			this.evaluate(jd, TARGET_INDEX[TARGET.Moon.ordinal()], true, out, true, -1.0 / (1.0 + emrat));
+			return;
+		}
+		int object = TARGET_INDEX[target.ordinal()];
+		if (object <= 0) throw new JPARSECException("invalid target "+target+".");
 
-		int[] number_of_coef_sets = new int[14];
-		int[] number_of_coefs = new int[14];
+		this.evaluate(jd, object, target != TARGET.Libration && target != TARGET.Nutation, out, false, 0.0);
 
-		/* Initialize arrays */
-		for (j=1; j<=13; j++)
-		{
-			number_of_coefs[j] = this.lpt[1][j-1];
-			number_of_coef_sets[j] = this.lpt[2][j-1];
+		// Return position of Pluto's body center
+		if (target == TARGET.Pluto) {
+			double newPos[] = MoonEphem.fromPlutoBarycenterToPlutoCenter(new double[] {out[0], out[1], out[2], out[3], out[4], out[5]},
+					jd, EphemerisElement.REDUCTION_METHOD.IAU_2009, true);
+			out[0] = newPos[0];
+			out[1] = newPos[1];
+			out[2] = newPos[2];
 		}
+	}
 
-		/*
-		 * Begin by determining whether the current ephemeris coefficients are
-		 * appropriate for jultime, or if we need to load a new set.
-		 */
-		if (jplVersion == -1 || jplVersion != this.getJPLVersion() || (jd < ephemerisDates[1]) || (jd > ephemerisDates[2]))
-			getEphemerisCoefficients(jd);
-
-		interval = (int) (Math.floor((jd - ephemerisDates[1]) / interval_duration) + 1);
-		interval_start_time = (interval - 1.0) * interval_duration + ephemerisDates[1];
-		subinterval_duration = interval_duration / number_of_coef_sets[object];
-		subinterval = (int) (Math.floor((jd - interval_start_time) / subinterval_duration) + 1);
-		numbers_to_skip = (interval - 1) * numbers_per_interval;
+	/**
+	 * Evaluates the Chebyshev polynomials for position and velocity of a given body.
+	 * @param jd Julian day, TDB.
+	 * @param object Index of the body in the records.
+	 * @param toAU True to convert from km to AU.
+	 * @param out Output array for position and velocity.
+	 * @param add False to set the values in the output array, true to add them
+	 * to the current values after multiplying them by a factor.
+	 * @param factor The factor to multiply the values when adding them.
+	 * @throws JPARSECException If the date is out of the time span or the file
+	 * cannot be read.
+	 */
+	private void evaluate(double jd, int object, boolean toAU, double out[], boolean add, double factor)
+	throws JPARSECException {
+		CoefficientBlock block = this.getCoefficientBlock(jd);
+		int interval = (int) Math.floor((jd - block.jdStart) / interval_duration);
+		double interval_start_time = interval * interval_duration + block.jdStart;
+		double subinterval_duration = interval_duration / bodySets[object];
+		int subinterval = (int) Math.floor((jd - interval_start_time) / subinterval_duration);
+		int pointer = interval * numbers_per_interval + bodyOffset[object] + subinterval * bodyComponents[object] * bodyCoefs[object];
+
+		double chebyshev_time = 2.0 * (jd - (subinterval * subinterval_duration + interval_start_time)) / subinterval_duration - 1.0;
+		this.evaluate(block.coefficients, pointer, object, chebyshev_time, toAU, out, add, factor);
+	}
 
-		/*
-		 * Starting at the beginning of the coefficient array, skip the first
-		 * "numbers_to_skip" coefficients. This puts the pointer on the first
-		 * piece of data in the correct interval.
-		 */
-		pointer = numbers_to_skip + 1;
+	/**
+	 * Evaluates the Chebyshev polynomials for position and velocity of a given body
+	 * for a set of dates. The set of coefficients of a given subinterval is located
+	 * only once for all consecutive dates inside it.
+	 * @param jds Julian days, TDB.
+	 * @param from Index of the first date to evaluate.
+	 * @param to Index of the last date to evaluate plus 1.
+	 * @param object Index of the body in the records.
+	 * @param toAU True to convert from km to AU.
+	 * @param out Output arrays for position and velocity.
+	 * @param add False to set the values in the output arrays, true to add them
+	 * to the current values after multiplying them by a factor.
+	 * @param factor The factor to multiply the values when adding them.
+	 * @throws JPARSECException If a date is out of the time span or a file
+	 * cannot be read.
+	 */
+	private void evaluate(double jds[], int from, int to, int object, boolean toAU, double out[][], boolean add, double factor)
+	throws JPARSECException {
+		CoefficientBlock block = null;
+		int pointer = 0;
+		double subinterval_start_time = 0, subinterval_end_time = 0;
+		double subinterval_duration = interval_duration / bodySets[object];
+		for (int i = from; i < to; i++)
+		{
+			double jd = jds[i];
+			if (block == null || jd < subinterval_start_time || jd >= subinterval_end_time) {
+				block = this.getCoefficientBlock(jd);
+				int interval = (int) Math.floor((jd - block.jdStart) / interval_duration);
+				double interval_start_time = interval * interval_duration + block.jdStart;
+				int subinterval = (int) Math.floor((jd - interval_start_time) / subinterval_duration);
+				pointer = interval * numbers_per_interval + bodyOffset[object] + subinterval * bodyComponents[object] * bodyCoefs[object];
+				subinterval_start_time = subinterval * subinterval_duration + interval_start_time;
+				subinterval_end_time = subinterval_start_time + subinterval_duration;
+			}
 
-		/* Skip the coefficients for the first (i-1) planets */
-		for (j = 1; j <= (object - 1); j++) {
-			int n = 3;
-			if (j == 12) n = 2;
-			pointer = pointer + n * number_of_coef_sets[j] * number_of_coefs[j];
+			double chebyshev_time = 2.0 * (jd - subinterval_start_time) / subinterval_duration - 1.0;
+			this.evaluate(block.coefficients, pointer, object, chebyshev_time, toAU, out[i], add, factor);
 		}
+	}
 
-		/* Skip the next (subinterval - 1)*3*number_of_coefs(i) coefficients */
-		int n = 3;
-		if (object == 12) n = 2;
-		pointer = pointer + (subinterval - 1) * n * number_of_coefs[object];
+	/**
+	 * Evaluates the Chebyshev polynomials for position and velocity of a given body
+	 * at a given time inside a subinterval.
+	 * @param coefficients The coefficients.
+	 * @param pointer Index of the first coefficient of the subinterval.
+	 * @param object Index of the body in the records.
+	 * @param chebyshev_time The time inside the subinterval, between -1 and +1.
+	 * @param toAU True to convert from km to AU.
+	 * @param out Output array for position and velocity.
+	 * @param add False to set the values in the output array, true to add them
+	 * to the current values after multiplying them by a factor.
+	 * @param factor The factor to multiply the values when adding them.
+	 */
+	private void evaluate(DoubleBuffer coefficients, int pointer, int object, double chebyshev_time,
+			boolean toAU, double out[], boolean add, double factor) {
+		int ncoefs = bodyCoefs[object], n = bodyComponents[object];
+		double velocity_factor = 2.0 * bodySets[object] / interval_duration;
 
-		for (j = 1; j <= n; j++)
+		for (int j = 0; j < n; j++)
 		{
-			for (k = 1; k <= number_of_coefs[object]; k++)
+			/* Accumulate position and velocity Chebyshev polynomials using their recurrences */
+			double position_poly1 = 1.0, position_poly2 = chebyshev_time;
+			double velocity_poly1 = 0.0, velocity_poly2 = 1.0;
+			double c0 = coefficients.get(pointer), c1 = coefficients.get(pointer + 1);
+			double position = c0 + c1 * chebyshev_time, velocity = c1;
+			for (int k = 2; k < ncoefs; k++)
 			{
-				/* Read the pointer'th coefficient as the array entry coef[j][k] */
-				coef[j][k] = ephemerisCoefficients[pointer];
-				pointer = pointer + 1;
+				double position_poly = 2.0 * chebyshev_time * position_poly2 - position_poly1;
+				double velocity_poly = 2.0 * chebyshev_time * velocity_poly2 + 2.0 * position_poly2 - velocity_poly1;
+				double c = coefficients.get(pointer + k);
+				position = position + c * position_poly;
+				velocity = velocity + c * velocity_poly;
+				position_poly1 = position_poly2;
+				position_poly2 = position_poly;
+				velocity_poly1 = velocity_poly2;
+				velocity_poly2 = velocity_poly;
+			}
+			pointer += ncoefs;
+
+			/* Units of km/day, and convert from km to A.U. */
+			velocity = velocity * velocity_factor;
+			if (toAU) {
+				position = position / au;
+				velocity = velocity / au;
+			}
+
+			if (add) {
+				out[j] += position * factor;
+				out[j + n] += velocity * factor;
+			} else {
+				out[j] = position;
+				out[j + n] = velocity;
 			}
 		}
+	}
 
-		/*
-		 * Calculate the chebyshev time within the subinterval, between -1 and +1.
-		 * jd is a double value. I have tested that with BigDecimal the difference
-		 * is around 20 microarcseconds for the Moon (0.04 m), and also below 1 m
-		 * for Mars and other planets.
-		 */
-		chebyshev_time = 2.0 * (jd - ((subinterval - 1.0) * subinterval_duration + interval_start_time)) / subinterval_duration - 1.0;
+	/**
+	 * Obtains position and velocity of certain object for a set of dates using the selected
+	 * JPL ephemeris version. This method is much faster than calling
+	 * {@linkplain #getPositionAndVelocity(double, TARGET, double[])} for each date, since the
+	 * set of coefficients for a given subinterval is located only once for all consecutive
+	 * dates inside it. Dates should be sorted (for instance an evenly spaced grid) to take
+	 * advantage of this.
+	 * @param jds Julian days, TDB.
+	 * @param target Target. Can be a planet, Pluto, or the Sun, Moon, Earth-Moon
+	 * barycenter, or can be also nutation and libration.
+	 * @param out Output arrays, with the same length as the input dates, where
+	 * the position and velocity for each date will be set as in
+	 * {@linkplain #getPositionAndVelocity(double, TARGET, double[])}. Rows with a null
+	 * value are created with a length of 6.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public void getPositionAndVelocity(double jds[], TARGET target, double out[][])
+	throws JPARSECException {
+		this.getPositionAndVelocity(jds, 0, jds.length, target, out);
+	}
 
-		/* Calculate the Chebyshev position polynomials */
-		position_poly[1] = 1.0;
-		position_poly[2] = chebyshev_time;
-		for (j = 3; j <= number_of_coefs[object]; j++)
-			position_poly[j] = 2.0 * chebyshev_time * position_poly[j - 1] - position_poly[j - 2];
+	/**
+	 * Obtains position and velocity of certain object for a set of dates using the selected
+	 * JPL ephemeris version, splitting the dates in chunks that are computed in parallel
+	 * using the given executor. See {@linkplain #getPositionAndVelocity(double[], TARGET, double[][])}.
+	 * @param jds Julian days, TDB.
+	 * @param target Target. Can be a planet, Pluto, or the Sun, Moon, Earth-Moon
+	 * barycenter, or can be also nutation and libration.
+	 * @param out Output arrays, with the same length as the input dates.
+	 * @param executor The executor to use, or null to perform the calculations in the
+	 * current thread. The executor is not shut down.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public void getPositionAndVelocity(final double jds[], final TARGET target, final double out[][], ExecutorService executor)
+	throws JPARSECException {
+		int nchunks = Math.min(Runtime.getRuntime().availableProcessors(), jds.length / MINIMUM_DATES_PER_CHUNK);
+		if (executor == null || nchunks < 2) {
+			this.getPositionAndVelocity(jds, 0, jds.length, target, out);
+			return;
+		}
 
-		/* Calculate the position of the i'th planet at jultime */
-		double[] ephemeris_r = new double[7];
-		for (j = 1; j <= n; j++)
+		ArrayList<Future<Object>> tasks = new ArrayList<Future<Object>>();
+		int size = jds.length / nchunks;
+		for (int i = 0; i < nchunks; i++)
 		{
-			ephemeris_r[j] = 0;
-			for (k = 1; k <= number_of_coefs[object]; k++)
-				ephemeris_r[j] = ephemeris_r[j] + coef[j][k] * position_poly[k];
-
-			/* Convert from km to A.U. */
-			if (target != TARGET.Libration && target != TARGET.Nutation) ephemeris_r[j] = ephemeris_r[j] / au;
+			final int from = i * size;
+			final int to = (i == nchunks - 1) ? jds.length : from + size;
+			tasks.add(executor.submit(new Callable<Object>() {
+				public Object call() throws JPARSECException {
+					getPositionAndVelocity(jds, from, to, target, out);
+					return null;
+				}
+			}));
 		}
+		try {
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				tasks.get(i).get();
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JPARSECException) throw (JPARSECException) e.getCause();
+			throw new JPARSECException("error during calculations.", e.getCause());
+		} catch (InterruptedException e) {
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				tasks.get(i).cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new JPARSECException("calculations interrupted.", e);
+		}
+	}
 
-		/* Calculate the Chebyshev velocity polynomials */
-		velocity_poly[1] = 0.0;
-		velocity_poly[2] = 1.0;
-		velocity_poly[3] = 4.0 * chebyshev_time;
-		for (j = 4; j <= number_of_coefs[object]; j++)
-			velocity_poly[j] = 2.0 * chebyshev_time * velocity_poly[j - 1] + 2.0 * position_poly[j - 1] - velocity_poly[j - 2];
+	/** Minimum number of dates per chunk when computing positions in parallel. */
+	private static final int MINIMUM_DATES_PER_CHUNK = 500;
 
-		/* Calculate the velocity of the i'th planet */
-		for (j = n+1; j <= 2*n; j++)
+	private void getPositionAndVelocity(double jds[], int from, int to, TARGET target, double out[][])
+	throws JPARSECException {
+		for (int i = from; i < to; i++)
 		{
-			ephemeris_r[j] = 0;
-			for (k = 1; k <= number_of_coefs[object]; k++)
-				ephemeris_r[j] = ephemeris_r[j] + coef[j-n][k] * velocity_poly[k];
-			/*
-			 * The next line accounts for differentiation of the iterative
-			 * formula with respect to chebyshev time. Essentially, if dx/dt =
-			 * (dx/dct) times (dct/dt), the next line includes the factor
-			 * (dct/dt) so that the units are km/day
-			 */
-			ephemeris_r[j] = ephemeris_r[j] * (2.0 * number_of_coef_sets[object] / interval_duration);
-
-			/* Convert from km to A.U. */
-			if (target != TARGET.Libration && target != TARGET.Nutation) ephemeris_r[j] = ephemeris_r[j] / au;
+			if (out[i] == null) out[i] = new double[6];
 		}
 
-		double array[] = new double[] {
-			ephemeris_r[1], ephemeris_r[2], ephemeris_r[3],
-			ephemeris_r[4], ephemeris_r[5], ephemeris_r[6]
-		};
+		if (target == TARGET.Solar_System_Barycenter) {
+			for (int i = from; i < to; i++)
+			{
+				for (int j=0; j<6; j++)
+				{
+					out[i][j] = 0.0;
+				}
+			}
+			return;
+		}
+		if (target == TARGET.EARTH) {
+			this.evaluate(jds, from, to, TARGET_INDEX[TARGET.Earth_Moon_Barycenter.ordinal()], true, out, false, 0.0);
+			this.evaluate(jds, from, to, TARGET_INDEX[TARGET.Moon.ordinal()], true, out, true, -1.0 / (1.0 + emrat));
+			return;
+		}
+		int object = TARGET_INDEX[target.ordinal()];
+		if (object <= 0) throw new JPARSECException("invalid target "+target+".");
 
-		if (target == TARGET.Nutation) array = DataSet.getSubArray(array, 0, 3);
+		this.evaluate(jds, from, to, object, target != TARGET.Libration && target != TARGET.Nutation, out, false, 0.0);
 
 		// Return position of Pluto's body center
 		if (target == TARGET.Pluto) {
-			double newPos[] = MoonEphem.fromPlutoBarycenterToPlutoCenter(array.clone(), jd, EphemerisElement.REDUCTION_METHOD.IAU_2009, true);
-			array[0] = newPos[0];
-			array[1] = newPos[1];
-			array[2] = newPos[2];
+			for (int i = from; i < to; i++)
+			{
+				double p[] = out[i];
+				double newPos[] = MoonEphem.fromPlutoBarycenterToPlutoCenter(new double[] {p[0], p[1], p[2], p[3], p[4], p[5]},
+						jds[i], EphemerisElement.REDUCTION_METHOD.IAU_2009, true);
+				p[0] = newPos[0];
+				p[1] = newPos[1];
+				p[2] = newPos[2];
+			}
 		}
-
-		return array;
 	}
 
 	/**
@@ -1071,7 +1368,7 @@ public class JPLEphemeris {
 		double jd = bigjd.doubleValue();
 
 		if (target == TARGET.Solar_System_Barycenter) return new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
-		int object = DataSet.getIndex(targets, target);
+		int object = TARGET_INDEX[target.ordinal()];
 		if (object <= 0) throw new JPARSECException("invalid target.");
 
 		int interval = 0, numbers_to_skip = 0, pointer = 0, j = 0, k = 0, subinterval = 0;
@@ -1096,11 +1393,11 @@ public class JPLEphemeris {
 		 * Begin by determining whether the current ephemeris coefficients are
 		 * appropriate for jultime, or if we need to load a new set.
 		 */
-		if (jplVersion == -1 || jplVersion != this.getJPLVersion() || (jd < ephemerisDates[1]) || (jd > ephemerisDates[2]))
-			getEphemerisCoefficients(jd);
+		CoefficientBlock block = this.getCoefficientBlock(jd);
+		DoubleBuffer ephemerisCoefficients = block.coefficients;
 
-		interval = (int) (Math.floor((jd - ephemerisDates[1]) / interval_duration) + 1);
-		interval_start_time = (interval - 1.0) * interval_duration + ephemerisDates[1];
+		interval = (int) (Math.floor((jd - block.jdStart) / interval_duration) + 1);
+		interval_start_time = (interval - 1.0) * interval_duration + block.jdStart;
 		subinterval_duration = interval_duration / number_of_coef_sets[object];
 		subinterval = (int) (Math.floor((jd - interval_start_time) / subinterval_duration) + 1);
 		numbers_to_skip = (interval - 1) * numbers_per_interval;
@@ -1129,7 +1426,7 @@ public class JPLEphemeris {
 			for (k = 1; k <= number_of_coefs[object]; k++)
 			{
 				/* Read the pointer'th coefficient as the array entry coef[j][k] */
-				coef[j][k] = ephemerisCoefficients[pointer];
+				coef[j][k] = ephemerisCoefficients.get(pointer - 1);
 				pointer = pointer + 1;
 			}
 		}
@@ -1201,48 +1498,130 @@ public class JPLEphemeris {
 	}
 
 	/**
-	 * Procedure to read the DExxx ephemeris file corresponding to jultime. The
+	 * Procedure to read the DExxx ephemeris file for a given index. The
 	 * start and end dates of the ephemeris file are returned, as are the
 	 * Chebyshev coefficients for Mercury, Venus, Earth-Moon, Mars, Jupiter,
-	 * Saturn, Uranus, Neptune, Pluto, Geocentric Moon, and Sun.
+	 * Saturn, Uranus, Neptune, Pluto, Geocentric Moon, and Sun. In case a binary
+	 * file created with {@linkplain #convertToBinary(String)} exists in the external
+	 * path it is memory-mapped instead of parsing the ASCII file.
+	 * @param index The index of the file.
+	 * @return The block of coefficients.
+	 * @throws JPARSECException If the file cannot be read.
+	 */
+	private CoefficientBlock getEphemerisCoefficients(int index)
+	throws JPARSECException {
+		DoubleBuffer coefficients = null;
+		if (this.isAvailable(index, true))
+			coefficients = this.mapBinaryCoefficients(new File(externalPath + this.getFileName(index, true)), index);
+		if (coefficients == null) {
+			double ascii[] = this.readASCIICoefficients(index);
+			coefficients = DoubleBuffer.wrap(ascii, 1, ascii.length - 1).slice();
+		}
+
+		return new CoefficientBlock(index, dates[index], dates[index+1], coefficients);
+	}
+
+	/**
+	 * Returns the block of coefficients for a given date. Blocks are cached in
+	 * this instance up to {@linkplain Configuration#MAX_CACHED_JPL_FILES} files,
+	 * removing the least recently used one when the limit is reached. Blocks are
+	 * immutable and the cache can be read without locking, so this method can be
+	 * called from different threads.
+	 * @param jd Julian day, TDB.
+	 * @return The block.
+	 * @throws JPARSECException If the date is out of the time span or the file
+	 * cannot be read.
 	 */
-	private void getEphemerisCoefficients(double jultime)
+	private CoefficientBlock getCoefficientBlock(double jd)
 	throws JPARSECException {
+		CoefficientBlock block = lastBlock;
+		if (block == null || jd < block.jdStart || jd >= block.jdEnd) {
+			int index = this.getFileIndex(jd);
+			if (index < 0) throw new JPARSECException("cannot calculate ephemeris for this date.");
+
+			block = blocks.get(index);
+			if (block == null) {
+				// Read outside the lock, so other threads can use the blocks already available
+				block = this.getEphemerisCoefficients(index);
+				synchronized (blocks) {
+					CoefficientBlock previous = blocks.get(index);
+					if (previous != null) {
+						block = previous;
+					} else {
+						int max = Math.max(1, Configuration.MAX_CACHED_JPL_FILES);
+						while (blocks.size() >= max) {
+							CoefficientBlock eldest = null;
+							Iterator<CoefficientBlock> it = blocks.values().iterator();
+							while (it.hasNext()) {
+								CoefficientBlock b = it.next();
+								if (eldest == null || b.lastUse < eldest.lastUse) eldest = b;
+							}
+							blocks.remove(eldest.index);
+						}
+						blocks.put(index, block);
+					}
+				}
+			}
+			lastBlock = block;
+		}
+		block.lastUse = blockUse.incrementAndGet();
+		return block;
+	}
+
+	/**
+	 * Returns the index of the file containing the given date.
+	 * @param jultime Julian day, TDB.
+	 * @return The index, or -1 if the date is out of the time span.
+	 */
+	private int getFileIndex(double jultime) {
+		for (int i=0; i<this.dates.length-1; i++)
+		{
+			if (jultime >= this.dates[i] && jultime < this.dates[i+1]) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the name of the file for a given index.
+	 * @param index The index of the file.
+	 * @param binary True for the name of the binary file, false for the ASCII one.
+	 * @return The name, for instance ascp2000.405 or binp2000.405.
+	 */
+	private String getFileName(int index, boolean binary) {
+		int year = this.years[index];
+		String filename = "asc";
+		if (binary) filename = "bin";
+		if (year >= 0) {
+			filename +="p";
+		} else {
+			filename +="m";
+		}
+		return filename + Math.abs(year)+"."+this.getJPLVersion();
+	}
 
+	/**
+	 * Reads the Chebyshev coefficients of an ASCII file.
+	 * @param index The index of the file.
+	 * @return The coefficients, starting from index 1. The length
+	 * of the array is 1 plus the number of records in the file times
+	 * the number of coefficients per record (excluding the two dates).
+	 * @throws JPARSECException If the file cannot be read.
+	 */
+	private double[] readASCIICoefficients(int index)
+	throws JPARSECException {
 		int i = 0, j = 0;
 		String filename = " ", line = " ";
 
 		try
 		{
-			int index = -1;
-			for (i=0; i<this.dates.length-1; i++)
-			{
-				if (jultime >= this.dates[i] && jultime < this.dates[i+1]) {
-					index = i;
-					break;
-				}
-			}
-			if (index < 0) throw new JPARSECException("cannot calculate ephemeris for this date.");
-
-			int year = this.years[index];
-			ephemerisDates[1] = dates[index];
-			ephemerisDates[2] = dates[index+1];
-			filename = "asc";
-			if (year >= 0) {
-				filename +="p";
-			} else {
-				filename +="m";
-			}
-			filename += ""+Math.abs(year)+"."+this.getJPLVersion();
-			String JPLfilename = filename;
+			String JPLfilename = this.getFileName(index, false);
 
 			String filePath = FileIO.DATA_JPL_EPHEM_DIRECTORY+"de"+this.getJPLVersion()+Zip.ZIP_SEPARATOR;
 			if (externalPath != null) filePath = externalPath;
 			filename = filePath + JPLfilename;
 
 			int seriesApprox = (int) (2.0 + 367.0 * (double) this.yearsPerFile / this.jds);
-			ephemerisCoefficients = new double[numbers_per_interval*seriesApprox+1];
-			jplVersion = this.getJPLVersion();
+			double coefficients[] = new double[numbers_per_interval*seriesApprox+1];
 
 			InputStream is = null;
 			if (externalPath != null && new File(filename).exists()) {
@@ -1267,22 +1646,115 @@ public class JPLEphemeris {
 					line = DataSet.replaceAll(buff.readLine(), "D", "E", true);
 
 					if (i > 2) {
-						ephemerisCoefficients[(j - 1) * numbers_per_interval + (3 * (i - 2) - 1)] =
+						coefficients[(j - 1) * numbers_per_interval + (3 * (i - 2) - 1)] =
 							Double.parseDouble(FileIO.getField(1, line, " ", true));
-						if (i < imax || (rest == 0 || rest == 2)) ephemerisCoefficients[(j - 1) * numbers_per_interval + (3 * (i - 2))] =
+						if (i < imax || (rest == 0 || rest == 2)) coefficients[(j - 1) * numbers_per_interval + (3 * (i - 2))] =
 								Double.parseDouble(FileIO.getField(2, line, " ", true));
 					}
-					if (i < imax || rest == 0) ephemerisCoefficients[(j - 1) * numbers_per_interval + (3 * (i - 2) + 1)] =
+					if (i < imax || rest == 0) coefficients[(j - 1) * numbers_per_interval + (3 * (i - 2) + 1)] =
 							Double.parseDouble(FileIO.getField(3, line, " ", true));
 				}
 			}
 			buff.close();
+
+			int length = j * numbers_per_interval + 1;
+			if (length < coefficients.length) coefficients = DataSet.getSubArray(coefficients, 0, length - 1);
+			return coefficients;
 		} catch (Exception e)
 		{
 			throw new JPARSECException("a problem was found when trying to read from the file "+filename+".", e);
 		}
 	}
 
+	/**
+	 * Maps a binary file created with {@linkplain #convertToBinary(String)}. The
+	 * coefficients are read in place from the mapped buffer, so only the records
+	 * used are paged in from disk.
+	 * @param file The binary file.
+	 * @param index The index of the file.
+	 * @return The coefficients, starting from index 0.
+	 * @throws JPARSECException If the file cannot be read or its header does
+	 * not match this integration.
+	 */
+	private DoubleBuffer mapBinaryCoefficients(File file, int index)
+	throws JPARSECException {
+		try {
+			RandomAccessFile raf = new RandomAccessFile(file, "r");
+			MappedByteBuffer buffer = null;
+			try {
+				buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			} finally {
+				raf.close();
+			}
+
+			int magic = buffer.getInt(0), version = buffer.getInt(4), n = buffer.getInt(8), records = buffer.getInt(12);
+			double jdStart = buffer.getDouble(16), jdEnd = buffer.getDouble(24);
+			if (magic != BINARY_MAGIC || version != this.getJPLVersion() || n != this.ncoeff ||
+					jdStart != dates[index] || jdEnd != dates[index+1] ||
+					buffer.capacity() != BINARY_HEADER_BYTES + 8L * records * numbers_per_interval)
+				throw new JPARSECException("invalid header in binary file "+file.getPath()+".");
+
+			buffer.position(BINARY_HEADER_BYTES);
+			return buffer.slice().asDoubleBuffer();
+		} catch (JPARSECException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new JPARSECException("a problem was found when trying to map the file "+file.getPath()+".", e);
+		}
+	}
+
+	/**
+	 * Converts the ASCII files of this JPL integration into a compact binary format.
+	 * Each file contains a header with an identifier, the JPL version, the number of
+	 * coefficients per record, the number of records, and the initial and final
+	 * Julian days, followed by the Chebyshev coefficients as big-endian doubles.
+	 * Binary files are named like the ASCII ones replacing 'asc' by 'bin', and they
+	 * are used in preference to the ASCII files when they are located in the external
+	 * path of this instance. Files not available for this integration are skipped.
+	 * @param outputPath Path to the output directory.
+	 * @return The number of files converted.
+	 * @throws JPARSECException If an error occurs reading or writing the files.
+	 */
+	public int convertToBinary(String outputPath)
+	throws JPARSECException {
+		if (!outputPath.endsWith(FileIO.getFileSeparator())) outputPath += FileIO.getFileSeparator();
+		int n = 0;
+		for (int index = 0; index < this.dates.length-1; index ++)
+		{
+			if (!this.isAvailable(index, false)) continue;
+
+			double coefficients[] = this.readASCIICoefficients(index);
+			int records = (coefficients.length - 1) / numbers_per_interval;
+			String filename = outputPath + this.getFileName(index, true);
+			try {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)));
+				try {
+					out.writeInt(BINARY_MAGIC);
+					out.writeInt(this.getJPLVersion());
+					out.writeInt(this.ncoeff);
+					out.writeInt(records);
+					out.writeDouble(dates[index]);
+					out.writeDouble(dates[index+1]);
+					for (int i = 1; i < coefficients.length; i++)
+					{
+						out.writeDouble(coefficients[i]);
+					}
+				} finally {
+					out.close();
+				}
+			} catch (Exception e)
+			{
+				throw new JPARSECException("a problem was found when trying to write to the file "+filename+".", e);
+			}
+			n ++;
+		}
+		availability = new Boolean[2][years.length];
+		return n;
+	}
+
+	private static final int BINARY_MAGIC = 0x4A504C42;
+	private static final int BINARY_HEADER_BYTES = 32;
+
 	/**
 	 * Value of the Moon secular acceleration ("/cy^2) for DE403 and DE404.
 	 * The value is -25.8 as it appears in the IOM of JPL for DE403, but
@@ -22,6 +22,7 @@
 package jparsec.ephem.planets;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.FRAME;
 import jparsec.ephem.Functions;
@@ -37,7 +38,6 @@ import jparsec.observer.ObserverElement;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -362,9 +362,9 @@ public class Newcomb
 			// Here we prefer to use only Newcomb's theory independently
 			geo_eq = Ephem.aberration(geo_eq, earth_pos, light_time);
 
-			DataBase.addData("GCRS", geo_eq, true);
+			EphemerisContext.getCurrent().gcrs = geo_eq;
 		} else {
-			DataBase.addData("GCRS", null, true);
+			EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correct frame bias in J2000 epoch */
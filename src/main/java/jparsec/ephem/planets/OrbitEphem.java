@@ -25,6 +25,7 @@ import java.util.ArrayList;
 
 import jparsec.astronomy.Star;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.FRAME;
@@ -51,7 +52,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -109,17 +109,86 @@ public class OrbitEphem
 	// private constructor so that this class cannot be instantiated.
 	private OrbitEphem() {}
 
-	private static ReadFile readFile_asteroids = null;
-	private static ReadFile readFile_comets = null;
-	private static ReadFile readFile_transNeptunians = null;
-	private static ReadFile readFile_NEOs = null;
+	// The files are read the first time they are needed, from any thread
+	private static volatile ReadFile readFile_asteroids = null;
+	private static volatile ReadFile readFile_comets = null;
+	private static volatile ReadFile readFile_transNeptunians = null;
+	private static volatile ReadFile readFile_NEOs = null;
+
+	private static ReadFile getAsteroidsFile() throws JPARSECException {
+		ReadFile re = readFile_asteroids;
+		if (re == null) {
+			synchronized (OrbitEphem.class) {
+				re = readFile_asteroids;
+				if (re == null) {
+					re = new ReadFile();
+					re.setFormat(ReadFile.FORMAT.MPC);
+					re.setPath(OrbitEphem.PATH_TO_MPC_BRIGHT_ASTEROIDS_FILE);
+					re.readFileOfAsteroids();
+					readFile_asteroids = re;
+				}
+			}
+		}
+		return re;
+	}
+
+	private static ReadFile getCometsFile() throws JPARSECException {
+		ReadFile re = readFile_comets;
+		if (re == null) {
+			synchronized (OrbitEphem.class) {
+				re = readFile_comets;
+				if (re == null) {
+					re = new ReadFile();
+					re.setFormat(ReadFile.FORMAT.MPC);
+					re.setPath(OrbitEphem.PATH_TO_MPC_COMETS_FILE);
+					re.readFileOfComets();
+					readFile_comets = re;
+				}
+			}
+		}
+		return re;
+	}
+
+	private static ReadFile getTransNeptuniansFile() throws JPARSECException {
+		ReadFile re = readFile_transNeptunians;
+		if (re == null) {
+			synchronized (OrbitEphem.class) {
+				re = readFile_transNeptunians;
+				if (re == null) {
+					re = new ReadFile();
+					re.setFormat(ReadFile.FORMAT.MPC);
+					re.setPath(OrbitEphem.PATH_TO_MPC_DISTANT_BODIES_FILE);
+					re.readFileOfAsteroids();
+					readFile_transNeptunians = re;
+				}
+			}
+		}
+		return re;
+	}
+
+	private static ReadFile getNEOsFile() throws JPARSECException {
+		ReadFile re = readFile_NEOs;
+		if (re == null) {
+			synchronized (OrbitEphem.class) {
+				re = readFile_NEOs;
+				if (re == null) {
+					re = new ReadFile();
+					re.setFormat(ReadFile.FORMAT.MPC);
+					re.setPath(OrbitEphem.PATH_TO_MPC_NEOs_FILE);
+					re.readFileOfNEOs(-1, -1);
+					readFile_NEOs = re;
+				}
+			}
+		}
+		return re;
+	}
 
 	/**
 	 * Sets an external file for asteroids.
 	 * @param file The read file, or null to set the internal file.
 	 * @throws JPARSECException If an error occurs.
 	 */
-	public static void setAsteroidsFromExternalFile(String file[]) throws JPARSECException {
+	public static synchronized void setAsteroidsFromExternalFile(String file[]) throws JPARSECException {
 		if (readFile_asteroids != null) readFile_asteroids.setReadElements(null);
 		if (file == null) {
 			readFile_asteroids = null;
@@ -142,7 +211,7 @@ public class OrbitEphem
 	 * @param file The read file, or null to set the internal file.
 	 * @throws JPARSECException If an error occurs.
 	 */
-	public static void setCometsFromExternalFile(String file[]) throws JPARSECException {
+	public static synchronized void setCometsFromExternalFile(String file[]) throws JPARSECException {
 		if (readFile_comets != null) readFile_comets.setReadElements(null);
 		if (file == null) {
 			readFile_comets = null;
@@ -165,7 +234,7 @@ public class OrbitEphem
 	 * @param list The set of comets, or null to set the internal file.
 	 * @throws JPARSECException If an error occurs.
 	 */
-	public static void setCometsFromElements(ArrayList<OrbitalElement> list) throws JPARSECException {
+	public static synchronized void setCometsFromElements(ArrayList<OrbitalElement> list) throws JPARSECException {
 		if (readFile_comets != null) readFile_comets.setReadElements(null);
 		if (list == null) {
 			readFile_comets = null;
@@ -188,7 +257,7 @@ public class OrbitEphem
 	 * @param file The read file, or null to set the internal file.
 	 * @throws JPARSECException If an error occurs.
 	 */
-	public static void setTransNeptuniansFromExternalFile(String file[]) throws JPARSECException {
+	public static synchronized void setTransNeptuniansFromExternalFile(String file[]) throws JPARSECException {
 		if (readFile_transNeptunians != null) readFile_transNeptunians.setReadElements(null);
 		if (file == null) {
 			readFile_transNeptunians = null;
@@ -415,7 +484,7 @@ public class OrbitEphem
 		case JPL_DE413:
 		case JPL_DE414:
 		case JPL_DE422:
-			JPLEphemeris jplEphemeris = new JPLEphemeris(algorithm);
+			JPLEphemeris jplEphemeris = JPLEphemeris.getInstance(algorithm);
 			posP = jplEphemeris.getPositionAndVelocity(jd, planet);
 
 			// Correct posP to center it on the Sun instead of the Solar System barycenter
@@ -474,14 +543,7 @@ public class OrbitEphem
 	 */
 	public static int getAsteroidsCount() throws JPARSECException
 	{
-		if (readFile_asteroids == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_BRIGHT_ASTEROIDS_FILE);
-			re.readFileOfAsteroids();
-			readFile_asteroids = re;
-		}
-		return readFile_asteroids.getNumberOfObjects();
+		return getAsteroidsFile().getNumberOfObjects();
 	}
 	/**
 	 * Returns the number of comets.
@@ -490,14 +552,7 @@ public class OrbitEphem
 	 */
 	public static int getCometsCount() throws JPARSECException
 	{
-		if (readFile_comets == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_COMETS_FILE);
-			re.readFileOfComets();
-			readFile_comets = re;
-		}
-		return readFile_comets.getNumberOfObjects();
+		return getCometsFile().getNumberOfObjects();
 	}
 	/**
 	 * Returns the number of TransNeptunians.
@@ -506,14 +561,7 @@ public class OrbitEphem
 	 */
 	public static int getTransNeptuniansCount() throws JPARSECException
 	{
-		if (readFile_transNeptunians == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_DISTANT_BODIES_FILE);
-			re.readFileOfAsteroids();
-			readFile_transNeptunians = re;
-		}
-		return readFile_transNeptunians.getNumberOfObjects();
+		return getTransNeptuniansFile().getNumberOfObjects();
 	}
 	/**
 	 * Returns the number of NEOs.
@@ -522,14 +570,7 @@ public class OrbitEphem
 	 */
 	public static int getNEOsCount() throws JPARSECException
 	{
-		if (readFile_NEOs == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_NEOs_FILE);
-			re.readFileOfNEOs(-1, -1);
-			readFile_NEOs = re;
-		}
-		return readFile_NEOs.getNumberOfObjects();
+		return getNEOsFile().getNumberOfObjects();
 	}
 
 	/**
@@ -540,14 +581,7 @@ public class OrbitEphem
 	 */
 	public static int getIndexOfAsteroid(String name) throws JPARSECException
 	{
-		if (readFile_asteroids == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_BRIGHT_ASTEROIDS_FILE);
-			re.readFileOfAsteroids();
-			readFile_asteroids = re;
-		}
-		return readFile_asteroids.searchByName(name);
+		return getAsteroidsFile().searchByName(name);
 	}
 	/**
 	 * Returns the index of certain comet by its name.
@@ -557,14 +591,7 @@ public class OrbitEphem
 	 */
 	public static int getIndexOfComet(String name) throws JPARSECException
 	{
-		if (readFile_comets == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_COMETS_FILE);
-			re.readFileOfComets();
-			readFile_comets = re;
-		}
-		return readFile_comets.searchByName(name);
+		return getCometsFile().searchByName(name);
 	}
 	/**
 	 * Returns the index of certain transNeptunian by its name.
@@ -574,14 +601,7 @@ public class OrbitEphem
 	 */
 	public static int getIndexOfTransNeptunian(String name) throws JPARSECException
 	{
-		if (readFile_transNeptunians == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_DISTANT_BODIES_FILE);
-			re.readFileOfAsteroids();
-			readFile_transNeptunians = re;
-		}
-		return readFile_transNeptunians.searchByName(name);
+		return getTransNeptuniansFile().searchByName(name);
 	}
 	/**
 	 * Returns the index of certain comet by its name.
@@ -591,14 +611,7 @@ public class OrbitEphem
 	 */
 	public static int getIndexOfNEO(String name) throws JPARSECException
 	{
-		if (readFile_NEOs == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_NEOs_FILE);
-			re.readFileOfNEOs(-1, -1);
-			readFile_NEOs = re;
-		}
-		return readFile_NEOs.searchByName(name);
+		return getNEOsFile().searchByName(name);
 	}
 
 	/**
@@ -609,15 +622,9 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement getOrbitalElementsOfAsteroid(int index) throws JPARSECException
 	{
-		if (readFile_asteroids == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_BRIGHT_ASTEROIDS_FILE);
-			re.readFileOfAsteroids();
-			readFile_asteroids = re;
-		}
-		if (index >=0 && index < readFile_asteroids.getNumberOfObjects()) {
-			OrbitalElement new_orbit = readFile_asteroids.getOrbitalElement(index);
+		ReadFile re = getAsteroidsFile();
+		if (index >=0 && index < re.getNumberOfObjects()) {
+			OrbitalElement new_orbit = re.getOrbitalElement(index);
 			return new_orbit;
 		}
 		return null;
@@ -630,15 +637,9 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement getOrbitalElementsOfComet(int index) throws JPARSECException
 	{
-		if (readFile_comets == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_COMETS_FILE);
-			re.readFileOfComets();
-			readFile_comets = re;
-		}
-		if (index >=0 && index < readFile_comets.getNumberOfObjects()) {
-			OrbitalElement new_orbit = readFile_comets.getOrbitalElement(index);
+		ReadFile re = getCometsFile();
+		if (index >=0 && index < re.getNumberOfObjects()) {
+			OrbitalElement new_orbit = re.getOrbitalElement(index);
 			return new_orbit;
 		}
 		return null;
@@ -651,15 +652,9 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement getOrbitalElementsOfTransNeptunian(int index) throws JPARSECException
 	{
-		if (readFile_transNeptunians == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_DISTANT_BODIES_FILE);
-			re.readFileOfAsteroids();
-			readFile_transNeptunians = re;
-		}
-		if (index >=0 && index < readFile_transNeptunians.getNumberOfObjects()) {
-			OrbitalElement new_orbit = readFile_transNeptunians.getOrbitalElement(index);
+		ReadFile re = getTransNeptuniansFile();
+		if (index >=0 && index < re.getNumberOfObjects()) {
+			OrbitalElement new_orbit = re.getOrbitalElement(index);
 			return new_orbit;
 		}
 		return null;
@@ -672,15 +667,9 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement getOrbitalElementsOfNEO(int index) throws JPARSECException
 	{
-		if (readFile_NEOs == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_NEOs_FILE);
-			re.readFileOfNEOs(-1, -1);
-			readFile_NEOs = re;
-		}
-		if (index >=0 && index < readFile_NEOs.getNumberOfObjects()) {
-			OrbitalElement new_orbit = readFile_NEOs.getOrbitalElement(index);
+		ReadFile re = getNEOsFile();
+		if (index >=0 && index < re.getNumberOfObjects()) {
+			OrbitalElement new_orbit = re.getOrbitalElement(index);
 			return new_orbit;
 		}
 		return null;
@@ -693,14 +682,7 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement[] getOrbitalElementsOfAsteroids() throws JPARSECException
 	{
-		if (readFile_asteroids == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_BRIGHT_ASTEROIDS_FILE);
-			re.readFileOfAsteroids();
-			readFile_asteroids = re;
-		}
-		return (OrbitalElement[]) readFile_asteroids.getReadElements();
+		return (OrbitalElement[]) getAsteroidsFile().getReadElements();
 	}
 	/**
 	 * Returns the orbital elements of all comets.
@@ -709,14 +691,7 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement[] getOrbitalElementsOfComets() throws JPARSECException
 	{
-		if (readFile_comets == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_COMETS_FILE);
-			re.readFileOfComets();
-			readFile_comets = re;
-		}
-		return (OrbitalElement[]) readFile_comets.getReadElements();
+		return (OrbitalElement[]) getCometsFile().getReadElements();
 	}
 	/**
 	 * Returns the orbital elements of all transNeptunians.
@@ -725,14 +700,7 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement[] getOrbitalElementsOfTransNeptunians() throws JPARSECException
 	{
-		if (readFile_transNeptunians == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_DISTANT_BODIES_FILE);
-			re.readFileOfAsteroids();
-			readFile_transNeptunians = re;
-		}
-		return (OrbitalElement[]) readFile_transNeptunians.getReadElements();
+		return (OrbitalElement[]) getTransNeptuniansFile().getReadElements();
 	}
 	/**
 	 * Returns the orbital elements of all NEOs.
@@ -741,14 +709,7 @@ public class OrbitEphem
 	 */
 	public static OrbitalElement[] getOrbitalElementsOfNEOs() throws JPARSECException
 	{
-		if (readFile_NEOs == null) {
-			ReadFile re = new ReadFile();
-			re.setFormat(ReadFile.FORMAT.MPC);
-			re.setPath(OrbitEphem.PATH_TO_MPC_NEOs_FILE);
-			re.readFileOfNEOs(-1, -1);
-			readFile_NEOs = re;
-		}
-		return (OrbitalElement[]) readFile_NEOs.getReadElements();
+		return (OrbitalElement[]) getNEOsFile().getReadElements();
 	}
 
 	private static double lastTDB = -1;
@@ -805,7 +766,7 @@ public class OrbitEphem
 		double coords[] = toEclipticPlane(orbit, plane_orbit_coords);
 		double[] planetocentricPositionOfTargetSatellite = null;
 		try {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				planetocentricPositionOfTargetSatellite = (double[]) o;
 				coords = Functions.sumVectors(coords, planetocentricPositionOfTargetSatellite);
@@ -878,9 +839,9 @@ public class OrbitEphem
 					new TARGET[] {TARGET.JUPITER, TARGET.SATURN, TARGET.EARTH}, JD, false, obs);
 			geo = Ephem.aberration(geo, sun, light_time);
 
-			DataBase.addData("GCRS", geo, true); // Geocentric celestial position J2000
+			EphemerisContext.getCurrent().gcrs = geo; // Geocentric celestial position J2000
 		} else {
-			DataBase.addData("GCRS", null, true);
+			EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		// obtain equatorial position
@@ -969,7 +930,7 @@ public class OrbitEphem
 		EphemerisElement eph_aster = eph.clone();
 		TARGET aster_id = Target.getID(orbit.name);
 		if (aster_id != TARGET.NOT_A_PLANET) eph_aster.targetBody = aster_id;
-		Object gcrs = DataBase.getData("GCRS", true);
+		double[] gcrs = EphemerisContext.getCurrent().gcrs;
 		// Priority to Moshier since performance is far better
 		try {
 			ephem_elem = PhysicalParameters.physicalParameters(TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME), PlanetEphem.MoshierEphemeris(time, obs, sun_eph), ephem_elem, obs, eph_aster);
@@ -982,7 +943,7 @@ public class OrbitEphem
 			ephem_elem.constellation = jparsec.astronomy.Constellation.getConstellationName(locE.getLongitude(),
 					locE.getLatitude(), JD, eph);
 		}
-		DataBase.addData("GCRS", gcrs, true);
+		EphemerisContext.getCurrent().gcrs = gcrs;
 
 		/* Horizontal coordinates */
 		if (eph.isTopocentric)
@@ -22,6 +22,7 @@
 package jparsec.ephem.planets;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.COORDINATES_TYPE;
@@ -45,7 +46,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -65,890 +65,912 @@ public class PlanetEphem
 	// private constructor so that this class cannot be instantiated.
 	private PlanetEphem() {}
 
-	/* Compute mean elements at Julian date J. */
-	private static double ss[][] = new double[20][41];
-	private static double cc[][] = new double[20][41];
-	private static double LP_equinox;
-	private static double NF_arcsec;
-	private static double Ea_arcsec;
-	private static double pA_precession;
-	private static double lastJ, lastArg[] = null;
+	/* From Simon et al (1994) */
+	private static final double FREQS[] = {
+		/* Arc sec per 10000 Julian years. */
+		53810162868.8982, 21066413643.3548, 12959774228.3429, 6890507749.3988, 1092566037.7991, 439960985.5372,
+			154248119.3933, 78655032.0744, 52272245.1795 };
+	private static final double PHASES[] = {
+		/* Arc sec. */
+		252.25090552 * 3600., 181.97980085 * 3600., 100.46645683 * 3600., 355.43299958 * 3600., 34.35151874 * 3600.,
+			50.07744430 * 3600., 314.05500511 * 3600., 304.34866548 * 3600., 860492.1546, };
 
 	/**
-	 * Obtain mean elements of the planets.
-	 *
-	 * @param J Julian day.
-	 * @return An array with the mean longitudes.
+	 * Working state of the Moshier theory: the tables of sines and cosines of the
+	 * multiple angles, the mean elements of the last date, and the last results of
+	 * {@linkplain PlanetEphem#MoshierEphemeris(TimeElement, ObserverElement, EphemerisElement)}.
+	 * Each thread uses its own instance, so the series can be evaluated concurrently
+	 * without locks.
 	 */
-	private static double[] meanElements(double J)
+	private static final class Evaluator
 	{
-		if (lastArg != null && lastJ == J) return lastArg.clone();
-
-		double x, T, T2;
-
-		double Args[] = new double[20];
-		lastJ = J;
-
-		/* Time variables. T is in Julian centuries. */
-		T = Functions.toCenturies(J);
-		T2 = T * T;
+		/* Compute mean elements at Julian date J. */
+		private final double ss[][] = new double[20][41];
+		private final double cc[][] = new double[20][41];
+		private double LP_equinox;
+		private double NF_arcsec;
+		private double Ea_arcsec;
+		private double pA_precession;
+		private double lastJ, lastArg[] = null;
+
+		private double lastTDB = -1;
+		private double lastSun0[] = null, lastBaryc[] = null;
+		private ObserverElement lastObserver = null;
+		private EphemElement lastSun = null, lastEphem2 = null;
+
+		/**
+		 * Obtain mean elements of the planets.
+		 *
+		 * @param J Julian day.
+		 * @return An array with the mean longitudes.
+		 */
+		double[] meanElements(double J)
+		{
+			if (lastArg != null && lastJ == J) return lastArg.clone();
+
+			double x, T, T2;
+
+			double Args[] = new double[20];
+			lastJ = J;
+
+			/* Time variables. T is in Julian centuries. */
+			T = Functions.toCenturies(J);
+			T2 = T * T;
+
+			/*
+			 * Mean longitudes of planets (Simon et al, 1994) .047" subtracted from
+			 * constant term for offset to DE403 origin.
+			 */
+
+			/* Mercury */
+			x = (538101628.6889819 * T + 908103.213);
+			x += (6.39e-6 * T - 0.0192789) * T2;
+			Args[0] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Venus */
+			x = (210664136.4335482 * T + 655127.236);
+			x += (-6.27e-6 * T + 0.0059381) * T2;
+			Args[1] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Earth */
+			x = (129597742.283429 * T + 361679.198);
+			x += (-5.23e-6 * T - 2.04411e-2) * T2;
+			Ea_arcsec = Constant.ARCSEC_TO_RAD * x;
+			Args[2] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Mars */
+			x = (68905077.493988 * T + 1279558.751);
+			x += (-1.043e-5 * T + 0.0094264) * T2;
+			Args[3] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Jupiter */
+			x = (10925660.377991 * T + 123665.420);
+			x += ((((-3.4e-10 * T + 5.91e-8) * T + 4.667e-6) * T + 5.706e-5) * T - 3.060378e-1) * T2;
+			Args[4] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Saturn */
+			x = (4399609.855372 * T + 180278.752);
+			x += ((((8.3e-10 * T - 1.452e-7) * T - 1.1484e-5) * T - 1.6618e-4) * T + 7.561614E-1) * T2;
+			Args[5] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Uranus */
+			x = (1542481.193933 * T + 1130597.971) + (0.00002156 * T - 0.0175083) * T2;
+			Args[6] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Neptune */
+			x = (786550.320744 * T + 1095655.149) + (-0.00000895 * T + 0.0021103) * T2;
+			Args[7] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Copied from cmoon.c, DE404 version. */
+			/* Mean elongation of moon = D */
+			x = (1.6029616009939659e+09 * T + 1.0722612202445078e+06);
+			x += (((((-3.207663637426e-013 * T + 2.555243317839e-011) * T + 2.560078201452e-009) * T - 3.702060118571e-005) * T + 6.9492746836058421e-03) * T /* D, t^3 */
+			- 6.7352202374457519e+00) * T2; /* D, t^2 */
+			Args[9] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Mean distance of moon from its ascending node = F */
+			x = (1.7395272628437717e+09 * T + 3.3577951412884740e+05);
+			x += (((((4.474984866301e-013 * T + 4.189032191814e-011) * T - 2.790392351314e-009) * T - 2.165750777942e-006) * T - 7.5311878482337989e-04) * T /* F, t^3 */
+			- 1.3117809789650071e+01) * T2; /* F, t^2 */
+			NF_arcsec = Constant.ARCSEC_TO_RAD * x;
+			Args[10] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Mean anomaly of sun = l' (J. Laskar) */
+			x = (1.2959658102304320e+08 * T + 1.2871027407441526e+06);
+			x += ((((((((1.62e-20 * T - 1.0390e-17) * T - 3.83508e-15) * T + 4.237343e-13) * T + 8.8555011e-11) * T - 4.77258489e-8) * T - 1.1297037031e-5) * T + 8.7473717367324703e-05) * T - 5.5281306421783094e-01) * T2;
+			Args[11] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Mean anomaly of moon = l */
+			x = (1.7179159228846793e+09 * T + 4.8586817465825332e+05);
+			x += (((((-1.755312760154e-012 * T + 3.452144225877e-011) * T - 2.506365935364e-008) * T - 2.536291235258e-004) * T + 5.2099641302735818e-02) * T /* l, t^3 */
+			+ 3.1501359071894147e+01) * T2; /* l, t^2 */
+			Args[12] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Mean longitude of moon, re mean ecliptic and equinox of date = L */
+			x = (1.7325643720442266e+09 * T + 7.8593980921052420e+05);
+			x += (((((7.200592540556e-014 * T + 2.235210987108e-010) * T - 1.024222633731e-008) * T - 6.073960534117e-005) * T + 6.9017248528380490e-03) * T /* L, t^3 */
+			- 5.6550460027471399e+00) * T2; /* L, t^2 */
+			LP_equinox = Constant.ARCSEC_TO_RAD * x;
+			Args[13] = Constant.ARCSEC_TO_RAD * x;
+
+			/* Precession of the equinox */
+			x = (((((((((-8.66e-20 * T - 4.759e-17) * T + 2.424e-15) * T + 1.3095e-12) * T + 1.7451e-10) * T - 1.8055e-8) * T - 0.0000235316) * T + 0.000076) * T + 1.105414) * T + 5028.791959) * T;
+			/* Moon's longitude re fixed J2000 equinox. */
+			pA_precession = Constant.ARCSEC_TO_RAD * x;
+
+			/* Lunar free librations. */
+			/* 74.7 years. Denoted W or LA. */
+			x = (-0.112 * T + 1.73655499e6) * T - 389552.81;
+			Args[14] = Constant.ARCSEC_TO_RAD * (x);
+
+			/* 2.891725 years. Denoted LB. */
+			Args[15] = Constant.ARCSEC_TO_RAD * (4.48175409e7 * T + 806045.7);
+
+			/* 24.2 years. Denoted P or LC. */
+			Args[16] = Constant.ARCSEC_TO_RAD * (5.36486787e6 * T - 391702.8);
+
+			/* Usual node term re equinox of date, denoted NA. */
+			Args[17] = LP_equinox - NF_arcsec;
+
+			/* Fancy node term, denoted NB. */
+			/* Capital Pi of ecliptic motion (Williams 1994). */
+			x = (((-0.000004 * T + 0.000026) * T + 0.153382) * T - 867.919986) * T + 629543.967373;
+			Args[18] = Args[17] + Constant.ARCSEC_TO_RAD * (3.24e5 - x) - pA_precession;
+
+			lastArg = Args.clone();
+			return Args;
+		}
 
-		/*
-		 * Mean longitudes of planets (Simon et al, 1994) .047" subtracted from
-		 * constant term for offset to DE403 origin.
+		/**
+		 * Generic program to accumulate sum of trigonometric series in three
+		 * variables (e.g., longitude, latitude, radius) of the same list of
+		 * arguments.
+		 *
+		 * @param J Julian day.
+		 * @param arg_tbl
+		 * @param distance
+		 * @param lat_tbl
+		 * @param lon_tbl
+		 * @param rad_tbl
+		 * @param max_harmonic
+		 * @param max_power_of_t
+		 * @param maxargs
+		 * @param timescale
+		 * @param trunclvl
+		 * @return An array with x, y, z (AU).
 		 */
+		double[] gplan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
+				double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl)
+		{
 
-		/* Mercury */
-		x = (538101628.6889819 * T + 908103.213);
-		x += (6.39e-6 * T - 0.0192789) * T2;
-		Args[0] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Venus */
-		x = (210664136.4335482 * T + 655127.236);
-		x += (-6.27e-6 * T + 0.0059381) * T2;
-		Args[1] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Earth */
-		x = (129597742.283429 * T + 361679.198);
-		x += (-5.23e-6 * T - 2.04411e-2) * T2;
-		Ea_arcsec = Constant.ARCSEC_TO_RAD * x;
-		Args[2] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Mars */
-		x = (68905077.493988 * T + 1279558.751);
-		x += (-1.043e-5 * T + 0.0094264) * T2;
-		Args[3] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Jupiter */
-		x = (10925660.377991 * T + 123665.420);
-		x += ((((-3.4e-10 * T + 5.91e-8) * T + 4.667e-6) * T + 5.706e-5) * T - 3.060378e-1) * T2;
-		Args[4] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Saturn */
-		x = (4399609.855372 * T + 180278.752);
-		x += ((((8.3e-10 * T - 1.452e-7) * T - 1.1484e-5) * T - 1.6618e-4) * T + 7.561614E-1) * T2;
-		Args[5] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Uranus */
-		x = (1542481.193933 * T + 1130597.971) + (0.00002156 * T - 0.0175083) * T2;
-		Args[6] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Neptune */
-		x = (786550.320744 * T + 1095655.149) + (-0.00000895 * T + 0.0021103) * T2;
-		Args[7] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Copied from cmoon.c, DE404 version. */
-		/* Mean elongation of moon = D */
-		x = (1.6029616009939659e+09 * T + 1.0722612202445078e+06);
-		x += (((((-3.207663637426e-013 * T + 2.555243317839e-011) * T + 2.560078201452e-009) * T - 3.702060118571e-005) * T + 6.9492746836058421e-03) * T /* D, t^3 */
-		- 6.7352202374457519e+00) * T2; /* D, t^2 */
-		Args[9] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Mean distance of moon from its ascending node = F */
-		x = (1.7395272628437717e+09 * T + 3.3577951412884740e+05);
-		x += (((((4.474984866301e-013 * T + 4.189032191814e-011) * T - 2.790392351314e-009) * T - 2.165750777942e-006) * T - 7.5311878482337989e-04) * T /* F, t^3 */
-		- 1.3117809789650071e+01) * T2; /* F, t^2 */
-		NF_arcsec = Constant.ARCSEC_TO_RAD * x;
-		Args[10] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Mean anomaly of sun = l' (J. Laskar) */
-		x = (1.2959658102304320e+08 * T + 1.2871027407441526e+06);
-		x += ((((((((1.62e-20 * T - 1.0390e-17) * T - 3.83508e-15) * T + 4.237343e-13) * T + 8.8555011e-11) * T - 4.77258489e-8) * T - 1.1297037031e-5) * T + 8.7473717367324703e-05) * T - 5.5281306421783094e-01) * T2;
-		Args[11] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Mean anomaly of moon = l */
-		x = (1.7179159228846793e+09 * T + 4.8586817465825332e+05);
-		x += (((((-1.755312760154e-012 * T + 3.452144225877e-011) * T - 2.506365935364e-008) * T - 2.536291235258e-004) * T + 5.2099641302735818e-02) * T /* l, t^3 */
-		+ 3.1501359071894147e+01) * T2; /* l, t^2 */
-		Args[12] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Mean longitude of moon, re mean ecliptic and equinox of date = L */
-		x = (1.7325643720442266e+09 * T + 7.8593980921052420e+05);
-		x += (((((7.200592540556e-014 * T + 2.235210987108e-010) * T - 1.024222633731e-008) * T - 6.073960534117e-005) * T + 6.9017248528380490e-03) * T /* L, t^3 */
-		- 5.6550460027471399e+00) * T2; /* L, t^2 */
-		LP_equinox = Constant.ARCSEC_TO_RAD * x;
-		Args[13] = Constant.ARCSEC_TO_RAD * x;
-
-		/* Precession of the equinox */
-		x = (((((((((-8.66e-20 * T - 4.759e-17) * T + 2.424e-15) * T + 1.3095e-12) * T + 1.7451e-10) * T - 1.8055e-8) * T - 0.0000235316) * T + 0.000076) * T + 1.105414) * T + 5028.791959) * T;
-		/* Moon's longitude re fixed J2000 equinox. */
-		pA_precession = Constant.ARCSEC_TO_RAD * x;
-
-		/* Lunar free librations. */
-		/* 74.7 years. Denoted W or LA. */
-		x = (-0.112 * T + 1.73655499e6) * T - 389552.81;
-		Args[14] = Constant.ARCSEC_TO_RAD * (x);
-
-		/* 2.891725 years. Denoted LB. */
-		Args[15] = Constant.ARCSEC_TO_RAD * (4.48175409e7 * T + 806045.7);
-
-		/* 24.2 years. Denoted P or LC. */
-		Args[16] = Constant.ARCSEC_TO_RAD * (5.36486787e6 * T - 391702.8);
-
-		/* Usual node term re equinox of date, denoted NA. */
-		Args[17] = LP_equinox - NF_arcsec;
-
-		/* Fancy node term, denoted NB. */
-		/* Capital Pi of ecliptic motion (Williams 1994). */
-		x = (((-0.000004 * T + 0.000026) * T + 0.153382) * T - 867.919986) * T + 629543.967373;
-		Args[18] = Args[17] + Constant.ARCSEC_TO_RAD * (3.24e5 - x) - pA_precession;
-
-		lastArg = Args.clone();
-		return Args;
-	}
+			int i, j, k, m, k1, ip, np, nt;
+			int p[];
+			double pl[];
+			double pb[];
+			double pr[];
+			double su, cu, sv, cv;
+			double T, t, sl, sb, sr;
 
-	/**
-	 * Generic program to accumulate sum of trigonometric series in three
-	 * variables (e.g., longitude, latitude, radius) of the same list of
-	 * arguments.
-	 *
-	 * @param J Julian day.
-	 * @param arg_tbl
-	 * @param distance
-	 * @param lat_tbl
-	 * @param lon_tbl
-	 * @param rad_tbl
-	 * @param max_harmonic
-	 * @param max_power_of_t
-	 * @param maxargs
-	 * @param timescale
-	 * @param trunclvl
-	 * @return An array with x, y, z (AU).
-	 */
-	private static double[] gplan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
-			double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl)
-	{
+			T = (J - Constant.J2000) / timescale;
 
-		int i, j, k, m, k1, ip, np, nt;
-		int p[];
-		double pl[];
-		double pb[];
-		double pr[];
-		double su, cu, sv, cv;
-		double T, t, sl, sb, sr;
-
-		T = (J - Constant.J2000) / timescale;
-
-		/* From Simon et al (1994) */
-		double freqs[] = {
-			/* Arc sec per 10000 Julian years. */
-			53810162868.8982, 21066413643.3548, 12959774228.3429, 6890507749.3988, 1092566037.7991, 439960985.5372,
-				154248119.3933, 78655032.0744, 52272245.1795 };
-		double phases[] = {
-			/* Arc sec. */
-			252.25090552 * 3600., 181.97980085 * 3600., 100.46645683 * 3600., 355.43299958 * 3600., 34.35151874 * 3600.,
-				50.07744430 * 3600., 314.05500511 * 3600., 304.34866548 * 3600., 860492.1546, };
-
-		/* Calculate sin( i*MM ), etc. for needed multiple angles. */
-		for (i = 0; i < 9; i++)
-		{
-			if ((max_harmonic[i]) > 0)
+			/* Calculate sin( i*MM ), etc. for needed multiple angles. */
+			for (i = 0; i < 9; i++)
 			{
-				sr = (Functions.mod3600(freqs[i] * T) + phases[i]) * Constant.ARCSEC_TO_RAD;
-				sscc(i, sr, max_harmonic[i]);
+				if ((max_harmonic[i]) > 0)
+				{
+					sr = (Functions.mod3600(FREQS[i] * T) + PHASES[i]) * Constant.ARCSEC_TO_RAD;
+					sscc(i, sr, max_harmonic[i]);
+				}
 			}
-		}
 
-		/* Point to start of table of arguments. */
-		p = arg_tbl;
+			/* Point to start of table of arguments. */
+			p = arg_tbl;
 
-		/* Point to tabulated cosine and sine amplitudes. */
-		pl = lon_tbl;
-		pb = lat_tbl;
-		pr = rad_tbl;
+			/* Point to tabulated cosine and sine amplitudes. */
+			pl = lon_tbl;
+			pb = lat_tbl;
+			pr = rad_tbl;
 
-		sl = 0.0;
-		sb = 0.0;
-		sr = 0.0;
+			sl = 0.0;
+			sb = 0.0;
+			sr = 0.0;
 
-		np = 0;
-		nt = 0;
-		cu = 0;
+			np = 0;
+			nt = 0;
+			cu = 0;
 
-		int p_index = -1;
-		int pl_index = -1;
-		int pb_index = -1;
-		int pr_index = -1;
+			int p_index = -1;
+			int pl_index = -1;
+			int pb_index = -1;
+			int pr_index = -1;
 
-		for (;;)
-		{
-			/* argument of sine and cosine */
-			/* Number of periodic arguments. */
-			p_index++;
-			np = p[p_index];
-			if (np < 0)
-				break;
-			if (np == 0)
-			{ /* It is a polynomial term. */
+			for (;;)
+			{
+				/* argument of sine and cosine */
+				/* Number of periodic arguments. */
+				p_index++;
+				np = p[p_index];
+				if (np < 0)
+					break;
+				if (np == 0)
+				{ /* It is a polynomial term. */
+					p_index++;
+					nt = p[p_index];
+					/* "Longitude" polynomial (phi). */
+					pl_index++;
+					cu = pl[pl_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pl_index++;
+						cu = cu * T + pl[pl_index];
+					}
+					sl += Functions.mod3600(cu);
+					/* "Latitude" polynomial (theta). */
+					pb_index++;
+					cu = pb[pb_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pb_index++;
+						cu = cu * T + pb[pb_index];
+					}
+					sb += cu;
+					/* Radius polynomial (psi). */
+					pr_index++;
+					cu = pr[pr_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pr_index++;
+						cu = cu * T + pr[pr_index];
+					}
+					sr += cu;
+					continue;
+				}
+
+				k1 = 0;
+				cv = 0.0;
+				sv = 0.0;
+				for (ip = 0; ip < np; ip++)
+				{
+					/* What harmonic. */
+					p_index++;
+					j = p[p_index];
+					/* Which planet. */
+					p_index++;
+					m = p[p_index] - 1;
+					if (j != 0)
+					{
+						k = Math.abs(j) - 1;
+
+						su = ss[m][k]; /* sin(k*angle) */
+						if (j < 0)
+							su = -su;
+
+						cu = cc[m][k];
+						if (k1 == 0)
+						{ /* set first angle */
+							sv = su;
+							cv = cu;
+							k1 = 1;
+						} else
+						{ /* combine angles */
+							t = su * cv + cu * sv;
+							cv = cu * cv - su * sv;
+							sv = t;
+						}
+					}
+				}
+
+				/* Highest power of T. */
 				p_index++;
 				nt = p[p_index];
-				/* "Longitude" polynomial (phi). */
+				/* Longitude. */
 				pl_index++;
 				cu = pl[pl_index];
+				pl_index++;
+				su = pl[pl_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pl_index++;
 					cu = cu * T + pl[pl_index];
+					pl_index++;
+					su = su * T + pl[pl_index];
 				}
-				sl += Functions.mod3600(cu);
-				/* "Latitude" polynomial (theta). */
+				sl += cu * cv + su * sv;
+				/* Latitude. */
 				pb_index++;
 				cu = pb[pb_index];
+				pb_index++;
+				su = pb[pb_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pb_index++;
 					cu = cu * T + pb[pb_index];
+					pb_index++;
+					su = su * T + pb[pb_index];
 				}
-				sb += cu;
-				/* Radius polynomial (psi). */
+				sb += cu * cv + su * sv;
+				/* Radius. */
 				pr_index++;
 				cu = pr[pr_index];
+				pr_index++;
+				su = pr[pr_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pr_index++;
 					cu = cu * T + pr[pr_index];
+					pr_index++;
+					su = su * T + pr[pr_index];
 				}
-				sr += cu;
-				continue;
-			}
-
-			k1 = 0;
-			cv = 0.0;
-			sv = 0.0;
-			for (ip = 0; ip < np; ip++)
-			{
-				/* What harmonic. */
-				p_index++;
-				j = p[p_index];
-				/* Which planet. */
-				p_index++;
-				m = p[p_index] - 1;
-				if (j != 0)
-				{
-					k = Math.abs(j) - 1;
-
-					su = ss[m][k]; /* sin(k*angle) */
-					if (j < 0)
-						su = -su;
-
-					cu = cc[m][k];
-					if (k1 == 0)
-					{ /* set first angle */
-						sv = su;
-						cv = cu;
-						k1 = 1;
-					} else
-					{ /* combine angles */
-						t = su * cv + cu * sv;
-						cv = cu * cv - su * sv;
-						sv = t;
-					}
-				}
-			}
-
-			/* Highest power of T. */
-			p_index++;
-			nt = p[p_index];
-			/* Longitude. */
-			pl_index++;
-			cu = pl[pl_index];
-			pl_index++;
-			su = pl[pl_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pl_index++;
-				cu = cu * T + pl[pl_index];
-				pl_index++;
-				su = su * T + pl[pl_index];
+				sr += cu * cv + su * sv;
 			}
-			sl += cu * cv + su * sv;
-			/* Latitude. */
-			pb_index++;
-			cu = pb[pb_index];
-			pb_index++;
-			su = pb[pb_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pb_index++;
-				cu = cu * T + pb[pb_index];
-				pb_index++;
-				su = su * T + pb[pb_index];
-			}
-			sb += cu * cv + su * sv;
-			/* Radius. */
-			pr_index++;
-			cu = pr[pr_index];
-			pr_index++;
-			su = pr[pr_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pr_index++;
-				cu = cu * T + pr[pr_index];
-				pr_index++;
-				su = su * T + pr[pr_index];
-			}
-			sr += cu * cv + su * sv;
-		}
 
-		if (distance == 0.0) return new double[] {
-				Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sl),
-				Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sb),
-				Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sr)};
+			if (distance == 0.0) return new double[] {
+					Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sl),
+					Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sb),
+					Functions.normalizeRadians(Constant.ARCSEC_TO_RAD * sr)};
 
-		double pobj[] = new double[3];
-		pobj[0] = Constant.ARCSEC_TO_RAD * sl;
-		pobj[1] = Constant.ARCSEC_TO_RAD * sb;
-		pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
+			double pobj[] = new double[3];
+			pobj[0] = Constant.ARCSEC_TO_RAD * sl;
+			pobj[1] = Constant.ARCSEC_TO_RAD * sb;
+			pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
 
-		double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
-		double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
-		double z = pobj[2] * Math.sin(pobj[1]);
+			double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
+			double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
+			double z = pobj[2] * Math.sin(pobj[1]);
 
-		return new double[] { x, y, z };
-	}
+			return new double[] { x, y, z };
+		}
 
-	/**
-	 * Generic program to accumulate sum of trigonometric series in three
-	 * variables (e.g., longitude, latitude, radius) of the same list of
-	 * arguments.
-	 *
-	 * @param J Julian day.
-	 * @param arg_tbl
-	 * @param distance
-	 * @param lat_tbl
-	 * @param lon_tbl
-	 * @param rad_tbl
-	 * @param max_harmonic
-	 * @param max_power_of_t
-	 * @param maxargs
-	 * @param timescale
-	 * @param trunclvl
-	 * @return An array with x, y, z (AU).
-	 */
-	private static double[] g3plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
-			double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl,
-			boolean libration)
-	{
+		/**
+		 * Generic program to accumulate sum of trigonometric series in three
+		 * variables (e.g., longitude, latitude, radius) of the same list of
+		 * arguments.
+		 *
+		 * @param J Julian day.
+		 * @param arg_tbl
+		 * @param distance
+		 * @param lat_tbl
+		 * @param lon_tbl
+		 * @param rad_tbl
+		 * @param max_harmonic
+		 * @param max_power_of_t
+		 * @param maxargs
+		 * @param timescale
+		 * @param trunclvl
+		 * @return An array with x, y, z (AU).
+		 */
+		double[] g3plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
+				double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl,
+				boolean libration)
+		{
 
-		int i, j, k, m, k1, ip, np, nt;
-		int p[];
-		double pl[];
-		double pb[];
-		double pr[];
-		double su, cu, sv, cv;
-		double T, t, sl, sb, sr;
+			int i, j, k, m, k1, ip, np, nt;
+			int p[];
+			double pl[];
+			double pb[];
+			double pr[];
+			double su, cu, sv, cv;
+			double T, t, sl, sb, sr;
 
-		double args[] = PlanetEphem.meanElements(J);
-		if (libration) args[13] -= PlanetEphem.pA_precession; // Only librations
-		T = (J - Constant.J2000) / timescale;
+			double args[] = meanElements(J);
+			if (libration) args[13] -= pA_precession; // Only librations
+			T = (J - Constant.J2000) / timescale;
 
-		/* Calculate sin( i*MM ), etc. for needed multiple angles. */
-		for (i = 0; i < maxargs; i++)
-		{
-			if ((max_harmonic[i]) > 0)
+			/* Calculate sin( i*MM ), etc. for needed multiple angles. */
+			for (i = 0; i < maxargs; i++)
 			{
-				sscc(i, args[i], max_harmonic[i]);
+				if ((max_harmonic[i]) > 0)
+				{
+					sscc(i, args[i], max_harmonic[i]);
+				}
 			}
-		}
 
-		/* Point to start of table of arguments. */
-		p = arg_tbl;
+			/* Point to start of table of arguments. */
+			p = arg_tbl;
 
-		/* Point to tabulated cosine and sine amplitudes. */
-		pl = lon_tbl;
-		pb = lat_tbl;
-		pr = rad_tbl;
+			/* Point to tabulated cosine and sine amplitudes. */
+			pl = lon_tbl;
+			pb = lat_tbl;
+			pr = rad_tbl;
 
-		sl = 0.0;
-		sb = 0.0;
-		sr = 0.0;
+			sl = 0.0;
+			sb = 0.0;
+			sr = 0.0;
 
-		np = 0;
-		nt = 0;
-		cu = 0;
+			np = 0;
+			nt = 0;
+			cu = 0;
 
-		int p_index = -1;
-		int pl_index = -1;
-		int pb_index = -1;
-		int pr_index = -1;
+			int p_index = -1;
+			int pl_index = -1;
+			int pb_index = -1;
+			int pr_index = -1;
 
-		for (;;)
-		{
-			/* argument of sine and cosine */
-			/* Number of periodic arguments. */
-			p_index++;
-			np = p[p_index];
-			if (np < 0)
-				break;
-			if (np == 0)
-			{ /* It is a polynomial term. */
+			for (;;)
+			{
+				/* argument of sine and cosine */
+				/* Number of periodic arguments. */
+				p_index++;
+				np = p[p_index];
+				if (np < 0)
+					break;
+				if (np == 0)
+				{ /* It is a polynomial term. */
+					p_index++;
+					nt = p[p_index];
+					/* "Longitude" polynomial (phi). */
+					pl_index++;
+					cu = pl[pl_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pl_index++;
+						cu = cu * T + pl[pl_index];
+					}
+					sl += cu;
+					/* "Latitude" polynomial (theta). */
+					pb_index++;
+					cu = pb[pb_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pb_index++;
+						cu = cu * T + pb[pb_index];
+					}
+					sb += cu;
+					/* Radius polynomial (psi). */
+					pr_index++;
+					cu = pr[pr_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pr_index++;
+						cu = cu * T + pr[pr_index];
+					}
+					sr += cu;
+					continue;
+				}
+
+				k1 = 0;
+				cv = 0.0;
+				sv = 0.0;
+				for (ip = 0; ip < np; ip++)
+				{
+					/* What harmonic. */
+					p_index++;
+					j = p[p_index];
+					/* Which planet. */
+					p_index++;
+					m = p[p_index] - 1;
+					if (j != 0)
+					{
+						k = Math.abs(j) - 1;
+
+						su = ss[m][k]; /* sin(k*angle) */
+						if (j < 0)
+							su = -su;
+
+						cu = cc[m][k];
+						if (k1 == 0)
+						{ /* set first angle */
+							sv = su;
+							cv = cu;
+							k1 = 1;
+						} else
+						{ /* combine angles */
+							t = su * cv + cu * sv;
+							cv = cu * cv - su * sv;
+							sv = t;
+						}
+					}
+				}
+
+				/* Highest power of T. */
 				p_index++;
 				nt = p[p_index];
-				/* "Longitude" polynomial (phi). */
+				/* Longitude. */
 				pl_index++;
 				cu = pl[pl_index];
+				pl_index++;
+				su = pl[pl_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pl_index++;
 					cu = cu * T + pl[pl_index];
+					pl_index++;
+					su = su * T + pl[pl_index];
 				}
-				sl += cu;
-				/* "Latitude" polynomial (theta). */
+				sl += cu * cv + su * sv;
+				/* Latitude. */
 				pb_index++;
 				cu = pb[pb_index];
+				pb_index++;
+				su = pb[pb_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pb_index++;
 					cu = cu * T + pb[pb_index];
+					pb_index++;
+					su = su * T + pb[pb_index];
 				}
-				sb += cu;
-				/* Radius polynomial (psi). */
+				sb += cu * cv + su * sv;
+				/* Radius. */
 				pr_index++;
 				cu = pr[pr_index];
+				pr_index++;
+				su = pr[pr_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pr_index++;
 					cu = cu * T + pr[pr_index];
+					pr_index++;
+					su = su * T + pr[pr_index];
 				}
-				sr += cu;
-				continue;
-			}
-
-			k1 = 0;
-			cv = 0.0;
-			sv = 0.0;
-			for (ip = 0; ip < np; ip++)
-			{
-				/* What harmonic. */
-				p_index++;
-				j = p[p_index];
-				/* Which planet. */
-				p_index++;
-				m = p[p_index] - 1;
-				if (j != 0)
-				{
-					k = Math.abs(j) - 1;
-
-					su = ss[m][k]; /* sin(k*angle) */
-					if (j < 0)
-						su = -su;
-
-					cu = cc[m][k];
-					if (k1 == 0)
-					{ /* set first angle */
-						sv = su;
-						cv = cu;
-						k1 = 1;
-					} else
-					{ /* combine angles */
-						t = su * cv + cu * sv;
-						cv = cu * cv - su * sv;
-						sv = t;
-					}
-				}
-			}
-
-			/* Highest power of T. */
-			p_index++;
-			nt = p[p_index];
-			/* Longitude. */
-			pl_index++;
-			cu = pl[pl_index];
-			pl_index++;
-			su = pl[pl_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pl_index++;
-				cu = cu * T + pl[pl_index];
-				pl_index++;
-				su = su * T + pl[pl_index];
+				sr += cu * cv + su * sv;
 			}
-			sl += cu * cv + su * sv;
-			/* Latitude. */
-			pb_index++;
-			cu = pb[pb_index];
-			pb_index++;
-			su = pb[pb_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pb_index++;
-				cu = cu * T + pb[pb_index];
-				pb_index++;
-				su = su * T + pb[pb_index];
-			}
-			sb += cu * cv + su * sv;
-			/* Radius. */
-			pr_index++;
-			cu = pr[pr_index];
-			pr_index++;
-			su = pr[pr_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pr_index++;
-				cu = cu * T + pr[pr_index];
-				pr_index++;
-				su = su * T + pr[pr_index];
-			}
-			sr += cu * cv + su * sv;
-		}
 
-		sl = sl * 0.0001;
-		sb = sb * 0.0001;
-		sr = sr * 0.0001;
+			sl = sl * 0.0001;
+			sb = sb * 0.0001;
+			sr = sr * 0.0001;
 
-		if (distance == 0.0) return new double[] {Constant.ARCSEC_TO_RAD * sl + PlanetEphem.Ea_arcsec, Constant.ARCSEC_TO_RAD * sb,
-				Constant.ARCSEC_TO_RAD * sr};
+			if (distance == 0.0) return new double[] {Constant.ARCSEC_TO_RAD * sl + Ea_arcsec, Constant.ARCSEC_TO_RAD * sb,
+					Constant.ARCSEC_TO_RAD * sr};
 
-		double pobj[] = new double[3];
-		pobj[0] = Constant.ARCSEC_TO_RAD * sl + PlanetEphem.Ea_arcsec;
-		pobj[1] = Constant.ARCSEC_TO_RAD * sb;
-		pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
+			double pobj[] = new double[3];
+			pobj[0] = Constant.ARCSEC_TO_RAD * sl + Ea_arcsec;
+			pobj[1] = Constant.ARCSEC_TO_RAD * sb;
+			pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
 
-		double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
-		double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
-		double z = pobj[2] * Math.sin(pobj[1]);
+			double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
+			double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
+			double z = pobj[2] * Math.sin(pobj[1]);
 
-		return new double[] { x, y, z };
-	}
+			return new double[] { x, y, z };
+		}
 
-	/**
-	 * Generic program to accumulate sum of trigonometric series in two
-	 * variables (e.g., longitude, radius) of the same list of arguments.
-	 *
-	 * @param J Julian day.
-	 * @param arg_tbl
-	 * @param distance
-	 * @param lat_tbl
-	 * @param lon_tbl
-	 * @param rad_tbl
-	 * @param max_harmonic
-	 * @param max_power_of_t
-	 * @param maxargs
-	 * @param timescale
-	 * @param trunclvl
-	 * @return An array with x, y, z (AU).
-	 */
-	private static double[] g2plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
-			double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl,
-			double lat)
-	{
-		int i, j, k, m, k1, ip, np, nt;
-		int p[];
-		double pl[];
-		double pr[];
-		double su, cu, sv, cv;
-		double T, t, sl, sr;
-
-		double args[] = PlanetEphem.meanElements(J);
-		// args[13] -= PlanetEphem.pA_precession; // Solo libraciones
-		T = (J - Constant.J2000) / timescale;
-
-		/* Calculate sin( i*MM ), etc. for needed multiple angles. */
-		for (i = 0; i < maxargs; i++)
+		/**
+		 * Generic program to accumulate sum of trigonometric series in two
+		 * variables (e.g., longitude, radius) of the same list of arguments.
+		 *
+		 * @param J Julian day.
+		 * @param arg_tbl
+		 * @param distance
+		 * @param lat_tbl
+		 * @param lon_tbl
+		 * @param rad_tbl
+		 * @param max_harmonic
+		 * @param max_power_of_t
+		 * @param maxargs
+		 * @param timescale
+		 * @param trunclvl
+		 * @return An array with x, y, z (AU).
+		 */
+		double[] g2plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
+				double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl,
+				double lat)
 		{
-			if ((max_harmonic[i]) > 0)
+			int i, j, k, m, k1, ip, np, nt;
+			int p[];
+			double pl[];
+			double pr[];
+			double su, cu, sv, cv;
+			double T, t, sl, sr;
+
+			double args[] = meanElements(J);
+			// args[13] -= pA_precession; // Solo libraciones
+			T = (J - Constant.J2000) / timescale;
+
+			/* Calculate sin( i*MM ), etc. for needed multiple angles. */
+			for (i = 0; i < maxargs; i++)
 			{
-				sscc(i, args[i], max_harmonic[i]);
+				if ((max_harmonic[i]) > 0)
+				{
+					sscc(i, args[i], max_harmonic[i]);
+				}
 			}
-		}
 
-		/* Point to start of table of arguments. */
-		p = arg_tbl;
+			/* Point to start of table of arguments. */
+			p = arg_tbl;
 
-		/* Point to tabulated cosine and sine amplitudes. */
-		pl = lon_tbl;
-		pr = rad_tbl;
+			/* Point to tabulated cosine and sine amplitudes. */
+			pl = lon_tbl;
+			pr = rad_tbl;
 
-		sl = 0.0;
-		sr = 0.0;
+			sl = 0.0;
+			sr = 0.0;
 
-		np = 0;
-		nt = 0;
-		cu = 0;
+			np = 0;
+			nt = 0;
+			cu = 0;
 
-		int p_index = -1;
-		int pl_index = -1;
-		int pr_index = -1;
+			int p_index = -1;
+			int pl_index = -1;
+			int pr_index = -1;
 
-		for (;;)
-		{
-			/* argument of sine and cosine */
-			/* Number of periodic arguments. */
-			p_index++;
-			np = p[p_index];
-			if (np < 0)
-				break;
-			if (np == 0)
-			{ /* It is a polynomial term. */
+			for (;;)
+			{
+				/* argument of sine and cosine */
+				/* Number of periodic arguments. */
+				p_index++;
+				np = p[p_index];
+				if (np < 0)
+					break;
+				if (np == 0)
+				{ /* It is a polynomial term. */
+					p_index++;
+					nt = p[p_index];
+					/* "Longitude" polynomial (phi). */
+					pl_index++;
+					cu = pl[pl_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pl_index++;
+						cu = cu * T + pl[pl_index];
+					}
+					sl += cu;
+					/* Radius polynomial (psi). */
+					pr_index++;
+					cu = pr[pr_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pr_index++;
+						cu = cu * T + pr[pr_index];
+					}
+					sr += cu;
+					continue;
+				}
+
+				k1 = 0;
+				cv = 0.0;
+				sv = 0.0;
+				for (ip = 0; ip < np; ip++)
+				{
+					/* What harmonic. */
+					p_index++;
+					j = p[p_index];
+					/* Which planet. */
+					p_index++;
+					m = p[p_index] - 1;
+					if (j != 0)
+					{
+						k = Math.abs(j) - 1;
+
+						su = ss[m][k]; /* sin(k*angle) */
+						if (j < 0)
+							su = -su;
+
+						cu = cc[m][k];
+						if (k1 == 0)
+						{ /* set first angle */
+							sv = su;
+							cv = cu;
+							k1 = 1;
+						} else
+						{ /* combine angles */
+							t = su * cv + cu * sv;
+							cv = cu * cv - su * sv;
+							sv = t;
+						}
+					}
+				}
+
+				/* Highest power of T. */
 				p_index++;
 				nt = p[p_index];
-				/* "Longitude" polynomial (phi). */
+				/* Longitude. */
 				pl_index++;
 				cu = pl[pl_index];
+				pl_index++;
+				su = pl[pl_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pl_index++;
 					cu = cu * T + pl[pl_index];
+					pl_index++;
+					su = su * T + pl[pl_index];
 				}
-				sl += cu;
-				/* Radius polynomial (psi). */
+				sl += cu * cv + su * sv;
+				/* Radius. */
 				pr_index++;
 				cu = pr[pr_index];
+				pr_index++;
+				su = pr[pr_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pr_index++;
 					cu = cu * T + pr[pr_index];
+					pr_index++;
+					su = su * T + pr[pr_index];
 				}
-				sr += cu;
-				continue;
-			}
-
-			k1 = 0;
-			cv = 0.0;
-			sv = 0.0;
-			for (ip = 0; ip < np; ip++)
-			{
-				/* What harmonic. */
-				p_index++;
-				j = p[p_index];
-				/* Which planet. */
-				p_index++;
-				m = p[p_index] - 1;
-				if (j != 0)
-				{
-					k = Math.abs(j) - 1;
-
-					su = ss[m][k]; /* sin(k*angle) */
-					if (j < 0)
-						su = -su;
-
-					cu = cc[m][k];
-					if (k1 == 0)
-					{ /* set first angle */
-						sv = su;
-						cv = cu;
-						k1 = 1;
-					} else
-					{ /* combine angles */
-						t = su * cv + cu * sv;
-						cv = cu * cv - su * sv;
-						sv = t;
-					}
-				}
-			}
-
-			/* Highest power of T. */
-			p_index++;
-			nt = p[p_index];
-			/* Longitude. */
-			pl_index++;
-			cu = pl[pl_index];
-			pl_index++;
-			su = pl[pl_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pl_index++;
-				cu = cu * T + pl[pl_index];
-				pl_index++;
-				su = su * T + pl[pl_index];
+				sr += cu * cv + su * sv;
 			}
-			sl += cu * cv + su * sv;
-			/* Radius. */
-			pr_index++;
-			cu = pr[pr_index];
-			pr_index++;
-			su = pr[pr_index];
-			for (ip = 0; ip < nt; ip++)
-			{
-				pr_index++;
-				cu = cu * T + pr[pr_index];
-				pr_index++;
-				su = su * T + pr[pr_index];
-			}
-			sr += cu * cv + su * sv;
-		}
 
-		double pobj[] = new double[3];
-		sl = sl * 0.0001;
-		sr = sr * 0.0001;
+			double pobj[] = new double[3];
+			sl = sl * 0.0001;
+			sr = sr * 0.0001;
 
-		if (distance == 0.0) return new double[] {Constant.ARCSEC_TO_RAD * sl + PlanetEphem.LP_equinox,
-				lat, Constant.ARCSEC_TO_RAD * sr};
+			if (distance == 0.0) return new double[] {Constant.ARCSEC_TO_RAD * sl + LP_equinox,
+					lat, Constant.ARCSEC_TO_RAD * sr};
 
-		pobj[0] = Constant.ARCSEC_TO_RAD * sl + PlanetEphem.LP_equinox;
-		pobj[1] = lat;
-		pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
+			pobj[0] = Constant.ARCSEC_TO_RAD * sl + LP_equinox;
+			pobj[1] = lat;
+			pobj[2] = distance * (1.0 + Constant.ARCSEC_TO_RAD * sr);
 
-		double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
-		double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
-		double z = pobj[2] * Math.sin(pobj[1]);
+			double x = pobj[2] * Math.cos(pobj[0]) * Math.cos(pobj[1]);
+			double y = pobj[2] * Math.sin(pobj[0]) * Math.cos(pobj[1]);
+			double z = pobj[2] * Math.sin(pobj[1]);
 
-		return new double[] { x, y, z };
-	}
+			return new double[] { x, y, z };
+		}
 
-	/**
-	 * Generic program to accumulate sum of trigonometric series in one
-	 * variables (e.g., latitude) of the same list of arguments.
-	 *
-	 * @param J Julian day.
-	 * @param arg_tbl
-	 * @param distance
-	 * @param lat_tbl
-	 * @param lon_tbl
-	 * @param rad_tbl
-	 * @param max_harmonic
-	 * @param max_power_of_t
-	 * @param maxargs
-	 * @param timescale
-	 * @param trunclvl
-	 * @return Latitude (rad).
-	 */
-	private static double g1plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
-			double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl)
-	{
+		/**
+		 * Generic program to accumulate sum of trigonometric series in one
+		 * variables (e.g., latitude) of the same list of arguments.
+		 *
+		 * @param J Julian day.
+		 * @param arg_tbl
+		 * @param distance
+		 * @param lat_tbl
+		 * @param lon_tbl
+		 * @param rad_tbl
+		 * @param max_harmonic
+		 * @param max_power_of_t
+		 * @param maxargs
+		 * @param timescale
+		 * @param trunclvl
+		 * @return Latitude (rad).
+		 */
+		double g1plan(double J, int arg_tbl[], double distance, double lat_tbl[], double lon_tbl[],
+				double rad_tbl[], int[] max_harmonic, int max_power_of_t, int maxargs, double timescale, double trunclvl)
+		{
 
-		int i, j, k, m, k1, ip, np, nt;
-		int p[];
-		double pb[];
-		double su, cu, sv, cv;
-		double T, t, sb;
+			int i, j, k, m, k1, ip, np, nt;
+			int p[];
+			double pb[];
+			double su, cu, sv, cv;
+			double T, t, sb;
 
-		double args[] = PlanetEphem.meanElements(J);
-		T = (J - Constant.J2000) / timescale;
+			double args[] = meanElements(J);
+			T = (J - Constant.J2000) / timescale;
 
-		/* Calculate sin( i*MM ), etc. for needed multiple angles. */
-		for (i = 0; i < maxargs; i++)
-		{
-			if ((max_harmonic[i]) > 0)
+			/* Calculate sin( i*MM ), etc. for needed multiple angles. */
+			for (i = 0; i < maxargs; i++)
 			{
-				sscc(i, args[i], max_harmonic[i]);
+				if ((max_harmonic[i]) > 0)
+				{
+					sscc(i, args[i], max_harmonic[i]);
+				}
 			}
-		}
 
-		/* Point to start of table of arguments. */
-		p = arg_tbl;
+			/* Point to start of table of arguments. */
+			p = arg_tbl;
 
-		/* Point to tabulated cosine and sine amplitudes. */
-		pb = lat_tbl;
+			/* Point to tabulated cosine and sine amplitudes. */
+			pb = lat_tbl;
 
-		sb = 0.0;
+			sb = 0.0;
 
-		np = 0;
-		nt = 0;
-		cu = 0;
+			np = 0;
+			nt = 0;
+			cu = 0;
 
-		int p_index = -1;
-		int pb_index = -1;
+			int p_index = -1;
+			int pb_index = -1;
 
-		for (;;)
-		{
-			/* argument of sine and cosine */
-			/* Number of periodic arguments. */
-			p_index++;
-			np = p[p_index];
-			if (np < 0)
-				break;
-			if (np == 0)
-			{ /* It is a polynomial term. */
+			for (;;)
+			{
+				/* argument of sine and cosine */
+				/* Number of periodic arguments. */
+				p_index++;
+				np = p[p_index];
+				if (np < 0)
+					break;
+				if (np == 0)
+				{ /* It is a polynomial term. */
+					p_index++;
+					nt = p[p_index];
+					/* "Latitude" polynomial (theta). */
+					pb_index++;
+					cu = pb[pb_index];
+					for (ip = 0; ip < nt; ip++)
+					{
+						pb_index++;
+						cu = cu * T + pb[pb_index];
+					}
+					sb += cu;
+					continue;
+				}
+
+				k1 = 0;
+				cv = 0.0;
+				sv = 0.0;
+				for (ip = 0; ip < np; ip++)
+				{
+					/* What harmonic. */
+					p_index++;
+					j = p[p_index];
+					/* Which planet. */
+					p_index++;
+					m = p[p_index] - 1;
+					if (j != 0)
+					{
+						k = Math.abs(j) - 1;
+
+						su = ss[m][k]; /* sin(k*angle) */
+						if (j < 0)
+							su = -su;
+
+						cu = cc[m][k];
+						if (k1 == 0)
+						{ /* set first angle */
+							sv = su;
+							cv = cu;
+							k1 = 1;
+						} else
+						{ /* combine angles */
+							t = su * cv + cu * sv;
+							cv = cu * cv - su * sv;
+							sv = t;
+						}
+					}
+				}
+
+				/* Highest power of T. */
 				p_index++;
 				nt = p[p_index];
-				/* "Latitude" polynomial (theta). */
+				/* Latitude. */
 				pb_index++;
 				cu = pb[pb_index];
+				pb_index++;
+				su = pb[pb_index];
 				for (ip = 0; ip < nt; ip++)
 				{
 					pb_index++;
 					cu = cu * T + pb[pb_index];
+					pb_index++;
+					su = su * T + pb[pb_index];
 				}
-				sb += cu;
-				continue;
+				sb += cu * cv + su * sv;
 			}
 
-			k1 = 0;
-			cv = 0.0;
-			sv = 0.0;
-			for (ip = 0; ip < np; ip++)
-			{
-				/* What harmonic. */
-				p_index++;
-				j = p[p_index];
-				/* Which planet. */
-				p_index++;
-				m = p[p_index] - 1;
-				if (j != 0)
-				{
-					k = Math.abs(j) - 1;
-
-					su = ss[m][k]; /* sin(k*angle) */
-					if (j < 0)
-						su = -su;
-
-					cu = cc[m][k];
-					if (k1 == 0)
-					{ /* set first angle */
-						sv = su;
-						cv = cu;
-						k1 = 1;
-					} else
-					{ /* combine angles */
-						t = su * cv + cu * sv;
-						cv = cu * cv - su * sv;
-						sv = t;
-					}
-				}
-			}
+			return (Constant.ARCSEC_TO_RAD * sb * 0.0001);
+		}
 
-			/* Highest power of T. */
-			p_index++;
-			nt = p[p_index];
-			/* Latitude. */
-			pb_index++;
-			cu = pb[pb_index];
-			pb_index++;
-			su = pb[pb_index];
-			for (ip = 0; ip < nt; ip++)
+		/**
+		 * Prepare lookup table of sin and cos ( i*Lj ) for required multiple
+		 * angles.
+		 *
+		 * @param k
+		 * @param arg
+		 * @param n
+		 */
+		private void sscc(int k, double arg, int n)
+		{
+			double cu, su, cv, sv, s;
+			int i;
+
+			su = Math.sin(arg);
+			cu = Math.cos(arg);
+			ss[k][0] = su; /* sin(L) */
+			cc[k][0] = cu; /* cos(L) */
+			sv = 2.0 * su * cu;
+			cv = cu * cu - su * su;
+			ss[k][1] = sv; /* sin(2L) */
+			cc[k][1] = cv;
+			for (i = 2; i < n; i++)
 			{
-				pb_index++;
-				cu = cu * T + pb[pb_index];
-				pb_index++;
-				su = su * T + pb[pb_index];
+				s = su * cv + cu * sv;
+				cv = cu * cv - su * sv;
+				sv = s;
+				ss[k][i] = sv; /* sin( i+1 L ) */
+				cc[k][i] = cv;
 			}
-			sb += cu * cv + su * sv;
 		}
-
-		return (Constant.ARCSEC_TO_RAD * sb * 0.0001);
 	}
 
-	/**
-	 * Prepare lookup table of sin and cos ( i*Lj ) for required multiple
-	 * angles.
-	 *
-	 * @param k
-	 * @param arg
-	 * @param n
-	 */
-	private static void sscc(int k, double arg, int n)
-	{
-		double cu, su, cv, sv, s;
-		int i;
-
-		su = Math.sin(arg);
-		cu = Math.cos(arg);
-		ss[k][0] = su; /* sin(L) */
-		cc[k][0] = cu; /* cos(L) */
-		sv = 2.0 * su * cu;
-		cv = cu * cu - su * su;
-		ss[k][1] = sv; /* sin(2L) */
-		cc[k][1] = cv;
-		for (i = 2; i < n; i++)
-		{
-			s = su * cv + cu * sv;
-			cv = cu * cv - su * sv;
-			sv = s;
-			ss[k][i] = sv; /* sin( i+1 L ) */
-			cc[k][i] = cv;
+	private static final ThreadLocal<Evaluator> EVALUATOR = new ThreadLocal<Evaluator>() {
+		@Override
+		protected Evaluator initialValue() {
+			return new Evaluator();
 		}
-	}
+	};
 
 	/**
 	 * Obtain position of a planet. Rectangular heliocentric coordinates mean
@@ -959,8 +981,9 @@ public class PlanetEphem
 	 * @return Array with the x, y, z results.
 	 * @throws JPARSECException Thrown if the calculation fails.
 	 */
-	public static synchronized double[] getHeliocentricEclipticPositionJ2000(double JD, TARGET planet) throws JPARSECException
+	public static double[] getHeliocentricEclipticPositionJ2000(double JD, TARGET planet) throws JPARSECException
 	{
+		Evaluator ev = EVALUATOR.get();
 		// Planet.SUN: assumed to be at the SSB, which is not fully accurate
 		if (planet == TARGET.Solar_System_Barycenter || planet == TARGET.SUN) return new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
 
@@ -971,22 +994,22 @@ public class PlanetEphem
 		switch (planet)
 		{
 		case Libration:
-			p = g3plan(JD, Moshier_libration.args, Moshier_libration.distance, Moshier_libration.tabb, Moshier_libration.tabl,
+			p = ev.g3plan(JD, Moshier_libration.args, Moshier_libration.distance, Moshier_libration.tabb, Moshier_libration.tabl,
 					Moshier_libration.tabr, Moshier_libration.max_harmonic, Moshier_libration.max_power_of_t,
 					Moshier_libration.maxargs, Moshier_libration.timescale, Moshier_libration.trunclvl, true);
 
 			// For ecliptic mean equinox of date
-			double args[] = PlanetEphem.meanElements(JD);
+			double args[] = ev.meanElements(JD);
 			p[0] -= args[2];
 
 			  // phi+psi
-			  p[2] += LP_equinox + 6.48e5 * Constant.ARCSEC_TO_RAD;
+			  p[2] += ev.LP_equinox + 6.48e5 * Constant.ARCSEC_TO_RAD;
 			  if (p[2] < -6.45e5 * Constant.ARCSEC_TO_RAD)
 			    p[2] += 1.296e6 * Constant.ARCSEC_TO_RAD;
 			  if (p[2] > 6.45e5 * Constant.ARCSEC_TO_RAD)
 			    p[2] -= 1.296e6 * Constant.ARCSEC_TO_RAD;
 			  // phi
-			  p[0] += LP_equinox - NF_arcsec + 6.48e5 * Constant.ARCSEC_TO_RAD;
+			  p[0] += ev.LP_equinox - ev.NF_arcsec + 6.48e5 * Constant.ARCSEC_TO_RAD;
 			  if (p[0] < -6.45e5 * Constant.ARCSEC_TO_RAD)
 			    p[0] += 1.296e6 * Constant.ARCSEC_TO_RAD;
 			  if (p[0] > 6.45e5 * Constant.ARCSEC_TO_RAD)
@@ -1073,49 +1096,49 @@ public class PlanetEphem
 
 			return p;
 		case MERCURY:
-			p = gplan(JD, Moshier_Mercury.args, Moshier_Mercury.distance, Moshier_Mercury.tabb, Moshier_Mercury.tabl,
+			p = ev.gplan(JD, Moshier_Mercury.args, Moshier_Mercury.distance, Moshier_Mercury.tabb, Moshier_Mercury.tabl,
 					Moshier_Mercury.tabr, Moshier_Mercury.max_harmonic, Moshier_Mercury.max_power_of_t,
 					Moshier_Mercury.maxargs, Moshier_Mercury.timescale, Moshier_Mercury.trunclvl);
 			break;
 		case VENUS:
-			p = gplan(JD, Moshier_Venus.args, Moshier_Venus.distance, Moshier_Venus.tabb, Moshier_Venus.tabl,
+			p = ev.gplan(JD, Moshier_Venus.args, Moshier_Venus.distance, Moshier_Venus.tabb, Moshier_Venus.tabl,
 					Moshier_Venus.tabr, Moshier_Venus.max_harmonic, Moshier_Venus.max_power_of_t,
 					Moshier_Venus.maxargs, Moshier_Venus.timescale, Moshier_Venus.trunclvl);
 			break;
 		case Earth_Moon_Barycenter:
-			p = g3plan(JD, Moshier_Earth_Moon_Barycenter.args, Moshier_Earth_Moon_Barycenter.distance,
+			p = ev.g3plan(JD, Moshier_Earth_Moon_Barycenter.args, Moshier_Earth_Moon_Barycenter.distance,
 					Moshier_Earth_Moon_Barycenter.tabb, Moshier_Earth_Moon_Barycenter.tabl,
 					Moshier_Earth_Moon_Barycenter.tabr, Moshier_Earth_Moon_Barycenter.max_harmonic,
 					Moshier_Earth_Moon_Barycenter.max_power_of_t, Moshier_Earth_Moon_Barycenter.maxargs,
 					Moshier_Earth_Moon_Barycenter.timescale, Moshier_Earth_Moon_Barycenter.trunclvl, false);
 			break;
 		case MARS:
-			p = gplan(JD, Moshier_Mars.args, Moshier_Mars.distance, Moshier_Mars.tabb, Moshier_Mars.tabl,
+			p = ev.gplan(JD, Moshier_Mars.args, Moshier_Mars.distance, Moshier_Mars.tabb, Moshier_Mars.tabl,
 					Moshier_Mars.tabr, Moshier_Mars.max_harmonic, Moshier_Mars.max_power_of_t, Moshier_Mars.maxargs,
 					Moshier_Mars.timescale, Moshier_Mars.trunclvl);
 			break;
 		case JUPITER:
-			p = gplan(JD, Moshier_Jupiter.args, Moshier_Jupiter.distance, Moshier_Jupiter.tabb, Moshier_Jupiter.tabl,
+			p = ev.gplan(JD, Moshier_Jupiter.args, Moshier_Jupiter.distance, Moshier_Jupiter.tabb, Moshier_Jupiter.tabl,
 					Moshier_Jupiter.tabr, Moshier_Jupiter.max_harmonic, Moshier_Jupiter.max_power_of_t,
 					Moshier_Jupiter.maxargs, Moshier_Jupiter.timescale, Moshier_Jupiter.trunclvl);
 			break;
 		case SATURN:
-			p = gplan(JD, Moshier_Saturn.args, Moshier_Saturn.distance, Moshier_Saturn.tabb, Moshier_Saturn.tabl,
+			p = ev.gplan(JD, Moshier_Saturn.args, Moshier_Saturn.distance, Moshier_Saturn.tabb, Moshier_Saturn.tabl,
 					Moshier_Saturn.tabr, Moshier_Saturn.max_harmonic, Moshier_Saturn.max_power_of_t,
 					Moshier_Saturn.maxargs, Moshier_Saturn.timescale, Moshier_Saturn.trunclvl);
 			break;
 		case URANUS:
-			p = gplan(JD, Moshier_Uranus.args, Moshier_Uranus.distance, Moshier_Uranus.tabb, Moshier_Uranus.tabl,
+			p = ev.gplan(JD, Moshier_Uranus.args, Moshier_Uranus.distance, Moshier_Uranus.tabb, Moshier_Uranus.tabl,
 					Moshier_Uranus.tabr, Moshier_Uranus.max_harmonic, Moshier_Uranus.max_power_of_t,
 					Moshier_Uranus.maxargs, Moshier_Uranus.timescale, Moshier_Uranus.trunclvl);
 			break;
 		case NEPTUNE:
-			p = gplan(JD, Moshier_Neptune.args, Moshier_Neptune.distance, Moshier_Neptune.tabb, Moshier_Neptune.tabl,
+			p = ev.gplan(JD, Moshier_Neptune.args, Moshier_Neptune.distance, Moshier_Neptune.tabb, Moshier_Neptune.tabl,
 					Moshier_Neptune.tabr, Moshier_Neptune.max_harmonic, Moshier_Neptune.max_power_of_t,
 					Moshier_Neptune.maxargs, Moshier_Neptune.timescale, Moshier_Neptune.trunclvl);
 			break;
 		case Pluto:
-			p = gplan(JD, Moshier_Pluto.args, Moshier_Pluto.distance, Moshier_Pluto.tabb, Moshier_Pluto.tabl,
+			p = ev.gplan(JD, Moshier_Pluto.args, Moshier_Pluto.distance, Moshier_Pluto.tabb, Moshier_Pluto.tabl,
 					Moshier_Pluto.tabr, Moshier_Pluto.max_harmonic, Moshier_Pluto.max_power_of_t,
 					Moshier_Pluto.maxargs, Moshier_Pluto.timescale, Moshier_Pluto.trunclvl);
 
@@ -1127,11 +1150,11 @@ public class PlanetEphem
 			}
 			break;
 		case Moon:
-			double moon_lat = g1plan(JD, Moshier_Moon_lat.args, Moshier_Moon_lat.distance, Moshier_Moon_lat.tabl,
+			double moon_lat = ev.g1plan(JD, Moshier_Moon_lat.args, Moshier_Moon_lat.distance, Moshier_Moon_lat.tabl,
 					Moshier_Moon_lat.tabb, Moshier_Moon_lat.tabr, Moshier_Moon_lat.max_harmonic,
 					Moshier_Moon_lat.max_power_of_t, Moshier_Moon_lat.maxargs, Moshier_Moon_lat.timescale,
 					Moshier_Moon_lat.trunclvl);
-			p = g2plan(JD, Moshier_Moon_lon_rad.args, Moshier_Moon_lon_rad.distance, Moshier_Moon_lon_rad.tabb,
+			p = ev.g2plan(JD, Moshier_Moon_lon_rad.args, Moshier_Moon_lon_rad.distance, Moshier_Moon_lon_rad.tabb,
 					Moshier_Moon_lon_rad.tabl, Moshier_Moon_lon_rad.tabr, Moshier_Moon_lon_rad.max_harmonic,
 					Moshier_Moon_lon_rad.max_power_of_t, Moshier_Moon_lon_rad.maxargs, Moshier_Moon_lon_rad.timescale,
 					Moshier_Moon_lon_rad.trunclvl, moon_lat);
@@ -1140,16 +1163,16 @@ public class PlanetEphem
 			p = Precession.precessPosAndVelInEcliptic(JD, Constant.J2000, p, eph);
 			break;
 		case EARTH:
-			p = g3plan(JD, Moshier_Earth_Moon_Barycenter.args, Moshier_Earth_Moon_Barycenter.distance,
+			p = ev.g3plan(JD, Moshier_Earth_Moon_Barycenter.args, Moshier_Earth_Moon_Barycenter.distance,
 					Moshier_Earth_Moon_Barycenter.tabb, Moshier_Earth_Moon_Barycenter.tabl,
 					Moshier_Earth_Moon_Barycenter.tabr, Moshier_Earth_Moon_Barycenter.max_harmonic,
 					Moshier_Earth_Moon_Barycenter.max_power_of_t, Moshier_Earth_Moon_Barycenter.maxargs,
 					Moshier_Earth_Moon_Barycenter.timescale, Moshier_Earth_Moon_Barycenter.trunclvl, false);
-			moon_lat = g1plan(JD, Moshier_Moon_lat.args, Moshier_Moon_lat.distance, Moshier_Moon_lat.tabl,
+			moon_lat = ev.g1plan(JD, Moshier_Moon_lat.args, Moshier_Moon_lat.distance, Moshier_Moon_lat.tabl,
 					Moshier_Moon_lat.tabb, Moshier_Moon_lat.tabr, Moshier_Moon_lat.max_harmonic,
 					Moshier_Moon_lat.max_power_of_t, Moshier_Moon_lat.maxargs, Moshier_Moon_lat.timescale,
 					Moshier_Moon_lat.trunclvl);
-			double p_moon[] = g2plan(JD, Moshier_Moon_lon_rad.args, Moshier_Moon_lon_rad.distance,
+			double p_moon[] = ev.g2plan(JD, Moshier_Moon_lon_rad.args, Moshier_Moon_lon_rad.distance,
 					Moshier_Moon_lon_rad.tabb, Moshier_Moon_lon_rad.tabl, Moshier_Moon_lon_rad.tabr,
 					Moshier_Moon_lon_rad.max_harmonic, Moshier_Moon_lon_rad.max_power_of_t,
 					Moshier_Moon_lon_rad.maxargs, Moshier_Moon_lon_rad.timescale, Moshier_Moon_lon_rad.trunclvl,
@@ -1194,7 +1217,7 @@ public class PlanetEphem
 		// Heliocentric position corrected for light time
 		double helio_object[] = getHeliocentricEclipticPositionJ2000(JD - light_time, planet);
 		if (addSat) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -1269,25 +1292,26 @@ public class PlanetEphem
 		// Obtain julian day in Barycentric Dynamical Time
 		double JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 
-		if (lastObserver == null || !lastObserver.equals(obs) || JD_TDB != lastTDB) {
-			lastSun = null;
-			lastEphem2 = null;
-			lastSun0 = null;
-			lastBaryc = null;
-			lastTDB = -1;
-			lastObserver = null;
+		Evaluator ev = EVALUATOR.get();
+		if (ev.lastObserver == null || !ev.lastObserver.equals(obs) || JD_TDB != ev.lastTDB) {
+			ev.lastSun = null;
+			ev.lastEphem2 = null;
+			ev.lastSun0 = null;
+			ev.lastBaryc = null;
+			ev.lastTDB = -1;
+			ev.lastObserver = null;
 		}
 
 		EphemElement ephem_elem = PlanetEphem.MoshierCalc(time, obs, eph, true, true);
 
 		/* Physical ephemeris */
 		EphemElement ephemSun = null;
-		if (JD_TDB == lastTDB && lastSun != null) ephemSun = lastSun;
+		if (JD_TDB == ev.lastTDB && ev.lastSun != null) ephemSun = ev.lastSun;
 		EphemerisElement new_eph = null;
 		EphemElement ephem_elem2 = ephem_elem;
 		if (eph.ephemType != EphemerisElement.COORDINATES_TYPE.APPARENT || eph.equinox != EphemerisElement.EQUINOX_OF_DATE) {
-			if (JD_TDB == lastTDB && lastEphem2 != null) {
-				ephem_elem2 = lastEphem2;
+			if (JD_TDB == ev.lastTDB && ev.lastEphem2 != null) {
+				ephem_elem2 = ev.lastEphem2;
 			} else {
 				new_eph = eph.clone();
 				new_eph.ephemType = COORDINATES_TYPE.APPARENT;
@@ -1304,15 +1328,15 @@ public class PlanetEphem
 			new_eph.equinox = EphemerisElement.EQUINOX_OF_DATE;
 			try {
 				ephemSun = MoshierCalc(time, obs, new_eph, false, false);
-				lastSun = ephemSun;
+				ev.lastSun = ephemSun;
 			} catch (Exception exc) { // To obtain Earth position in ephemerides of giant planets before 1350 B.C.
-		 		Object gcrs = DataBase.getData("GCRS", true);
+		 		double[] gcrs = EphemerisContext.getCurrent().gcrs;
 				ephemSun = Vsop.vsopEphemeris(time, obs, new_eph);
-				DataBase.addData("GCRS", gcrs, true);
-				lastSun = ephemSun;
+				EphemerisContext.getCurrent().gcrs = gcrs;
+				ev.lastSun = ephemSun;
 			}
 		}
-		if (lastObserver == null) lastObserver = obs.clone();
+		if (ev.lastObserver == null) ev.lastObserver = obs.clone();
 
 		ephem_elem2 = PhysicalParameters.physicalParameters(JD_TDB, ephemSun, ephem_elem2, obs, eph);
 		PhysicalParameters.setPhysicalParameters(ephem_elem, ephem_elem2, time, obs, eph);
@@ -1335,10 +1359,6 @@ public class PlanetEphem
 		return ephem_elem;
 	}
 
-	private static double lastTDB = -1;
-	private static double lastSun0[] = null, lastBaryc[] = null;
-	private static ObserverElement lastObserver = null;
-	private static EphemElement lastSun = null, lastEphem2 = null;
 	private static EphemElement MoshierCalc(TimeElement time, // Time Element
 			ObserverElement obs, // Observer Element
 			EphemerisElement eph, boolean addGCRS, boolean addOffset) // Ephemeris Element
@@ -1351,6 +1371,7 @@ public class PlanetEphem
 
 		// Obtain julian day in Barycentric Dynamical Time
 		double JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+		Evaluator ev = EVALUATOR.get();
 
 		// Check Julian day for time span validity
 		// Rigorous criteria
@@ -1395,8 +1416,8 @@ public class PlanetEphem
 
 		// Obtain light time to Sun (first order approx)
 		double geo_sun_0[] = null;
-		if (lastTDB == JD_TDB && lastSun0 != null) {
-			geo_sun_0 = lastSun0;
+		if (ev.lastTDB == JD_TDB && ev.lastSun0 != null) {
+			geo_sun_0 = ev.lastSun0;
 		} else {
 			geo_sun_0 = PlanetEphem.getGeocentricPosition(JD_TDB, TARGET.SUN, 0.0, false, obs);
 		}
@@ -1410,8 +1431,8 @@ public class PlanetEphem
 		// Note that Moshier considers the Sun is at Solar System barycenter, so the position of barycenter
 		// and the Sun is the same
 		double baryc[] = null;
-		if (lastTDB == JD_TDB && lastBaryc != null) {
-			baryc = lastBaryc;
+		if (ev.lastTDB == JD_TDB && ev.lastBaryc != null) {
+			baryc = ev.lastBaryc;
 		} else {
 			baryc = Ephem.eclipticToEquatorial(geo_sun_0, Constant.J2000, eph); //PlanetEphem.getGeocentricPosition(JD_TDB, TARGET.Solar_System_Barycenter, 0.0, false, obs), Constant.J2000, eph);
 		}
@@ -1419,7 +1440,7 @@ public class PlanetEphem
 		// Obtain heliocentric ecliptic coordinates
 		double helio_object[] = PlanetEphem.getHeliocentricEclipticPositionJ2000(JD_TDB - light_time, eph.targetBody);
 		if (addOffset) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -1467,9 +1488,9 @@ public class PlanetEphem
 			if (obs.getMotherBody() != TARGET.EARTH || eph.targetBody != TARGET.Moon)
 				geo_eq = Ephem.aberration(geo_eq, baryc, light_time);
 
-			if (addGCRS) DataBase.addData("GCRS", geo_eq, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = geo_eq;
 		} else {
-			if (addGCRS) DataBase.addData("GCRS", null, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correction to output frame. */
@@ -1515,10 +1536,10 @@ public class PlanetEphem
 
 		// Set some variables to improve performance when using loops with the
 		// same calculation time
-		if (lastSun0 == null) {
-			lastTDB = JD_TDB;
-			lastSun0 = geo_sun_0;
-			lastBaryc = baryc;
+		if (ev.lastSun0 == null) {
+			ev.lastTDB = JD_TDB;
+			ev.lastSun0 = geo_sun_0;
+			ev.lastBaryc = baryc;
 		}
 
 		// Pass to coordinates as seen from another body, if necessary
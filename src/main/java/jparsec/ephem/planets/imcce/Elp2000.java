@@ -21,13 +21,18 @@
  */
 package jparsec.ephem.planets.imcce;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.zip.GZIPInputStream;
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.FRAME;
 import jparsec.ephem.Functions;
@@ -47,7 +52,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -69,24 +73,70 @@ import jparsec.util.JPARSECException;
  */
 public class Elp2000
 {
-    private final static Elp2000_data data = (Elp2000_data) deserialise("elp2000_data.ser.gz");
+    /**
+     * Identifier at the beginning of the binary file of data.
+     */
+    static final int DATA_MAGIC = 0x454C5032;
+
+    private final static Elp2000_data data = readData("elp2000_data.bin.gz");
 
-    private static Object deserialise (final String fileName) {
+    /**
+     * Reads the series of the theory from a gzipped binary file. The file contains an
+     * identifier, the number of series, and for each of them its name, the number
+     * of terms, the number of integer and double values per term, and then the
+     * integer values of all terms followed by the double values, in big-endian order.
+     * The file is read at once and parsed from a buffer, with one view for the
+     * integer values and another for the double values of each series.
+     */
+    private static Elp2000_data readData (final String fileName) {
         try {
-            InputStream is = Elp2000.class.getClassLoader().getResourceAsStream("jparsec/ephem/planets/imcce/" + fileName);
-            BufferedInputStream bis = new BufferedInputStream (is);
-            GZIPInputStream gis = new GZIPInputStream(bis);
-            ObjectInputStream ois = new ObjectInputStream(gis);
-            Object result = ois.readObject();
-
-            ois.close();
-            gis.close();
-            bis.close();
+            InputStream is = new GZIPInputStream(Elp2000.class.getClassLoader().getResourceAsStream("jparsec/ephem/planets/imcce/" + fileName), 65536);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(4 * 1024 * 1024);
+            byte buffer[] = new byte[65536];
+            int n;
+            while ((n = is.read(buffer)) > 0) {
+                bos.write(buffer, 0, n);
+            }
             is.close();
 
+            ByteBuffer buf = ByteBuffer.wrap(bos.toByteArray());
+            if (buf.getInt() != DATA_MAGIC) throw new Exception("Invalid format.");
+            Elp2000_data result = new Elp2000_data();
+            int nseries = buf.getInt();
+            for (int s = 0; s < nseries; s++) {
+                byte name[] = new byte[buf.getShort() & 0xffff];
+                buf.get(name);
+                int nterms = buf.getInt(), nilu = buf.getInt(), ncoef = buf.getInt();
+                int ilu[][] = new int[nterms][nilu];
+                double coef[][] = new double[nterms][ncoef];
+                IntBuffer ib = buf.asIntBuffer();
+                for (int i = 0; i < nterms; i++) {
+                    ib.get(ilu[i]);
+                }
+                buf.position(buf.position() + nterms * nilu * 4);
+                DoubleBuffer db = buf.asDoubleBuffer();
+                for (int i = 0; i < nterms; i++) {
+                    db.get(coef[i]);
+                }
+                buf.position(buf.position() + nterms * ncoef * 8);
+
+                Field field = Elp2000_data.class.getField(new String(name, "US-ASCII"));
+                Class<?> type = field.getType().getComponentType();
+                Object set[] = (Object[]) Array.newInstance(type, nterms);
+                for (int i = 0; i < nterms; i++) {
+                    if (type == Elp2000Set1.class) {
+                        set[i] = new Elp2000Set1(ilu[i], coef[i]);
+                    } else if (type == Elp2000Set2.class) {
+                        set[i] = new Elp2000Set2(ilu[i], coef[i]);
+                    } else {
+                        set[i] = new Elp2000Set3(ilu[i], coef[i]);
+                    }
+                }
+                field.set(result, set);
+            }
             return result;
         } catch (Exception e) {
-            throw new RuntimeException("Could not deserialise " + fileName);
+            throw new RuntimeException("Could not read " + fileName, e);
         }
     }
 
@@ -819,9 +869,9 @@ public class Elp2000
             //geo_eq = Ephem.solarDeflection(geo_eq, earth_0, helio_object);
             geo_eq = Ephem.solarAndPlanetaryDeflection(geo_eq, earth_0, helio_object,
                 new TARGET[] {TARGET.JUPITER, TARGET.SATURN, TARGET.EARTH}, JD_TDB, false, obs);
-            DataBase.addData("GCRS", geo_eq, true);
+            EphemerisContext.getCurrent().gcrs = geo_eq;
         } else {
-            DataBase.addData("GCRS", null, true);
+            EphemerisContext.getCurrent().gcrs = null;
         }
 
         /* Correction to output frame. */
@@ -884,7 +934,7 @@ public class Elp2000
             ephem_elem = Ephem.topocentricCorrection(time, obs, eph, ephem_elem);
 
         /* Physical ephemeris */
-        Object gcrs = DataBase.getData("GCRS", true);
+        double[] gcrs = EphemerisContext.getCurrent().gcrs;
         EphemerisElement new_eph = new EphemerisElement(eph.targetBody, EphemerisElement.COORDINATES_TYPE.APPARENT,
                 EphemerisElement.EQUINOX_OF_DATE, eph.isTopocentric, eph.ephemMethod, eph.frame);
         EphemElement ephem_elem2 = ephem_elem;
@@ -898,7 +948,7 @@ public class Elp2000
             ephem_elem2 = PhysicalParameters.physicalParameters(JD_TDB, Vsop.vsopEphemeris(time, obs, new_eph), ephem_elem2, obs, eph);
         }
         PhysicalParameters.setPhysicalParameters(ephem_elem, ephem_elem2, time, obs, eph);
-        DataBase.addData("GCRS", gcrs, true);
+        EphemerisContext.getCurrent().gcrs = gcrs;
 
         /* Horizontal coordinates */
         if (eph.isTopocentric)
@@ -26,8 +26,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.FRAME;
@@ -50,7 +53,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 import jparsec.util.Translate;
 
@@ -101,7 +103,7 @@ public class Series96
 		double helio_object[] = getHeliocentricEquatorialPositionJ2000(JD - light_time, planet);
 
 		if (addSat) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -199,8 +201,8 @@ public class Series96
 		TARGET pl = planet;
 		if (pl == TARGET.EARTH)
 			pl = TARGET.Earth_Moon_Barycenter;
-		Series96 s96 = new Series96();
-		Series96_set set = s96.readSeries96(pl, JD);
+		Series96_set blocks[] = getBlocks(pl);
+		Series96_set set = blocks[0];
 
 		if (JD >= (set.TDEB - 0.5) && JD <= (set.TFIN + 0.5))
 		{
@@ -210,6 +212,9 @@ public class Series96
 				nb = 1;
 			if (JD >= set.TFIN)
 				nb = set.IBLOCK;
+			if (nb > blocks.length)
+				nb = blocks.length;
+			set = blocks[nb - 1];
 
 			double tinit = set.TDEB + (nb - 1) * set.DT;
 			double x = 2.0 * (JD - tinit) / set.DT - 1.0;
@@ -329,18 +334,45 @@ public class Series96
 		return object;
 	}
 
+	private static volatile Boolean available = null;
+
 	/**
-	 * Returns true if Series96 method is available in the classpath.
+	 * Returns true if Series96 method is available in the classpath. The
+	 * result is obtained only the first time this method is called.
 	 * @return True or false.
 	 */
 	public static boolean isSeries96Available() {
-		try {
-			Series96 s = new Series96();
-			s.readSeries96(TARGET.JUPITER, 2451545.0);
-			return true;
-		} catch (Exception exc) {
-			return false;
+		Boolean a = available;
+		if (a == null) {
+			try {
+				getBlocks(TARGET.JUPITER);
+				a = Boolean.TRUE;
+			} catch (Exception exc) {
+				a = Boolean.FALSE;
+			}
+			available = a;
+		}
+		return a.booleanValue();
+	}
+
+	private static final ConcurrentHashMap<TARGET, Series96_set[]> series = new ConcurrentHashMap<TARGET, Series96_set[]>();
+
+	/**
+	 * Returns the blocks of coefficients for a given planet, reading the file
+	 * the first time. The returned blocks are shared and should not be modified.
+	 * @param planet Planet ID value.
+	 * @return The blocks, sorted by time.
+	 * @throws JPARSECException If the file cannot be read.
+	 */
+	private static Series96_set[] getBlocks(TARGET planet) throws JPARSECException
+	{
+		Series96_set s[] = series.get(planet);
+		if (s == null) {
+			s = readSeries96(planet);
+			Series96_set previous[] = series.putIfAbsent(planet, s);
+			if (previous != null) s = previous;
 		}
+		return s;
 	}
 
 	/**
@@ -350,50 +382,52 @@ public class Series96
 	 * Functions.getField method.
 	 *
 	 * @param planet Planet ID value.
-	 * @param JD Julian day of calculations.
-	 * @return A Series96_set object.
+	 * @return The Series96_set objects for all blocks in the file.
 	 */
-	private Series96_set readSeries96(TARGET planet, double JD) throws JPARSECException
+	private static Series96_set[] readSeries96(TARGET planet) throws JPARSECException
 	{
 		String fich = Translate.translate(planet.getName(), Translate.getDefaultLanguage(), Translate.LANGUAGE.ENGLISH);
 
 		String line = "";
-		Series96_set set = new Series96_set();
+		ArrayList<Series96_set> blocks = new ArrayList<Series96_set>();
 
 		// Lets read the catalogue entries
 		try
 		{
-			InputStream is = getClass().getClassLoader().getResourceAsStream(Series96.PATH + fich);
+			InputStream is = Series96.class.getClassLoader().getResourceAsStream(Series96.PATH + fich);
+			if (is == null) throw new FileNotFoundException(Series96.PATH + fich);
 			BufferedReader dis = new BufferedReader(new InputStreamReader(is));
 
 			line = dis.readLine();
-			set.TDEB = Double.parseDouble(FileIO.getField(2, line.trim(), " ", true));
-			set.DT = Double.parseDouble(FileIO.getField(3, line.trim(), " ", true));
-			set.MX = Integer.parseInt(FileIO.getField(4, line.trim(), " ", true));
-			set.IMAX = Integer.parseInt(FileIO.getField(5, line.trim(), " ", true));
-			set.IBLOCK = Integer.parseInt(FileIO.getField(6, line.trim(), " ", true));
-			set.TFIN = set.TDEB + set.DT * set.IBLOCK;
-
-			int nb = (int) ((JD - set.TDEB) / set.DT) + 1;
-
-			for (int m = 0; m <= set.MX; m++)
+			double TDEB = Double.parseDouble(FileIO.getField(2, line.trim(), " ", true));
+			double DT = Double.parseDouble(FileIO.getField(3, line.trim(), " ", true));
+			int MX = Integer.parseInt(FileIO.getField(4, line.trim(), " ", true));
+			int IMAX = Integer.parseInt(FileIO.getField(5, line.trim(), " ", true));
+			int IBLOCK = Integer.parseInt(FileIO.getField(6, line.trim(), " ", true));
+
+			int NF[] = new int[MX + 1];
+			double FQ[][] = new double[MX + 1][];
+			for (int m = 0; m <= MX; m++)
 			{
 				line = dis.readLine();
-				set.NF[m] = Integer.parseInt(line.trim());
+				NF[m] = Integer.parseInt(line.trim());
+				FQ[m] = new double[NF[m]];
 
-				for (int i = 0; i < set.NF[m]; i++)
+				for (int i = 0; i < NF[m]; i++)
 				{
 					line = dis.readLine();
-					set.FQ[m][i] = Double.parseDouble(line.trim());
+					FQ[m][i] = Double.parseDouble(line.trim());
 				}
 			}
 			line = dis.readLine();
 
-			for (int k = 1; k <= nb; k++)
+			for (int k = 1; k <= IBLOCK; k++)
 			{
+				Series96_set set = new Series96_set(TDEB, DT, MX, IMAX, IBLOCK, NF, FQ);
 				for (int iv = 0; iv < 3; iv++)
 				{
 					line = dis.readLine();
+					if (line == null) break;
 
 					for (int i = 0; i <= set.IMAX; i = i + 2)
 					{
@@ -421,6 +455,8 @@ public class Series96
 					}
 
 				}
+				if (line == null) break;
+				blocks.add(set);
 			}
 
 			dis.close();
@@ -433,7 +469,8 @@ public class Series96
 			throw new JPARSECException("error while reading file " + fich + ".", e2);
 		}
 
-		return set;
+		if (blocks.size() == 0) throw new JPARSECException("no data in file " + fich + ".");
+		return blocks.toArray(new Series96_set[blocks.size()]);
 	}
 
 	/**
@@ -584,7 +621,7 @@ public class Series96
 
 		// Obtain heliocentric ecliptic coordinates, mean equinox of date
 		double helio_object[] = Series96.getHeliocentricEquatorialPositionJ2000(JD_TDB - light_time, eph.targetBody);
-		Object o = DataBase.getData("offsetPosition", true);
+		Object o = EphemerisContext.getCurrent().offsetPosition;
 		if (o != null) {
 			double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 			helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -600,9 +637,9 @@ public class Series96
 					new TARGET[] {TARGET.JUPITER, TARGET.SATURN, TARGET.EARTH}, JD_TDB, false, obs);
 
 			geo_eq = Ephem.aberration(geo_eq, earth, light_time);
-			DataBase.addData("GCRS", geo_eq, true);
+			EphemerisContext.getCurrent().gcrs = geo_eq;
 		} else {
-			DataBase.addData("GCRS", null, true);
+			EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correction to output frame. */
@@ -669,7 +706,7 @@ public class Series96
 			ephem_elem = Ephem.topocentricCorrection(time, obs, eph, ephem_elem);
 
 		/* Physical ephemeris */
-		Object gcrs = DataBase.getData("GCRS", true);
+		double[] gcrs = EphemerisContext.getCurrent().gcrs;
 		EphemerisElement new_eph = new EphemerisElement(eph.targetBody, EphemerisElement.COORDINATES_TYPE.APPARENT,
 				EphemerisElement.EQUINOX_OF_DATE, eph.isTopocentric, eph.ephemMethod, eph.frame);
 		EphemElement ephem_elem2 = ephem_elem;
@@ -683,7 +720,7 @@ public class Series96
 			ephem_elem2 = PhysicalParameters.physicalParameters(JD_TDB, Vsop.vsopEphemeris(time, obs, new_eph), ephem_elem2, obs, eph);
 		}
 		PhysicalParameters.setPhysicalParameters(ephem_elem, ephem_elem2, time, obs, eph);
-		DataBase.addData("GCRS", gcrs, true);
+		EphemerisContext.getCurrent().gcrs = gcrs;
 
 		/* Horizontal coordinates */
 		if (eph.isTopocentric)
@@ -699,33 +736,42 @@ public class Series96
 	}
 };
 
-/* A set of values (one block) in the Series96 files */
+/* A set of values (one block) in the Series96 files. The header values and
+ * frequencies are shared by all blocks of the same file. */
 class Series96_set
 {
-	Series96_set()
+	Series96_set(double TDEB, double DT, int MX, int IMAX, int IBLOCK, int NF[], double FQ[][])
 	{
-		NF = new int[4];
-		MX = 0;
-		IMAX = 0;
-		IBLOCK = 0;
-		TDEB = 0.0;
-		DT = .0;
-		TFIN = 0.0;
-		FQ = new double[4][300];
-		SEC = new double[4][4];
-		CT = new double[4][4][300];
-		ST = new double[4][4][300];
+		this.NF = NF;
+		this.MX = MX;
+		this.IMAX = IMAX;
+		this.IBLOCK = IBLOCK;
+		this.TDEB = TDEB;
+		this.DT = DT;
+		this.TFIN = TDEB + DT * IBLOCK;
+		this.FQ = FQ;
+		SEC = new double[3][Math.max(IMAX + 2, IMAX * 2)];
+		CT = new double[3][MX + 1][];
+		ST = new double[3][MX + 1][];
+		for (int iv = 0; iv < 3; iv++)
+		{
+			for (int m = 0; m <= MX; m++)
+			{
+				CT[iv][m] = new double[NF[m]];
+				ST[iv][m] = new double[NF[m]];
+			}
+		}
 	};
 
-	int NF[];
-	int MX;
-	int IMAX;
-	int IBLOCK;
-	double TDEB;
-	double DT;
-	double TFIN;
-	double FQ[][];
-	double SEC[][];
-	double CT[][][];
-	double ST[][][];
+	final int NF[];
+	final int MX;
+	final int IMAX;
+	final int IBLOCK;
+	final double TDEB;
+	final double DT;
+	final double TFIN;
+	final double FQ[][];
+	final double SEC[][];
+	final double CT[][][];
+	final double ST[][][];
 }
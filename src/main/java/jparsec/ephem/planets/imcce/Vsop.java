@@ -26,8 +26,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.ALGORITHM;
 import jparsec.ephem.EphemerisElement.COORDINATES_TYPE;
@@ -51,7 +54,7 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
+import jparsec.util.Configuration;
 import jparsec.util.JPARSECException;
 
 /**
@@ -79,6 +82,23 @@ public class Vsop
 	 * @throws JPARSECException Thrown if the calculation fails.
 	 */
 	public static double[] getHeliocentricEclipticPositionJ2000(double JD, TARGET planet) throws JPARSECException
+	{
+		return getHeliocentricEclipticPositionJ2000(JD, planet, Configuration.VSOP87_TRUNCATION_THRESHOLD);
+	}
+
+	/**
+	 * Obtain rectangular position of a planet using VSOP87 theory, skipping the
+	 * terms with small amplitudes. Mean equinox and ecliptic J2000. The terms
+	 * of each planet are read from the file only the first time.
+	 *
+	 * @param JD Julian day in TDB.
+	 * @param planet Planet ID.
+	 * @param threshold Terms with an absolute amplitude below this value, in AU, are
+	 * skipped. Set to 0 to use the full theory.
+	 * @return Array (x, y, z, vx, vy, vz).
+	 * @throws JPARSECException Thrown if the calculation fails.
+	 */
+	public static double[] getHeliocentricEclipticPositionJ2000(double JD, TARGET planet, double threshold) throws JPARSECException
 	{
 		String extension;
 		switch (planet)
@@ -124,110 +144,185 @@ public class Vsop
 			return new double[] { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0 };
 
 		double jcen = Functions.toCenturies(JD);
-		return evaluateVsop(extension, jcen);
+		return evaluateVsop(extension, jcen, threshold);
 	}
 
 	private static final String PATH_TO_FILE = FileIO.VSOP87_DIRECTORY + "VSOP87a";
 
+	/**
+	 * The terms of the VSOP87A series for a given planet, read once from the
+	 * file and kept in memory as primitive arrays. Terms are grouped in blocks,
+	 * each of them for a given variable and power of time.
+	 */
+	private static final class Series
+	{
+		/** Theory id of the file. */
+		final int iv;
+		/** Variable index (0-2) and power of time plus one for each block. */
+		final int blockVariable[], blockExponent[];
+		/** Index of the first term of each block, with an additional element for the end. */
+		final int blockStart[];
+		/** Amplitude, phase, and frequency of each term. */
+		final double a[], b[], c[];
+
+		Series(String path) throws JPARSECException
+		{
+			FileFormatElement VSOP_begin_record[] =
+			{ new FileFormatElement(18, 18, "THEORY_ID"), new FileFormatElement(23, 29, "PLANET_NAME"),
+					new FileFormatElement(42, 42, "VARIABLE_NUMBER"), new FileFormatElement(60, 60, "TIME_EXPONENT"),
+					new FileFormatElement(61, 67, "NUMER_OF_TERMS") };
+			FileFormatElement VSOP_record[] =
+			{ new FileFormatElement(80, 97, "A"), new FileFormatElement(98, 111, "B"), new FileFormatElement(112, 131, "C") };
+
+			ReadFormat rf_begin = new ReadFormat();
+			rf_begin.setFormatToRead(VSOP_begin_record);
+			ReadFormat rf = new ReadFormat();
+			rf.setFormatToRead(VSOP_record);
+
+			ArrayList<int[]> blocks = new ArrayList<int[]>();
+			ArrayList<double[]> terms = new ArrayList<double[]>();
+			int theory = -1;
+			try
+			{
+				InputStream is = Vsop.class.getClassLoader().getResourceAsStream(path);
+				if (is == null) throw new FileNotFoundException(path);
+				BufferedReader dis = new BufferedReader(new InputStreamReader(is));
+
+				String line;
+				while ((line = dis.readLine()) != null)
+				{
+					int iv = rf_begin.readInteger(line, "THEORY_ID");
+					int ic = rf_begin.readInteger(line, "VARIABLE_NUMBER") - 1;
+					int it = rf_begin.readInteger(line, "TIME_EXPONENT") + 1;
+					int in = rf_begin.readInteger(line, "NUMER_OF_TERMS");
+					if (theory < 0) theory = iv;
+
+					blocks.add(new int[] {ic, it, terms.size()});
+					for (int n = 0; n < in; n++)
+					{
+						line = dis.readLine();
+						terms.add(new double[] {rf.readDouble(line, "A"), rf.readDouble(line, "B"), rf.readDouble(line, "C")});
+					}
+				}
+
+				// Close file
+				dis.close();
+			} catch (FileNotFoundException e1)
+			{
+				throw new JPARSECException("file not found in path " + path+".", e1);
+			} catch (IOException e2)
+			{
+				throw new JPARSECException("error while reading file " + path + ".", e2);
+			}
+
+			iv = theory;
+			int nb = blocks.size(), nt = terms.size();
+			blockVariable = new int[nb];
+			blockExponent = new int[nb];
+			blockStart = new int[nb + 1];
+			for (int i = 0; i < nb; i++)
+			{
+				int block[] = blocks.get(i);
+				blockVariable[i] = block[0];
+				blockExponent[i] = block[1];
+				blockStart[i] = block[2];
+			}
+			blockStart[nb] = nt;
+			a = new double[nt];
+			b = new double[nt];
+			c = new double[nt];
+			for (int i = 0; i < nt; i++)
+			{
+				double term[] = terms.get(i);
+				a[i] = term[0];
+				b[i] = term[1];
+				c[i] = term[2];
+			}
+		}
+	}
+
+	private static final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<String, Series>();
+
+	/**
+	 * Returns the series for a given planet, reading the file the first time.
+	 * @param extension Planet extension of file.
+	 * @return The series.
+	 * @throws JPARSECException If the file cannot be read.
+	 */
+	private static Series getSeries(String extension) throws JPARSECException
+	{
+		Series s = series.get(extension);
+		if (s == null) {
+			s = new Series(PATH_TO_FILE+"."+extension);
+			Series previous = series.putIfAbsent(extension, s);
+			if (previous != null) s = previous;
+		}
+		return s;
+	}
+
 	/**
 	 * Evaluates full VSOP87A theory.
 	 *
 	 * @param extension Planet extension of file.
 	 * @param jcen Julian centuries from J2000.
+	 * @param threshold Terms with an absolute amplitude below this value are skipped.
 	 * @return Array (x, y, z, vx, vy, vz), mean equinox and ecliptic J2000.
 	 * @throws JPARSECException Thrown if the calculation fails.
 	 */
-	private static double[] evaluateVsop(String extension, double jcen) throws JPARSECException
+	private static double[] evaluateVsop(String extension, double jcen, double threshold) throws JPARSECException
 	{
+		Series s = getSeries(extension);
 		double out[] = new double[]
 		{ 0.0, 0.0, 0.0, 0.0, 0.0, 0.0 };
 
 		double jmil = jcen * 0.1;
-		double t[] = new double[]
-		{ 0.0, 1.0, jmil, Math.pow(jmil, 2.0), Math.pow(jmil, 3.0), Math.pow(jmil, 4.0), Math.pow(jmil, 5.0) };
+		double t[] = new double[7];
+		t[1] = 1.0;
+		for (int i = 2; i < 7; i++)
+		{
+			t[i] = t[i - 1] * jmil;
+		}
 
+		int iv = s.iv;
 		int k = 0;
-		int ideb = 0;
-		int iv = 0;
-
-		/* File reading and substitution of time */
-		String line = "";
-		FileFormatElement VSOP_begin_record[] =
-		{ new FileFormatElement(18, 18, "THEORY_ID"), new FileFormatElement(23, 29, "PLANET_NAME"),
-				new FileFormatElement(42, 42, "VARIABLE_NUMBER"), new FileFormatElement(60, 60, "TIME_EXPONENT"),
-				new FileFormatElement(61, 67, "NUMER_OF_TERMS") };
-		FileFormatElement VSOP_record[] =
-		{ new FileFormatElement(80, 97, "A"), new FileFormatElement(98, 111, "B"), new FileFormatElement(112, 131, "C") };
-
-		ReadFormat rf_begin = new ReadFormat();
-		rf_begin.setFormatToRead(VSOP_begin_record);
-		ReadFormat rf = new ReadFormat();
-		rf.setFormatToRead(VSOP_record);
-
-		try
-		{
-			InputStream is = Vsop.class.getClassLoader().getResourceAsStream(PATH_TO_FILE+"."+extension);
-			BufferedReader dis = new BufferedReader(new InputStreamReader(is));
+		if (iv == 0)
+			k = 2;
+		if (iv == 2 || iv == 4)
+			k = 1;
 
-			while ((line = dis.readLine()) != null)
+		double A[] = s.a, B[] = s.b, C[] = s.c;
+		for (int block = 0; block < s.blockVariable.length; block++)
+		{
+			int ic = s.blockVariable[block];
+			int it = s.blockExponent[block];
+			double tit = t[it], tit1 = t[it - 1] * (it - 1), pos = 0.0, vel = 0.0;
+			for (int n = s.blockStart[block]; n < s.blockStart[block + 1]; n++)
 			{
-
-				iv = rf_begin.readInteger(line, "THEORY_ID");
-				int ic = rf_begin.readInteger(line, "VARIABLE_NUMBER") - 1;
-				int it = rf_begin.readInteger(line, "TIME_EXPONENT") + 1;
-				int in = rf_begin.readInteger(line, "NUMER_OF_TERMS");
-
-				if (ideb == 0)
-				{
-					ideb = 1;
-					if (iv == 0)
-						k = 2;
-					if (iv == 2 || iv == 4)
-						k = 1;
-				}
-
-				if (in > 0)
-				{
-					for (int n = 0; n < in; n++)
-					{
-						line = dis.readLine();
-						double a = rf.readDouble(line, "A");
-						double b = rf.readDouble(line, "B");
-						double c = rf.readDouble(line, "C");
-
-						double u = b + c * t[2];
-						double cu = Math.cos(u);
-						out[ic] += a * cu * t[it];
-						if (iv == 0)
-							break;
-						double su = Math.sin(u);
-						out[ic + 3] += t[it - 1] * (it - 1) * a * cu;
-						out[ic + 3] -= t[it] * a * c * su;
-					}
-				}
+				double a = A[n];
+				if (threshold > 0.0 && Math.abs(a) < threshold) continue;
+
+				double u = B[n] + C[n] * jmil;
+				double cu = Math.cos(u);
+				pos += a * cu;
+				if (iv == 0)
+					break;
+				vel += tit1 * a * cu - tit * a * C[n] * Math.sin(u);
 			}
+			out[ic] += pos * tit;
+			out[ic + 3] += vel;
+		}
 
-			// Close file
-			dis.close();
-
-			if (iv != 0)
+		if (iv != 0)
+		{
+			for (int i = 3; i < 6; i++)
 			{
-				for (int i = 3; i < 6; i++)
-				{
-					out[i] = out[i] / Constant.JULIAN_DAYS_PER_MILLENIA;
-				}
+				out[i] = out[i] / Constant.JULIAN_DAYS_PER_MILLENIA;
 			}
-
-			if (k != 0)
-				out[k] = Functions.normalizeRadians(out[k]);
-		} catch (FileNotFoundException e1)
-		{
-			throw new JPARSECException("file not found in path " + PATH_TO_FILE+".", e1);
-		} catch (IOException e2)
-		{
-			throw new JPARSECException("error while reading file " + PATH_TO_FILE + ".", e2);
 		}
 
+		if (k != 0)
+			out[k] = Functions.normalizeRadians(out[k]);
+
 		return out;
 	}
 
@@ -253,7 +348,7 @@ public class Vsop
 		double helio_object[] = getHeliocentricEclipticPositionJ2000(JD - light_time, planet);
 
 		if (addSat) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -423,7 +518,7 @@ public class Vsop
 		// Obtain heliocentric equatorial coordinates
 		double helio_object[] = Vsop.getHeliocentricEclipticPositionJ2000(JD_TDB - light_time, eph.targetBody);
 		if (addOffset) {
-			Object o = DataBase.getData("offsetPosition", true);
+			Object o = EphemerisContext.getCurrent().offsetPosition;
 			if (o != null) {
 				double[] planetocentricPositionOfTargetSatellite = (double[]) o;
 				helio_object = Functions.sumVectors(helio_object, planetocentricPositionOfTargetSatellite);
@@ -442,9 +537,9 @@ public class Vsop
 					new TARGET[] {TARGET.JUPITER, TARGET.SATURN, TARGET.EARTH}, JD_TDB, false, obs);
 
 			geo_eq = Ephem.aberration(geo_eq, geo_sun_0, light_time);
-			if (addGCRS) DataBase.addData("GCRS", geo_eq, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = geo_eq;
 		} else {
-			if (addGCRS) DataBase.addData("GCRS", null, true);
+			if (addGCRS) EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correction to output frame. */
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.astronomy.Star;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.Functions;
 import jparsec.ephem.Nutation;
@@ -50,7 +51,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 import jparsec.util.Translate;
 
@@ -619,6 +619,31 @@ public class SDP4_SGP4
   }
 
 	private boolean FAST_MODE = false;
+	private final double[] propagateTS = new double[1];
+	/* Initialization flag for propagate, the model is initialized only in the first call. */
+	private final int[] propagateIFLAG = new int[] {1};
+
+  /**
+   * Propagates the orbit to a given instant with the SGP4 or SDP4 model, without
+   * any topocentric correction or transformation to other time scales. This method
+   * does not allocate objects, but it stores the results in this instance, so it should
+   * not be called from different threads for the same instance.
+   *
+   * @param JD Julian day in UTC.
+   * @param out Array of at least 3 elements to store the geocentric position in km,
+   * referred to the true equator and mean equinox of date.
+   * @throws JPARSECException If an error occurs.
+   */
+  void propagate(double JD, double out[]) throws JPARSECException
+  {
+    propagateTS[0] = C1_XMNPDA * (JD - itsEpochJD);
+    if (!isDeep) {RunSGP4(propagateIFLAG, propagateTS);}
+    else                {RunSDP4(propagateIFLAG, propagateTS);}
+
+    out[0] = itsR[0] * 1.0E6;
+    out[1] = itsR[1] * 1.0E6;
+    out[2] = itsR[2] * 1.0E6;
+  }
 
   /**
    * Calculate ephemeris for the satellite.
@@ -656,9 +681,6 @@ public class SDP4_SGP4
     int[] IFLAG = new int[1];
 
 	double JD = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UTC);
-	boolean exactMode = FastMath.EXACT_MODE;
-	FastMath.EXACT_MODE = false;
-	if (!FAST_MODE) FastMath.EXACT_MODE = true;
 
     TS[0] = C1_XMNPDA * (JD - itsEpochJD);
 
@@ -672,10 +694,10 @@ public class SDP4_SGP4
 	double LON = obs.getLongitudeRad();
 	double HT_km = obs.getHeight() / 1000.0;
 
-	double cosLAT = FastMath.cos(LAT);
-	double sinLAT = FastMath.sin(LAT);
-	double cosLON = FastMath.cos(LON);
-	double sinLON = FastMath.sin(LON);
+	double cosLAT = cos(LAT, FAST_MODE);
+	double sinLAT = sin(LAT, FAST_MODE);
+	double cosLON = cos(LON, FAST_MODE);
+	double sinLON = sin(LON, FAST_MODE);
 
 	ELLIPSOID ellipsoid = obs.getEllipsoid();
 	double equatorialRadius = ellipsoid.getEquatorialRadius();
@@ -723,8 +745,8 @@ public class SDP4_SGP4
 	double GHAA = jparsec.time.SiderealTime.greenwichMeanSiderealTime(time, obs, eph);
 	if (!FAST_MODE) GHAA += jparsec.time.SiderealTime.equationOfEquinoxes(time, obs, eph);
 
-	double C = FastMath.cos(GHAA);
-	double S = -FastMath.sin(GHAA);
+	double C = cos(GHAA, FAST_MODE);
+	double S = -sin(GHAA, FAST_MODE);
 	double Sx = (SATx * C - SATy * S);
 	double Vx = VELx * C - VELy * S;
 	double Sy = (SATx * S + SATy * C);
@@ -735,7 +757,7 @@ public class SDP4_SGP4
 	double JD_TDB = 0;
 	if (!FAST_MODE) {
 		JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-		DataBase.addData("GCRS", Precession.precessToJ2000(JD_TDB, new double[] {Sx / Constant.AU, Sy / Constant.AU, Sz / Constant.AU}, eph), true);
+		EphemerisContext.getCurrent().gcrs = Precession.precessToJ2000(JD_TDB, new double[] {Sx / Constant.AU, Sy / Constant.AU, Sz / Constant.AU}, eph);
 	}
 
 	// Compute and manipulate range/velocity/antenna vectors
@@ -749,12 +771,12 @@ public class SDP4_SGP4
 	double U = Rx * Ux + Ry * Uy + Rz * Uz; // UP Component of unit range
 	double E = Rx * Ex + Ry * Ey; // EAST do (Ez=0)
 	double N = Rx * Nx + Ry * Ny + Rz * Nz; // NORTH do
-	double AZI = FastMath.atan2_accurate(E, N); // Azimuth
+	double AZI = atan2(E, N, FAST_MODE); // Azimuth
 	double EL = FAST_MODE ? FastMath.asin(U) : Math.asin(U); // Elevation
 
 	// Calculate sub-satellite Lat/Lon
 	double RS = Math.sqrt(Sx * Sx + Sy * Sy + Sz * Sz);
-	double SLON = FastMath.atan2_accurate(Sy, Sx); // Lon, + East
+	double SLON = atan2(Sy, Sx, FAST_MODE); // Lon, + East
 	double SLAT = FAST_MODE ? FastMath.asin(Sz / RS) : Math.asin(Sz / RS); // Lat, + North
 	double HGT = RS - equatorialRadius;
 
@@ -800,14 +822,14 @@ public class SDP4_SGP4
 
 	double MAS = sunMeanAnomaly + Constant.DEG_TO_RAD * MASD * T; // MA of Sun round its orbit
 	MAS = Functions.normalizeRadians(MAS);
-	double TAS = sunMeanRA + earthTraslationRate * T + EQC1 * FastMath.sin(MAS) + EQC2 * FastMath.sin(2 * MAS) + EQC3 * FastMath.sin(3 * MAS);
+	double TAS = sunMeanRA + earthTraslationRate * T + EQC1 * sin(MAS, FAST_MODE) + EQC2 * sin(2 * MAS, FAST_MODE) + EQC3 * sin(3 * MAS, FAST_MODE);
 	TAS = Functions.normalizeRadians(TAS);
 
 	double INS = Constant.DEG_TO_RAD * 23.4393;
-	double CNS = FastMath.cos(INS);
-	double SNS = FastMath.sin(INS); // Sun's inclination
-	C = FastMath.cos(TAS);
-	S = FastMath.sin(TAS); // Sin/Cos Sun's true anomaly
+	double CNS = cos(INS, FAST_MODE);
+	double SNS = sin(INS, FAST_MODE); // Sun's inclination
+	C = cos(TAS, FAST_MODE);
+	S = sin(TAS, FAST_MODE); // Sin/Cos Sun's true anomaly
 	double SUNx = C;
 	double SUNy = S * CNS;
 	double SUNz = S * SNS; // Sun unit vector - CELESTIAL coords
@@ -822,26 +844,26 @@ public class SDP4_SGP4
 	double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
 	double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
 	double b = a * Math.sqrt(1.0 - sat.eccentricity * sat.eccentricity); // Semi minor axis km. Note 'in astronomy' (comets/asteroids) b=a*(1-e)
-	double sinIncl = FastMath.sin(sat.inclination);
-	double cosIncl = FastMath.cos(sat.inclination);
+	double sinIncl = sin(sat.inclination, FAST_MODE);
+	double cosIncl = cos(sat.inclination, FAST_MODE);
 	double PC = equatorialRadius * a / (b * b);
 	PC = 1.5 * J2 * PC * PC * sat.meanMotion; // Precession const, rad/Day
 	double nodePrecessionRate = -PC * cosIncl; // Node precession rate, rad/day
 	double perigeePrecessionRate = PC * (5.0 * cosIncl * cosIncl - 1.0) / 2.0; // Perigee precession rate, rad/day
 	// Antenna unit vector in orbit plane coordinates.
-	cosLON = FastMath.cos(Constant.DEG_TO_RAD * ALON);
-	sinLON = FastMath.sin(Constant.DEG_TO_RAD * ALON);
-	cosLAT = FastMath.cos(Constant.DEG_TO_RAD * ALAT);
-	sinLAT = FastMath.sin(Constant.DEG_TO_RAD * ALAT);
+	cosLON = cos(Constant.DEG_TO_RAD * ALON, FAST_MODE);
+	sinLON = sin(Constant.DEG_TO_RAD * ALON, FAST_MODE);
+	cosLAT = cos(Constant.DEG_TO_RAD * ALAT, FAST_MODE);
+	sinLAT = sin(Constant.DEG_TO_RAD * ALAT, FAST_MODE);
 	double Ax = -cosLAT * cosLON;
 	double Ay = -cosLAT * sinLON;
 	double Az = -sinLAT;
 	double correctedArgPerigee = sat.argumentOfPerigee + perigeePrecessionRate * T * KDP;
-	double cosCorrectedArgPerigee = FastMath.cos(correctedArgPerigee);
-	double sinCorrectedArgPerigee = FastMath.sin(correctedArgPerigee);
+	double cosCorrectedArgPerigee = cos(correctedArgPerigee, FAST_MODE);
+	double sinCorrectedArgPerigee = sin(correctedArgPerigee, FAST_MODE);
 	double correctedNodeRA = sat.ascendingNodeRA + nodePrecessionRate * T * KDP;
-	double cosCorrectedNodeRA = FastMath.cos(correctedNodeRA);
-	double sinCorrectedNodeRA = FastMath.sin(correctedNodeRA);
+	double cosCorrectedNodeRA = cos(correctedNodeRA, FAST_MODE);
+	double sinCorrectedNodeRA = sin(correctedNodeRA, FAST_MODE);
 	// Plane -> celestial coordinate transformation, [C] = [RAAN]*[IN]*[AP]
 	double CXx = cosCorrectedArgPerigee * cosCorrectedNodeRA - sinCorrectedArgPerigee * cosIncl * sinCorrectedNodeRA;
 	double CXy = -sinCorrectedArgPerigee * cosCorrectedNodeRA - cosCorrectedArgPerigee * cosIncl * sinCorrectedNodeRA;
@@ -873,8 +895,8 @@ public class SDP4_SGP4
 		ECL = "Eclipsed"; // - for sunny side
 
 	// Obtain SUN unit vector in GEOCENTRIC coordinates
-	C = FastMath.cos(-GHAA);
-	S = FastMath.sin(-GHAA);
+	C = cos(-GHAA, FAST_MODE);
+	S = sin(-GHAA, FAST_MODE);
 	double Hx = SUNx * C - SUNy * S;
 	double Hy = SUNx * S + SUNy * C; // If Sun more than 10 deg below horizon
 	double Hz = SUNz; // satellite possibly visible
@@ -882,7 +904,7 @@ public class SDP4_SGP4
 	U = Hx * Ux + Hy * Uy + Hz * Uz;
 	E = Hx * Ex + Hy * Ey;
 	N = Hx * Nx + Hy * Ny + Hz * Nz;
-	double SAZ = FastMath.atan2_accurate(E, N); // Azimuth
+	double SAZ = atan2(E, N, FAST_MODE); // Azimuth
 	double SEL = FAST_MODE ? FastMath.asin(U) : Math.asin(U); // Elevation
 
 	if ((SEL * Constant.RAD_TO_DEG < -10.0) && !(ECL.equals("Eclipsed")))
@@ -920,7 +942,6 @@ public class SDP4_SGP4
 	if (ECL.equals("Eclipsed")) isEclipsed = true;
 	if (isEclipsed) ILL = 0;
 
-	FastMath.EXACT_MODE = exactMode;
 
 	double ELO = 0;
 	if (FAST_MODE) {
@@ -1074,23 +1095,6 @@ public class SDP4_SGP4
 		return ephem;
 	}
 
-	// Returns the approximate time in days required for a given satellite to move from
-	// one side to the other side of the sky from a given observer.
-	private static double getBestQuickSearch(SatelliteOrbitalElement sat, double minElev) {
-		double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R'
-		double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
-		double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
-		double ecc = sat.eccentricity;
-		double b = a * Math.sqrt(1.0 - ecc * ecc); // Semi minor axis km
-
-		double r = (a + b) / 2.0 - Constant.EARTH_RADIUS;
-		double ang = Constant.PI_OVER_TWO - 2.0 * minElev;
-		double dr = ang * r;
-		double drDay = Constant.TWO_PI * (r + Constant.EARTH_RADIUS);
-		double dt = dr * Constant.SECONDS_PER_DAY / drDay;
-		return dt / Constant.SECONDS_PER_DAY; // days
-	}
-
 	/**
 	 * Obtain the time of the next pass of the satellite above observer. It can be used
 	 * as an starting point prior to obtain rise, set, transit times.
@@ -1100,8 +1104,9 @@ public class SDP4_SGP4
 	 * of the horizon, it is possible to set a value equal to zero, but the
 	 * satellite will be probably too faint.
 	 * <P>
-	 * The pass is a search iteration with a precision of 1 minute of time. If
-	 * the satellite appears too quickly or just above minimum elevation only
+	 * The pass is a search iteration with a step of 0.5 minutes of time, and the
+	 * instant of the pass is then refined to 1s using {@linkplain SatellitePassFinder}.
+	 * If the satellite appears too quickly or just above minimum elevation only
 	 * for a few seconds, then the search could fail. Another possible cause
 	 * of fail is for geostationary satellites.
 	 *
@@ -1128,84 +1133,15 @@ public class SDP4_SGP4
 
 		if (min_elevation < 0.0 || min_elevation >= Math.PI*0.5) throw new JPARSECException("invalid minimum elevation.");
 
-		// Obtain ephemeris
-		SDP4_SGP4 s = new SDP4_SGP4(sat);
-		s.FAST_MODE = true;
-		SatelliteEphemElement ephem = s.calcSatellite(time, obs, eph, false);
-
-		// Obtain Julian day in reference scale
-		SCALE refScale = SCALE.UNIVERSAL_TIME_UTC;
-		double JD = TimeScale.getJD(time, obs, eph, refScale);
+		double JD = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UTC);
 		double JD_LT = TimeScale.getJD(time, obs, eph, SCALE.LOCAL_TIME);
 
-		// Set time step to 0.5 minutes
-		double time_step = 0.5 / (Constant.MINUTES_PER_HOUR * Constant.HOURS_PER_DAY);
-		int nstep = 0;
-		int max_step = (int) Math.floor(maxDays / time_step);
-		double qs = getBestQuickSearch(sat, min_elevation) / time_step;
-		int quickSearch = (int) (0.5 + qs / 2.0);
-		if (quickSearch < 1) quickSearch = 1;
-		if (quickSearch > 8) quickSearch = 8;
-
-		// Obtain next pass. First we obtain the time when the satellite is
-		// below the minimum elevation (necessary if it is currently above). Then, we
-		// obtain the next pass
-		while (ephem.elevation > min_elevation && nstep < max_step && !current)
-		{
-			nstep++;
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
-
-			ephem = s.calcSatellite(new_time, obs, eph, false);
-		}
-
-		if (nstep >= max_step) {
-//			JPARSECException.addWarning("this satellite is permanently above the horizon and the minimum elevation.");
-			return 0.0;
-		}
-
-		while (ephem.elevation < min_elevation && nstep < max_step)
-		{
-			if (ephem.elevation < -25.0 * Constant.DEG_TO_RAD) {
-				nstep = nstep + quickSearch;
-			} else {
-				if (ephem.elevation < -15.0 * Constant.DEG_TO_RAD) {
-					int bqs = quickSearch / 2;
-					if (bqs < 1) bqs = 1;
-					nstep = nstep + bqs;
-				} else {
-					int bqs = quickSearch / 4;
-					if (bqs < 1 || ephem.elevation > 0) bqs = 1;
-					nstep = nstep + bqs;
-				}
-			}
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
-
-			ephem = s.calcSatellite(new_time, obs, eph, false);
-		}
-
-		while (ephem.elevation > min_elevation && nstep < max_step)
-		{
-			nstep--;
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
-
-			ephem = s.calcSatellite(new_time, obs, eph, false);
-		}
-
-		double next_pass = JD_LT + nstep * time_step;
-
-		if (next_pass >= JD_LT + maxDays) {
-//			JPARSECException.addWarning("could not find next pass time during next "+maxDays+" days.");
-			next_pass = 0.0;
-		}
-
-		if (ephem.isEclipsed) next_pass = -next_pass;
+		SatellitePassFinder finder = new SatellitePassFinder(sat, obs, eph, SatellitePassFinder.ACCURACY.FAST);
+		SatellitePassFinder.Pass pass = finder.getNextRise(JD, min_elevation, maxDays, current);
+		if (pass == null) return 0.0;
 
+		double next_pass = pass.rise + (JD_LT - JD);
+		if (pass.eclipsedAtRise) next_pass = -next_pass;
 		return next_pass;
 	}
 
@@ -1850,6 +1786,28 @@ public class SDP4_SGP4
 		return satOut;
 	}
 
+  /**
+   * Sine, from {@linkplain FastMath} in fast mode. The shared FastMath.EXACT_MODE
+   * flag is not modified, so that calculations can be done in different threads. */
+  private static double sin(double x, boolean fast)
+  {
+    return fast ? FastMath.sin(x) : Math.sin(x);
+  }
+
+  /**
+   * Cosine, from {@linkplain FastMath} in fast mode. */
+  private static double cos(double x, boolean fast)
+  {
+    return fast ? FastMath.cos(x) : Math.cos(x);
+  }
+
+  /**
+   * Arc-tangent of y/x, from {@linkplain FastMath} in fast mode. */
+  private static double atan2(double y, double x, boolean fast)
+  {
+    return fast ? FastMath.atan2_accurate(y, x) : Math.atan2(y, x);
+  }
+
   /**
    * A helper routine to calculate the two-dimensional inverse tangens. */
   private final double ACTAN(double SINX, double COSX)
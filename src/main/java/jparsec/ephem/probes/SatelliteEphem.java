@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.astronomy.Star;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.Functions;
 import jparsec.ephem.Nutation;
@@ -55,7 +56,6 @@ import jparsec.time.SiderealTime;
 import jparsec.time.TimeElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.time.TimeScale;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 import jparsec.util.Translate;
 
@@ -262,7 +262,27 @@ public class SatelliteEphem
 		return n;
 	}
 
-	private static boolean FAST_MODE = false;
+	/**
+	 * Sine, from {@linkplain FastMath} in fast mode. The shared FastMath.EXACT_MODE
+	 * flag is not modified, so that calculations can be done in different threads.
+	 */
+	private static double sin(double x, boolean fast) {
+		return fast ? FastMath.sin(x) : Math.sin(x);
+	}
+
+	/**
+	 * Cosine, from {@linkplain FastMath} in fast mode.
+	 */
+	private static double cos(double x, boolean fast) {
+		return fast ? FastMath.cos(x) : Math.cos(x);
+	}
+
+	/**
+	 * Arc-tangent of y/x, from {@linkplain FastMath} in fast mode.
+	 */
+	private static double atan2(double y, double x, boolean fast) {
+		return fast ? FastMath.atan2_accurate(y, x) : Math.atan2(y, x);
+	}
 
 	/**
 	 * Calculate the ephemeris of a satellite.
@@ -282,12 +302,14 @@ public class SatelliteEphem
 	 * @param sat Satellite orbital element set.
 	 * @param magAndSize True to calculate magnitude and size, which is a
 	 * relatively slow operation.
+	 * @param fastMode True to use approximate trigonometric functions, mean sidereal
+	 * time, and geometric coordinates, as required when searching for events.
 	 * @return Satellite ephem.
 	 * @throws JPARSECException If the method fails, for example because of an
 	 *         invalid date.
 	 */
 	private static SatelliteEphemElement calcSatellite(TimeElement time, ObserverElement obs, EphemerisElement eph,
-			SatelliteOrbitalElement sat, boolean magAndSize) throws JPARSECException
+			SatelliteOrbitalElement sat, boolean magAndSize, boolean fastMode) throws JPARSECException
 	{
 		double AZI, Hz, Hx, Hy, Ux, Uy, Uz, DNOM, ILL, SEL, SAZ, ELO;
 		double SUNx, SUNy, SUNz, C, S, GHAA, CUA, UMD, SATx, SATy, SATz, SSA;
@@ -305,9 +327,6 @@ public class SatelliteEphem
 		SLON = SLAT = HGT = ELO = RR = ILL = 0;
 
 		double JD = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UTC);
-		boolean exactMode = FastMath.EXACT_MODE;
-		FastMath.EXACT_MODE = false;
-		if (!FAST_MODE) FastMath.EXACT_MODE = true;
 
 		// Fixed (not real) values for the orientation of the satellite antenna
 		ALON = 180.0;
@@ -331,10 +350,10 @@ public class SatelliteEphem
 		LON = obs.getLongitudeRad();
 		HT_km = obs.getHeight() / 1000.0;
 
-		cosLAT = FastMath.cos(LAT);
-		sinLAT = FastMath.sin(LAT);
-		cosLON = FastMath.cos(LON);
-		sinLON = FastMath.sin(LON);
+		cosLAT = cos(LAT, fastMode);
+		sinLAT = sin(LAT, fastMode);
+		cosLON = cos(LON, fastMode);
+		sinLON = sin(LON, fastMode);
 
 		ELLIPSOID ellipsoid = obs.getEllipsoid();
 		equatorialRadius = ellipsoid.getEquatorialRadius();
@@ -382,8 +401,8 @@ public class SatelliteEphem
 		n = meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
 		a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
 		b = a * Math.sqrt(1.0 - ecc * ecc); // Semi minor axis km. Note 'in astronomy' (comets/asteroids) b=a*(1-e)
-		sinIncl = FastMath.sin(incl);
-		cosIncl = FastMath.cos(incl);
+		sinIncl = sin(incl, fastMode);
+		cosIncl = cos(incl, fastMode);
 		PC = equatorialRadius * a / (b * b);
 		PC = 1.5 * J2 * PC * PC * meanMotion; // Precession const, rad/Day
 		nodePrecessionRate = -PC * cosIncl; // Node precession rate, rad/day
@@ -395,8 +414,8 @@ public class SatelliteEphem
 		MAS0 = 356.0507; // MA Sun and rate, deg, deg/day
 		MASD = 0.98560028; // MA Sun and rate, deg, deg/day
 		INS = Constant.DEG_TO_RAD * 23.4393;
-		CNS = FastMath.cos(INS);
-		SNS = FastMath.sin(INS); // Sun's inclination
+		CNS = cos(INS, fastMode);
+		SNS = sin(INS, fastMode); // Sun's inclination
 		EQC1 = 0.03342;
 		EQC2 = 0.00035; // Sun's Equation of centre terms
 		EQC3 = 5.0E-6;
@@ -408,10 +427,10 @@ public class SatelliteEphem
 		sunMeanAnomaly = Constant.DEG_TO_RAD * (MAS0 + MASD * TEG); // Mean MA Sun ..
 
 		// Antenna unit vector in orbit plane coordinates.
-		cosLON = FastMath.cos(Constant.DEG_TO_RAD * ALON);
-		sinLON = FastMath.sin(Constant.DEG_TO_RAD * ALON);
-		cosLAT = FastMath.cos(Constant.DEG_TO_RAD * ALAT);
-		sinLAT = FastMath.sin(Constant.DEG_TO_RAD * ALAT);
+		cosLON = cos(Constant.DEG_TO_RAD * ALON, fastMode);
+		sinLON = sin(Constant.DEG_TO_RAD * ALON, fastMode);
+		cosLAT = cos(Constant.DEG_TO_RAD * ALAT, fastMode);
+		sinLAT = sin(Constant.DEG_TO_RAD * ALAT, fastMode);
 		Ax = -cosLAT * cosLON;
 		Ay = -cosLAT * sinLON;
 		Az = -sinLAT;
@@ -432,8 +451,8 @@ public class SatelliteEphem
 		D = 1.0;
 		do
 		{
-			C = FastMath.cos(EA);
-			S = FastMath.sin(EA);
+			C = cos(EA, fastMode);
+			S = sin(EA, fastMode);
 			DNOM = 1.0 - ecc * C;
 			D = (EA - ecc * S - M) / DNOM; // Change to EA for better solution
 			EA = EA - D; // by this amount
@@ -451,11 +470,11 @@ public class SatelliteEphem
 		Vy = B * C / DNOM * n;
 
 		correctedArgPerigee = argPerigee + perigeePrecessionRate * T * KDP;
-		cosCorrectedArgPerigee = FastMath.cos(correctedArgPerigee);
-		sinCorrectedArgPerigee = FastMath.sin(correctedArgPerigee);
+		cosCorrectedArgPerigee = cos(correctedArgPerigee, fastMode);
+		sinCorrectedArgPerigee = sin(correctedArgPerigee, fastMode);
 		correctedNodeRA = nodeRA + nodePrecessionRate * T * KDP;
-		cosCorrectedNodeRA = FastMath.cos(correctedNodeRA);
-		sinCorrectedNodeRA = FastMath.sin(correctedNodeRA);
+		cosCorrectedNodeRA = cos(correctedNodeRA, fastMode);
+		sinCorrectedNodeRA = sin(correctedNodeRA, fastMode);
 
 		// Plane -> celestial coordinate transformation, [C] = [RAAN]*[IN]*[AP]
 		CXx = cosCorrectedArgPerigee * cosCorrectedNodeRA - sinCorrectedArgPerigee * cosIncl * sinCorrectedNodeRA;
@@ -482,10 +501,10 @@ public class SatelliteEphem
 
 		// Also express SAT,ANT and VEL in GEOCENTRIC coordinates:
 		GHAA = jparsec.time.SiderealTime.greenwichMeanSiderealTime(time, obs, eph);
-		if (!FAST_MODE) GHAA += jparsec.time.SiderealTime.equationOfEquinoxes(time, obs, eph);
+		if (!fastMode) GHAA += jparsec.time.SiderealTime.equationOfEquinoxes(time, obs, eph);
 
-		C = FastMath.cos(GHAA);
-		S = -FastMath.sin(GHAA);
+		C = cos(GHAA, fastMode);
+		S = -sin(GHAA, fastMode);
 		Sx = (SATx * C - SATy * S);
 		Ax = ANTx * C - ANTy * S;
 		Vx = VELx * C - VELy * S;
@@ -497,9 +516,9 @@ public class SatelliteEphem
 		Vz = VELz;
 
 		double JD_TDB = 0;
-		if (!FAST_MODE) {
+		if (!fastMode) {
 			JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
-			DataBase.addData("GCRS", Precession.precessToJ2000(JD_TDB, new double[] {Sx / Constant.AU, Sy / Constant.AU, Sz / Constant.AU}, eph), true);
+			EphemerisContext.getCurrent().gcrs = Precession.precessToJ2000(JD_TDB, new double[] {Sx / Constant.AU, Sy / Constant.AU, Sz / Constant.AU}, eph);
 		}
 
 		// Compute and manipulate range/velocity/antenna vectors
@@ -513,23 +532,23 @@ public class SatelliteEphem
 		U = Rx * Ux + Ry * Uy + Rz * Uz; // UP Component of unit range
 		E = Rx * Ex + Ry * Ey; // EAST do (Ez=0)
 		N = Rx * Nx + Ry * Ny + Rz * Nz; // NORTH do
-		AZI = FastMath.atan2_accurate(E, N); // Azimuth
-		EL = FAST_MODE ? FastMath.asin(U) : Math.asin(U); // Elevation
+		AZI = atan2(E, N, fastMode); // Azimuth
+		EL = fastMode ? FastMath.asin(U) : Math.asin(U); // Elevation
 
 		// Resolve antenna vector along unit range vector, -r.a = Cos(SQ)
 		//sinCorrectedNodeRA = -(Ax * Rx + Ay * Ry + Az * Rz); // Hi-gain ant SQuint
 		//sinCorrectedNodeRA = Math.acos(sinCorrectedNodeRA);
 
 		// Calculate sub-satellite Lat/Lon
-		SLON = FastMath.atan2_accurate(Sy, Sx); // Lon, + East
-		SLAT = FAST_MODE ? FastMath.asin(Sz / RS) : Math.asin(Sz / RS); // Lat, + North
+		SLON = atan2(Sy, Sx, fastMode); // Lon, + East
+		SLAT = fastMode ? FastMath.asin(Sz / RS) : Math.asin(Sz / RS); // Lat, + North
 		HGT = RS - equatorialRadius;
 
 		// Resolve Sat-Obs velocity vector along unit range vector. (VOz=0)
 		RR = (Vx-VOx)*Rx + (Vy-VOy)*Ry + Vz*Rz; // Range rate, km/s
 
 		MAS = sunMeanAnomaly + Constant.DEG_TO_RAD * MASD * T; // MA of Sun round its orbit
-		TAS = sunMeanRA + earthTraslationRate * T + EQC1 * FastMath.sin(MAS) + EQC2 * FastMath.sin(2 * MAS) + EQC3 * FastMath.sin(3 * MAS);
+		TAS = sunMeanRA + earthTraslationRate * T + EQC1 * sin(MAS, fastMode) + EQC2 * sin(2 * MAS, fastMode) + EQC3 * sin(3 * MAS, fastMode);
 
 		// Note other programs (XEphem among them) uses the following lines, which seems to be wrong
 		// by 0.004 deg around year 2011. Algorithm at Saros class from Calendrical Calculations agree
@@ -537,8 +556,8 @@ public class SatelliteEphem
 		//double Tp = (itsEpochJD - 2415020.0) / 36525.0;
 	    //double sunMeanAnomaly2 = (358.475845 + 35999.04975 * Tp - 0.00015 * Tp * Tp - 0.00000333333 * Tp * Tp * Tp) * Constant.DEG_TO_RAD;
 
-		C = FastMath.cos(TAS);
-		S = FastMath.sin(TAS); // Sin/Cos Sun's true anomaly
+		C = cos(TAS, fastMode);
+		S = sin(TAS, fastMode); // Sin/Cos Sun's true anomaly
 		SUNx = C;
 		SUNy = S * CNS;
 		SUNz = S * SNS; // Sun unit vector - CELESTIAL coords
@@ -557,8 +576,8 @@ public class SatelliteEphem
 			ECL = "Eclipsed"; // - for sunny side
 
 		// Obtain SUN unit vector in GEOCENTRIC coordinates
-		C = FastMath.cos(-GHAA);
-		S = FastMath.sin(-GHAA);
+		C = cos(-GHAA, fastMode);
+		S = sin(-GHAA, fastMode);
 		Hx = SUNx * C - SUNy * S;
 		Hy = SUNx * S + SUNy * C; // If Sun more than 10 deg below horizon
 		Hz = SUNz; // satellite possibly visible
@@ -566,8 +585,8 @@ public class SatelliteEphem
 		U = Hx * Ux + Hy * Uy + Hz * Uz;
 		E = Hx * Ex + Hy * Ey;
 		N = Hx * Nx + Hy * Ny + Hz * Nz;
-		SAZ = FastMath.atan2_accurate(E, N); // Azimuth
-		SEL = FAST_MODE ? FastMath.asin(U) : Math.asin(U); // Elevation
+		SAZ = atan2(E, N, fastMode); // Azimuth
+		SEL = fastMode ? FastMath.asin(U) : Math.asin(U); // Elevation
 
 		if ((SEL * Constant.RAD_TO_DEG < -10.0) && !(ECL.equals("Eclipsed")))
 			ECL = "Possibly visible";
@@ -604,20 +623,18 @@ public class SatelliteEphem
 		if (ECL.equals("Eclipsed")) isEclipsed = true;
 		if (isEclipsed) ILL = 0;
 
-		FastMath.EXACT_MODE = exactMode;
-
 		ELO = 0;
-		if (FAST_MODE) {
+		if (fastMode) {
 			ELO = LocationElement.getApproximateAngularDistance(new LocationElement(SAZ, SEL, 1.0), new LocationElement(AZI, EL, 1.0));
 		} else {
 			ELO = LocationElement.getAngularDistance(new LocationElement(SAZ, SEL, 1.0), new LocationElement(AZI, EL, 1.0));
 		}
 
 		LocationElement loc_horiz = new LocationElement(AZI, EL, R);
-		double ast = FAST_MODE ? GHAA + obs.getLongitudeRad() : SiderealTime.apparentSiderealTime(time, obs, eph);
+		double ast = fastMode ? GHAA + obs.getLongitudeRad() : SiderealTime.apparentSiderealTime(time, obs, eph);
 		LocationElement loc_eq = CoordinateSystem.horizontalToEquatorial(loc_horiz, ast, obs.getLatitudeRad(), true);
 
-		if (FAST_MODE) {
+		if (fastMode) {
 			SatelliteEphemElement ephem = new SatelliteEphemElement(sat.getName(), loc_eq.getLongitude(), loc_eq.getLatitude(), R, AZI, EL,
 					(float) SLON, (float) SLAT, (float) HGT, (float) RR, (float) ELO, (float) ILL,
 					isEclipsed, (int) RN);
@@ -790,7 +807,7 @@ public class SatelliteEphem
 		SatelliteOrbitalElement sat = (SatelliteOrbitalElement) readFile.getReadElements()[eph.targetBody.getIndex()];
 
 		// Obtain ephemeris
-		SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(time, obs, eph, sat, true);
+		SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(time, obs, eph, sat, true, false);
 
 		// Obtain next pass time, when the satellite is at least 15 degrees
 		// above horizon
@@ -804,23 +821,6 @@ public class SatelliteEphem
 		return ephem;
 	}
 
-	// Returns the approximate time in days required for a given satellite to move from
-	// one side to the other side of the sky from a given observer.
-	private static double getBestQuickSearch(SatelliteOrbitalElement sat, double minElev) {
-		double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R'
-		double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
-		double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
-		double ecc = sat.eccentricity;
-		double b = a * Math.sqrt(1.0 - ecc * ecc); // Semi minor axis km
-
-		double r = (a + b) / 2.0 - Constant.EARTH_RADIUS;
-		double ang = Constant.PI_OVER_TWO - 2.0 * minElev;
-		double dr = ang * r;
-		double drDay = Constant.TWO_PI * (r + Constant.EARTH_RADIUS);
-		double dt = dr * Constant.SECONDS_PER_DAY / drDay;
-		return dt / Constant.SECONDS_PER_DAY; // days
-	}
-
 	/**
 	 * Obtain the time of the next pass of the satellite above observer. It can be used
 	 * as an starting point prior to obtain rise, set, transit times.
@@ -830,8 +830,9 @@ public class SatelliteEphem
 	 * of the horizon, it is possible to set a value equal to zero, but the
 	 * satellite will be probably too faint.
 	 * <BR>
-	 * The pass is a search iteration with a precision of 1 minute of time. If
-	 * the satellite appears too quickly or just above minimum elevation only
+	 * The pass is a search iteration with a step of 0.5 minutes of time, and the
+	 * instant of the pass is then refined to 1s using {@linkplain SatellitePassFinder}.
+	 * If the satellite appears too quickly or just above minimum elevation only
 	 * for a few seconds, then the search could fail. Another possible cause
 	 * of fail is for geostationary satellites.
 	 *
@@ -859,98 +860,92 @@ public class SatelliteEphem
 
 		if (min_elevation < 0.0 || min_elevation >= Math.PI*0.5) throw new JPARSECException("invalid minimum elevation.");
 
-		// Check is satellite can really be observed
-		/*
-		double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R' km^3/s^2, DE405
-		double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
-		double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
-		double radius = Math.acos(Constant.EARTH_RADIUS / a);
-		double minLatitude = sat.inclination + radius + min_elevation;
-		if (Math.abs(obs.getLatitudeRad()) > minLatitude) return 0;
-		*/
-
-		boolean oldf = FAST_MODE;
-		FAST_MODE = true;
-
-		// Obtain ephemeris: elevation, isEclipsed
-		SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(time, obs, eph, sat, false);
-
-		// Obtain Julian day in reference scale
-		SCALE refScale = SCALE.UNIVERSAL_TIME_UTC;
-		double JD = TimeScale.getJD(time, obs, eph, refScale);
+		double JD = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UTC);
 		double JD_LT = TimeScale.getJD(time, obs, eph, SCALE.LOCAL_TIME);
 
-		// Set time step to 0.5 minutes
-		double time_step = 0.5 / (Constant.MINUTES_PER_HOUR * Constant.HOURS_PER_DAY);
-		int nstep = 0;
-		int max_step = (int) Math.floor(maxDays / time_step);
-		double qs = getBestQuickSearch(sat, min_elevation) / time_step;
-		int quickSearch = (int) (0.5 + qs / 2.0);
-		if (quickSearch < 1) quickSearch = 1;
-		if (quickSearch > 8) quickSearch = 8;
-
-		// Obtain next pass. First we obtain the time when the satellite is
-		// below the minimum elevation (necessary if it is currently above). Then, we
-		// obtain the next pass
-		while (ephem.elevation > min_elevation && nstep < max_step && !current)
-		{
-			nstep++;
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
+		SatellitePassFinder finder = new SatellitePassFinder(sat, obs, eph, SatellitePassFinder.ACCURACY.FAST,
+				new OrbitPropagator(sat, obs.getEllipsoid().getEquatorialRadius()));
+		SatellitePassFinder.Pass pass = finder.getNextRise(JD, min_elevation, maxDays, current);
+		if (pass == null) return 0.0;
 
-			ephem = SatelliteEphem.calcSatellite(new_time, obs, eph, sat, false);
-		}
+		double next_pass = pass.rise + (JD_LT - JD);
+		if (pass.eclipsedAtRise) next_pass = -next_pass;
+		return next_pass;
+	}
 
-		if (nstep >= max_step) {
-//			JPARSECException.addWarning("this satellite is permanently above the horizon and the minimum elevation.");
-			FAST_MODE = oldf;
-			return 0.0;
-		}
+	/**
+	 * The position of the satellite from the same orbital model used in
+	 * {@linkplain #calcSatellite(TimeElement, ObserverElement, EphemerisElement, SatelliteOrbitalElement, boolean, boolean)},
+	 * for the search of passes.
+	 */
+	private static class OrbitPropagator implements SatellitePassFinder.Propagator
+	{
+		private final double DE, days, a, b, ecc, meanMotion, meanAnomaly, argPerigee, nodeRA;
+		private final double sinIncl, cosIncl, nodePrecessionRate, perigeePrecessionRate, dragCoeff;
 
-		while (ephem.elevation < min_elevation && nstep < max_step)
+		OrbitPropagator(SatelliteOrbitalElement sat, double equatorialRadius) throws JPARSECException
 		{
-			if (ephem.elevation < -25.0 * Constant.DEG_TO_RAD) {
-				nstep = nstep + quickSearch;
-			} else {
-				if (ephem.elevation < -15.0 * Constant.DEG_TO_RAD) {
-					int bqs = quickSearch / 2;
-					if (bqs < 1) bqs = 1;
-					nstep = nstep + bqs;
-				} else {
-					int bqs = quickSearch / 4;
-					if (bqs < 1 || ephem.elevation > 0) bqs = 1;
-					nstep = nstep + bqs;
-				}
-			}
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
-
-			ephem = SatelliteEphem.calcSatellite(new_time, obs, eph, sat, false);
+			AstroDate astro = new AstroDate(sat.year, 1, (int) Math.floor(sat.day));
+			DE = astro.jd();
+			days = sat.day - Math.floor(sat.day);
+			ecc = sat.eccentricity;
+			meanMotion = sat.meanMotion;
+			meanAnomaly = sat.meanAnomaly;
+			argPerigee = sat.argumentOfPerigee;
+			nodeRA = sat.ascendingNodeRA;
+
+			double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R' km^3/s^2, DE405
+			double J2 = 0.00108263; // 2nd Zonal coeff, Earth's Gravity Field
+			double n = meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
+			a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
+			b = a * Math.sqrt(1.0 - ecc * ecc); // Semi minor axis km
+			sinIncl = Math.sin(sat.inclination);
+			cosIncl = Math.cos(sat.inclination);
+			double PC = equatorialRadius * a / (b * b);
+			PC = 1.5 * J2 * PC * PC * meanMotion; // Precession const, rad/Day
+			nodePrecessionRate = -PC * cosIncl; // Node precession rate, rad/day
+			perigeePrecessionRate = PC * (5.0 * cosIncl * cosIncl - 1.0) / 2.0; // Perigee precession rate, rad/day
+			dragCoeff = -2.0 * sat.firstDerivative / (meanMotion * 3.0); // Drag coeff. (Angular momentum rate)/(Ang mom) s^-1
 		}
 
-		while (ephem.elevation > min_elevation && nstep < max_step)
+		public void propagate(double jd, double out[])
 		{
-			nstep--;
-			double new_JD = JD + (double) nstep * time_step;
-
-			TimeElement new_time = new TimeElement(new_JD, refScale);
-
-			ephem = SatelliteEphem.calcSatellite(new_time, obs, eph, sat, false);
-		}
+			double T = (jd - DE) - days; // Elapsed T since epoch, days
 
-		double next_pass = JD_LT + nstep * time_step;
+			double DT = dragCoeff * T / 2.0;
+			double KD = 1.0 + 4.0 * DT;
+			double KDP = 1.0 - 7.0 * DT; // Linear drag terms
+			double M = meanAnomaly + meanMotion * T * (1.0 - 3.0 * DT); // Mean anomaly at YR,TN
+			M = M - Math.floor(M / Constant.TWO_PI) * Constant.TWO_PI; // M now in range 0 - 2pi
 
-		FAST_MODE = oldf;
-		if (next_pass >= JD_LT + maxDays) {
-//			JPARSECException.addWarning("could not find next pass time during next "+maxDays+" days.");
-			next_pass = 0.0;
+			// Solve M = EA - EC*SIN(EA) for EA given M, by Newton's Method
+			double EA = M, D, C, S, DNOM;
+			do
+			{
+				C = Math.cos(EA);
+				S = Math.sin(EA);
+				DNOM = 1.0 - ecc * C;
+				D = (EA - ecc * S - M) / DNOM;
+				EA = EA - D;
+			} while (Math.abs(D) > 1.0e-10);
+
+			double Sx = a * KD * (C - ecc);
+			double Sy = b * KD * S;
+
+			double correctedArgPerigee = argPerigee + perigeePrecessionRate * T * KDP;
+			double cosCorrectedArgPerigee = Math.cos(correctedArgPerigee);
+			double sinCorrectedArgPerigee = Math.sin(correctedArgPerigee);
+			double correctedNodeRA = nodeRA + nodePrecessionRate * T * KDP;
+			double cosCorrectedNodeRA = Math.cos(correctedNodeRA);
+			double sinCorrectedNodeRA = Math.sin(correctedNodeRA);
+
+			// Plane -> celestial coordinate transformation, [C] = [RAAN]*[IN]*[AP]
+			out[0] = Sx * (cosCorrectedArgPerigee * cosCorrectedNodeRA - sinCorrectedArgPerigee * cosIncl * sinCorrectedNodeRA) +
+				Sy * (-sinCorrectedArgPerigee * cosCorrectedNodeRA - cosCorrectedArgPerigee * cosIncl * sinCorrectedNodeRA);
+			out[1] = Sx * (cosCorrectedArgPerigee * sinCorrectedNodeRA + sinCorrectedArgPerigee * cosIncl * cosCorrectedNodeRA) +
+				Sy * (-sinCorrectedArgPerigee * sinCorrectedNodeRA + cosCorrectedArgPerigee * cosIncl * cosCorrectedNodeRA);
+			out[2] = Sx * sinCorrectedArgPerigee * sinIncl + Sy * cosCorrectedArgPerigee * sinIncl;
 		}
-
-		if (ephem.isEclipsed) next_pass = -next_pass;
-
-		return next_pass;
 	}
 
 	/**
@@ -995,8 +990,7 @@ public class SatelliteEphem
 			current = false;
 
 			// Obtain ephemeris
-			FAST_MODE = true;
-			SatelliteEphemElement ephem = calcSatellite(time, obs, eph, sat, false);
+			SatelliteEphemElement ephem = calcSatellite(time, obs, eph, sat, false, true);
 
 			// Obtain Julian day in reference scale
 			new_time = new TimeElement(Math.abs(next_pass), SCALE.LOCAL_TIME);
@@ -1016,7 +1010,7 @@ public class SatelliteEphem
 
 				new_time = new TimeElement(new_JD, SCALE.UNIVERSAL_TIME_UTC);
 
-				ephem = calcSatellite(new_time, obs, eph, sat, false);
+				ephem = calcSatellite(new_time, obs, eph, sat, false, true);
 
 				LocationElement loc = CoordinateSystem.equatorialToEcliptic(ephem.getEquatorialLocation(), obl, true);
 				double sun[] = Saros.getSunPosition(JD_TT + (double) nstep * time_step);
@@ -1121,8 +1115,7 @@ public class SatelliteEphem
 			current = false;
 
 			// Obtain ephemeris
-			FAST_MODE = true;
-			SatelliteEphemElement ephem = calcSatellite(time, obs, eph, sat, false);
+			SatelliteEphemElement ephem = calcSatellite(time, obs, eph, sat, false, true);
 
 			// Obtain Julian day in reference scale
 			new_time = new TimeElement(Math.abs(next_pass), SCALE.LOCAL_TIME);
@@ -1141,7 +1134,7 @@ public class SatelliteEphem
 
 				new_time = new TimeElement(new_JD, SCALE.UNIVERSAL_TIME_UTC);
 
-				ephem = calcSatellite(new_time, obs, eph, sat, false);
+				ephem = calcSatellite(new_time, obs, eph, sat, false, true);
 
 				LocationElement loc = ephem.getEquatorialLocation();
 				for (int t=0; t<ptar.length; t++) {
@@ -1279,7 +1272,6 @@ public class SatelliteEphem
 		if (sat == null || sat.name.toLowerCase().indexOf("dummy")>=0) return null;
 		if (precision < 1 || precision > 10) throw new JPARSECException("Precision parameters is "+precision+", which is outside range 1-10.");
 
-		FAST_MODE = true;
 		ArrayList<Object[]> events = null;
 		SCALE refScale = SCALE.UNIVERSAL_TIME_UTC;
 		EphemerisElement eph = ephIn.clone();
@@ -1300,7 +1292,7 @@ public class SatelliteEphem
 
 				jdOut = jd;
 				newTime = new TimeElement(jdOut, refScale);
-				SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+				SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 				//if (!ephem.isEclipsed) { // this limitation should be set at the end only if the sat is eclipsed
 					// Check iridium angle second by second until flare ends, minimum elevation, or eclipse
 					double startTime = 0.0, endTime = 0.0, maxTime = 0.0, minimumIA = 0.0;
@@ -1321,7 +1313,7 @@ public class SatelliteEphem
 					do {
 						jdOut += precision / Constant.SECONDS_PER_DAY;
 						newTime = new TimeElement(jdOut, refScale);
-						ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+						ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 						if (ephem.elevation > min_elevation) above = true;
 						if (above && ephem.iridiumAngle <= MAXIMUM_IRIDIUM_ANGLE_FOR_FLARES) {
 							found = true;
@@ -1337,7 +1329,7 @@ public class SatelliteEphem
 							jdOut += 1.0 / Constant.SECONDS_PER_DAY;
 							newTime = new TimeElement(jdOut, refScale);
 							// isEclipsed, elevation, iridiumAngle
-							ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+							ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 							ephem.magnitude = (float) SatelliteEphem.getIridiumFlareMagnitude(ephem, obs);
 							if (ephem.elevation > min_elevation) above = true;
 
@@ -1383,7 +1375,6 @@ public class SatelliteEphem
 			jd = Math.abs(jd);
 			if (jd != 0.0) jd += 10.0 / 1440.0;
 		}
-		FAST_MODE = false;
 		return events;
 	}
 
@@ -1437,7 +1428,6 @@ public class SatelliteEphem
 		if (sat == null || sat.name.toLowerCase().indexOf("dummy")>=0) return null;
 		if (precision < 1 || precision > 10) throw new JPARSECException("Precision parameters is "+precision+", which is outside range 1-10.");
 
-		FAST_MODE = true;
 		ArrayList<Object[]> events = null;
 		SCALE refScale = SCALE.UNIVERSAL_TIME_UTC;
 		EphemerisElement eph = ephIn.clone();
@@ -1458,7 +1448,7 @@ public class SatelliteEphem
 
 				jdOut = jd;
 				newTime = new TimeElement(jdOut, refScale);
-				SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+				SatelliteEphemElement ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 				//if (!ephem.isEclipsed) { // this limitation should be set at the end only if the sat is eclipsed
 					// Check iridium angle second by second until flare ends, minimum elevation, or eclipse
 					double startTime = 0.0, endTime = 0.0, maxTime = 0.0, minimumIA = 0.0;
@@ -1479,7 +1469,7 @@ public class SatelliteEphem
 					do {
 						jdOut += precision / Constant.SECONDS_PER_DAY;
 						newTime = new TimeElement(jdOut, refScale);
-						ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+						ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 						if (ephem.elevation > min_elevation) above = true;
 						if (above && ephem.iridiumAngleForMoon <= MAXIMUM_IRIDIUM_ANGLE_FOR_LUNAR_FLARES) {
 							found = true;
@@ -1495,7 +1485,7 @@ public class SatelliteEphem
 							jdOut += 1.0 / Constant.SECONDS_PER_DAY;
 							newTime = new TimeElement(jdOut, refScale);
 							// isEclipsed, elevation, iridiumAngle
-							ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false);
+							ephem = SatelliteEphem.calcSatellite(newTime, obs, eph, sat, false, true);
 							ephem.magnitude = (float) SatelliteEphem.getIridiumLunarFlareMagnitude(newTime, obs, eph, ephem);
 							if (ephem.elevation > min_elevation) above = true;
 
@@ -1541,7 +1531,6 @@ public class SatelliteEphem
 			jd = Math.abs(jd);
 			if (jd != 0.0) jd += 10.0 / 1440.0;
 		}
-		FAST_MODE = false;
 		return events;
 	}
 
@@ -0,0 +1,476 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.probes;
+
+import java.util.ArrayList;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.math.Constant;
+import jparsec.observer.ObserverElement;
+import jparsec.observer.ReferenceEllipsoid.ELLIPSOID;
+import jparsec.time.SiderealTime;
+import jparsec.time.TimeElement;
+import jparsec.time.TimeElement.SCALE;
+import jparsec.time.TimeScale;
+import jparsec.util.JPARSECException;
+
+/**
+ * A class to search for the passes of an artificial satellite above the horizon of
+ * an observer, using the SGP4/SDP4 model. The other models in this package use
+ * this class for their searches of passes.
+ * <P>
+ * The propagator is stepped using Julian days as primitive values, without creating
+ * time or ephemeris objects, and the instants of rise and set are refined by root
+ * finding on the elevation, and the culmination by a golden section search. The
+ * accuracy is given as a parameter to the constructor instead of using any shared
+ * state, so that different instances can be used at the same time in different
+ * threads. An instance should not be used by two threads at the same time.
+ *
+ * @see SDP4_SGP4
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class SatellitePassFinder
+{
+	/**
+	 * The set of accuracy levels for the search.
+	 */
+	public enum ACCURACY {
+		/** Mean sidereal time, UT1 = UTC, and instants refined to 1s. */
+		FAST,
+		/** Apparent sidereal time, UT1-UTC from the EOP, and instants refined to 0.01s. */
+		PRECISE
+	};
+
+	/**
+	 * The interface for the models that give the position of the satellite.
+	 */
+	interface Propagator
+	{
+		/**
+		 * Computes the position of the satellite.
+		 * @param jd Julian day in UTC.
+		 * @param out Array of at least 3 elements to store the geocentric position in km,
+		 * referred to the true equator and mean equinox of date.
+		 * @throws JPARSECException If an error occurs.
+		 */
+		public void propagate(double jd, double out[]) throws JPARSECException;
+	}
+
+	/**
+	 * Holds the data of a pass.
+	 */
+	public static class Pass
+	{
+		/**
+		 * Julian day in UTC when the satellite rises above the minimum elevation.
+		 */
+		public double rise;
+		/**
+		 * Julian day in UTC when the satellite sets below the minimum elevation, or 0
+		 * if it does not set during the search interval.
+		 */
+		public double set;
+		/**
+		 * Julian day in UTC of the maximum elevation during the pass, or 0 if the
+		 * satellite does not set during the search interval.
+		 */
+		public double transit;
+		/**
+		 * Maximum elevation in radians, or the elevation at rise if the satellite
+		 * does not set during the search interval.
+		 */
+		public double transitElevation;
+		/**
+		 * True if the satellite is eclipsed by the Earth at the instant of rise.
+		 */
+		public boolean eclipsedAtRise;
+
+		/**
+		 * Returns the pass as a string.
+		 */
+		@Override
+		public String toString() {
+			return "rise "+rise+", transit "+transit+" (elevation "+(float) (transitElevation * Constant.RAD_TO_DEG)+"), set "+set+
+				(eclipsedAtRise ? ", eclipsed" : "");
+		}
+	}
+
+	/* Base time step for the search, 0.5 minutes. */
+	private static final double TIME_STEP = 0.5 / 1440.0;
+	private static final double GOLDEN_RATIO = (Math.sqrt(5.0) - 1.0) * 0.5;
+
+	private final SatelliteOrbitalElement sat;
+	private final Propagator model;
+	private final ObserverElement obs;
+	private final EphemerisElement eph;
+	private final ACCURACY accuracy;
+	private final double tolerance;
+	private int quickSearch = 1;
+	private final double Ox, Oy, Oz, Ux, Uy, Uz, equatorialRadius;
+	private final double pos[] = new double[3];
+
+	/* UT1-UTC and equation of equinoxes, updated for each search in precise mode. */
+	private double dUT1 = 0.0, eqEq = 0.0, lastReferenceJD = 0.0;
+
+	/**
+	 * Constructor for a satellite and an observer.
+	 * @param sat The orbital elements.
+	 * @param obs The observer on the Earth.
+	 * @param eph The ephemeris properties, used only to obtain UT1-UTC and
+	 * the equation of equinoxes in precise mode.
+	 * @param accuracy The accuracy of the search.
+	 * @throws JPARSECException If the orbital elements cannot be parsed.
+	 */
+	public SatellitePassFinder(SatelliteOrbitalElement sat, ObserverElement obs, EphemerisElement eph,
+			ACCURACY accuracy) throws JPARSECException
+	{
+		this(sat, obs, eph, accuracy, getSGP4Propagator(sat));
+	}
+
+	/**
+	 * Constructor for a satellite and an observer, using a given model.
+	 * @param sat The orbital elements.
+	 * @param obs The observer on the Earth.
+	 * @param eph The ephemeris properties, used only to obtain UT1-UTC and
+	 * the equation of equinoxes in precise mode.
+	 * @param accuracy The accuracy of the search.
+	 * @param model The model for the position of the satellite.
+	 * @throws JPARSECException If the observer is not on the Earth.
+	 */
+	SatellitePassFinder(SatelliteOrbitalElement sat, ObserverElement obs, EphemerisElement eph,
+			ACCURACY accuracy, Propagator model) throws JPARSECException
+	{
+		this.sat = sat;
+		this.model = model;
+		this.obs = obs;
+		this.eph = eph;
+		this.accuracy = accuracy;
+		tolerance = (accuracy == ACCURACY.PRECISE ? 0.01 : 1.0) / Constant.SECONDS_PER_DAY;
+
+		// Observer's geocentric position and unit vector UP, as in SDP4_SGP4
+		double lat = obs.getLatitudeRad(), lon = obs.getLongitudeRad();
+		double HT_km = obs.getHeight() / 1000.0;
+		double cosLAT = Math.cos(lat), sinLAT = Math.sin(lat);
+		double cosLON = Math.cos(lon), sinLON = Math.sin(lon);
+		ELLIPSOID ellipsoid = obs.getEllipsoid();
+		equatorialRadius = ellipsoid.getEquatorialRadius();
+		double flatenning = 1.0 / ellipsoid.getInverseOfFlatteningFactor();
+		double polarRadius = equatorialRadius * (1.0 - flatenning);
+		double D = Math.hypot(equatorialRadius * cosLAT, polarRadius * sinLAT);
+		double Rx = equatorialRadius * equatorialRadius / D + HT_km;
+		double Rz = polarRadius * polarRadius / D + HT_km;
+		Ux = cosLAT * cosLON;
+		Uy = cosLAT * sinLON;
+		Uz = sinLAT;
+		Ox = Rx * Ux;
+		Oy = Rx * Uy;
+		Oz = Rz * Uz;
+	}
+
+	private static Propagator getSGP4Propagator(SatelliteOrbitalElement sat) throws JPARSECException {
+		final SDP4_SGP4 model = new SDP4_SGP4(sat);
+		return new Propagator() {
+			public void propagate(double jd, double out[]) throws JPARSECException {
+				model.propagate(jd, out);
+			}
+		};
+	}
+
+	/**
+	 * Returns the orbital elements.
+	 * @return Orbital elements.
+	 */
+	public SatelliteOrbitalElement getSat() {
+		return sat;
+	}
+
+	// Returns the approximate time in days required for a given satellite to move from
+	// one side to the other side of the sky from a given observer.
+	private static double getBestQuickSearch(SatelliteOrbitalElement sat, double minElev) {
+		double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R'
+		double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
+		double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
+		double ecc = sat.eccentricity;
+		double b = a * Math.sqrt(1.0 - ecc * ecc); // Semi minor axis km
+
+		double r = (a + b) / 2.0 - Constant.EARTH_RADIUS;
+		double ang = Constant.PI_OVER_TWO - 2.0 * minElev;
+		double dr = ang * r;
+		double drDay = Constant.TWO_PI * (r + Constant.EARTH_RADIUS);
+		return dr / drDay; // days
+	}
+
+	/**
+	 * Updates UT1-UTC and the equation of equinoxes for the date of a search.
+	 * These values change very slowly, so they are considered constant during
+	 * a search.
+	 */
+	private void setReferenceDate(double jd) throws JPARSECException {
+		if (accuracy != ACCURACY.PRECISE || Math.abs(jd - lastReferenceJD) < 1.0) return;
+		TimeElement time = new TimeElement(jd, SCALE.UNIVERSAL_TIME_UTC);
+		dUT1 = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UT1) - jd;
+		eqEq = SiderealTime.equationOfEquinoxes(time, obs, eph);
+		lastReferenceJD = jd;
+	}
+
+	/**
+	 * Returns the Greenwich sidereal time, using the IAU 1982 expression for
+	 * the mean sidereal time.
+	 * @param jd Julian day in UTC.
+	 * @return Sidereal time in radians.
+	 */
+	private double siderealTime(double jd) {
+		double jdUT1 = jd + dUT1;
+		double T = (jdUT1 - Constant.J2000) / Constant.JULIAN_DAYS_PER_CENTURY;
+		double secs = 67310.54841 + ((-6.2e-6 * T + 0.093104) * T + 876600.0 * 3600.0 + 8640184.812866) * T;
+		secs = secs % Constant.SECONDS_PER_DAY;
+		return secs * Constant.TWO_PI / Constant.SECONDS_PER_DAY + eqEq;
+	}
+
+	/**
+	 * Returns the geometric elevation of the satellite.
+	 * @param jd Julian day in UTC.
+	 * @return The elevation in radians.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public double getElevation(double jd) throws JPARSECException {
+		model.propagate(jd, pos);
+		double gst = siderealTime(jd);
+		double C = Math.cos(gst), S = Math.sin(gst);
+		double Rx = pos[0] * C + pos[1] * S - Ox;
+		double Ry = -pos[0] * S + pos[1] * C - Oy;
+		double Rz = pos[2] - Oz;
+		double R = Math.sqrt(Rx * Rx + Ry * Ry + Rz * Rz);
+		return Math.asin((Rx * Ux + Ry * Uy + Rz * Uz) / R);
+	}
+
+	/**
+	 * Returns if the satellite is eclipsed by the Earth, using a cylindrical
+	 * shadow and a low precision position of the Sun.
+	 * @param jd Julian day in UTC.
+	 * @return True or false.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public boolean isEclipsed(double jd) throws JPARSECException {
+		model.propagate(jd, pos);
+		double n = jd - Constant.J2000;
+		double g = (357.528 + 0.9856003 * n) * Constant.DEG_TO_RAD;
+		double l = (280.460 + 0.9856474 * n) * Constant.DEG_TO_RAD + (1.915 * Math.sin(g) + 0.020 * Math.sin(2.0 * g)) * Constant.DEG_TO_RAD;
+		double eps = (23.439 - 4.0E-7 * n) * Constant.DEG_TO_RAD;
+		double Hx = Math.cos(l), Hy = Math.cos(eps) * Math.sin(l), Hz = Math.sin(eps) * Math.sin(l);
+		double dot = pos[0] * Hx + pos[1] * Hy + pos[2] * Hz;
+		if (dot >= 0.0) return false;
+		double r2 = pos[0] * pos[0] + pos[1] * pos[1] + pos[2] * pos[2];
+		return r2 - dot * dot <= equatorialRadius * equatorialRadius;
+	}
+
+	/**
+	 * Steps from a given instant until the elevation crosses the minimum one,
+	 * and refines the instant of the crossing.
+	 * @param jd Initial instant, JD UTC.
+	 * @param minElevation Minimum elevation in radians.
+	 * @param backwards True to search backwards in time.
+	 * @param limit Instant to stop the search.
+	 * @return The instant of the crossing, or NaN if it was not found before the limit.
+	 */
+	private double findCrossing(double jd, double minElevation, boolean backwards, double limit) throws JPARSECException {
+		double t0 = jd, e0 = getElevation(jd);
+		while (true) {
+			int nstep = 1;
+			if (!backwards) {
+				// Longer steps when the satellite is well below the horizon
+				if (e0 < -25.0 * Constant.DEG_TO_RAD) {
+					nstep = quickSearch;
+				} else {
+					if (e0 < -15.0 * Constant.DEG_TO_RAD) {
+						nstep = Math.max(1, quickSearch / 2);
+					} else {
+						if (e0 <= 0) nstep = Math.max(1, quickSearch / 4);
+					}
+				}
+			}
+			double t1 = backwards ? t0 - nstep * TIME_STEP : t0 + nstep * TIME_STEP;
+			boolean last = false;
+			if ((!backwards && t1 >= limit) || (backwards && t1 <= limit)) {
+				t1 = limit;
+				last = true;
+			}
+			double e1 = getElevation(t1);
+			if ((e0 > minElevation) != (e1 > minElevation))
+				return refineCrossing(t0, e0 - minElevation, t1, e1 - minElevation, minElevation);
+			if (last) return Double.NaN;
+			t0 = t1;
+			e0 = e1;
+		}
+	}
+
+	/**
+	 * Refines the instant when the elevation is equal to the minimum one, using
+	 * the Illinois variant of the false position method.
+	 */
+	private double refineCrossing(double t0, double f0, double t1, double f1, double minElevation) throws JPARSECException {
+		int side = 0;
+		double t = t0;
+		for (int iter = 0; iter < 100; iter++) {
+			t = (t0 * f1 - t1 * f0) / (f1 - f0);
+			if (Math.abs(t1 - t0) < tolerance) break;
+			double f = getElevation(t) - minElevation;
+			if (f == 0.0) break;
+			if ((f > 0) == (f1 > 0)) {
+				t1 = t;
+				f1 = f;
+				if (side == -1) f0 *= 0.5;
+				side = -1;
+			} else {
+				t0 = t;
+				f0 = f;
+				if (side == 1) f1 *= 0.5;
+				side = 1;
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Finds the instant of maximum elevation between two instants by
+	 * golden section search.
+	 */
+	private double findCulmination(double a, double b) throws JPARSECException {
+		double c = b - GOLDEN_RATIO * (b - a), d = a + GOLDEN_RATIO * (b - a);
+		double fc = getElevation(c), fd = getElevation(d);
+		while (Math.abs(b - a) > tolerance) {
+			if (fc > fd) {
+				b = d;
+				d = c;
+				fd = fc;
+				c = b - GOLDEN_RATIO * (b - a);
+				fc = getElevation(c);
+			} else {
+				a = c;
+				c = d;
+				fc = fd;
+				d = a + GOLDEN_RATIO * (b - a);
+				fd = getElevation(d);
+			}
+		}
+		return (a + b) * 0.5;
+	}
+
+	/**
+	 * Obtains the next pass of the satellite above a minimum elevation.
+	 * @param jd Julian day in UTC to start the search.
+	 * @param minElevation Minimum elevation in radians.
+	 * @param maxDays Maximum number of days to search for the next pass.
+	 * @param current True to return the current pass if the satellite is above the minimum
+	 * elevation at the initial instant, false to return the next one.
+	 * @return The pass, or null if no pass is found.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public Pass getNextPass(double jd, double minElevation, double maxDays, boolean current) throws JPARSECException {
+		return search(jd, minElevation, maxDays, current, true);
+	}
+
+	/**
+	 * Obtains the next rise of the satellite above a minimum elevation. This method
+	 * is faster than {@linkplain #getNextPass(double, double, double, boolean)}, since
+	 * only the fields for the rise time and the eclipse flag are set in the returned object.
+	 * @param jd Julian day in UTC to start the search.
+	 * @param minElevation Minimum elevation in radians.
+	 * @param maxDays Maximum number of days to search for the next pass.
+	 * @param current True to return the rise of the current pass if the satellite is
+	 * above the minimum elevation at the initial instant, false to return the next one.
+	 * @return The pass, or null if no pass is found.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public Pass getNextRise(double jd, double minElevation, double maxDays, boolean current) throws JPARSECException {
+		return search(jd, minElevation, maxDays, current, false);
+	}
+
+	private Pass search(double jd, double minElevation, double maxDays, boolean current, boolean full) throws JPARSECException {
+		if (minElevation < 0.0 || minElevation >= Math.PI*0.5) throw new JPARSECException("invalid minimum elevation.");
+
+		setReferenceDate(jd);
+		double qs = getBestQuickSearch(sat, minElevation) / TIME_STEP;
+		quickSearch = (int) (0.5 + qs / 2.0);
+		if (quickSearch < 1) quickSearch = 1;
+		if (quickSearch > 8) quickSearch = 8;
+
+		double limit = jd + maxDays;
+		double rise;
+		if (getElevation(jd) > minElevation) {
+			if (current) {
+				rise = findCrossing(jd, minElevation, true, jd - maxDays);
+				if (Double.isNaN(rise)) return null;
+			} else {
+				// Skip the current pass
+				double set = findCrossing(jd, minElevation, false, limit);
+				if (Double.isNaN(set)) return null;
+				rise = findCrossing(set + tolerance, minElevation, false, limit);
+			}
+		} else {
+			rise = findCrossing(jd, minElevation, false, limit);
+		}
+		if (Double.isNaN(rise)) return null;
+
+		Pass pass = new Pass();
+		pass.rise = rise;
+		pass.eclipsedAtRise = isEclipsed(rise);
+		if (!full) return pass;
+
+		double set = findCrossing(Math.max(rise + tolerance, jd), minElevation, false, limit);
+		if (Double.isNaN(set)) {
+			pass.transitElevation = getElevation(rise);
+		} else {
+			pass.set = set;
+			pass.transit = findCulmination(rise, set);
+			pass.transitElevation = getElevation(pass.transit);
+		}
+		return pass;
+	}
+
+	/**
+	 * Obtains the passes of the satellite above a minimum elevation during a given
+	 * interval of time.
+	 * @param jd Julian day in UTC to start the search.
+	 * @param minElevation Minimum elevation in radians.
+	 * @param maxDays Number of days to search for passes.
+	 * @param maxPasses Maximum number of passes to return.
+	 * @param current True to include the current pass if the satellite is above the minimum
+	 * elevation at the initial instant.
+	 * @return The list of passes, possibly empty.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public ArrayList<Pass> getPasses(double jd, double minElevation, double maxDays, int maxPasses, boolean current) throws JPARSECException {
+		ArrayList<Pass> out = new ArrayList<Pass>();
+		double limit = jd + maxDays;
+		while (out.size() < maxPasses && jd < limit) {
+			Pass pass = getNextPass(jd, minElevation, limit - jd, current);
+			if (pass == null) break;
+			out.add(pass);
+			if (pass.set == 0.0) break;
+			jd = pass.set + tolerance;
+			current = false;
+		}
+		return out;
+	}
+}
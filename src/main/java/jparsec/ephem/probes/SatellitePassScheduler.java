@@ -0,0 +1,221 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.probes;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.math.Constant;
+import jparsec.observer.ObserverElement;
+import jparsec.util.JPARSECException;
+
+/**
+ * A class to obtain the next passes of a whole catalog of artificial satellites
+ * above an observer. The satellites are processed in parallel using a fixed
+ * number of threads, each satellite with its own {@linkplain SatellitePassFinder}.
+ * <P>
+ * Satellites that can never reach the minimum elevation from the latitude of the
+ * observer, because of their inclination and apogee, are discarded before the
+ * search. The results can be received as they are obtained using a
+ * {@linkplain PassListener}.
+ *
+ * @see SatellitePassFinder
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class SatellitePassScheduler
+{
+	// Private constructor so that this class cannot be instantiated.
+	private SatellitePassScheduler() {}
+
+	/**
+	 * The interface to receive the passes of each satellite as they are obtained.
+	 */
+	public interface PassListener
+	{
+		/**
+		 * Called when the passes of a satellite are available. This method is
+		 * called from the thread that launched the search, in the order the
+		 * calculations are completed. It is not called for the satellites
+		 * discarded because they can never rise.
+		 * @param index The index of the satellite in the input array.
+		 * @param sat The orbital elements of the satellite.
+		 * @param passes The list of passes, possibly empty.
+		 * @throws JPARSECException To stop the search with an error.
+		 */
+		public void passesFound(int index, SatelliteOrbitalElement sat, ArrayList<SatellitePassFinder.Pass> passes) throws JPARSECException;
+	}
+
+	/** Margin in radians for the latitude and elevation in the geometric test. */
+	private static final double GEOMETRIC_MARGIN = 0.5 * Constant.DEG_TO_RAD;
+
+	/**
+	 * Returns the orbital elements of all satellites in the current catalog, as
+	 * set in {@linkplain SatelliteEphem}, either the internal file or the one set with
+	 * {@linkplain SatelliteEphem#setSatellitesFromExternalFile(String[])}.
+	 * @return The orbital elements.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static SatelliteOrbitalElement[] getCatalog() throws JPARSECException {
+		int n = SatelliteEphem.getArtificialSatelliteCount();
+		SatelliteOrbitalElement out[] = new SatelliteOrbitalElement[n];
+		for (int i = 0; i < n; i++)
+		{
+			out[i] = SatelliteEphem.getArtificialSatelliteOrbitalElement(i);
+		}
+		return out;
+	}
+
+	/**
+	 * Returns if a satellite can reach a given elevation above the horizon of an
+	 * observer. The maximum geocentric latitude of the sub-satellite point is given
+	 * by the inclination, and the maximum angular distance between the observer and
+	 * that point, for the satellite to be above the minimum elevation, is obtained
+	 * for the apogee distance.
+	 * @param sat The orbital elements.
+	 * @param obs The observer.
+	 * @param minElevation The minimum elevation in radians.
+	 * @return False if the satellite can never be above the minimum elevation,
+	 * true otherwise.
+	 * @throws JPARSECException If the observer is not on a Solar System body.
+	 */
+	public static boolean canRise(SatelliteOrbitalElement sat, ObserverElement obs, double minElevation) throws JPARSECException {
+		double GM = 3.98600433e14 * 1.0e-9; // Earth's Gravitational constant g' * R' * R'
+		double n = sat.meanMotion / Constant.SECONDS_PER_DAY; // Mean motion rad/s
+		if (n <= 0.0) return true;
+		double a = Math.pow((GM / (n * n)), 1.0 / 3.0); // Semi major axis km
+		double apogee = a * (1.0 + sat.eccentricity);
+		double Re = obs.getEllipsoid().getEquatorialRadius();
+
+		double elev = Math.max(0.0, minElevation - GEOMETRIC_MARGIN);
+		double c = Re * Math.cos(elev) / apogee;
+		if (c >= 1.0) return false;
+		double maxCentralAngle = Math.acos(c) - elev;
+
+		double maxLatitude = sat.inclination;
+		if (maxLatitude > Constant.PI_OVER_TWO) maxLatitude = Math.PI - maxLatitude;
+		double lat = Math.abs(obs.getLatitudeRad()) - GEOMETRIC_MARGIN;
+		return lat - maxLatitude <= maxCentralAngle;
+	}
+
+	/**
+	 * Obtains the next passes of a set of satellites in parallel.
+	 * @param sats The orbital elements of the satellites.
+	 * @param obs The observer.
+	 * @param eph The ephemeris properties, used only in precise mode.
+	 * @param accuracy The accuracy of the search.
+	 * @param jd The initial Julian day in UTC.
+	 * @param maxDays The number of days of the search window.
+	 * @param minElevation The minimum elevation in radians.
+	 * @param maxPasses The maximum number of passes to obtain for each satellite.
+	 * @param threads The number of threads to use, or 0 or less to use the number
+	 * of available processors.
+	 * @param listener An optional listener to receive the passes of each satellite
+	 * as soon as they are obtained. Can be null.
+	 * @return The passes of each satellite, in the same order of the input array.
+	 * Satellites that cannot rise have an empty list.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static ArrayList<ArrayList<SatellitePassFinder.Pass>> getPasses(SatelliteOrbitalElement sats[],
+			final ObserverElement obs, final EphemerisElement eph, final SatellitePassFinder.ACCURACY accuracy,
+			final double jd, final double maxDays, final double minElevation, final int maxPasses,
+			int threads, PassListener listener) throws JPARSECException
+	{
+		if (minElevation < 0.0 || minElevation >= Math.PI*0.5) throw new JPARSECException("invalid minimum elevation.");
+		if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+
+		ArrayList<ArrayList<SatellitePassFinder.Pass>> out = new ArrayList<ArrayList<SatellitePassFinder.Pass>>(sats.length);
+		for (int i = 0; i < sats.length; i++)
+		{
+			out.add(new ArrayList<SatellitePassFinder.Pass>());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, sats.length)));
+		CompletionService<Object[]> service = new ExecutorCompletionService<Object[]>(executor);
+		ArrayList<Future<Object[]>> tasks = new ArrayList<Future<Object[]>>();
+		try {
+			for (int i = 0; i < sats.length; i++)
+			{
+				final SatelliteOrbitalElement sat = sats[i];
+				if (sat == null || !canRise(sat, obs, minElevation)) continue;
+
+				final int index = i;
+				tasks.add(service.submit(new Callable<Object[]>() {
+					public Object[] call() throws JPARSECException {
+						SatellitePassFinder finder = new SatellitePassFinder(sat, obs, eph, accuracy);
+						return new Object[] {index, finder.getPasses(jd, minElevation, maxDays, maxPasses, false)};
+					}
+				}));
+			}
+
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				Object result[] = service.take().get();
+				int index = (Integer) result[0];
+				@SuppressWarnings("unchecked")
+				ArrayList<SatellitePassFinder.Pass> passes = (ArrayList<SatellitePassFinder.Pass>) result[1];
+				out.set(index, passes);
+				if (listener != null) listener.passesFound(index, sats[index], passes);
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JPARSECException) throw (JPARSECException) e.getCause();
+			throw new JPARSECException("error during calculations.", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JPARSECException("calculations interrupted.", e);
+		} finally {
+			executor.shutdownNow();
+		}
+		return out;
+	}
+
+	/**
+	 * Obtains the next passes of all satellites in the current catalog in parallel.
+	 * See {@linkplain #getPasses(SatelliteOrbitalElement[], ObserverElement, EphemerisElement, SatellitePassFinder.ACCURACY, double, double, double, int, int, PassListener)}.
+	 * @param obs The observer.
+	 * @param eph The ephemeris properties, used only in precise mode.
+	 * @param accuracy The accuracy of the search.
+	 * @param jd The initial Julian day in UTC.
+	 * @param maxDays The number of days of the search window.
+	 * @param minElevation The minimum elevation in radians.
+	 * @param maxPasses The maximum number of passes to obtain for each satellite.
+	 * @param threads The number of threads to use, or 0 or less to use the number
+	 * of available processors.
+	 * @param listener An optional listener to receive the passes of each satellite
+	 * as soon as they are obtained. Can be null.
+	 * @return The passes of each satellite, in the order of the catalog.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static ArrayList<ArrayList<SatellitePassFinder.Pass>> getPasses(ObserverElement obs, EphemerisElement eph,
+			SatellitePassFinder.ACCURACY accuracy, double jd, double maxDays, double minElevation, int maxPasses,
+			int threads, PassListener listener) throws JPARSECException
+	{
+		return getPasses(getCatalog(), obs, eph, accuracy, jd, maxDays, minElevation, maxPasses, threads, listener);
+	}
+}
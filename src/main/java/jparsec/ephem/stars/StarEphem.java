@@ -21,8 +21,11 @@
  */
 package jparsec.ephem.stars;
 
+import java.util.HashMap;
+
 import jparsec.astronomy.CoordinateSystem;
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.FRAME;
 import jparsec.ephem.EphemerisElement.REDUCTION_METHOD;
@@ -854,37 +857,7 @@ public class StarEphem
 		// Obtain julian day in Barycentric Dynamical Time
 		double JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
 		EphemerisElement ephClone = eph.clone();
-		ephClone.targetBody = TARGET.SUN;
-		if (ephClone.algorithm == EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon && (JD_TDB < 2415020.5 || JD_TDB > 2488092.5))
-			ephClone.algorithm = EphemerisElement.ALGORITHM.MOSHIER;
-		if (ephClone.algorithm != EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon && ephClone.algorithm != EphemerisElement.ALGORITHM.MOSHIER)
-			ephClone.algorithm = EphemerisElement.ALGORITHM.MOSHIER;
-		double e[] = new double[6];
-		if (ephClone.algorithm == EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon)
-		{
-			e = Series96.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
-		} else
-		{
-			if (eph.algorithm.name().indexOf("JPL") >= 0 ||
-					(eph.algorithm == EphemerisElement.ALGORITHM.STAR && eph.preferPrecisionInEphemerides)) {
-				try {
-					// Use DE406 or the version selected
-					JPLEphemeris jplEph = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE406);
-					if (eph.algorithm.name().indexOf("JPL") >= 0) jplEph = new JPLEphemeris(eph.algorithm);
-					if (!jplEph.isAvailable(JD_TDB)) throw new JPARSECException("JPL integration "+jplEph.getJPLVersion()+" not available for JD = "+JD_TDB+"!");
-					ephClone.targetBody = TARGET.Solar_System_Barycenter; // Improves precision
-					e = jplEph.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
-				} catch (JPARSECException exc) {
-					if (eph.algorithm.name().indexOf("JPL") >= 0) throw exc;
-						//JPARSECException.addWarning("JPL integration version "+eph.algorithm.name()+" not available. Using Moshier instead.");
-					e = PlanetEphem.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
-					e = Ephem.eclipticToEquatorial(e, Constant.J2000, ephClone);
-				}
-			} else {
-				e = PlanetEphem.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
-				e = Ephem.eclipticToEquatorial(e, Constant.J2000, ephClone);
-			}
-		}
+		double e[] = StarEphem.getSunPosition(JD_TDB, obs, eph);
 
 		/* space motion */
 		double relativisticFactor = 1.0 / (1.0 - star.properMotionRadialV / Constant.SPEED_OF_LIGHT);
@@ -952,9 +925,9 @@ public class StarEphem
 					new TARGET[] {TARGET.JUPITER, TARGET.SATURN, TARGET.EARTH}, JD_TDB, false, obs);
 			p = Ephem.aberration(p, e, light_time);
 
-			DataBase.addData("GCRS", p, true);
+			EphemerisContext.getCurrent().gcrs = p;
 		} else {
-			DataBase.addData("GCRS", null, true);
+			EphemerisContext.getCurrent().gcrs = null;
 		}
 
 		/* Correction to output frame. */
@@ -1011,7 +984,7 @@ public class StarEphem
 			ephem = Ephem.horizontalCoordinates(time, obs, eph, ephem);
 
 		ephem.constellation = "";
-		try {
+		if (!EphemerisContext.getCurrent().positionsOnly) try {
 			LocationElement locE = ephem.getEquatorialLocation();
 			if (obs.getMotherBody() != TARGET.NOT_A_PLANET && obs.getMotherBody() != TARGET.EARTH)
 				locE = Ephem.getPositionFromEarth(locE, time, obs, eph);
@@ -1036,7 +1009,7 @@ public class StarEphem
 
 		if (fullEphemeris)
 		{
-			Object gcrs = DataBase.getData("GCRS", true);
+			double[] gcrs = EphemerisContext.getCurrent().gcrs;
 
 			ephClone.algorithm = EphemerisElement.ALGORITHM.STAR;
 			ephClone.targetBody = TARGET.NOT_A_PLANET;
@@ -1050,12 +1023,59 @@ public class StarEphem
 			if (ephem.transit != null) out.transit = ephem.transit[0];
 			if (ephem.transitElevation != null) out.transitElevation = ephem.transitElevation[0];
 
-			DataBase.addData("GCRS", gcrs, true);
+			EphemerisContext.getCurrent().gcrs = gcrs;
 		}
 
 		return out;
 	}
 
+	/**
+	 * Returns the geocentric position and velocity of the Sun (or the barycenter
+	 * when JPL ephemerides are used) in the frame of J2000, as used to correct
+	 * the position of the stars for parallax, light deflection, and aberration.
+	 * @param JD_TDB Julian day in TDB.
+	 * @param obs Observer object.
+	 * @param eph Ephemeris object.
+	 * @return Position and velocity in AU and AU/day.
+	 * @throws JPARSECException If the calculation fails.
+	 */
+	static double[] getSunPosition(double JD_TDB, ObserverElement obs, EphemerisElement eph) throws JPARSECException
+	{
+		EphemerisElement ephClone = eph.clone();
+		ephClone.targetBody = TARGET.SUN;
+		if (ephClone.algorithm == EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon && (JD_TDB < 2415020.5 || JD_TDB > 2488092.5))
+			ephClone.algorithm = EphemerisElement.ALGORITHM.MOSHIER;
+		if (ephClone.algorithm != EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon && ephClone.algorithm != EphemerisElement.ALGORITHM.MOSHIER)
+			ephClone.algorithm = EphemerisElement.ALGORITHM.MOSHIER;
+		double e[] = new double[6];
+		if (ephClone.algorithm == EphemerisElement.ALGORITHM.SERIES96_MOSHIERForMoon)
+		{
+			e = Series96.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
+		} else
+		{
+			if (eph.algorithm.name().indexOf("JPL") >= 0 ||
+					(eph.algorithm == EphemerisElement.ALGORITHM.STAR && eph.preferPrecisionInEphemerides)) {
+				try {
+					// Use DE406 or the version selected
+					JPLEphemeris jplEph = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE406);
+					if (eph.algorithm.name().indexOf("JPL") >= 0) jplEph = JPLEphemeris.getInstance(eph.algorithm);
+					if (!jplEph.isAvailable(JD_TDB)) throw new JPARSECException("JPL integration "+jplEph.getJPLVersion()+" not available for JD = "+JD_TDB+"!");
+					ephClone.targetBody = TARGET.Solar_System_Barycenter; // Improves precision
+					e = jplEph.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
+				} catch (JPARSECException exc) {
+					if (eph.algorithm.name().indexOf("JPL") >= 0) throw exc;
+						//JPARSECException.addWarning("JPL integration version "+eph.algorithm.name()+" not available. Using Moshier instead.");
+					e = PlanetEphem.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
+					e = Ephem.eclipticToEquatorial(e, Constant.J2000, ephClone);
+				}
+			} else {
+				e = PlanetEphem.getGeocentricPosition(JD_TDB, ephClone.targetBody, 0.0, false, obs);
+				e = Ephem.eclipticToEquatorial(e, Constant.J2000, ephClone);
+			}
+		}
+		return e;
+	}
+
 	/**
 	 * Default path to the file of BSC5, including extension.
 	 */
@@ -1071,6 +1091,34 @@ public class StarEphem
 	 */
 	public static final String PATH_TO_SkyMaster2000_JPARSEC_FILE_BEYOND6_5mag = FileIO.DATA_STARS_SKY2000_DIRECTORY + "JPARSEC_Sky2000_plus.txt";
 
+	/**
+	 * Returns the table of catalog names for each of the names (in lower case)
+	 * given in the file of proper names of stars. The table is built once and kept
+	 * in memory.
+	 * @return The table.
+	 * @throws JPARSECException If an error occurs reading the file.
+	 */
+	@SuppressWarnings("unchecked")
+	private static HashMap<String, String> getProperNames() throws JPARSECException
+	{
+		Object o = DataBase.getData("starNames_index", null, true);
+		if (o != null) return (HashMap<String, String>) o;
+
+		String starNames[] = DataSet.arrayListToStringArray(ReadFile.readResource(FileIO.DATA_SKY_DIRECTORY + "star_names.txt"));
+		HashMap<String, String> table = new HashMap<String, String>();
+		for (int n = 0; n < starNames.length; n++)
+		{
+			String line[] = DataSet.toStringArray(starNames[n].toLowerCase(), ";");
+			String catalogName = FileIO.getField(1, starNames[n], ";", true);
+			for (int i = 0; i < line.length; i++)
+			{
+				if (!table.containsKey(line[i])) table.put(line[i], catalogName);
+			}
+		}
+		DataBase.addData("starNames_index", null, table, true);
+		return table;
+	}
+
 	/**
 	 * Transforms the popular name of a star into the catalog name to allow to
 	 * search for it . This should always be done since certain popular stars like
@@ -1086,26 +1134,9 @@ public class StarEphem
 	{
 		String star_name = name;
 
-		Object o = DataBase.getData("starNames_all", null, true);
-		String[] starNames = null;
-		if (o != null) starNames = (String[]) o;
-		if (starNames == null)
-		{
-			starNames = DataSet.arrayListToStringArray(ReadFile.readResource(FileIO.DATA_SKY_DIRECTORY + "star_names.txt"));
-			DataBase.addData("starNames_all", null, starNames, true);
-		}
-
-		String name2 = name.toLowerCase();
-		for (int n = 0; n < starNames.length; n++)
-		{
-			String line[] = DataSet.toStringArray(starNames[n].toLowerCase(), ";");
-			int aa = DataSet.getIndex(line, name2);
-			if (aa >= 0)
-			{
-				star_name = FileIO.getField(1, starNames[n], ";", true);
-				break;
-			}
-		}
+		HashMap<String, String> starNames = getProperNames();
+		String catalogName = starNames.get(name.toLowerCase());
+		if (catalogName != null) star_name = catalogName;
 
 		// Correct for double stars
 		String wrongNames[] = new String [] {
@@ -1404,10 +1435,10 @@ public class StarEphem
 		String a = "JPL DE406";
 		if (eph.preferPrecisionInEphemerides) {
 			try {
-				JPLEphemeris jpl = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE406);
+				JPLEphemeris jpl = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE406);
 				if (eph.algorithm.name().indexOf("JPL") >= 0) {
 					a = eph.algorithm.name();
-					jpl = new JPLEphemeris(eph.algorithm, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
+					jpl = JPLEphemeris.getInstance(eph.algorithm, Configuration.JPL_EPHEMERIDES_FILES_EXTERNAL_PATH);
 				}
 				pos_SSB = jpl.getGeocentricPosition(JD_TDB, TARGET.Solar_System_Barycenter, lightTime, false, observer);
 			} catch (Exception exc) {
@@ -0,0 +1,622 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.ephem.stars;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jparsec.astronomy.Star;
+import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.EphemerisElement.FRAME;
+import jparsec.ephem.EphemerisElement.REDUCTION_METHOD;
+import jparsec.ephem.Functions;
+import jparsec.ephem.IAU2006;
+import jparsec.ephem.Nutation;
+import jparsec.ephem.Precession;
+import jparsec.ephem.Target.TARGET;
+import jparsec.ephem.planets.PlanetEphem;
+import jparsec.math.Constant;
+import jparsec.math.matrix.Matrix;
+import jparsec.observer.ObserverElement;
+import jparsec.time.SiderealTime;
+import jparsec.time.TimeElement;
+import jparsec.time.TimeElement.SCALE;
+import jparsec.time.TimeScale;
+import jparsec.util.JPARSECException;
+
+/**
+ * Computes the apparent places of a large set of stars at once, for instance the
+ * whole Sky2000 catalog. The stars are stored in arrays of primitives, and the
+ * quantities that depend only on time and observer (position and velocity of the
+ * Earth, the positions of the deflecting bodies, and the matrix of frame bias,
+ * precession, nutation, and polar motion) are computed once for each instant. The
+ * stars are then processed in parallel chunks.
+ * <P>
+ * The reduction is the same of {@linkplain StarEphem#starEphemeris(TimeElement, ObserverElement, EphemerisElement, StarElement, boolean)}
+ * with the following simplifications: the positions of Jupiter and Saturn for the
+ * light deflection are computed once for all the stars, for the instant when the light
+ * passing by them left them towards the observer, instead of for the instant of closest
+ * approach of the light of each star to the body, the diurnal parallax
+ * (below 0.1 mas for any star) is neglected, refraction is interpolated from a
+ * table with a step of 0.05 degrees and not applied below -5 degrees of elevation,
+ * and the equatorial coordinates are not corrected for refraction. Rise, set,
+ * transit times and constellations are not computed. The observer must be on the
+ * Earth.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class StarEphemBatch
+{
+	/**
+	 * Holds the results of a computation. Each quantity is stored in a separate
+	 * array, with the same index of the stars in the batch.
+	 */
+	public static class Result
+	{
+		/** Right ascensions in radians. */
+		public final double[] rightAscension;
+		/** Declinations in radians. */
+		public final double[] declination;
+		/** Distances in pc. */
+		public final double[] distance;
+		/** Apparent magnitudes. */
+		public final float[] magnitude;
+		/** Azimuths in radians, only for topocentric calculations. */
+		public final double[] azimuth;
+		/** Elevations in radians, only for topocentric calculations. */
+		public final double[] elevation;
+
+		/**
+		 * Constructor.
+		 * @param n Number of stars.
+		 */
+		public Result(int n)
+		{
+			rightAscension = new double[n];
+			declination = new double[n];
+			distance = new double[n];
+			magnitude = new float[n];
+			azimuth = new double[n];
+			elevation = new double[n];
+		}
+	}
+
+	private static final double REFRACTION_STEP = 0.05 * Constant.DEG_TO_RAD;
+	private static final double REFRACTION_MIN = -5.0 * Constant.DEG_TO_RAD;
+	private static final int MIN_STARS_PER_CHUNK = 2000;
+
+	private final int n;
+	private final String[] name;
+	private final double[] qx, qy, qz, mx, my, mz;
+	private final double[] distAU, parallax, equinox, distance0;
+	private final float[] magnitude0;
+	private final byte[] frame;
+	private final FRAME[] frames;
+
+	/**
+	 * Constructor for a set of stars. Stars in the FK4 frame are transformed
+	 * to FK5.
+	 * @param stars The stars.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public StarEphemBatch(StarElement stars[]) throws JPARSECException
+	{
+		n = stars.length;
+		name = new String[n];
+		qx = new double[n];
+		qy = new double[n];
+		qz = new double[n];
+		mx = new double[n];
+		my = new double[n];
+		mz = new double[n];
+		distAU = new double[n];
+		parallax = new double[n];
+		equinox = new double[n];
+		distance0 = new double[n];
+		magnitude0 = new float[n];
+		frame = new byte[n];
+
+		ArrayList<FRAME> frameList = new ArrayList<FRAME>();
+		double cte = Constant.SECONDS_PER_DAY * Constant.JULIAN_DAYS_PER_CENTURY * 0.01 / Constant.AU;
+		for (int i = 0; i < n; i++)
+		{
+			StarElement in = stars[i];
+			if (in.frame == FRAME.FK4)
+				in = StarEphem.transform_FK4_B1950_to_FK5_J2000(in.clone());
+
+			int index = frameList.indexOf(in.frame);
+			if (index < 0) {
+				frameList.add(in.frame);
+				index = frameList.size() - 1;
+			}
+			frame[i] = (byte) index;
+			name[i] = in.name;
+
+			double sindec = Math.sin(in.declination);
+			double cosdec = Math.cos(in.declination);
+			double cosra = Math.cos(in.rightAscension);
+			double sinra = Math.sin(in.rightAscension);
+			qx[i] = cosdec * cosra;
+			qy[i] = cosdec * sinra;
+			qz[i] = sindec;
+
+			// Space motion, as in StarEphem
+			double relativisticFactor = 1.0 / (1.0 - in.properMotionRadialV / Constant.SPEED_OF_LIGHT);
+			double vpi = cte * in.properMotionRadialV * in.parallax * 0.001 / Constant.RAD_TO_ARCSEC;
+			mx[i] = (-in.properMotionRA * cosdec * sinra - in.properMotionDEC * sindec * cosra + vpi * qx[i]) * relativisticFactor;
+			my[i] = (in.properMotionRA * cosdec * cosra - in.properMotionDEC * sindec * sinra + vpi * qy[i]) * relativisticFactor;
+			mz[i] = (in.properMotionDEC * cosdec + vpi * qz[i]) * relativisticFactor;
+
+			double speed_check = in.properMotionRadialV * Math.sqrt(mx[i] * mx[i] + my[i] * my[i] + mz[i] * mz[i]) / vpi;
+			if (speed_check > (0.00025 * Constant.SPEED_OF_LIGHT))
+				JPARSECException.addWarning("the speed of the star " + in.name + " is " + speed_check + " km/s, which seems to be very high.");
+
+			distance0[i] = in.getDistance();
+			distAU[i] = in.getDistance() * Constant.RAD_TO_ARCSEC;
+			parallax[i] = in.parallax * 0.001 / Constant.RAD_TO_ARCSEC;
+			equinox[i] = in.equinox;
+			magnitude0[i] = in.magnitude;
+		}
+		frames = frameList.toArray(new FRAME[frameList.size()]);
+	}
+
+	/**
+	 * Returns a batch with all the stars in the catalog used by {@linkplain StarEphem},
+	 * including those beyond magnitude 6.5 if {@linkplain StarEphem#READ_STARS_BEYOND_MAG_6_5}
+	 * is true.
+	 * @return The batch.
+	 * @throws JPARSECException If the catalog cannot be read.
+	 */
+	public static StarEphemBatch fromCatalog() throws JPARSECException
+	{
+		StarElement stars[] = new StarElement[StarEphem.getStarCount()];
+		for (int i = 0; i < stars.length; i++)
+		{
+			stars[i] = StarEphem.getStarElement(i);
+		}
+		return new StarEphemBatch(stars);
+	}
+
+	/**
+	 * Returns the number of stars.
+	 * @return Number of stars.
+	 */
+	public int size()
+	{
+		return n;
+	}
+
+	/**
+	 * Returns the name of a star.
+	 * @param index Index of the star.
+	 * @return Its name.
+	 */
+	public String getName(int index)
+	{
+		return name[index];
+	}
+
+	/**
+	 * Computes the apparent places of all stars.
+	 * @param time Time object.
+	 * @param obs Observer object, on the Earth.
+	 * @param eph Ephemeris object.
+	 * @param threads The number of threads to use, or 0 or less to use the number
+	 * of available processors.
+	 * @return The results.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public Result compute(TimeElement time, ObserverElement obs, EphemerisElement eph, int threads)
+			throws JPARSECException
+	{
+		Result out = new Result(n);
+		compute(time, obs, eph, out, threads);
+		return out;
+	}
+
+	/**
+	 * Computes the apparent places of all stars, reusing the arrays of a previous
+	 * result. A new pool of threads is created for each call, see
+	 * {@linkplain #compute(TimeElement, ObserverElement, EphemerisElement, Result, ExecutorService)}
+	 * to reuse the same one for several calls.
+	 * @param time Time object.
+	 * @param obs Observer object, on the Earth.
+	 * @param eph Ephemeris object.
+	 * @param out The object where the results are stored, with a size equal to the
+	 * number of stars.
+	 * @param threads The number of threads to use, or 0 or less to use the number
+	 * of available processors.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public void compute(TimeElement time, ObserverElement obs, EphemerisElement eph, Result out, int threads)
+			throws JPARSECException
+	{
+		if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+		int chunks = getChunks(threads);
+		if (chunks <= 1 || threads == 1) {
+			compute(time, obs, eph, out, null, 1);
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunks));
+		try {
+			compute(time, obs, eph, out, executor, chunks);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Computes the apparent places of all stars, reusing the arrays of a previous
+	 * result and splitting the stars in chunks that are computed in parallel using
+	 * the given executor.
+	 * @param time Time object.
+	 * @param obs Observer object, on the Earth.
+	 * @param eph Ephemeris object.
+	 * @param out The object where the results are stored, with a size equal to the
+	 * number of stars.
+	 * @param executor The executor to use, or null to perform the calculations in the
+	 * current thread. The executor is not shut down.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public void compute(TimeElement time, ObserverElement obs, EphemerisElement eph, Result out, ExecutorService executor)
+			throws JPARSECException
+	{
+		int chunks = executor == null ? 1 : getChunks(Runtime.getRuntime().availableProcessors());
+		compute(time, obs, eph, out, executor, chunks);
+	}
+
+	private int getChunks(int threads)
+	{
+		return Math.min(threads * 4, Math.max(1, n / MIN_STARS_PER_CHUNK));
+	}
+
+	private void compute(TimeElement time, ObserverElement obs, EphemerisElement eph, final Result out,
+			ExecutorService executor, int chunks) throws JPARSECException
+	{
+		if (!EphemerisElement.checkEphemeris(eph))
+			throw new JPARSECException("invalid ephemeris object.");
+		if (obs.getMotherBody() != TARGET.EARTH)
+			throw new JPARSECException("the observer must be on the Earth.");
+		if (out.rightAscension.length != n)
+			throw new JPARSECException("the size of the result ("+out.rightAscension.length+") does not match the number of stars ("+n+").");
+
+		final Epoch epoch = new Epoch(time, obs, eph);
+
+		if (executor == null || chunks <= 1) {
+			process(epoch, out, 0, n);
+			return;
+		}
+
+		ArrayList<Future<?>> tasks = new ArrayList<Future<?>>();
+		int size = (n + chunks - 1) / chunks;
+		for (int from = 0; from < n; from += size)
+		{
+			final int i0 = from, i1 = Math.min(n, from + size);
+			tasks.add(executor.submit(new Runnable() {
+				public void run() {
+					process(epoch, out, i0, i1);
+				}
+			}));
+		}
+		try {
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				tasks.get(i).get();
+			}
+		} catch (ExecutionException e) {
+			throw new JPARSECException("error during calculations.", e.getCause());
+		} catch (InterruptedException e) {
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				tasks.get(i).cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new JPARSECException("calculations interrupted.", e);
+		}
+	}
+
+	/**
+	 * Holds the quantities that are common to all stars for a given instant.
+	 */
+	private class Epoch
+	{
+		private final double JD_TDB;
+		private final double e[];
+		private final boolean lightTime, apparent, topocentric, extinction;
+		private final double deflector[][], deflectorMass[];
+		private final double matrix[][];
+		private final double equinoxMatrix[];
+		private final double lst, sinlat, coslat, diurnalAberration, height;
+		private final double refraction[];
+
+		private Epoch(TimeElement time, ObserverElement obs, EphemerisElement eph) throws JPARSECException
+		{
+			JD_TDB = TimeScale.getJD(time, obs, eph, SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+			e = StarEphem.getSunPosition(JD_TDB, obs, eph);
+			lightTime = eph.ephemType != EphemerisElement.COORDINATES_TYPE.GEOMETRIC;
+			apparent = eph.ephemType == EphemerisElement.COORDINATES_TYPE.APPARENT;
+			topocentric = eph.isTopocentric;
+			extinction = apparent && eph.correctForExtinction;
+
+			// Sun, Jupiter, and Saturn as deflectors
+			TARGET bodies[] = new TARGET[] {TARGET.JUPITER, TARGET.SATURN};
+			deflector = new double[bodies.length + 1][];
+			deflectorMass = new double[bodies.length + 1];
+			deflector[0] = new double[] {0.0, 0.0, 0.0};
+			deflectorMass[0] = 1.0;
+			if (apparent) {
+				EphemerisElement ephJ2000 = new EphemerisElement();
+				ephJ2000.ephemMethod = REDUCTION_METHOD.IAU_2009;
+				for (int i = 0; i < bodies.length; i++)
+				{
+					double p[] = PlanetEphem.getGeocentricPosition(JD_TDB, bodies[i], 0.0, false, obs);
+					double lt = Functions.getNorm(new double[] {p[0], p[1], p[2]}) * Constant.LIGHT_TIME_DAYS_PER_AU;
+					double d[] = PlanetEphem.getHeliocentricEclipticPositionJ2000(JD_TDB - lt, bodies[i]);
+					deflector[i + 1] = Ephem.eclipticToEquatorial(d, Constant.J2000, ephJ2000);
+					deflectorMass[i + 1] = bodies[i].relativeMass;
+				}
+			}
+
+			// Frame bias, precession, nutation, and polar motion for each input frame
+			EphemerisElement ephClone = eph.clone();
+			double gast = 0.0;
+			Matrix polarMotion = null;
+			if (apparent && eph.correctForPolarMotion) {
+				gast = SiderealTime.greenwichApparentSiderealTime(time, obs, eph);
+				polarMotion = IAU2006.getPolarMotionCorrectionMatrix(time, obs, eph);
+			}
+			matrix = new double[frames.length][9];
+			for (int f = 0; f < frames.length; f++)
+			{
+				for (int j = 0; j < 3; j++)
+				{
+					double v[] = new double[3];
+					v[j] = 1.0;
+					v = Ephem.toOutputFrame(v, frames[f], eph.frame);
+					if (eph.frame == FRAME.FK4) {
+						v = Precession.precess(Constant.B1950, JD_TDB, v, eph);
+					} else {
+						v = Precession.precessFromJ2000(JD_TDB, v, ephClone);
+					}
+					if (apparent)
+						v = Nutation.nutateInEquatorialCoordinates(JD_TDB, ephClone, v, true);
+					if (polarMotion != null) {
+						v = Functions.rotateZ(v, -gast);
+						v = polarMotion.times(new Matrix(v)).getColumn(0);
+						v = Functions.rotateZ(v, gast);
+					}
+					matrix[f][j] = v[0];
+					matrix[f][3 + j] = v[1];
+					matrix[f][6 + j] = v[2];
+				}
+			}
+
+			// From true equinox of date to the output equinox
+			double eqm[] = null;
+			if (eph.equinox != EphemerisElement.EQUINOX_OF_DATE) {
+				eqm = new double[9];
+				for (int j = 0; j < 3; j++)
+				{
+					double v[] = new double[3];
+					v[j] = 1.0;
+					v = Precession.precess(JD_TDB, eph.equinox, v, eph);
+					eqm[j] = v[0];
+					eqm[3 + j] = v[1];
+					eqm[6 + j] = v[2];
+				}
+			}
+			equinoxMatrix = eqm;
+
+			double refr[] = null;
+			if (topocentric) {
+				lst = SiderealTime.apparentSiderealTime(time, obs, eph);
+				sinlat = Math.sin(obs.getLatitudeRad());
+				coslat = Math.cos(obs.getLatitudeRad());
+				height = obs.getHeight() / 1000.0;
+				double da = 0.0;
+				if (apparent) {
+					da = obs.getMotherBodyMeanRotationRate(eph) * (obs.getEllipsoid().getEquatorialRadius() * obs.getGeoRad() * 1000.0) / Constant.SPEED_OF_LIGHT;
+					da *= Math.cos(obs.getGeoLat());
+
+					int np = (int) ((Constant.PI_OVER_TWO - REFRACTION_MIN) / REFRACTION_STEP) + 2;
+					refr = new double[np];
+					for (int i = 0; i < np; i++)
+					{
+						double alt = Math.min(REFRACTION_MIN + i * REFRACTION_STEP, Constant.PI_OVER_TWO);
+						refr[i] = Ephem.getApparentElevation(eph, obs, alt, 50) - alt;
+					}
+				}
+				diurnalAberration = da;
+			} else {
+				lst = sinlat = coslat = diurnalAberration = height = 0.0;
+			}
+			refraction = refr;
+		}
+	}
+
+	private void process(Epoch ep, Result out, int from, int to)
+	{
+		double p[] = new double[3], vsp[] = new double[3];
+		double e[] = ep.e;
+		double ltTolerance = 100.0 * 1.0E-6 / (Constant.SECONDS_PER_DAY * Constant.JULIAN_DAYS_PER_CENTURY);
+		for (int i = from; i < to; i++)
+		{
+			/* Correct for proper motion and parallax */
+			double T = (ep.JD_TDB - equinox[i]) * 100.0 / Constant.JULIAN_DAYS_PER_CENTURY;
+			double plx = parallax[i];
+			double light_time_before = distAU[i] * Constant.LIGHT_TIME_DAYS_PER_AU;
+			double dT = 0.0, ddT = 0.0;
+			int iter = 0;
+			do
+			{
+				iter ++;
+				p[0] = qx[i] + (T + dT) * mx[i] + e[0] * plx;
+				p[1] = qy[i] + (T + dT) * my[i] + e[1] * plx;
+				p[2] = qz[i] + (T + dT) * mz[i] + e[2] * plx;
+				double norm = Math.sqrt(p[0] * p[0] + p[1] * p[1] + p[2] * p[2]);
+				double light_time_now = distAU[i] * norm * Constant.LIGHT_TIME_DAYS_PER_AU;
+				ddT = dT;
+				dT = (light_time_now - light_time_before) * 100.0 / Constant.JULIAN_DAYS_PER_CENTURY;
+				ddT -= dT;
+			} while (iter < 5 && Math.abs(ddT) > ltTolerance && ep.lightTime);
+
+			double EO = distAU[i];
+			p[0] *= EO;
+			p[1] *= EO;
+			p[2] *= EO;
+
+			// Solar and planetary deflection, and aberration
+			if (ep.apparent) {
+				double r = Math.sqrt(p[0] * p[0] + p[1] * p[1] + p[2] * p[2]);
+				double light_time = r * Constant.LIGHT_TIME_DAYS_PER_AU;
+				vsp[0] = p[0] - e[0];
+				vsp[1] = p[1] - e[1];
+				vsp[2] = p[2] - e[2];
+				for (int j = 0; j < ep.deflector.length; j++)
+				{
+					deflect(p, e, vsp, ep.deflector[j], ep.deflectorMass[j]);
+				}
+				aberration(p, e, light_time);
+			}
+
+			// To true equator and equinox of date
+			double m[] = ep.matrix[frame[i]];
+			double x = m[0] * p[0] + m[1] * p[1] + m[2] * p[2];
+			double y = m[3] * p[0] + m[4] * p[1] + m[5] * p[2];
+			double z = m[6] * p[0] + m[7] * p[1] + m[8] * p[2];
+			double rxy = Math.sqrt(x * x + y * y);
+			double ra = Math.atan2(y, x);
+			if (ra < 0.0) ra += Constant.TWO_PI;
+			double dec = Math.atan(z / rxy);
+			double dist = Math.sqrt(rxy * rxy + z * z) * Constant.ARCSEC_TO_RAD;
+			float mag = magnitude0[i] + (float) (5.0 * Math.log10(dist / distance0[i]));
+			if (plx == 0.0) dist = StarElement.DISTANCE_UNKNOWN;
+
+			double azi = 0.0, alt = 0.0;
+			if (ep.topocentric) {
+				// Diurnal aberration
+				if (ep.diurnalAberration != 0.0) {
+					double cosdec = Math.cos(dec), sindec = Math.sin(dec);
+					double h = ep.lst - ra;
+					double dra = 0.0;
+					if (cosdec != 0.0) dra = ep.diurnalAberration * Math.cos(h) / cosdec;
+					double ddec = ep.diurnalAberration * sindec * Math.sin(h);
+					ra += dra;
+					dec += ddec;
+				}
+
+				// Horizontal coordinates
+				double angh = ep.lst - ra;
+				double sindec = Math.sin(dec), cosdec = Math.cos(dec);
+				double cosangh = Math.cos(angh);
+				alt = Math.asin(ep.sinlat * sindec + ep.coslat * cosdec * cosangh);
+				azi = Math.PI + Math.atan2(Math.sin(angh), cosangh * ep.sinlat - sindec * ep.coslat / cosdec);
+
+				if (ep.refraction != null && alt >= REFRACTION_MIN) {
+					double pos = (alt - REFRACTION_MIN) / REFRACTION_STEP;
+					int k = Math.min((int) pos, ep.refraction.length - 2);
+					double f = pos - k;
+					alt = Math.min(alt + ep.refraction[k] + f * (ep.refraction[k + 1] - ep.refraction[k]), Constant.PI_OVER_TWO);
+				}
+				if (ep.extinction)
+					mag += Star.getExtinction(Constant.PI_OVER_TWO - alt, ep.height, 5);
+			}
+
+			// To the output equinox
+			if (ep.equinoxMatrix != null) {
+				double eqm[] = ep.equinoxMatrix;
+				double cosdec = Math.cos(dec);
+				double x0 = cosdec * Math.cos(ra), y0 = cosdec * Math.sin(ra), z0 = Math.sin(dec);
+				x = eqm[0] * x0 + eqm[1] * y0 + eqm[2] * z0;
+				y = eqm[3] * x0 + eqm[4] * y0 + eqm[5] * z0;
+				z = eqm[6] * x0 + eqm[7] * y0 + eqm[8] * z0;
+				ra = Math.atan2(y, x);
+				if (ra < 0.0) ra += Constant.TWO_PI;
+				dec = Math.atan(z / Math.sqrt(x * x + y * y));
+			}
+
+			out.rightAscension[i] = ra;
+			out.declination[i] = dec;
+			out.distance[i] = dist;
+			out.magnitude[i] = mag;
+			out.azimuth[i] = azi;
+			out.elevation[i] = alt;
+		}
+	}
+
+	/**
+	 * Deflection of light by a body, as in {@linkplain Ephem#deflectionCorrection(double[], double[], double[], double[], double)},
+	 * modifying the input vector. Like {@linkplain Ephem#solarAndPlanetaryDeflection(double[], double[], double[], TARGET[], double, boolean, ObserverElement)},
+	 * which calls that method with the same vector for the Sun and each body, the
+	 * corrections of the Sun, Jupiter, and Saturn are applied one after the other, so
+	 * that all of them are included in the result.
+	 */
+	private static void deflect(double vep[], double ves[], double vsp[], double deflector[], double relative_mass)
+	{
+		double dex = -ves[0] - deflector[0], dey = -ves[1] - deflector[1], dez = -ves[2] - deflector[2];
+		double dpx = vsp[0] - deflector[0], dpy = vsp[1] - deflector[1], dpz = vsp[2] - deflector[2];
+		double rs = Math.sqrt(dex * dex + dey * dey + dez * dez);
+		double rp = Math.sqrt(dpx * dpx + dpy * dpy + dpz * dpz);
+		double rg = Math.sqrt(vep[0] * vep[0] + vep[1] * vep[1] + vep[2] * vep[2]);
+		if (rs == 0 || rp == 0 || rg == 0) return;
+
+		double DOT_PLANET = (vep[0] * dpx + vep[1] * dpy + vep[2] * dpz) / (rg * rp);
+		double DOT_EARTH = (dex * vep[0] + dey * vep[1] + dez * vep[2]) / (rg * rs);
+		double DOT_DEFLECTOR = (dpx * dex + dpy * dey + dpz * dez) / (rs * rp);
+		if (Math.abs(DOT_DEFLECTOR) > 0.99999999999) return;
+
+		double FAC1 = Constant.SUN_GRAVITATIONAL_CONSTANT * 2.0 / (Constant.SPEED_OF_LIGHT * Constant.SPEED_OF_LIGHT * Constant.AU * 1000.0 * rs * relative_mass);
+		double FAC2 = 1.0 + DOT_DEFLECTOR;
+		vep[0] = (vep[0] / rg + FAC1 * (DOT_PLANET * dex / rs - DOT_EARTH * dpx / rp) / FAC2) * rg;
+		vep[1] = (vep[1] / rg + FAC1 * (DOT_PLANET * dey / rs - DOT_EARTH * dpy / rp) / FAC2) * rg;
+		vep[2] = (vep[2] / rg + FAC1 * (DOT_PLANET * dez / rs - DOT_EARTH * dpz / rp) / FAC2) * rg;
+	}
+
+	/**
+	 * Aberration, as in {@linkplain Ephem#aberration(double[], double[], double)},
+	 * modifying the input vector.
+	 */
+	private static void aberration(double p[], double earth[], double light_time)
+	{
+		if (light_time <= 0) return;
+		double vx = earth[3], vy = earth[4], vz = earth[5];
+		double VEMAG = Math.sqrt(vx * vx + vy * vy + vz * vz);
+		if (VEMAG == 0) return;
+
+		double P1MAG = light_time / Constant.LIGHT_TIME_DAYS_PER_AU;
+		double BETA = VEMAG * Constant.LIGHT_TIME_DAYS_PER_AU;
+		double COSD = (p[0] * vx + p[1] * vy + p[2] * vz) / (P1MAG * VEMAG);
+		double GAMMAI = Math.sqrt(1.0 - BETA * BETA);
+		double P = BETA * COSD;
+		double Q = (1.0 + P / (1.0 + GAMMAI)) * light_time;
+		double R = 1.0 + P;
+		p[0] = (GAMMAI * p[0] + Q * vx) / R;
+		p[1] = (GAMMAI * p[1] + Q * vy) / R;
+		p[2] = (GAMMAI * p[2] + Q * vz) / R;
+	}
+}
@@ -80,6 +80,7 @@ import jparsec.ephem.RiseSetTransit;
 import jparsec.ephem.Target;
 import jparsec.ephem.Target.TARGET;
 import jparsec.ephem.event.EventReport;
+import jparsec.ephem.event.EventReportElement;
 import jparsec.ephem.event.MainEvents;
 import jparsec.ephem.event.MainEvents.EVENT_TIME;
 import jparsec.ephem.event.SimpleEventElement;
@@ -5403,26 +5404,27 @@ private class thread0 implements Runnable {
 						EphemerisElement.FRAME.DYNAMICAL_EQUINOX_J2000);
 				eph.optimizeForSpeed();
 
-				EventReport.setEverythingTo(false);
-				EventReport.eclipses = true;
-				EventReport.planetaryEvents = true;
-				EventReport.MercuryVenusTransits = true;
-				EventReport.lunarPhases = true;
-				EventReport.equinoxesAndSolstices = true;
-				EventReport.meteorShowers = true;
-
-				EventReport.craters = true;
-				EventReport.cratersOnlyLunarX = true;
-				EventReport.EarthPerihelionAphelion = true;
-				EventReport.lunarPerigeeApogee = true;
-				EventReport.NEOs = true;
-				EventReport.lunarMaxMinDeclination = true;
+				EventReportElement config = new EventReportElement();
+				config.setEverythingTo(false);
+				config.eclipses = true;
+				config.planetaryEvents = true;
+				config.MercuryVenusTransits = true;
+				config.lunarPhases = true;
+				config.equinoxesAndSolstices = true;
+				config.meteorShowers = true;
+
+				config.craters = true;
+				config.cratersOnlyLunarX = true;
+				config.EarthPerihelionAphelion = true;
+				config.lunarPerigeeApogee = true;
+				config.NEOs = true;
+				config.lunarMaxMinDeclination = true;
 				//if (chart.drawComets || chart.drawAsteroids)
-					EventReport.cometAsteroidVisibleNakedEye = true;
+					config.cometAsteroidVisibleNakedEye = true;
 
 
 				ObserverElement observer = obs.clone();
-				ArrayList<SimpleEventElement> list = EventReport.getEvents(init, end, observer, eph);
+				ArrayList<SimpleEventElement> list = EventReport.getEvents(init, end, observer, eph, config);
 				feed = EventReport.getFeed(list, observer);
 			} catch (Exception exc) {
 				exc.printStackTrace();
@@ -26,6 +26,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -85,6 +86,7 @@ import jparsec.graph.chartRendering.SkyRenderElement.REALISTIC_STARS;
 import jparsec.graph.chartRendering.SkyRenderElement.SUPERIMPOSED_LABELS;
 import jparsec.io.FileFormatElement;
 import jparsec.io.FileIO;
+import jparsec.io.NameIndex;
 import jparsec.io.ReadFile;
 import jparsec.io.ReadFile.FORMAT;
 import jparsec.io.ReadFormat;
@@ -9741,45 +9743,9 @@ public class RenderSky
 	}
 
 	private static int searchStar(String object, ReadFile re) {
-		int index = -1;
-		Object o[] = re.getReadElements();
-		if (o == null) return index;
-		for (int i = 0; i < o.length; i++)
-		{
-			StarData sd = null;
-			if (o[i] instanceof StarElement) {
-				StarElement se = (StarElement)o[i];
-				if (se == null) continue;
-				String name = ""+se.name;
-				if (name.equals(object) || (name.indexOf("("+object+")") >= 0))
-				{
-					index = i;
-					break;
-				} else {
-					if (name.toLowerCase().indexOf(object.toLowerCase()) >= 0)
-					{
-						index = i;
-					}
-				}
-			} else {
-				sd = (StarData)o[i];
-				if (sd == null) continue;
-				String name = ""+sd.sky2000;
-				if (sd.nom2 != null) name += " ("+sd.nom2+")";
-				if (sd.greek != '\u0000') name += " ("+sd.greek+")";
-				if (name.equals(object) || (name.indexOf("("+object+")") >= 0))
-				{
-					index = i;
-					break;
-				} else {
-					if (name.toLowerCase().indexOf(object.toLowerCase()) >= 0)
-					{
-						index = i;
-					}
-				}
-			}
-		}
-		return index;
+		NameIndex index = getStarNameIndex(re);
+		if (index == null) return -1;
+		return index.search(object);
 	}
 
 	static int getStar(String object, ReadFile re) throws JPARSECException
@@ -9848,47 +9814,61 @@ public class RenderSky
 	}
 
 	private static int[] searchStars(String object, ReadFile re) {
-		int index[] = new int[0];
+		NameIndex index = getStarNameIndex(re);
+		if (index == null) return null;
+		return index.searchAll(object);
+	}
+
+	/**
+	 * Holder for the index of star names, kept in {@linkplain DataBase} next to
+	 * the stars it was built from.
+	 */
+	private static final class StarNameIndex {
+		private final WeakReference<Object[]> elements;
+		private final NameIndex index;
+
+		private StarNameIndex(Object elements[], NameIndex index) {
+			this.elements = new WeakReference<Object[]>(elements);
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Returns the index of names for the stars read, building it if required.
+	 * The index is stored in {@linkplain DataBase} with the identifier and thread
+	 * of the stars, so that it is released together with them.
+	 * @param re The stars read.
+	 * @return The index, or null if no stars are read.
+	 */
+	private static NameIndex getStarNameIndex(ReadFile re) {
 		Object o[] = re.getReadElements();
 		if (o == null) return null;
+		String id = re.getDataBaseID() + "_starNameIndex", pid = re.getThreadName();
+		Object cached = DataBase.getData(id, pid, true);
+		if (cached != null) {
+			StarNameIndex sni = (StarNameIndex) cached;
+			if (sni.elements.get() == o) return sni.index;
+		}
+
+		String names[] = new String[o.length];
 		for (int i = 0; i < o.length; i++)
 		{
-			StarData sd = null;
+			if (o[i] == null) continue;
 			if (o[i] instanceof StarElement) {
-				StarElement se = (StarElement)o[i];
-				if (se == null) continue;
-				String name = ""+se.name;
-				if (name.equals(object) || (name.indexOf("("+object+")") >= 0))
-				{
-					index = DataSet.addIntegerArray(index, new int[] {i});
-					break;
-				} else {
-					if (name.toLowerCase().indexOf(object.toLowerCase()) >= 0)
-					{
-						index = DataSet.addIntegerArray(index, new int[] {i});
-					}
-				}
+				names[i] = ""+((StarElement)o[i]).name;
 			} else {
-				sd = (StarData)o[i];
-				if (sd == null) continue;
+				StarData sd = (StarData)o[i];
 				String name = ""+sd.sky2000;
 				if (sd.nom2 != null) name += " ("+sd.nom2+")";
 				if (sd.greek != '\u0000') name += " ("+sd.greek+")";
-				if (name.equals(object) || (name.indexOf("("+object+")") >= 0))
-				{
-					index = DataSet.addIntegerArray(index, new int[] {i});
-					break;
-				} else {
-					if (name.toLowerCase().indexOf(object.toLowerCase()) >= 0)
-					{
-						index = DataSet.addIntegerArray(index, new int[] {i});
-					}
-				}
+				names[i] = name;
 			}
 		}
+		NameIndex index = new NameIndex(names, null);
+		DataBase.addData(id, pid, new StarNameIndex(o, index), true);
 		return index;
 	}
-	
+
 	static int[] getStars(String object, ReadFile re) throws JPARSECException
 	{
 		// Search object
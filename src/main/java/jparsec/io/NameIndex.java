@@ -0,0 +1,220 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.io;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+/**
+ * An index to search for objects by name in a catalog. The index holds hash tables
+ * for the exact names and for the identifiers given between parentheses in the names
+ * (like the Bayer designations in the star catalogs), and a trigram index to find
+ * the names that contain a given text without scanning the entire catalog.
+ * <P>
+ * The rules for the searches are the same followed by {@linkplain ReadFile#searchByName(String)}:
+ * the first object whose name is equal to the given text, or contains it between
+ * parentheses, is returned. Otherwise, the last object whose name contains the given
+ * text, ignoring case, is returned.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class NameIndex implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private String names[], lowerCaseNames[];
+	private HashMap<String, Integer> exact = new HashMap<String, Integer>();
+	private boolean useIdentifiers[];
+	private HashMap<String, Integer> identifiers = new HashMap<String, Integer>();
+	private HashMap<Long, int[]> trigrams = new HashMap<Long, int[]>();
+
+	/**
+	 * Constructor for a given set of names.
+	 * @param names The names of the objects. Null names are allowed, and
+	 * they never match any search.
+	 * @param identifiers True for the objects that can also be found by the
+	 * identifiers given between parentheses in their names. Can be null to
+	 * use the identifiers for all objects.
+	 */
+	public NameIndex(String names[], boolean identifiers[]) {
+		int n = names.length;
+		this.names = names;
+		useIdentifiers = identifiers;
+		lowerCaseNames = new String[n];
+
+		HashMap<Long, int[]> postings = new HashMap<Long, int[]>();
+		for (int i = 0; i < n; i++) {
+			String name = names[i];
+			if (name == null) continue;
+			lowerCaseNames[i] = name.toLowerCase();
+
+			if (!exact.containsKey(name)) exact.put(name, i);
+			if (identifiers == null || identifiers[i]) {
+				int p = name.indexOf("(");
+				while (p >= 0) {
+					int q = name.indexOf(")", p + 1);
+					if (q < 0) break;
+					String id = name.substring(p + 1, q);
+					if (id.indexOf("(") < 0 && !this.identifiers.containsKey(id)) this.identifiers.put(id, i);
+					p = name.indexOf("(", p + 1);
+				}
+			}
+
+			// Posting lists are stored as {size, last index, indexes ...}
+			String l = lowerCaseNames[i];
+			for (int j = 0; j + 3 <= l.length(); j++) {
+				Long key = getKey(l, j);
+				int list[] = postings.get(key);
+				if (list == null) {
+					list = new int[] {0, -1, 0, 0};
+					postings.put(key, list);
+				}
+				if (list[1] == i) continue;
+				if (list[0] + 2 == list.length) {
+					int newList[] = new int[2 * list.length];
+					System.arraycopy(list, 0, newList, 0, list.length);
+					list = newList;
+					postings.put(key, list);
+				}
+				list[list[0] + 2] = i;
+				list[0] ++;
+				list[1] = i;
+			}
+		}
+		for (Long key : postings.keySet()) {
+			int list[] = postings.get(key);
+			int out[] = new int[list[0]];
+			System.arraycopy(list, 2, out, 0, out.length);
+			trigrams.put(key, out);
+		}
+	}
+
+	/**
+	 * Returns the number of objects in this index.
+	 * @return Number of objects.
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * Search for an object by it's name.
+	 * @param object Name of the object to search for.
+	 * @return Index of the first object with that name or identifier, or
+	 * the last object whose name contains the given text ignoring case.
+	 * -1 is returned if no match is found.
+	 */
+	public int search(String object) {
+		int index = getExactMatch(object);
+		if (index >= 0) return index;
+
+		String lower = object.toLowerCase();
+		int candidates[] = getCandidates(lower);
+		for (int i = candidates.length - 1; i >= 0; i--) {
+			int c = candidates[i];
+			if (lowerCaseNames[c] != null && lowerCaseNames[c].indexOf(lower) >= 0) return c;
+		}
+		return -1;
+	}
+
+	/**
+	 * Search for all objects whose name contains a given text.
+	 * @param object Name of the object to search for.
+	 * @return Indexes of the objects whose name contains the given text ignoring
+	 * case, in crescent order. If an object has that name or identifier, it is the
+	 * last index returned. An empty array is returned if no match is found.
+	 */
+	public int[] searchAll(String object) {
+		int last = getExactMatch(object);
+
+		String lower = object.toLowerCase();
+		int candidates[] = getCandidates(lower);
+		int out[] = new int[candidates.length];
+		int n = 0;
+		for (int i = 0; i < candidates.length; i++) {
+			int c = candidates[i];
+			if (last >= 0 && c > last) break;
+			if (lowerCaseNames[c] != null && lowerCaseNames[c].indexOf(lower) >= 0) {
+				out[n] = c;
+				n ++;
+			}
+		}
+		if (n == out.length) return out;
+		int o[] = new int[n];
+		System.arraycopy(out, 0, o, 0, n);
+		return o;
+	}
+
+	/**
+	 * Returns the index of the first object with a given name or identifier.
+	 * @param object Name of the object to search for.
+	 * @return The index, or -1 if it is not found.
+	 */
+	public int getExactMatch(String object) {
+		int index = -1;
+		Integer i = exact.get(object);
+		if (i != null) index = i.intValue();
+
+		if (object.indexOf("(") < 0 && object.indexOf(")") < 0) {
+			i = identifiers.get(object);
+			if (i != null && (index < 0 || i.intValue() < index)) index = i.intValue();
+			return index;
+		}
+
+		// Identifiers with parentheses are not indexed
+		String id = "(" + object + ")";
+		int max = index < 0 ? names.length : index;
+		for (int j = 0; j < max; j++) {
+			if (names[j] != null && (useIdentifiers == null || useIdentifiers[j]) && names[j].indexOf(id) >= 0) return j;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the objects that could contain a given text in their name.
+	 * @param lower The text in lower case.
+	 * @return Indexes of the candidates in crescent order.
+	 */
+	private int[] getCandidates(String lower) {
+		if (lower.length() < 3) {
+			int all[] = new int[names.length];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = i;
+			}
+			return all;
+		}
+
+		// All trigrams must be present, so the shortest posting list is enough
+		int best[] = null;
+		for (int j = 0; j + 3 <= lower.length(); j++) {
+			int list[] = trigrams.get(getKey(lower, j));
+			if (list == null) return new int[0];
+			if (best == null || list.length < best.length) best = list;
+		}
+		return best;
+	}
+
+	private static Long getKey(String s, int j) {
+		return Long.valueOf(((long) s.charAt(j) << 32) | ((long) s.charAt(j + 1) << 16) | s.charAt(j + 2));
+	}
+}
@@ -997,6 +997,10 @@ public class ReadFile implements Serializable
 
 	private boolean inMemory = true;
 	private String threadName = null;
+	private transient SkyIndex skyIndex = null;
+	private transient Object skyIndexElements[] = null;
+	private transient NameIndex nameIndex = null;
+	private transient Object nameIndexElements[] = null;
 
 	/**
 	 * Overwrites the name of the thread identifier for the
@@ -1008,6 +1012,16 @@ public class ReadFile implements Serializable
 		threadName = threadID;
 	}
 
+	/**
+	 * Returns the name of the thread identifier for the
+	 * elements read in this object and stored in Database.
+	 * @return The thread identifier.
+	 */
+	public String getThreadName() {
+		if (threadName == null) threadName = Thread.currentThread().getName();
+		return threadName;
+	}
+
 	/**
 	 * Sets the array of objects read by this instance to
 	 * a given list of objects.
@@ -1988,6 +2002,8 @@ public class ReadFile implements Serializable
 		int index = -1;
 		Object o[] = this.getReadElements();
 		if (o == null) return index;
+		if (inMemory) return getNameIndex(o).search(object);
+
 		for (int i = 0; i < o.length; i++)
 		{
 			String name = obtainName(i, o);
@@ -2006,6 +2022,29 @@ public class ReadFile implements Serializable
 		return index;
 	}
 
+	/**
+	 * Returns the index of names for the objects read by this instance, building
+	 * it if required. The index is rebuilt when the set of read objects change.
+	 * @param o The objects read.
+	 * @return The index.
+	 * @throws JPARSECException Thrown if the object is not supported.
+	 */
+	private synchronized NameIndex getNameIndex(Object o[]) throws JPARSECException
+	{
+		if (nameIndex != null && nameIndexElements == o) return nameIndex;
+
+		String names[] = new String[o.length];
+		boolean stars[] = new boolean[o.length];
+		for (int i = 0; i < o.length; i++)
+		{
+			names[i] = obtainName(i, o);
+			stars[i] = o[i] instanceof StarElement;
+		}
+		nameIndex = new NameIndex(names, stars);
+		nameIndexElements = o;
+		return nameIndex;
+	}
+
 	/**
 	 * Search for an object by it's position. This method is not supported for orbital elements
 	 * (comets, asteroids, transneptunians, artificial satellites). It is only supported for stars.
@@ -2019,10 +2058,13 @@ public class ReadFile implements Serializable
 	 */
 	public int searchByPosition(LocationElement loc, double radius) throws JPARSECException
 	{
-		// Search object
-		int index = -1;
 		Object o[] = this.getReadElements();
-		if (o == null) return index;
+		if (o == null) return -1;
+		SkyIndex index = getSkyIndex(o);
+		if (index != null) return index.searchClosest(loc.getLongitude(), loc.getLatitude(), radius);
+
+		// Search object
+		int out = -1;
 		double minDist = -1;
 		for (int i = 0; i < o.length; i++)
 		{
@@ -2030,13 +2072,13 @@ public class ReadFile implements Serializable
 			double d = LocationElement.getAngularDistance(loc, l);
 			if (d < radius) {
 				if (d < minDist || minDist == -1) {
-					index = i;
+					out = i;
 					minDist = d;
 				}
 			}
 		}
 
-		return index;
+		return out;
 	}
 
 	/**
@@ -2052,26 +2094,72 @@ public class ReadFile implements Serializable
 	 */
 	public int[] searchByPositionGetAll(LocationElement loc, double radius) throws JPARSECException
 	{
-		// Search object
-		Integer index[] = null;
 		Object o[] = this.getReadElements();
 		if (o == null) return null;
-		index = new Integer[0];
-		double dist[] = new double[0];
+		SkyIndex skyIndex = getSkyIndex(o);
+		if (skyIndex != null) {
+			int out[] = skyIndex.search(loc.getLongitude(), loc.getLatitude(), radius);
+			if (out.length == 0) return null;
+			return out;
+		}
+
+		// Search object
+		int index[] = new int[16];
+		double dist[] = new double[16];
+		int n = 0;
 		for (int i = 0; i < o.length; i++)
 		{
 			LocationElement l = obtainPos(i, o);
 			double d = LocationElement.getAngularDistance(loc, l);
 			if (d < radius) {
-				index = (Integer[]) DataSet.addObjectArray(index, new Integer[] {new Integer(i)});
-				dist = DataSet.addDoubleArray(dist, new double[] {d});
+				if (n == index.length) {
+					int newIndex[] = new int[2 * n];
+					double newDist[] = new double[2 * n];
+					System.arraycopy(index, 0, newIndex, 0, n);
+					System.arraycopy(dist, 0, newDist, 0, n);
+					index = newIndex;
+					dist = newDist;
+				}
+				index[n] = i;
+				dist[n] = d;
+				n ++;
 			}
 		}
-		index = (Integer[]) DataSet.sortInCrescent(index, dist);
-		if (index.length == 0) return null;
-		return DataSet.toPrimitiveArrayInteger(index);
+		if (n == 0) return null;
+		SkyIndex.sortByDistance(index, dist, n);
+		return DataSet.getSubArray(index, 0, n - 1);
 	}
-	
+
+	/**
+	 * Returns the spatial index for the objects read by this instance, building
+	 * it if required. The index is rebuilt when the set of read objects change.
+	 * @param o The objects read.
+	 * @return The index, or null if it is disabled or the objects are not stored in memory.
+	 * @throws JPARSECException Thrown if the object is not supported.
+	 */
+	private synchronized SkyIndex getSkyIndex(Object o[]) throws JPARSECException
+	{
+		if (Configuration.SKY_INDEX_CELL_SIZE <= 0 || !inMemory) {
+			skyIndex = null;
+			skyIndexElements = null;
+			return null;
+		}
+		double cellSize = Configuration.SKY_INDEX_CELL_SIZE * Constant.DEG_TO_RAD;
+		if (skyIndex != null && skyIndexElements == o && Math.abs(skyIndex.getCellSize() - cellSize) < cellSize * 0.5)
+			return skyIndex;
+
+		double ra[] = new double[o.length], dec[] = new double[o.length];
+		for (int i = 0; i < o.length; i++)
+		{
+			LocationElement l = obtainPos(i, o);
+			ra[i] = l.getLongitude();
+			dec[i] = l.getLatitude();
+		}
+		skyIndex = new SkyIndex(ra, dec, cellSize);
+		skyIndexElements = o;
+		return skyIndex;
+	}
+
 	private String obtainName(int index, Object obj[]) throws JPARSECException
 	{
 		if (index < 0 || index >= obj.length)
@@ -0,0 +1,314 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.io;
+
+import java.io.Serializable;
+
+import jparsec.math.Constant;
+import jparsec.util.JPARSECException;
+
+/**
+ * A spatial index to search for objects by position in a catalog. The sky is divided
+ * in declination bands of constant height, and each band is divided in right ascension
+ * in cells of approximately the same area, so that a cone search only needs to check
+ * the objects in the cells that overlap with the cone, instead of the entire catalog.
+ * <P>
+ * The positions are stored as primitive unit vectors, and the distances are computed
+ * in the same way as in {@linkplain jparsec.observer.LocationElement#getAngularDistance(jparsec.observer.LocationElement, jparsec.observer.LocationElement)},
+ * so that the results are identical to those of a full scan of the catalog. The index
+ * is used by {@linkplain ReadFile} to search for stars, double stars, and variable stars, but
+ * it can be constructed for any other set of positions, like those of deep sky objects.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public class SkyIndex implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private double x[], y[], z[];
+	private double cellSize;
+	private int nBands;
+	private int bandCells[], bandOffset[];
+	private int cellStart[], members[];
+
+	/**
+	 * Constructor for a given set of positions.
+	 * @param ra The right ascensions, or longitudes, in radians.
+	 * @param dec The declinations, or latitudes, in radians.
+	 * @param cellSize The approximate size of the cells in radians.
+	 * @throws JPARSECException If the arrays have different lengths or the cell size is not positive.
+	 */
+	public SkyIndex(double ra[], double dec[], double cellSize) throws JPARSECException {
+		if (ra.length != dec.length) throw new JPARSECException("ra and dec arrays must have the same length.");
+		if (cellSize <= 0) throw new JPARSECException("cell size must be greater than 0.");
+
+		int n = ra.length;
+		x = new double[n];
+		y = new double[n];
+		z = new double[n];
+
+		nBands = (int) Math.ceil(Math.PI / cellSize);
+		this.cellSize = Math.PI / nBands;
+		bandCells = new int[nBands];
+		bandOffset = new int[nBands];
+		int nCells = 0;
+		for (int b = 0; b < nBands; b++) {
+			double center = -Constant.PI_OVER_TWO + (b + 0.5) * this.cellSize;
+			bandCells[b] = Math.max(1, (int) Math.round(Constant.TWO_PI * Math.cos(center) / this.cellSize));
+			bandOffset[b] = nCells;
+			nCells += bandCells[b];
+		}
+
+		int cell[] = new int[n];
+		cellStart = new int[nCells + 1];
+		for (int i = 0; i < n; i++) {
+			double cd = Math.cos(dec[i]);
+			x[i] = Math.cos(ra[i]) * cd;
+			y[i] = Math.sin(ra[i]) * cd;
+			z[i] = Math.sin(dec[i]);
+
+			cell[i] = getCell(ra[i], dec[i]);
+			cellStart[cell[i] + 1] ++;
+		}
+		for (int c = 0; c < nCells; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		members = new int[n];
+		int next[] = new int[nCells];
+		for (int i = 0; i < n; i++) {
+			int c = cell[i];
+			members[cellStart[c] + next[c]] = i;
+			next[c] ++;
+		}
+	}
+
+	/**
+	 * Returns the number of objects in this index.
+	 * @return Number of objects.
+	 */
+	public int size() {
+		return x.length;
+	}
+
+	/**
+	 * Returns the number of cells in which the sky is divided.
+	 * @return Number of cells.
+	 */
+	public int getNumberOfCells() {
+		return cellStart.length - 1;
+	}
+
+	/**
+	 * Returns the size of the cells.
+	 * @return Cell size in radians.
+	 */
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Returns the indexes of the objects closer than a given radius to a given position.
+	 * @param ra Right ascension of the center of the cone, in radians.
+	 * @param dec Declination of the center of the cone, in radians.
+	 * @param radius Radius of the cone in radians.
+	 * @return Indexes of the objects at a distance lower than radius, ordered by distance
+	 * in crescent order. An empty array is returned if no match is found.
+	 */
+	public int[] search(double ra, double dec, double radius) {
+		Candidates c = new Candidates(ra, dec, radius);
+		visit(ra, dec, radius, c);
+		sortByDistance(c.index, c.dist, c.n);
+
+		int out[] = new int[c.n];
+		System.arraycopy(c.index, 0, out, 0, c.n);
+		return out;
+	}
+
+	/**
+	 * Returns the index of the closest object to a given position.
+	 * @param ra Right ascension of the center of the cone, in radians.
+	 * @param dec Declination of the center of the cone, in radians.
+	 * @param radius Radius of the cone in radians.
+	 * @return Index of the closest object at a distance lower than radius,
+	 * or -1 if no match is found.
+	 */
+	public int searchClosest(double ra, double dec, double radius) {
+		Candidates c = new Candidates(ra, dec, radius);
+		visit(ra, dec, radius, c);
+
+		int index = -1;
+		double minDist = -1;
+		for (int i = 0; i < c.n; i++) {
+			if (c.dist[i] < minDist || minDist == -1 || (c.dist[i] == minDist && c.index[i] < index)) {
+				index = c.index[i];
+				minDist = c.dist[i];
+			}
+		}
+		return index;
+	}
+
+	private int getCell(double ra, double dec) {
+		int b = (int) ((dec + Constant.PI_OVER_TWO) / cellSize);
+		if (b < 0) b = 0;
+		if (b >= nBands) b = nBands - 1;
+
+		int n = bandCells[b];
+		int c = (int) Math.floor(normalize(ra) * n / Constant.TWO_PI);
+		if (c < 0) c = 0;
+		if (c >= n) c = n - 1;
+		return bandOffset[b] + c;
+	}
+
+	private void visit(double ra, double dec, double radius, Candidates out) {
+		// Small margin to account for rounding errors at the borders of the cells
+		radius += 1.0E-12;
+		int b0 = (int) Math.floor((dec - radius + Constant.PI_OVER_TWO) / cellSize);
+		int b1 = (int) Math.floor((dec + radius + Constant.PI_OVER_TWO) / cellSize);
+		if (b0 < 0) b0 = 0;
+		if (b1 >= nBands) b1 = nBands - 1;
+
+		// Maximum half width in right ascension of a cone that does not contain a pole
+		double dra = -1;
+		double sr = Math.sin(radius), cd = Math.cos(dec);
+		if (radius < Constant.PI_OVER_TWO && sr < cd) dra = Math.asin(sr / cd);
+		ra = normalize(ra);
+
+		for (int b = b0; b <= b1; b++) {
+			int n = bandCells[b];
+			int c0 = 0, c1 = n - 1;
+			if (dra >= 0) {
+				double w = Constant.TWO_PI / n;
+				c0 = (int) Math.floor((ra - dra) / w);
+				c1 = (int) Math.floor((ra + dra) / w);
+				if (c1 - c0 + 1 >= n) {
+					c0 = 0;
+					c1 = n - 1;
+				}
+			}
+			for (int c = c0; c <= c1; c++) {
+				int cell = bandOffset[b] + ((c % n) + n) % n;
+				for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+					out.check(members[j]);
+				}
+			}
+		}
+	}
+
+	private static double normalize(double ra) {
+		ra = ra % Constant.TWO_PI;
+		if (ra < 0) ra += Constant.TWO_PI;
+		return ra;
+	}
+
+	/**
+	 * Sorts a set of indexes by their distances in crescent order. Objects at the same
+	 * distance are sorted by index.
+	 * @param index The indexes, sorted in place.
+	 * @param dist The distances, sorted in place.
+	 * @param n The number of elements to sort from the beginning of the arrays.
+	 */
+	static void sortByDistance(int index[], double dist[], int n) {
+		if (n > 32) {
+			quickSort(index, dist, 0, n - 1);
+			return;
+		}
+
+		// Insertion sort for short lists, the usual case in cone searches
+		for (int i = 1; i < n; i++) {
+			int ii = index[i];
+			double di = dist[i];
+			int j = i - 1;
+			while (j >= 0 && (dist[j] > di || (dist[j] == di && index[j] > ii))) {
+				index[j + 1] = index[j];
+				dist[j + 1] = dist[j];
+				j--;
+			}
+			index[j + 1] = ii;
+			dist[j + 1] = di;
+		}
+	}
+
+	private static void quickSort(int index[], double dist[], int lo, int hi) {
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			double pd = dist[mid];
+			int pi = index[mid];
+			int i = lo, j = hi;
+			while (i <= j) {
+				while (dist[i] < pd || (dist[i] == pd && index[i] < pi)) i++;
+				while (dist[j] > pd || (dist[j] == pd && index[j] > pi)) j--;
+				if (i <= j) {
+					int ti = index[i];
+					index[i] = index[j];
+					index[j] = ti;
+					double td = dist[i];
+					dist[i] = dist[j];
+					dist[j] = td;
+					i++;
+					j--;
+				}
+			}
+			// Recurse on the smaller part to limit the depth of the stack
+			if (j - lo < hi - i) {
+				if (lo < j) quickSort(index, dist, lo, j);
+				lo = i;
+			} else {
+				if (i < hi) quickSort(index, dist, i, hi);
+				hi = j;
+			}
+		}
+	}
+
+	private class Candidates {
+		private double cx, cy, cz, radius;
+		private int index[] = new int[16];
+		private double dist[] = new double[16];
+		private int n = 0;
+
+		private Candidates(double ra, double dec, double radius) {
+			double cd = Math.cos(dec);
+			cx = Math.cos(ra) * cd;
+			cy = Math.sin(ra) * cd;
+			cz = Math.sin(dec);
+			this.radius = radius;
+		}
+
+		private void check(int i) {
+			double dx = cx - x[i], dy = cy - y[i], dz = cz - z[i];
+			double d = Math.acos(1.0 - (dx * dx + dy * dy + dz * dz) * 0.5);
+			if (!(d < radius)) return;
+
+			if (n == index.length) {
+				int ni[] = new int[n * 2];
+				double nd[] = new double[n * 2];
+				System.arraycopy(index, 0, ni, 0, n);
+				System.arraycopy(dist, 0, nd, 0, n);
+				index = ni;
+				dist = nd;
+			}
+			index[n] = i;
+			dist[n] = d;
+			n ++;
+		}
+	}
+}
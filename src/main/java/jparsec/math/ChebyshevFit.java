@@ -0,0 +1,241 @@
+/*
+ * This file is part of JPARSEC library.
+ *
+ * (C) Copyright 2006-2017 by T. Alonso Albi - OAN (Spain).
+ *
+ * Project Info:  http://conga.oan.es/~alonso/jparsec/jparsec.html
+ *
+ * JPARSEC library is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * JPARSEC library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jparsec.math;
+
+import jparsec.util.JPARSECException;
+
+/**
+ * A class to fit a function with several components to piecewise Chebyshev
+ * polynomials. The function is sampled at the Chebyshev nodes of a segment, and
+ * the segment is accepted when the polynomials reproduce the function at a set
+ * of check points (the midpoints between the nodes and the limits of the
+ * segment), otherwise it is halved. The accepted segments are given in
+ * ascending order of the variable.
+ * <P>
+ * The coefficients of a segment are stored consecutively for each component,
+ * so that those of component c start at index c * (degree + 1). Instances are
+ * immutable, so they can be used from different threads.
+ *
+ * @author T. Alonso Albi - OAN (Spain)
+ * @version 1.0
+ */
+public final class ChebyshevFit
+{
+	/**
+	 * The interface for the function to fit and the receiver of the segments.
+	 */
+	public interface Function
+	{
+		/**
+		 * Evaluates the function.
+		 * @param x The value of the variable.
+		 * @param out Output array where the components are written.
+		 * @return True if the function could be evaluated, false to stop the fit.
+		 * @throws JPARSECException If an error occurs.
+		 */
+		public boolean evaluate(double x, double out[]) throws JPARSECException;
+
+		/**
+		 * Sets the maximum error allowed in each component for a segment.
+		 * @param values The values at the nodes of the segment, for each component
+		 * and node.
+		 * @param maxError Output array where the errors are written.
+		 */
+		public void getMaximumError(double values[][], double maxError[]);
+
+		/**
+		 * Receives an accepted segment.
+		 * @param start Initial value of the variable.
+		 * @param end Final value of the variable.
+		 * @param coefficients The coefficients for each component. The array is
+		 * reused for the next segment.
+		 * @return True to continue, false to stop the fit.
+		 * @throws JPARSECException If an error occurs.
+		 */
+		public boolean accept(double start, double end, double coefficients[]) throws JPARSECException;
+	}
+
+	private final int n, components, maxLevels;
+	private final double nodes[], checks[];
+
+	/**
+	 * Constructor.
+	 * @param degree Degree of the polynomials.
+	 * @param components Number of components of the function.
+	 * @param maxLevels Maximum number of halvings of the initial segments.
+	 * @throws JPARSECException If the degree or the number of components is
+	 * invalid.
+	 */
+	public ChebyshevFit(int degree, int components, int maxLevels) throws JPARSECException
+	{
+		if (degree < 1) throw new JPARSECException("invalid degree "+degree+".");
+		if (components < 1) throw new JPARSECException("invalid number of components "+components+".");
+		this.n = degree + 1;
+		this.components = components;
+		this.maxLevels = maxLevels;
+
+		nodes = new double[n];
+		for (int k = 0; k < n; k++)
+		{
+			nodes[k] = Math.cos(Math.PI * (k + 0.5) / n);
+		}
+		checks = new double[n + 1];
+		checks[0] = -1.0;
+		checks[n] = 1.0;
+		for (int k = 1; k < n; k++)
+		{
+			checks[k] = Math.cos(Math.PI * k / n);
+		}
+	}
+
+	/**
+	 * Returns the number of coefficients of each component.
+	 * @return Degree plus one.
+	 */
+	public int getNumberOfCoefficients() {
+		return n;
+	}
+
+	/**
+	 * Fits a function in a given interval.
+	 * @param f The function.
+	 * @param start Initial value of the variable.
+	 * @param end Final value of the variable.
+	 * @param segments Number of segments of equal length in which the interval is
+	 * initially divided.
+	 * @return True if the whole interval was fitted, false if the function or the
+	 * receiver stopped the fit, or if a segment could not be fitted after the
+	 * maximum number of halvings.
+	 * @throws JPARSECException If the function or the receiver throws it.
+	 */
+	public boolean fit(Function f, double start, double end, int segments) throws JPARSECException
+	{
+		double values[][] = new double[components][n];
+		double coefs[] = new double[components * n];
+		double value[] = new double[components];
+		double maxError[] = new double[components];
+
+		// Segments pending to be fitted, as pairs of start and end values, in
+		// a stack so that the accepted segments are sorted
+		double stack[] = new double[2 * (maxLevels + 1)];
+		int levels[] = new int[maxLevels + 1];
+		for (int s = 0; s < segments; s++)
+		{
+			stack[0] = start + (end - start) * s / segments;
+			stack[1] = s == segments - 1 ? end : start + (end - start) * (s + 1) / segments;
+			levels[0] = 0;
+			int top = 1;
+			while (top > 0)
+			{
+				top--;
+				double a = stack[2 * top], b = stack[2 * top + 1];
+				int level = levels[top];
+				double half = (b - a) * 0.5, mid = (a + b) * 0.5;
+
+				for (int k = 0; k < n; k++)
+				{
+					if (!f.evaluate(mid + nodes[k] * half, value)) return false;
+					for (int c = 0; c < components; c++)
+					{
+						values[c][k] = value[c];
+					}
+				}
+				for (int c = 0; c < components; c++)
+				{
+					fit(values[c], coefs, c * n);
+				}
+				f.getMaximumError(values, maxError);
+
+				boolean ok = true;
+				for (int k = 0; k < checks.length && ok; k++)
+				{
+					if (!f.evaluate(mid + checks[k] * half, value)) return false;
+					for (int c = 0; c < components; c++)
+					{
+						if (!(Math.abs(evaluate(coefs, c * n, n, checks[k]) - value[c]) <= maxError[c])) {
+							ok = false;
+							break;
+						}
+					}
+				}
+
+				if (ok) {
+					if (!f.accept(a, b, coefs)) return false;
+					continue;
+				}
+
+				// Only this segment is divided
+				if (level == maxLevels) return false;
+				stack[2 * top] = mid;
+				stack[2 * top + 1] = b;
+				levels[top] = level + 1;
+				top++;
+				stack[2 * top] = a;
+				stack[2 * top + 1] = mid;
+				levels[top] = level + 1;
+				top++;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Obtains the coefficients of one component from its values at the nodes.
+	 * @param values The values at the nodes.
+	 * @param coefs Output array for the coefficients.
+	 * @param offset Index of the first coefficient in the output array.
+	 */
+	private void fit(double values[], double coefs[], int offset)
+	{
+		for (int j = 0; j < n; j++)
+		{
+			double sum = 0.0;
+			for (int k = 0; k < n; k++)
+			{
+				sum += values[k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+			}
+			coefs[offset + j] = sum * 2.0 / n;
+		}
+		coefs[offset] *= 0.5;
+	}
+
+	/**
+	 * Evaluates a Chebyshev series.
+	 * @param data The coefficients.
+	 * @param offset Index of the first coefficient.
+	 * @param n Number of coefficients.
+	 * @param x The variable, between -1 and 1.
+	 * @return The value.
+	 */
+	public static double evaluate(double data[], int offset, int n, double x)
+	{
+		// Clenshaw recurrence
+		double b1 = 0.0, b2 = 0.0, x2 = 2.0 * x;
+		for (int j = n - 1; j >= 1; j--)
+		{
+			double b = x2 * b1 - b2 + data[offset + j];
+			b2 = b1;
+			b1 = b;
+		}
+		return x * b1 - b2 + data[offset];
+	}
+}
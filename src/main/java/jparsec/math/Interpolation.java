@@ -226,12 +226,9 @@ public class Interpolation implements Serializable
 		    	throw new JPARSECException("Input value ("+xx+") is outside valid range ("+min+" to "+max+"), extrapolation required.");
 		}
 
+		// Points are sorted, so the number of points below and above are found by bisection
 		boolean canBeWrong = false;
-		int nlow = 0, nup = 0;
-		for (int i=0; i<x_val.length; i++) {
-			if (x_val[i] < xx) nlow ++;
-			if (x_val[i] > xx) nup ++;
-		}
+		int nlow = countValuesBelowSorted(xx), nup = x_val.length - countValuesBelowOrEqualSorted(xx);
 		if (nlow < 8 || nup < 8) canBeWrong = true;
 
 
@@ -267,6 +264,32 @@ public class Interpolation implements Serializable
     	return yy;
 	}
 
+	private int countValuesBelowSorted(double xx) {
+		int lo = 0, hi = x_val.length;
+		while (lo < hi) {
+			int k = (lo + hi) >>> 1;
+			if (x_val[k] < xx) {
+				lo = k + 1;
+			} else {
+				hi = k;
+			}
+		}
+		return lo;
+	}
+
+	private int countValuesBelowOrEqualSorted(double xx) {
+		int lo = 0, hi = x_val.length;
+		while (lo < hi) {
+			int k = (lo + hi) >>> 1;
+			if (x_val[k] <= xx) {
+				lo = k + 1;
+			} else {
+				hi = k;
+			}
+		}
+		return lo;
+	}
+
 	/**
 	 * Returns the number of x values in the dataset that are greater than the
 	 * input value.
@@ -22,8 +22,10 @@
 package jparsec.observer;
 
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.EphemerisElement.FRAME;
 import jparsec.ephem.EphemerisElement.REDUCTION_METHOD;
@@ -31,11 +33,11 @@ import jparsec.ephem.Functions;
 import jparsec.ephem.Nutation;
 import jparsec.ephem.Obliquity;
 import jparsec.ephem.Precession;
+import jparsec.ephem.ReductionCache;
 import jparsec.graph.DataSet;
 import jparsec.io.FileIO;
 import jparsec.io.ReadFile;
 import jparsec.math.Constant;
-import jparsec.math.Interpolation;
 import jparsec.time.AstroDate;
 import jparsec.time.TimeScale;
 import jparsec.util.DataBase;
@@ -84,95 +86,186 @@ public class EarthOrientationParameters
 	}
 
 	/**
-	 * Reads the example file with the Earth Orientation Parameters, formatted
-	 * in the standard way, established by IERS.
-	 * <P>
-	 * An example of IERS format is:
-	 * <P>
-	 *
-	 * <pre>
-     * Date      MJD      x          y        UT1-UTC       LOD         dX        dY        x Err     y Err   UT1-UTC Err  Lod Err     dY Err       dY Err
-     *                    &quot;          &quot;           s           s          &quot;         &quot;           &quot;          &quot;          s         s            &quot;           &quot;
-     * (0h UTC)
-	 * 1962   1   1  37665  -0.012700   0.213000   0.0326338   0.0017230   0.000000   0.000000   0.030000   0.030000  0.0020000  0.0014000    0.012000    0.002000
-	 * 1962  JAN   1  37665-0.012700 0.213000 0.0326338   0.0017230   0.065037 0.000436
-	 * </pre>
-	 *
-	 * @param JD Julian day in UTC.
-	 * @return String with the values corresponding to the previous midnight,
-	 * 			in IERS format, or empty string if input time is not applicable.
-	 * @throws JPARSECException Thrown if the method fails.
+	 * The Earth Orientation Parameters of a file, parsed once and indexed by MJD.
+	 * Instances are never modified after construction, so they can be read by any
+	 * number of threads without locks.
 	 */
-	private static String obtainEOPRecord(double JD) throws JPARSECException
+	private static final class EOPTable
 	{
-		// Obtain previous midnight
-		AstroDate astro = new AstroDate(0.5 + (int) (JD - 0.5));
-
-		// Calculate record ID
-		int month = astro.getMonth();
-		int day = astro.getDay();
-		String monthV = "  "+month;
-		if (month < 10) monthV = " " + monthV;
-		String dayV = "  "+day;
-		if (day < 10) dayV = " " + dayV;
-		String record_to_find = astro.getYear() + monthV + dayV+"  ";
-
-		// Define necesary variables
-		String file_line = "";
-
-		// Connect to the file
-		String out = "";
-		AstroDate astro1962 = new AstroDate(1962, 1, 1);
-		int recordPosition = (int) (JD - astro1962.jd()) + 15;
-		ArrayList<String> v = ReadFile.readResourceSomeLines(pathToFile, ReadFile.ENCODING_ISO_8859, recordPosition - 5, recordPosition + 5);
-		int index = 0;
-		while (index < v.size() && out.equals(""))
+		/** Columns for x, y, UT1-UTC, LOD, dx/dPsi, dy/dEps. */
+		static final int X = 0, Y = 1, UT1_UTC = 2, LOD = 3, DX = 4, DY = 5;
+
+		final int firstMJD, lastMJD;
+		final boolean present[];
+		final double data[][];
+
+		/**
+		 * Reads the file with the Earth Orientation Parameters, formatted
+		 * in the standard way, established by IERS.
+		 * <P>
+		 * An example of IERS format is:
+		 * <P>
+		 *
+		 * <pre>
+	     * Date      MJD      x          y        UT1-UTC       LOD         dX        dY        x Err     y Err   UT1-UTC Err  Lod Err     dY Err       dY Err
+	     *                    &quot;          &quot;           s           s          &quot;         &quot;           &quot;          &quot;          s         s            &quot;           &quot;
+	     * (0h UTC)
+		 * 1962   1   1  37665  -0.012700   0.213000   0.0326338   0.0017230   0.000000   0.000000   0.030000   0.030000  0.0020000  0.0014000    0.012000    0.002000
+		 * </pre>
+		 *
+		 * @param path Path to the file.
+		 * @throws JPARSECException If the file cannot be read or contains no records.
+		 */
+		EOPTable(String path) throws JPARSECException
 		{
-			file_line = v.get(index);
-			index ++;
-
-			// Obtain object
-			int a = file_line.indexOf(record_to_find);
-			if (0 <= a)
-				out = file_line;
-			file_line = file_line.trim();
-			if (file_line.length() > record_to_find.length()) {
-				if (file_line.substring(0, record_to_find.length()).equals(record_to_find))
-					break;
+			ArrayList<String> v = ReadFile.readResource(path, ReadFile.ENCODING_ISO_8859);
+			ArrayList<String[]> records = new ArrayList<String[]>(v.size());
+			int first = Integer.MAX_VALUE, last = Integer.MIN_VALUE;
+			for (int i = 0; i < v.size(); i++) {
+				String line = v.get(i);
+				if (line.length() == 0 || !Character.isDigit(line.charAt(0))) continue;
+				String fields[] = DataSet.toStringArray(line, " ");
+				if (fields.length <= 10) continue;
+				int mjd = Integer.parseInt(fields[3]);
+				if (mjd < first) first = mjd;
+				if (mjd > last) last = mjd;
+				records.add(fields);
 			}
+			if (records.isEmpty()) throw new JPARSECException("no EOP records found in file "+path+".");
+
+			firstMJD = first;
+			lastMJD = last;
+			int n = last - first + 1;
+			present = new boolean[n];
+			data = new double[6][n];
+			for (int i = 0; i < records.size(); i++) {
+				String fields[] = records.get(i);
+				int index = Integer.parseInt(fields[3]) - first;
+				present[index] = true;
+				for (int c = 0; c < 6; c++) {
+					data[c][index] = DataSet.parseDouble(fields[4 + c]);
+				}
+			}
+		}
+
+		/**
+		 * Returns if there is a record for a given MJD.
+		 * @param mjd The MJD at 0h UTC.
+		 * @return True or false.
+		 */
+		boolean hasRecord(int mjd)
+		{
+			return mjd >= firstMJD && mjd <= lastMJD && present[mjd - firstMJD];
 		}
 
-		return out;
+		/**
+		 * Lagrange interpolation of a column using the records within 2 days of a given
+		 * date. Missing records are skipped, as the values can be unevenly sampled.
+		 * @param column The column index.
+		 * @param mjd The MJD of the previous midnight.
+		 * @param t Fraction of day from 0h UTC of the day mjd - 2.
+		 * @return The interpolated value.
+		 */
+		double interpolate(int column, int mjd, double t)
+		{
+			double col[] = data[column];
+			double v = 0.0;
+			for (int i = 0; i < 5; i++) {
+				if (!hasRecord(mjd - 2 + i)) continue;
+				double c = 1.0;
+				for (int j = 0; j < 5; j++) {
+					if (j != i && hasRecord(mjd - 2 + j)) c *= (t - j) / (i - j);
+				}
+				v += c * col[mjd - 2 + i - firstMJD];
+			}
+			return v;
+		}
+
+		/**
+		 * Returns if a date can be interpolated without extrapolation.
+		 * @param mjd The MJD of the previous midnight.
+		 * @param t Fraction of day from 0h UTC of the day mjd - 2.
+		 * @return True or false.
+		 */
+		boolean canInterpolate(int mjd, double t)
+		{
+			int min = -1, max = -1;
+			for (int i = 0; i < 5; i++) {
+				if (!hasRecord(mjd - 2 + i)) continue;
+				if (min < 0) min = i;
+				max = i;
+			}
+			return min >= 0 && t >= min && t <= max;
+		}
 	}
 
+	private static final ConcurrentHashMap<String, EOPTable> tables = new ConcurrentHashMap<String, EOPTable>();
+
 	/**
-	 * Returns the date of the last record in the EOP file.
-	 * @param eph The ephemeris properties to select IAU 1980 or 2000 file.
-	 * @return The date.
-	 * @throws JPARSECException If an error occurs.
+	 * Returns the EOP table for a given file, reading it the first time.
+	 * @param path Path to the file.
+	 * @return The table.
+	 * @throws JPARSECException If the file cannot be read.
 	 */
-	public static AstroDate lastEOPRecordDate(EphemerisElement eph) throws JPARSECException
+	private static EOPTable getTable(String path) throws JPARSECException
 	{
-		EphemerisElement.REDUCTION_METHOD method = eph.ephemMethod;
+		EOPTable table = tables.get(path);
+		if (table == null) {
+			table = new EOPTable(path);
+			EOPTable previous = tables.putIfAbsent(path, table);
+			if (previous != null) table = previous;
+		}
+		return table;
+	}
 
-		boolean iau2000 = false;
-		setPath(PATH_TO_FILE_IAU1980);
+	/**
+	 * Returns the path to the EOP file for a given reduction method, and sets
+	 * it as the current path.
+	 * @param method The reduction method.
+	 * @return The path to the IAU1980 or IAU2000 file.
+	 */
+	private static String getPath(EphemerisElement.REDUCTION_METHOD method)
+	{
+		String path = PATH_TO_FILE_IAU1980;
 		if (method == EphemerisElement.REDUCTION_METHOD.IAU_2000 ||
 				method == EphemerisElement.REDUCTION_METHOD.IAU_2006
-				|| method == EphemerisElement.REDUCTION_METHOD.IAU_2009) iau2000 = true;
-		if (iau2000) setPath(PATH_TO_FILE_IAU2000);
-
-		// Connect to the file
-		ArrayList<String> v = ReadFile.readResourceLastNlines(pathToFile, ReadFile.ENCODING_ISO_8859, 100);
-		String file_line = v.get(v.size()-1);
+				|| method == EphemerisElement.REDUCTION_METHOD.IAU_2009) path = PATH_TO_FILE_IAU2000;
+		setPath(path);
+		return path;
+	}
 
-		int y = Integer.parseInt(FileIO.getField(1, file_line, " ", true));
-		int m = Integer.parseInt(FileIO.getField(2, file_line, " ", true));
-		int d = Integer.parseInt(FileIO.getField(3, file_line, " ", true));
+	/**
+	 * Returns the MJD of the previous midnight.
+	 * @param JD Julian day in UTC.
+	 * @return The MJD at 0h UTC.
+	 */
+	private static int getMJD(double JD)
+	{
+		return (int) Math.floor(JD - Constant.JD_MINUS_MJD);
+	}
 
-		AstroDate astro = new AstroDate(y, m, d);
+	/**
+	 * Clears the EOP files read in memory, so that they will be read again
+	 * when needed. Should be called after updating these files. The cached
+	 * nutation, precession, and NPB values are also cleared, since they
+	 * include the EOP corrections.
+	 */
+	public static void clearEOPTables()
+	{
+		tables.clear();
+		ReductionCache.clearAll();
+	}
 
-		return astro;
+	/**
+	 * Returns the date of the last record in the EOP file.
+	 * @param eph The ephemeris properties to select IAU 1980 or 2000 file.
+	 * @return The date.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static AstroDate lastEOPRecordDate(EphemerisElement eph) throws JPARSECException
+	{
+		EOPTable table = getTable(getPath(eph.ephemMethod));
+		return new AstroDate(table.lastMJD + Constant.JD_MINUS_MJD);
 	}
 
 	/**
@@ -183,32 +276,8 @@ public class EarthOrientationParameters
 	 */
 	public static AstroDate firstEOPRecordDate(EphemerisElement eph) throws JPARSECException
 	{
-		EphemerisElement.REDUCTION_METHOD method = eph.ephemMethod;
-
-		boolean iau2000 = false;
-		setPath(PATH_TO_FILE_IAU1980);
-		if (method == EphemerisElement.REDUCTION_METHOD.IAU_2000 ||
-				method == EphemerisElement.REDUCTION_METHOD.IAU_2006
-				|| method == EphemerisElement.REDUCTION_METHOD.IAU_2009) iau2000 = true;
-		if (iau2000) setPath(PATH_TO_FILE_IAU2000);
-
-		// Connect to the file
-		ArrayList<String> v = ReadFile.readResourceFirstNlines(pathToFile, ReadFile.ENCODING_ISO_8859, 100);
-		String file_line = "";
-		int i = 0;
-		do {
-			file_line = v.get(i);
-			i++;
-			if (file_line.trim().equals(file_line) && FileIO.getNumberOfFields(file_line, " ", true) > 10) break;
-		} while (true);
-
-		int y = Integer.parseInt(FileIO.getField(1, file_line, " ", true));
-		int m = Integer.parseInt(FileIO.getField(2, file_line, " ", true));
-		int d = Integer.parseInt(FileIO.getField(3, file_line, " ", true));
-
-		AstroDate astro = new AstroDate(y, m, d);
-
-		return astro;
+		EOPTable table = getTable(getPath(eph.ephemMethod));
+		return new AstroDate(table.firstMJD + Constant.JD_MINUS_MJD);
 	}
 
 	/**
@@ -227,29 +296,40 @@ public class EarthOrientationParameters
 	 * returned in case of being unavailable.
 	 */
 	public static double getLOD(double jd_UTC, EphemerisElement eph) {
-		EphemerisElement.REDUCTION_METHOD method = eph.ephemMethod;
-
-		boolean iau2000 = false;
-		setPath(PATH_TO_FILE_IAU1980);
-		if (method == EphemerisElement.REDUCTION_METHOD.IAU_2000 ||
-				method == EphemerisElement.REDUCTION_METHOD.IAU_2006
-				|| method == EphemerisElement.REDUCTION_METHOD.IAU_2009) iau2000 = true;
-		if (iau2000) setPath(PATH_TO_FILE_IAU2000);
-
-		String record = "";
+		EOPTable table = null;
 		try {
-			record = EarthOrientationParameters.obtainEOPRecord(0.5 + (int) jd_UTC); // closest midnight
+			table = getTable(getPath(eph.ephemMethod));
 		} catch (Exception exc) {
 			Logger.log(LEVEL.ERROR, "Could not read the LOD record. Returning 0 as LOD.");
 			return 0;
 		}
 
-		if (record == null || record.equals("")) {
+		int mjd = getMJD(0.5 + (int) jd_UTC); // closest midnight
+		if (!table.hasRecord(mjd)) {
 			Logger.log(LEVEL.ERROR, "Could not read the LOD record. Returning 0 as LOD.");
 			return 0;
 		}
 
-		return DataSet.parseDouble(FileIO.getField(8, record, " ", true));
+		return table.data[EOPTable.LOD][mjd - table.firstMJD];
+	}
+
+	/**
+	 * Returns the value of UT1-UTC, as given by {@linkplain #obtainEOP(double, EphemerisElement)}.
+	 * No object is created when the value for a close date was already computed.
+	 *
+	 * @param jd_UTC Julian day in UTC.
+	 * @param eph Ephemeris object.
+	 * @throws JPARSECException Thrown if the method fails.
+	 * @return UT1-UTC in seconds.
+	 */
+	public static double obtainUT1minusUTC(double jd_UTC, EphemerisElement eph) throws JPARSECException
+	{
+		Object o = EphemerisContext.getCurrent().eop;
+		if (o != null) {
+			double eop[] = (double[]) o;
+			if (Math.abs(jd_UTC - eop[5]) < 0.25 && eph.ephemMethod.ordinal() == (int) eop[6]) return eop[4];
+		}
+		return obtainEOP(jd_UTC, eph)[4];
 	}
 
 	/**
@@ -283,7 +363,7 @@ public class EarthOrientationParameters
 	{
 		EphemerisElement.REDUCTION_METHOD method = eph.ephemMethod;
 
-		Object o = DataBase.getData("EOP", true);
+		Object o = EphemerisContext.getCurrent().eop;
 		double eop[] = new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0}; // dPsi, dEpsilon, x, y, UT1-UTC, lastJD, lastMethod
 		if (o != null) eop = (double[]) o;
 		double lastJD = eop[5];
@@ -293,42 +373,38 @@ public class EarthOrientationParameters
 		if (Math.abs(jd_UTC - lastJD) < 0.25 && method.ordinal() == lastMethod)
 			return new double[] {eop[0], eop[1], eop[2], eop[3], eop[4]};
 
-		clearEOP();
+		// Reset only the values of this thread, the cached reductions are still valid
+		EphemerisContext.getCurrent().eop = new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0};
 
 		if (!eph.correctForEOP) return new double[] {0.0, 0.0, 0.0, 0.0, 0.0};
 
-		boolean iau2000 = false;
-		setPath(PATH_TO_FILE_IAU1980);
-		if (method == EphemerisElement.REDUCTION_METHOD.IAU_2000 ||
-				method == EphemerisElement.REDUCTION_METHOD.IAU_2006
-				|| method == EphemerisElement.REDUCTION_METHOD.IAU_2009) iau2000 = true;
-		if (iau2000) setPath(PATH_TO_FILE_IAU2000);
+		String path = getPath(method);
+		boolean iau2000 = path.equals(PATH_TO_FILE_IAU2000);
 
-		String record = "", nextRecord1 = "", nextRecord2 = "", previousRecord1 = "", previousRecord2;
+		EOPTable table = null;
 		try {
-			record = EarthOrientationParameters.obtainEOPRecord(jd_UTC);
-			nextRecord1 = EarthOrientationParameters.obtainEOPRecord(jd_UTC + 1.0);
-			nextRecord2 = EarthOrientationParameters.obtainEOPRecord(jd_UTC + 2.0);
-			previousRecord1 = EarthOrientationParameters.obtainEOPRecord(jd_UTC - 1.0);
-			previousRecord2 = EarthOrientationParameters.obtainEOPRecord(jd_UTC - 2.0);
+			table = getTable(path);
 		} catch (Exception exc) {
 			Logger.log(LEVEL.WARNING, "Earth Orientation Parameters (EOP) file not available.");
 			return new double[] {0.0, 0.0, 0.0, 0.0, 0.0}; // If EOP are not available just don't apply correction
 		}
 
-
 		double EOP[] = new double[] { 0.0, 0.0, 0.0, 0.0, 0.0 };
 		boolean calcPM = true;
 		if (method == EphemerisElement.REDUCTION_METHOD.JPL_DE4xx || method == EphemerisElement.REDUCTION_METHOD.WILLIAMS_1994 || method == EphemerisElement.REDUCTION_METHOD.SIMON_1994)
 			calcPM = false;
-		if (record != null && !record.equals(""))
+		int mjd = getMJD(jd_UTC);
+		if (table.hasRecord(mjd))
 		{
-			double jd0 = (int) (jd_UTC - 0.5) + 0.5;
-			try {
-				EOP = interpolateEOP(new String[] {previousRecord2, previousRecord1, record, nextRecord1, nextRecord2},
-					new double[] {jd0 - 2.0, jd0 - 1.0, jd0, jd0 + 1.0, jd0 + 2.0}, new int[] {7, 9, 10, 5, 6}, jd_UTC);
-			} catch (JPARSECException exc) {
-				// Thrown when interpolating in the future (interpolation out of range)
+			double t = jd_UTC - (mjd - 2 + Constant.JD_MINUS_MJD);
+			if (table.canInterpolate(mjd, t)) {
+				EOP[0] = table.interpolate(EOPTable.UT1_UTC, mjd, t);
+				EOP[1] = table.interpolate(EOPTable.DX, mjd, t);
+				EOP[2] = table.interpolate(EOPTable.DY, mjd, t);
+				EOP[3] = table.interpolate(EOPTable.X, mjd, t);
+				EOP[4] = table.interpolate(EOPTable.Y, mjd, t);
+			} else {
+				// Interpolating in the future (interpolation out of range)
 				JPARSECException.addWarning(Translate.translate(275));
 				calcPM = false;
 			}
@@ -345,9 +421,9 @@ public class EarthOrientationParameters
 		double dPsi = 0, dEpsilon = 0, x = 0, y = 0;
 
 		if (!calcPM) {
-			DataBase.addData("EOP", new double[] {
+			EphemerisContext.getCurrent().eop = new double[] {
 					dPsi, dEpsilon, x, y, UT1minusUTC, lastJD, lastMethod
-			}, true);
+			};
 			return new double[] {dPsi, dEpsilon, x, y, UT1minusUTC};
 		}
 
@@ -373,31 +449,12 @@ public class EarthOrientationParameters
 			dPsi = EOP[1];
 			dEpsilon = EOP[2];
 		}
-		DataBase.addData("EOP", new double[] {
+		EphemerisContext.getCurrent().eop = new double[] {
 				dPsi, dEpsilon, x, y, UT1minusUTC, lastJD, lastMethod
-		}, true);
+		};
 		return new double[] {dPsi, dEpsilon, x, y, UT1minusUTC};
 	}
 
-	private static  double[] interpolateEOP(String records[], double dates[], int fields[], double jd) throws JPARSECException {
-		// fields: 7, 9, 10, 5, 6 for UT1-UTC, dx/dPsi, dy/dEps, x, y
-		double out[] = new double[fields.length];
-		for (int f=0; f<fields.length; f++) {
-			ArrayList<Double> x = new ArrayList<Double>();
-			ArrayList<Double> y = new ArrayList<Double>();
-			for (int r = 0; r<records.length; r++) {
-				if (records[r] != null && !records[r].equals("")) {
-					x.add(dates[r]-dates[0]);
-					double v = DataSet.parseDouble(FileIO.getField(fields[f], records[r], " ", true));
-					y.add(v);
-				}
-			}
-			Interpolation interp = new Interpolation(DataSet.arrayListToDoubleArray(x), DataSet.arrayListToDoubleArray(y), false);
-			out[f] = interp.LagrangeInterpolation(jd-dates[0]);
-		}
-		return out;
-	}
-
 	/**
 	 * Forces the EOP parameters for a given date. Note in case EOPs are
 	 * requested for another date, the values forced here for the old date will be lost.
@@ -425,9 +482,9 @@ public class EarthOrientationParameters
 			dEpsilon = EOP_2000[1];
 		}
 
-		DataBase.addData("EOP", new double[] {
+		EphemerisContext.getCurrent().eop = new double[] {
 				dPsi, dEpsilon, x, y, UT1minusUTC, jd_UTC, eph.ephemMethod.ordinal()
-		}, true);
+		};
 	}
 
 	/**
@@ -440,9 +497,9 @@ public class EarthOrientationParameters
 	 */
 	public static void forceEOP(double jd_UTC, EphemerisElement eph,
 			double eop[]) throws JPARSECException {
-		DataBase.addData("EOP", new double[] {
+		EphemerisContext.getCurrent().eop = new double[] {
 				eop[0], eop[1], eop[2], eop[3], eop[4], jd_UTC, eph.ephemMethod.ordinal()
-		}, true);
+		};
 	}
 
 	   /** HS parameter. */
@@ -726,11 +783,13 @@ public class EarthOrientationParameters
 	/**
 	 * Resets all EOP parameters to 0. It is not necessary to call this method
 	 * even when changing between reduction methods, is automatically done in
-	 * ephemerides computation when needed.
+	 * ephemerides computation when needed. The cached nutation, precession, and
+	 * NPB values are also cleared.
 	 */
 	public static void clearEOP()
 	{
-		DataBase.addData("EOP", new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0}, true);
+		EphemerisContext.getCurrent().eop = new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0};
+		ReductionCache.clearAll();
 	}
 
 	/**
@@ -803,10 +862,10 @@ public class EarthOrientationParameters
 			}
 
 			if (set && eop != null) {
-				DataBase.addData("EOP", new double[] {
+				EphemerisContext.getCurrent().eop = new double[] {
 						// dPsi, dEpsilon, x, y, UT1minusUTC, lastJD, lastMethod
 						eop[0], eop[1], eop[2], eop[3], eop[4], JD_UTC, EphemerisElement.REDUCTION_METHOD.IAU_1976.ordinal()
-				}, true);
+				};
 			}
 		} else {
 			String id = "finals2000A";
@@ -872,10 +931,10 @@ public class EarthOrientationParameters
 			eop[1] = EOP_2000[1];
 
 			if (set && eop != null) {
-				DataBase.addData("EOP", new double[] {
+				EphemerisContext.getCurrent().eop = new double[] {
 						// dPsi, dEpsilon, x, y, UT1minusUTC, lastJD, lastMethod
 						eop[0], eop[1], eop[2], eop[3], eop[4], JD_UTC, EphemerisElement.REDUCTION_METHOD.IAU_1976.ordinal()
-				}, true);
+				};
 			}
 		}
 
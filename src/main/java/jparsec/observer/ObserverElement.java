@@ -1444,7 +1444,7 @@ public class ObserverElement implements Serializable {
 				case JPL_DE413:
 				case JPL_DE414:
 				case JPL_DE422:
-					JPLEphemeris jpl = new JPLEphemeris(eph.algorithm);
+					JPLEphemeris jpl = JPLEphemeris.getInstance(eph.algorithm);
 					out = jpl.getPositionAndVelocity(JD_TDB, TARGET.Moon);
 					break;
 				default:
@@ -1479,7 +1479,7 @@ public class ObserverElement implements Serializable {
 			case JPL_DE413:
 			case JPL_DE414:
 			case JPL_DE422:
-				JPLEphemeris jpl = new JPLEphemeris(eph.algorithm);
+				JPLEphemeris jpl = JPLEphemeris.getInstance(eph.algorithm);
 				if (body == TARGET.EARTH) {
 					// Compute apparent position of barycenter from Earth
 					double helio_barycenter[] = jpl.getPositionAndVelocity(JD_TDB, TARGET.Earth_Moon_Barycenter);
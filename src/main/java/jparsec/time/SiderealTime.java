@@ -24,6 +24,7 @@ package jparsec.time;
 import java.math.BigDecimal;
 
 import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.Functions;
 import jparsec.ephem.Nutation;
@@ -37,7 +38,6 @@ import jparsec.math.FastMath;
 import jparsec.observer.ObserverElement;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.util.Configuration;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -638,14 +638,9 @@ public class SiderealTime
 	 */
 	private static double eect(double T)
 	{
-		double EECT_last_value = 0.0;
-		double EECT_last_calc_T = -1E100;
-		Object o = DataBase.getData("EECT", true);
-		if (o != null) {
-			double d[] = (double[]) o;
-			EECT_last_value = d[0];
-			EECT_last_calc_T = d[1];
-		}
+		EphemerisContext context = EphemerisContext.getCurrent();
+		double EECT_last_value = context.eect;
+		double EECT_last_calc_T = context.eectT;
 
 		if (T == EECT_last_calc_T)
 			return EECT_last_value;
@@ -722,7 +717,8 @@ public class SiderealTime
 
 		EECT_last_value = ct;
 
-		DataBase.addData("EECT", new double[] {EECT_last_value, EECT_last_calc_T}, true);
+		context.eect = EECT_last_value;
+		context.eectT = EECT_last_calc_T;
 		return ct;
 	}
 }
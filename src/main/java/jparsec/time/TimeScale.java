@@ -27,6 +27,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.Locale;
 
+import jparsec.ephem.EphemerisContext;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.Functions;
 import jparsec.ephem.Target.TARGET;
@@ -41,7 +42,6 @@ import jparsec.observer.ObserverElement;
 import jparsec.observer.ObserverElement.DST_RULE;
 import jparsec.time.TimeElement.SCALE;
 import jparsec.util.Configuration;
-import jparsec.util.DataBase;
 import jparsec.util.JPARSECException;
 
 /**
@@ -90,12 +90,30 @@ public class TimeScale
 	public static double getJD(TimeElement time, ObserverElement obs, EphemerisElement eph, SCALE type)
 			throws JPARSECException
 	{
-		double JD = time.astroDate.jd();
+		return getJD(time.astroDate.jd(), time.timeScale, obs, eph, type);
+	}
 
+	/**
+	 * Transforms a Julian day from a time scale into another. This method does
+	 * not create any object, so it can be used in loops to transform many dates
+	 * without the overhead of creating {@linkplain TimeElement} objects, giving
+	 * the same results as {@linkplain #getJD(TimeElement, ObserverElement, EphemerisElement, SCALE)}.
+	 *
+	 * @param JD Julian day in the input time scale.
+	 * @param scale Input time scale.
+	 * @param obs Observer object.
+	 * @param eph Ephemeris object.
+	 * @param type Desired output.
+	 * @return Julian day.
+	 * @throws JPARSECException If the date is invalid.
+	 */
+	public static double getJD(double JD, SCALE scale, ObserverElement obs, EphemerisElement eph, SCALE type)
+			throws JPARSECException
+	{
 		if (!eph.correctForEOP) {
-			if (time.timeScale == type) return JD;
-			if (time.timeScale == SCALE.UNIVERSAL_TIME_UT1 && type == SCALE.UNIVERSAL_TIME_UTC) return JD;
-			if (time.timeScale == SCALE.UNIVERSAL_TIME_UTC && type == SCALE.UNIVERSAL_TIME_UT1) return JD;
+			if (scale == type) return JD;
+			if (scale == SCALE.UNIVERSAL_TIME_UT1 && type == SCALE.UNIVERSAL_TIME_UTC) return JD;
+			if (scale == SCALE.UNIVERSAL_TIME_UTC && type == SCALE.UNIVERSAL_TIME_UT1) return JD;
 		}
 
 		// Compute time scale transform values
@@ -103,34 +121,34 @@ public class TimeScale
 		double LT2UTC = -obs.getTimeZone() / Constant.HOURS_PER_DAY;
 		double TTminusUT1 = 0.0;
 		boolean computeTTmUT1 = false;
-		if (time.timeScale == TimeElement.SCALE.TERRESTRIAL_TIME) computeTTmUT1 = true;
-		if (time.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.TERRESTRIAL_TIME) computeTTmUT1 = true;
-		if (time.timeScale == TimeElement.SCALE.LOCAL_TIME || time.timeScale == SCALE.UNIVERSAL_TIME_UT1
-				|| time.timeScale == SCALE.UNIVERSAL_TIME_UTC) {
+		if (scale == SCALE.TERRESTRIAL_TIME) computeTTmUT1 = true;
+		if (scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.TERRESTRIAL_TIME) computeTTmUT1 = true;
+		if (scale == SCALE.LOCAL_TIME || scale == SCALE.UNIVERSAL_TIME_UT1
+				|| scale == SCALE.UNIVERSAL_TIME_UTC) {
 			if (type == SCALE.BARYCENTRIC_DYNAMICAL_TIME || type == SCALE.TERRESTRIAL_TIME)
 				computeTTmUT1 = true;
 		}
 
-		if (computeTTmUT1) TTminusUT1 = TimeScale.getTTminusUT1(time, obs);
+		if (computeTTmUT1) TTminusUT1 = TimeScale.getTTminusUT1(JD, scale, obs);
 		double UT12TT = TTminusUT1 / Constant.SECONDS_PER_DAY;
 		if (type == SCALE.BARYCENTRIC_DYNAMICAL_TIME)
 		{
-			TT2TDB = TimeScale.getTDBminusTT(time, obs, eph) / Constant.SECONDS_PER_DAY;
+			TT2TDB = TimeScale.getTDBminusTT(JD, scale, obs, eph) / Constant.SECONDS_PER_DAY;
 		} else {
-			if (time.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME)
+			if (scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME)
 			{
-				TT2TDB = TimeScale.getTDBminusTT(new TimeElement(time.astroDate, TimeElement.SCALE.TERRESTRIAL_TIME), obs, eph) / Constant.SECONDS_PER_DAY;
+				TT2TDB = TimeScale.getTDBminusTT(JD, SCALE.TERRESTRIAL_TIME, obs, eph) / Constant.SECONDS_PER_DAY;
 			}
 		}
 		double JD_UT = JD;
-		if (time.timeScale == TimeElement.SCALE.LOCAL_TIME)
+		if (scale == SCALE.LOCAL_TIME)
 			JD_UT += LT2UTC;
-		if (time.timeScale == TimeElement.SCALE.TERRESTRIAL_TIME || time.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME)
+		if (scale == SCALE.TERRESTRIAL_TIME || scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME)
 			JD_UT -= UT12TT;
 
 		double DST = -(double) getDST(JD_UT, obs) / Constant.HOURS_PER_DAY;
 		LT2UTC += DST;
-		if (DST != 0 && time.timeScale == TimeElement.SCALE.LOCAL_TIME) {
+		if (DST != 0 && scale == SCALE.LOCAL_TIME) {
 			JD_UT += DST;
 			double DST2 = -(double) getDST(JD_UT, obs) / Constant.HOURS_PER_DAY;
 			if (DST2 == 0) {
@@ -140,17 +158,16 @@ public class TimeScale
 		}
 
 		double UTC2UT1 = 0.0;
-		if (eph.correctForEOP && ((time.timeScale == SCALE.LOCAL_TIME && type != SCALE.UNIVERSAL_TIME_UTC) ||
-				(time.timeScale == SCALE.TERRESTRIAL_TIME && type != SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.BARYCENTRIC_DYNAMICAL_TIME) ||
-				(time.timeScale == SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.TERRESTRIAL_TIME) ||
-				(time.timeScale == SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.TERRESTRIAL_TIME) ||
-				(time.timeScale == SCALE.UNIVERSAL_TIME_UTC && type != SCALE.LOCAL_TIME))) {
-			double eop[] = EarthOrientationParameters.obtainEOP(JD_UT, eph); // UT approx to UTC
-			UTC2UT1 = eop[4] / Constant.SECONDS_PER_DAY;
+		if (eph.correctForEOP && ((scale == SCALE.LOCAL_TIME && type != SCALE.UNIVERSAL_TIME_UTC) ||
+				(scale == SCALE.TERRESTRIAL_TIME && type != SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.BARYCENTRIC_DYNAMICAL_TIME) ||
+				(scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.TERRESTRIAL_TIME) ||
+				(scale == SCALE.UNIVERSAL_TIME_UT1 && type != SCALE.BARYCENTRIC_DYNAMICAL_TIME && type != SCALE.TERRESTRIAL_TIME) ||
+				(scale == SCALE.UNIVERSAL_TIME_UTC && type != SCALE.LOCAL_TIME))) {
+			UTC2UT1 = EarthOrientationParameters.obtainUT1minusUTC(JD_UT, eph) / Constant.SECONDS_PER_DAY; // UT approx to UTC
 		}
 
 		// Perform time scale transformation
-		switch (time.timeScale)
+		switch (scale)
 		{
 		case LOCAL_TIME:
 			if (type == SCALE.TERRESTRIAL_TIME)
@@ -381,7 +398,7 @@ public class TimeScale
 			throws JPARSECException
 	{
 		double jd = TimeScale.getJD(time, obs, eph, SCALE.UNIVERSAL_TIME_UTC);
-		double TAIMinusUTC = TimeScale.getTAIminusUTC(new AstroDate(jd));
+		double TAIMinusUTC = TimeScale.getTAIminusUTC(jd);
 		return jd + TAIMinusUTC / Constant.SECONDS_PER_DAY;
 	}
 
@@ -415,27 +432,19 @@ public class TimeScale
 
 		if (JD_UT < 2440587.5) return 0;
 
-		ObserverElement DST_last_observer;
-		double DST_last_jd = -1.0;
-		int DST_last_value = 0;
-		Object o = DataBase.getData("DST", true);
-		if (o != null) {
-			Object[] a = (Object[]) o;
-			DST_last_observer = (ObserverElement) a[0];
-			DST_last_jd = (Double) a[1];
-			DST_last_value = (Integer) a[2];
-
-			if (JD_UT == DST_last_jd && obs.equals(DST_last_observer))
-				return DST_last_value;
-		}
+		EphemerisContext context = EphemerisContext.getCurrent();
+		if (context.dstObserver != null && JD_UT == context.dstJD && obs.equals(context.dstObserver))
+			return context.dstValue;
 
 		double dst[] = getDSTStartEnd(JD_UT, obs);
 
-		DST_last_value = 0;
+		int DST_last_value = 0;
 		if (dst != null) {
 			if (JD_UT > dst[0] && JD_UT < dst[1]) DST_last_value = 1;
 		}
-		DataBase.addData("DST", new Object[] {obs, JD_UT, DST_last_value}, true);
+		context.dstObserver = obs;
+		context.dstJD = JD_UT;
+		context.dstValue = DST_last_value;
 
 		return DST_last_value;
 	}
@@ -721,123 +730,53 @@ public class TimeScale
 	 */
 	public static double getTTminusUT1(TimeElement time, ObserverElement obs) throws JPARSECException
 	{
-		if (time.timeScale == SCALE.UNIVERSAL_TIME_UT1 || time.timeScale == SCALE.UNIVERSAL_TIME_UTC)
-			return TimeScale.getTTminusUT1(time.astroDate);
+		return getTTminusUT1(time.astroDate.jd(), time.timeScale, obs);
+	}
 
-		double TT_UT1_last_calc_T = -10000.0;
-		double TTminusUT1 = 0.0;
-		Object o = DataBase.getData("TTminusUT1", true);
-		if (o != null) {
-			double a[] = (double[]) o;
-			TT_UT1_last_calc_T = a[0];
-			TTminusUT1 = a[1];
-		}
+	/**
+	 * Calculate difference between Terrestrial Time and Universal Time UT1 in
+	 * seconds for a given date, see {@linkplain #getTTminusUT1(TimeElement, ObserverElement)}.
+	 * This method does not create any object.
+	 *
+	 * @param JD Julian day.
+	 * @param scale Time scale of the Julian day.
+	 * @param obs Observer object.
+	 * @return TT minus UT1 in seconds.
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static double getTTminusUT1(double JD, SCALE scale, ObserverElement obs) throws JPARSECException
+	{
+		if (scale == SCALE.UNIVERSAL_TIME_UT1 || scale == SCALE.UNIVERSAL_TIME_UTC)
+			return TimeScale.getTTminusUT1(JD);
 
-		double tt, t;
+		EphemerisContext context = EphemerisContext.getCurrent();
+		double TT_UT1_last_calc_T = context.ttMinusUT1JD;
+		double TTminusUT1 = context.ttMinusUT1;
 
 		// Pass to UT
-		double JD_UT = time.astroDate.jd();
-		if (time.timeScale == TimeElement.SCALE.LOCAL_TIME) {
+		double JD_UT = JD;
+		if (scale == SCALE.LOCAL_TIME) {
 			double LT2UTC = -obs.getTimeZone() / Constant.HOURS_PER_DAY;
 			JD_UT += LT2UTC;
 		}
 
-		double UT12TT = TimeScale.getTTminusUT1(new AstroDate(JD_UT)) / Constant.SECONDS_PER_DAY;
-		if (time.timeScale == TimeElement.SCALE.TERRESTRIAL_TIME || time.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME)
+		double UT12TT = TimeScale.getTTminusUT1(JD_UT) / Constant.SECONDS_PER_DAY;
+		if (scale == SCALE.TERRESTRIAL_TIME || scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME)
 			JD_UT -= UT12TT;
 
-		if (time.timeScale == TimeElement.SCALE.LOCAL_TIME) {
+		if (scale == SCALE.LOCAL_TIME) {
 			double DST = -(double) getDST(JD_UT, obs) / Constant.HOURS_PER_DAY;
 			//LT2UTC += DST;
 			JD_UT += DST;
 		}
 
-		AstroDate astro = new AstroDate(JD_UT);
-
-		tt = astro.getYear() + (astro.getMonth() - 1 + (astro.getDay() - 1.0) / 30.0) / 12.0;
-
-		if (JD_UT != TT_UT1_last_calc_T)
+		if (JD_UT != TT_UT1_last_calc_T && Math.abs(JD_UT - TT_UT1_last_calc_T) >= context.reuseInterval)
 		{
 			TT_UT1_last_calc_T = JD_UT;
+			TTminusUT1 = computeTTminusUT1(JD_UT, JD_UT + UT12TT, TTminusUT1);
 
-			// Uncertainty up to a few hours, but around 10 minutes in year -500
-			if (astro.getYear() < -500)
-			{
-				t = (tt - 1820.0) / 100.0;
-				TTminusUT1 = -20 + 32.0 * t * t;
-			}
-
-			// Uncertainty of a few minutes
-/*			if (astro.getYear() >= -500 && astro.getYear() < 500)
-			{
-				t = tt / 100.0;
-				TTminusUT1 = 10583.6 - 1014.41 * t + 33.78311 * t * t - 5.952053 * t * t * t - 0.1798452 * Math.pow(t, 4.0) + 0.022174192 * Math
-						.pow(t, 5.0) + 0.0090316521 * Math.pow(t, 6.0);
-			}
-
-			// Uncertainty below 2 minutes
-			if (astro.getYear() >= 500 && astro.getYear() < 1620) // 1600 following Spenak
-			{
-				t = (tt - 1000.0) / 100.0;
-				TTminusUT1 = 1574.2 - 556.01 * t + 71.23472 * t * t + 0.319781 * t * t * t - 0.8503463 * Math.pow(t, 4.0) - 0.005050998 * Math
-						.pow(t, 5.0) + 0.0083572073 * Math.pow(t, 6.0);
-			}
-
-			// Uncertainty below 2 minutes. I neglect this expansion from Spenak since the previous one
-			// produces smoother results with tabulated values in TTminusUT1.txt
-			if (astro.getYear() >= 1600 && astro.getYear() < 1620)
-			{
-				t = tt - 1600.0;
-				TTminusUT1 = 120.0 - 0.9808 * t - 0.01532 * t * t + (t * t * t / 7129.0);
-			}
-*/
-			/*
-			 * Tabulated values from AA.
-			 */
-			if (DATA.interp == null) TimeScale.updateLeapSecondsAndDT(null, null);
-
-			if (JD_UT >= DATA.dt_initJD && JD_UT < DATA.dt_endJD)
-			{
-				TTminusUT1 = DATA.interp.splineInterpolation(JD_UT);
-			}
-			if (JD_UT >= DATA.dt_endJD) {
-				TTminusUT1 = DATA.interp.linearInterpolation(DATA.dt_endJD);
-			}
-
-			boolean approxFuture = false;
-			if (JD_UT > DATA.dt_endJD + 365 && allowExtrapolationOfTTminusUT1ForFutureDates) approxFuture = true;
-			if (approxFuture) {
-				if (astro.getYear() < 2050)
-				{
-					t = tt - 2000.0;
-					TTminusUT1 = 62.92 + 0.32217 * t + 0.005589 * t * t;
-				} else
-				{
-					if (astro.getYear() < 2150)
-					{
-						t = (tt - 1820.0) / 100.0;
-						TTminusUT1 = -20.0 + 32.0 * t * t - 0.5628 * (2150.0 - tt);
-					} else
-					{
-						t = (tt - 1820.0) / 100.0;
-						TTminusUT1 = -20.0 + 32.0 * t * t;
-					}
-				}
-			}
-
-			/* Correct TT-UT1 for difference between Moon secular acceleration
-			 * used in Morrison and Stephenson 2004 (-26 "/cent^2) to the most recent
-			 * estimation
-			 */
-			if (tt < 1955 || approxFuture)
-			{
-				double JD_TT = JD_UT + UT12TT;
-				double FIXED_JD_TT = TimeScale.dynamicalTimeCorrectionForMoonSecularAcceleration(JD_TT);
-				double dT = (FIXED_JD_TT - JD_TT) * Constant.SECONDS_PER_DAY;
-				TTminusUT1 += dT;
-			}
-
-			DataBase.addData("TTminusUT1", new double[] {TT_UT1_last_calc_T, TTminusUT1}, true);
+			context.ttMinusUT1JD = TT_UT1_last_calc_T;
+			context.ttMinusUT1 = TTminusUT1;
 		}
 		return TTminusUT1;
 	}
@@ -850,80 +789,156 @@ public class TimeScale
 	 */
 	public static double getTTminusUT1(AstroDate astro_ut)
 	throws JPARSECException {
-		double TT_UT1_last_calc_T = -10000.0;
-		double TTminusUT1 = 0;
-		Object o = DataBase.getData("TTminusUT1_deprecated", true);
-		if (o != null) {
-			double a[] = (double[]) o;
-			TT_UT1_last_calc_T = a[0];
-			TTminusUT1 = a[1];
-		}
+		return getTTminusUT1(astro_ut.jd());
+	}
 
-		double tt, t;
+	/**
+	 * Returns TT minus UT1. The value is computed once for each day,
+	 * and it is the same returned by {@linkplain #getTTminusUT1(AstroDate)}.
+	 * This method does not create any object.
+	 * @param JD_UT The Julian day in UT.
+	 * @return TT-UT1 (s).
+	 * @throws JPARSECException If an error occurs.
+	 */
+	public static double getTTminusUT1(double JD_UT)
+	throws JPARSECException {
+		EphemerisContext context = EphemerisContext.getCurrent();
+		double tt = getYearFraction(JD_UT);
+		if (tt != context.ttMinusUT1Year)
+		{
+			// Approx. use of UT1 as TT for the correction of the Moon secular acceleration
+			context.ttMinusUT1ForYear = computeTTminusUT1(JD_UT, JD_UT, context.ttMinusUT1ForYear);
+			context.ttMinusUT1Year = tt;
+		}
+		return context.ttMinusUT1ForYear;
+	}
 
-		tt = astro_ut.getYear() + (astro_ut.getMonth() - 1 + (astro_ut.getDay() - 1.0) / 30.0) / 12.0;
+	/**
+	 * Computes TT-UT1 from the tabulated values or the extrapolation formulae.
+	 * @param JD_UT The Julian day in UT.
+	 * @param JD_TT The Julian day in TT, used for the correction due to the Moon
+	 * secular acceleration.
+	 * @param last The value to return for dates without data, the last one computed.
+	 * @return TT-UT1 (s).
+	 * @throws JPARSECException If an error occurs.
+	 */
+	private static double computeTTminusUT1(double JD_UT, double JD_TT, double last)
+	throws JPARSECException {
+		double TTminusUT1 = last, t;
+		double tt = getYearFraction(JD_UT);
+		int year = getYear(JD_UT);
 
-		if (tt != TT_UT1_last_calc_T)
+		// Uncertainty up to a few hours, but around 10 minutes in year -500
+		if (year < -500)
 		{
-			TT_UT1_last_calc_T = tt;
+			t = (tt - 1820.0) / 100.0;
+			TTminusUT1 = -20 + 32.0 * t * t;
+		}
 
-			if (astro_ut.getYear() < -500)
-			{
-				t = (tt - 1820.0) / 100.0;
-				TTminusUT1 = -20 + 32.0 * t * t;
-			}
+		/*
+		 * Tabulated values from AA. The spline coefficients are computed once when
+		 * the table is read, and the segment is found by bisection.
+		 */
+		if (DATA.interp == null) TimeScale.updateLeapSecondsAndDT(null, null);
 
-			/*
-			 * Tabulated values from AA.
-			 */
-			if (DATA.interp == null) TimeScale.updateLeapSecondsAndDT(null, null);
+		if (JD_UT >= DATA.dt_initJD && JD_UT < DATA.dt_endJD)
+		{
+			TTminusUT1 = DATA.interp.splineInterpolation(JD_UT);
+		}
+		if (JD_UT >= DATA.dt_endJD)
+			TTminusUT1 = DATA.dt_endValue;
 
-			double JD_UT = astro_ut.jd();
-			if (JD_UT >= DATA.dt_initJD && JD_UT < DATA.dt_endJD)
+		boolean approxFuture = false;
+		if (JD_UT > DATA.dt_endJD + 365 && allowExtrapolationOfTTminusUT1ForFutureDates) approxFuture = true;
+		if (approxFuture) {
+			if (year < 2050)
 			{
-				TTminusUT1 = DATA.interp.splineInterpolation(JD_UT);
-			}
-			if (JD_UT >= DATA.dt_endJD)
-				TTminusUT1 = DATA.interp.linearInterpolation(DATA.dt_endJD);
-
-			boolean approxFuture = false;
-			if (JD_UT > DATA.dt_endJD + 365 && allowExtrapolationOfTTminusUT1ForFutureDates) approxFuture = true;
-			if (approxFuture) {
-				if (astro_ut.getYear() < 2050)
+				t = tt - 2000.0;
+				TTminusUT1 = 62.92 + 0.32217 * t + 0.005589 * t * t;
+			} else
+			{
+				if (year < 2150)
 				{
-					t = tt - 2000.0;
-					TTminusUT1 = 62.92 + 0.32217 * t + 0.005589 * t * t;
+					t = (tt - 1820.0) / 100.0;
+					TTminusUT1 = -20.0 + 32.0 * t * t - 0.5628 * (2150.0 - tt);
 				} else
 				{
-					if (astro_ut.getYear() < 2150)
-					{
-						t = (tt - 1820.0) / 100.0;
-						TTminusUT1 = -20.0 + 32.0 * t * t - 0.5628 * (2150.0 - tt);
-					} else
-					{
-						t = (tt - 1820.0) / 100.0;
-						TTminusUT1 = -20.0 + 32.0 * t * t;
-					}
+					t = (tt - 1820.0) / 100.0;
+					TTminusUT1 = -20.0 + 32.0 * t * t;
 				}
 			}
+		}
 
-			/* Correct TT-UT1 for difference between Moon secular aceleration
-			 * used in Morrison and Stephenson 2004 (-26 "/cent^2) to the most recent
-			 * estimation
-			 */
-			if (tt < 1955 || approxFuture)
-			{
-				double JD_TT = astro_ut.jd(); // + UT12TT; // Approx. use of UT1 as TT
-				double FIXED_JD_TT = TimeScale.dynamicalTimeCorrectionForMoonSecularAcceleration(JD_TT);
-				double dT = (FIXED_JD_TT - JD_TT) * Constant.SECONDS_PER_DAY;
-				TTminusUT1 += dT;
-			}
-
-			DataBase.addData("TTminusUT1_deprecated", new double[] {TT_UT1_last_calc_T, TTminusUT1}, true);
+		/* Correct TT-UT1 for difference between Moon secular acceleration
+		 * used in Morrison and Stephenson 2004 (-26 "/cent^2) to the most recent
+		 * estimation
+		 */
+		if (tt < 1955 || approxFuture)
+		{
+			double FIXED_JD_TT = TimeScale.dynamicalTimeCorrectionForMoonSecularAcceleration(JD_TT);
+			double dT = (FIXED_JD_TT - JD_TT) * Constant.SECONDS_PER_DAY;
+			TTminusUT1 += dT;
 		}
 		return TTminusUT1;
 	}
 
+	/**
+	 * Returns the date as year, month, and day packed in a long value, using the same
+	 * algorithm of {@linkplain AstroDate#AstroDate(double)}, but without creating any object.
+	 * @param jd The Julian day.
+	 * @return (year + 100000) * 10000 + month * 100 + day, with the year
+	 * as returned by {@linkplain AstroDate#getYear()}.
+	 */
+	private static long getPackedDate(double jd)
+	{
+		double Z = Math.floor(jd + 0.5);
+		double F = jd + 0.5 - Z;
+		double A = Z;
+		if (Z >= 2299161D)
+		{
+			int a = (int) ((Z - 1867216.25) / 36524.25);
+			A += 1 + a - a / 4;
+		}
+		double B = A + 1524;
+		int C = (int) ((B - 122.1) / 365.25);
+		int D = (int) (C * 365.25);
+		int E = (int) ((B - D) / 30.6001);
+
+		int day = (int) (F + B - D - (int) (30.6001 * E));
+		int month = (E < 14) ? E - 1 : E - 13;
+		int year = C - 4715;
+		if (month > 2)
+			year--;
+		if (year <= 0) year--;
+
+		return (year + 100000L) * 10000L + month * 100 + day;
+	}
+
+	/**
+	 * Returns the year for a given Julian day, as given by {@linkplain AstroDate#getYear()}.
+	 * @param jd The Julian day.
+	 * @return The year.
+	 */
+	private static int getYear(double jd)
+	{
+		return (int) (getPackedDate(jd) / 10000L - 100000L);
+	}
+
+	/**
+	 * Returns the year and fraction of year used to select the expressions
+	 * for TT-UT1 and TAI-UTC, with a resolution of one day.
+	 * @param jd The Julian day.
+	 * @return The year and fraction.
+	 */
+	private static double getYearFraction(double jd)
+	{
+		long date = getPackedDate(jd);
+		int year = (int) (date / 10000L - 100000L);
+		int month = (int) ((date / 100) % 100);
+		int day = (int) (date % 100);
+		return year + (month - 1 + (day - 1.0) / 30.0) / 12.0;
+	}
+
 	/**
 	 * Forces the value of TT-UT1 for a given date.
 	 * Note in case the TT-UT1 is requested for another date, the
@@ -942,7 +957,7 @@ public class TimeScale
 			JD_UT += LT2UTC;
 
 		if (time.timeScale == TimeElement.SCALE.TERRESTRIAL_TIME || time.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME) {
-			double UT12TT = TimeScale.getTTminusUT1(new AstroDate(JD_UT)) / Constant.SECONDS_PER_DAY;
+			double UT12TT = TimeScale.getTTminusUT1(JD_UT) / Constant.SECONDS_PER_DAY;
 			JD_UT -= UT12TT;
 		}
 
@@ -952,7 +967,9 @@ public class TimeScale
 			JD_UT += DST;
 		}
 
-		DataBase.addData("TTminusUT1", new double[] {JD_UT, TTminusUT1}, true);
+		EphemerisContext context = EphemerisContext.getCurrent();
+		context.ttMinusUT1JD = JD_UT;
+		context.ttMinusUT1 = TTminusUT1;
 	}
 
 	/**
@@ -996,35 +1013,45 @@ public class TimeScale
 	 * @throws JPARSECException If the date is invalid.
 	 */
 	public static double getTAIminusUTC(AstroDate astro) throws JPARSECException
+	{
+		return getTAIminusUTC(astro.jd());
+	}
+
+	/**
+	 * Calculate difference between International Atomic Time and Universal Time
+	 * Coordinate in seconds for a given date, see {@linkplain #getTAIminusUTC(AstroDate)}.
+	 * The table of leap seconds is searched by bisection, and no object is created.
+	 *
+	 * @param JD Julian day in UTC.
+	 * @return TAI minus UTC, in seconds.
+	 * @throws JPARSECException If the date is invalid.
+	 */
+	public static double getTAIminusUTC(double JD) throws JPARSECException
 	{
 		double tt, DAT = 0.0;
 
-		tt = astro.getYear() + (astro.getMonth() - 1 + (astro.getDay() - 1.0) / 30.0) / 12.0;
+		tt = getYearFraction(JD);
 
 		if (tt >= 1961.0)
 		{
 			if (DATA.leap_seconds == null) TimeScale.updateLeapSecondsAndDT(null, null);
 
-			// Find the most recent table entry.
-			int IS = 0;
-
-			for (int i = 0; i < DATA.leap_seconds.length; i++)
+			// Find the most recent table entry, months elapsed are sorted in crescent order.
+			int lo = 0, hi = DATA.leap_months.length;
+			while (lo < hi)
 			{
-				// Months elapsed
-				double date = DATA.leap_seconds[i][0] * 12.0 + DATA.leap_seconds[i][1];
-
-				if (date < (12.0 * tt))
-				{
-					IS = i;
+				int k = (lo + hi) >>> 1;
+				if (DATA.leap_months[k] < (12.0 * tt)) {
+					lo = k + 1;
+				} else {
+					hi = k;
 				}
 			}
+			int IS = Math.max(0, lo - 1);
 
 			// Get the Delta(AT).
 			DAT = DATA.leap_seconds[IS][2];
 
-			// Obtain JD
-			double JD = astro.jd();
-
 			// If pre-1972, adjust for drift.
 			if (IS <= 13)
 			{
@@ -1256,27 +1283,37 @@ public class TimeScale
 	public static double getTDBminusTT(TimeElement time, ObserverElement obs, EphemerisElement eph)
 			throws JPARSECException
 	{
-		double TDB_TT_last_value = 0.0;
-		double TDB_TT_last_calc_jd = -1E100;
-		Object o = DataBase.getData("TDBminusTT", true);
-		if (o != null) {
-			double a[] = (double[]) o;
-			TDB_TT_last_calc_jd = a[0];
-			TDB_TT_last_value = a[1];
-		}
+		return getTDBminusTT(time.astroDate.jd(), time.timeScale, obs, eph);
+	}
+
+	/**
+	 * Calculate approximate difference between Barycentric Dynamical Time and Terrestrial
+	 * Time in seconds for a given date, see {@linkplain #getTDBminusTT(TimeElement, ObserverElement, EphemerisElement)}.
+	 * This method does not create any object.
+	 *
+	 * @param JD Julian day.
+	 * @param scale Time scale of the Julian day.
+	 * @param obs Observer object.
+	 * @param eph Ephemeris object.
+	 * @return TDB-TT in seconds.
+	 * @throws JPARSECException If the date is invalid.
+	 */
+	public static double getTDBminusTT(double JD, SCALE scale, ObserverElement obs, EphemerisElement eph)
+			throws JPARSECException
+	{
+		EphemerisContext context = EphemerisContext.getCurrent();
+		double TDB_TT_last_value = context.tdbMinusTT;
+		double TDB_TT_last_calc_jd = context.tdbMinusTTJD;
 
 		// We use TT instead of TDB, but this has no effect in the prediction
-		TimeElement newt = time.clone();
-		double JD = 0.0;
-		if (newt.timeScale == TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME ||
-				newt.timeScale == TimeElement.SCALE.TERRESTRIAL_TIME) {
-			JD = newt.astroDate.jd();
-			newt.timeScale = SCALE.TERRESTRIAL_TIME;
+		double JD_in = JD;
+		if (scale == SCALE.BARYCENTRIC_DYNAMICAL_TIME || scale == SCALE.TERRESTRIAL_TIME) {
+			scale = SCALE.TERRESTRIAL_TIME;
 		} else {
-			JD = getJD(newt, obs, eph, SCALE.TERRESTRIAL_TIME);
+			JD = getJD(JD_in, scale, obs, eph, SCALE.TERRESTRIAL_TIME);
 		}
 
-		if (Math.abs(JD - TDB_TT_last_calc_jd) < 1.0 / Constant.SECONDS_PER_DAY)
+		if (Math.abs(JD - TDB_TT_last_calc_jd) < Math.max(1.0 / Constant.SECONDS_PER_DAY, context.reuseInterval))
 			return TDB_TT_last_value;
 
 		TDB_TT_last_calc_jd = JD;
@@ -1297,12 +1334,13 @@ public class TimeScale
 		            + 0.000010 * T * Math.sin(628.3076 * T + 4.2490);
 
 			TDB_TT_last_value = secs;
-			DataBase.addData("TDBminusTT", new double[] {TDB_TT_last_calc_jd, TDB_TT_last_value}, true);
+			context.tdbMinusTTJD = TDB_TT_last_calc_jd;
+			context.tdbMinusTT = TDB_TT_last_value;
 			return secs;
 		}
 
 		// Obtain UT in fractions of days.
-		double JD_UT = getJD(newt, obs, eph, SCALE.UNIVERSAL_TIME_UT1);
+		double JD_UT = getJD(JD_in, scale, obs, eph, SCALE.UNIVERSAL_TIME_UT1);
 		double UT = (JD_UT - Math.floor(JD_UT)) + 0.5;
 		if (UT > 1.0)
 			UT = UT - 1.0;
@@ -1414,7 +1452,8 @@ public class TimeScale
 		double TDB = WT + WF + WJ;
 
 		TDB_TT_last_value = TDB;
-		DataBase.addData("TDBminusTT", new double[] {TDB_TT_last_calc_jd, TDB_TT_last_value}, true);
+		context.tdbMinusTTJD = TDB_TT_last_calc_jd;
+		context.tdbMinusTT = TDB_TT_last_value;
 
 		return TDB;
 	}
@@ -1918,13 +1957,17 @@ public class TimeScale
 				String jarpath = "jparsec/time/leapSeconds.txt";
 				leapSeconds = DataSet.arrayListToStringArray(ReadFile.readResource(jarpath));
 			}
-			DATA.leap_seconds = new double[leapSeconds.length-1][3];
+			double leap[][] = new double[leapSeconds.length-1][3];
+			double months[] = new double[leap.length];
 			for (int i=1; i<leapSeconds.length; i++)
 			{
-				DATA.leap_seconds[i-1][0] = DataSet.parseDouble(FileIO.getField(1, leapSeconds[i], " ", true));
-				DATA.leap_seconds[i-1][1] = DataSet.parseDouble(FileIO.getField(2, leapSeconds[i], " ", true));
-				DATA.leap_seconds[i-1][2] = DataSet.parseDouble(FileIO.getField(3, leapSeconds[i], " ", true));
+				leap[i-1][0] = DataSet.parseDouble(FileIO.getField(1, leapSeconds[i], " ", true));
+				leap[i-1][1] = DataSet.parseDouble(FileIO.getField(2, leapSeconds[i], " ", true));
+				leap[i-1][2] = DataSet.parseDouble(FileIO.getField(3, leapSeconds[i], " ", true));
+				months[i-1] = leap[i-1][0] * 12.0 + leap[i-1][1];
 			}
+			DATA.leap_months = months;
+			DATA.leap_seconds = leap;
 			if (tt_ut1 == null) {
 				String jarpath = "jparsec/time/TTminusUT1.txt";
 				tt_ut1 = DataSet.arrayListToStringArray(ReadFile.readResource(jarpath));
@@ -1964,7 +2007,9 @@ public class TimeScale
 				jd[i] = d[0];
 				v[i] = d[1];
 			}
-			DATA.interp = new Interpolation(jd, v, true);
+			Interpolation interp = new Interpolation(jd, v, true);
+			DATA.dt_endValue = interp.linearInterpolation(DATA.dt_endJD);
+			DATA.interp = interp;
 
 		} catch (Exception e)
 		{
@@ -1992,6 +2037,9 @@ final class DATA
 	// From SOFA library.
 	static double[][] leap_seconds = null;
 
+	// Months elapsed (year * 12 + month) for each entry in the leap seconds table
+	static double[] leap_months = null;
+
 	/*
 	 * Table of difference TT-UT1 for a given set of dates.
 	 * First value is JD (UT), second one is TT-UT1 in seconds.
@@ -2001,4 +2049,7 @@ final class DATA
 	static Interpolation interp = null; //ArrayList<double[]> dt = null;
 
 	static double dt_initJD = -1, dt_endJD = -1;
+
+	// TT-UT1 at the last date in the table
+	static double dt_endValue = 0;
 }
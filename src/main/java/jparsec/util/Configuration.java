@@ -24,6 +24,7 @@ package jparsec.util;
 import java.io.File;
 import java.math.RoundingMode;
 
+import jparsec.ephem.planets.JPLEphemeris;
 import jparsec.ephem.planets.OrbitEphem;
 import jparsec.ephem.probes.SatelliteEphem;
 import jparsec.ephem.probes.SatelliteOrbitalElement;
@@ -140,6 +141,57 @@ public class Configuration
 	 */
 	public static String JPL_EPHEMERIDES_FILES_EXTERNAL_PATH = null;
 
+	/**
+	 * Holds the maximum number of files of JPL ephemerides that can be kept in memory
+	 * simultaneously by each instance of {@linkplain JPLEphemeris}. Default is 4.
+	 */
+	public static int MAX_CACHED_JPL_FILES = 4;
+
+	/**
+	 * Holds the minimum absolute amplitude in AU of the terms of the VSOP87 theory
+	 * used when computing positions with {@linkplain jparsec.ephem.planets.imcce.Vsop}.
+	 * Default is 0 to use the full theory. A value of 1E-8 or 1E-7 will reduce the
+	 * computing time with a small loss of accuracy.
+	 */
+	public static double VSOP87_TRUNCATION_THRESHOLD = 0.0;
+
+	/**
+	 * Holds the maximum number of segments allowed for each body when compiling
+	 * positions with {@linkplain jparsec.ephem.planets.ChebyshevEphemeris}. Default
+	 * is 100000, about 30 MB for polynomials of degree 12.
+	 */
+	public static int MAX_CHEBYSHEV_SEGMENTS = 100000;
+
+	/**
+	 * Holds the time interval in days within which the precession-nutation matrices,
+	 * TT-UT1, and TDB-TT are reused between consecutive steps when a series of
+	 * ephemerides is calculated step by step by {@linkplain jparsec.ephem.Ephem#getEphemerisSeries(jparsec.time.TimeElement, double, int, jparsec.observer.ObserverElement, jparsec.ephem.EphemerisElement, boolean)}.
+	 * Default is 0.01 days (about 15 minutes), for an error below 0.005". Set to 0
+	 * to compute them at each step.
+	 */
+	public static double EPHEMERIS_SERIES_REUSE_INTERVAL = 0.01;
+
+	/**
+	 * Holds the maximum number of entries in each of the caches of nutation angles,
+	 * precession matrices, and NPB matrices, see {@linkplain jparsec.ephem.ReductionCache}.
+	 * Default is 64. Set to 0 to disable them.
+	 */
+	public static int REDUCTION_CACHE_SIZE = 64;
+
+	/**
+	 * Holds the time interval in days within which the values in the caches of
+	 * nutation, precession, and NPB matrices are shared, see {@linkplain jparsec.ephem.ReductionCache}.
+	 * Default is 0, so that values are only reused for exactly the same instant.
+	 */
+	public static double REDUCTION_CACHE_TOLERANCE = 0.0;
+
+	/**
+	 * Holds the size in degrees of the cells of the spatial index built to search
+	 * for objects by position in catalogs of stars, see {@linkplain jparsec.io.SkyIndex}.
+	 * Default is 1 degree. Set to 0 to disable the index and scan all objects.
+	 */
+	public static double SKY_INDEX_CELL_SIZE = 1.0;
+
 	/**
 	 * Holds the number of decimal places for the precision of the
 	 * operations in big decimal mode. Default is 18.
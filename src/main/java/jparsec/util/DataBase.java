@@ -22,10 +22,17 @@
 package jparsec.util;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
-import jparsec.graph.DataSet;
 import jparsec.io.ApplicationLauncher;
 import jparsec.io.FileIO;
 import jparsec.io.Serialization;
@@ -39,7 +46,9 @@ import jparsec.io.Serialization;
  * id allows also to access data in a thread-safe way. As the identifier of the thread the thread's name
  * is used, as returned by {@linkplain ApplicationLauncher#getProcessID()}.
  * <BR><BR>
- * In JPARSEC all information is kept in memory for better performance.
+ * In JPARSEC all information is kept in memory for better performance. Data is stored in a
+ * concurrent hash map keyed by the pair (process id, identifier), so reading and writing
+ * data is fast and does not require locking.
  *
  * @author T. Alonso Albi - OAN (Spain)
  * @version 1.0
@@ -49,12 +58,62 @@ public class DataBase
 	// private constructor so that this class cannot be instantiated.
 	private DataBase() {}
 
-	private static ArrayList<String> threads = new ArrayList<String>();
-	private static ArrayList<String> dataID = new ArrayList<String>(); // Memory
-	private static ArrayList<String> dataID_disk = new ArrayList<String>(); // Disk
-	private static ArrayList<Object> data = new ArrayList<Object>(); // Memory
-	private static HashMap<String, Object> data_lifeTime = new HashMap<String, Object>(); // Memory
-	private static String cacheDir = null;
+	/**
+	 * Key for the data, formed by the process id and the identifier.
+	 */
+	private static final class Key {
+		private final String id, pid;
+		private final int hash;
+
+		private Key(String id, String pid) {
+			this.id = id;
+			this.pid = pid;
+			this.hash = 31 * id.hashCode() + pid.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key k = (Key) o;
+			return hash == k.hash && id.equals(k.id) && pid.equals(k.pid);
+		}
+
+		private String getFileName() {
+			return id+"_"+pid;
+		}
+	}
+
+	/**
+	 * Data in memory. The index is the position of the data in the database,
+	 * released when the data is deleted.
+	 */
+	private static final class Entry {
+		private final int index;
+		private final Key key;
+		private volatile Object value;
+
+		private Entry(int index, Key key) {
+			this.index = index;
+			this.key = key;
+		}
+	}
+
+	private static CopyOnWriteArrayList<String> threads = new CopyOnWriteArrayList<String>();
+	private static ConcurrentHashMap<String, Boolean> threadSet = new ConcurrentHashMap<String, Boolean>();
+	private static ConcurrentHashMap<Key, Entry> data = new ConcurrentHashMap<Key, Entry>(); // Memory
+	private static ConcurrentHashMap<String, Key> data_disk = new ConcurrentHashMap<String, Key>(); // Disk
+	private static ConcurrentHashMap<Key, Expiration> data_lifeTime = new ConcurrentHashMap<Key, Expiration>(); // Expiration times
+	private static volatile Entry[] dataByIndex = new Entry[16];
+	private static int dataSize = 0;
+	private static ArrayDeque<Integer> freeIndexes = new ArrayDeque<Integer>();
+	private static final Object lock = new Object();
+	private static volatile String cacheDir = null;
 
 	/**
 	 * Adds data to the database. Process id is determined using
@@ -104,46 +163,43 @@ public class DataBase
 	 * returned. Set to 0 or negative for infinity life time.
 	 * @return The identifier of the thread writing this data.
 	 */
-	public static synchronized String addData(String id, String pid, Object o, boolean forceMemory, int lifeTimeSeconds) {
+	public static String addData(String id, String pid, Object o, boolean forceMemory, int lifeTimeSeconds) {
 		if (pid == null) pid = "";
 
-		int index = threads.indexOf(pid);
-		if (index == -1) threads.add(pid);
-
-		String dataid = id+"_"+pid;
+		if (!threadSet.containsKey(pid)) addThread(pid);
 
+		Key key = new Key(id, pid);
 		if (lifeTimeSeconds > 0) {
-			data_lifeTime.put(dataid, new long[] {lifeTimeSeconds, System.currentTimeMillis()});
-			if (gc == null || !gc.isAlive()) {
-				gc = new Thread(new gcThread());
-				gc.start();
+			// Only the last task for a given key is kept
+			Expiration expiration = new Expiration(key, System.currentTimeMillis() + lifeTimeSeconds * 1000L);
+			expiration.future = getExpirationService().schedule(expiration, lifeTimeSeconds, TimeUnit.SECONDS);
+			Expiration previous = data_lifeTime.put(key, expiration);
+			if (previous != null) previous.future.cancel(false);
+		} else {
+			if (!data_lifeTime.isEmpty()) {
+				Expiration previous = data_lifeTime.remove(key);
+				if (previous != null) previous.future.cancel(false);
 			}
 		}
 
 		if (forceMemory) {
-			index = dataID.indexOf(dataid);
-			boolean newData = false;
-			if (index == -1) {
-				index = dataID.size();
-				dataID.add(dataid);
-				newData = true;
-			}
+			while (true) {
+				Entry entry = data.get(key);
+				if (entry == null) entry = newEntry(key);
 
-//			if (o != null) System.out.println("added "+o.getClass()+" ("+dataid+")");
-			if (newData) {
-				data.add(o);
-			} else {
-				data.set(index, o);
+//				if (o != null) System.out.println("added "+o.getClass()+" ("+key.getFileName()+")");
+				entry.value = o;
+
+				// In case the entry was deleted meanwhile by deleteThreadData the data is added again
+				if (data.get(key) == entry) return pid;
 			}
-			return pid;
 		}
 
 		try {
 			if (cacheDir == null) cacheDir = FileIO.getTemporalDirectory();
-			String of = cacheDir + dataid;
+			String of = cacheDir + key.getFileName();
 
-			index = dataID.indexOf(of);
-			if (index == -1) dataID_disk.add(of);
+			data_disk.put(of, key);
 
 			Serialization.writeObject(o, of);
 			File file = new File(of);
@@ -154,6 +210,43 @@ public class DataBase
 		return pid;
 	}
 
+	/**
+	 * Registers a thread, in the same lock used to delete its data.
+	 */
+	private static void addThread(String pid) {
+		synchronized (lock) {
+			if (threadSet.putIfAbsent(pid, Boolean.TRUE) == null) threads.add(pid);
+		}
+	}
+
+	/**
+	 * Creates a new entry in memory for a given key, or returns the existing one
+	 * in case it was created by other thread. The index is one released by
+	 * {@linkplain #deleteThreadData(String)}, if any.
+	 */
+	private static Entry newEntry(Key key) {
+		synchronized (lock) {
+			Entry entry = data.get(key);
+			if (entry != null) return entry;
+
+			addThread(key.pid);
+			Entry[] e = dataByIndex;
+			Integer free = freeIndexes.poll();
+			int index = free == null ? dataSize : free.intValue();
+			if (index == e.length) {
+				Entry[] ne = new Entry[e.length * 2];
+				System.arraycopy(e, 0, ne, 0, e.length);
+				e = ne;
+			}
+			entry = new Entry(index, key);
+			e[index] = entry;
+			if (free == null) dataSize ++;
+			dataByIndex = e;
+			data.put(key, entry);
+			return entry;
+		}
+	}
+
 	/**
 	 * Returns data from the database. Process id is determined using
 	 * {@linkplain ApplicationLauncher#getProcessID()}.
@@ -176,8 +269,8 @@ public class DataBase
 	 * @return The set of objects, or null if none can be found.
 	 */
 	public static Object getDataForAnyThread(String id, boolean forceMemory) {
-		for (int i=0; i<threads.size(); i++) {
-			Object o = getData(id, threads.get(i), forceMemory);
+		for (Iterator<String> it = threads.iterator(); it.hasNext();) {
+			Object o = getData(id, it.next(), forceMemory);
 			if (o != null) return o;
 		}
 		return null;
@@ -192,9 +285,10 @@ public class DataBase
 	 */
 	public static boolean dataExists(String id, boolean anyThread) {
 		if (anyThread) {
-			for (int i=0; i<threads.size(); i++) {
-				Object o = getData(id, threads.get(i), true);
-				if (o == null) o = getData(id, threads.get(i), false);
+			for (Iterator<String> it = threads.iterator(); it.hasNext();) {
+				String pid = it.next();
+				Object o = getData(id, pid, true);
+				if (o == null) o = getData(id, pid, false);
 				if (o != null) return true;
 			}
 		} else {
@@ -233,44 +327,32 @@ public class DataBase
 	public static Object getData(String id, String pid, boolean forceMemory) {
 		if (pid == null) pid = "";
 
-		String dataid = id+"_"+pid;
+		Key key = new Key(id, pid);
 
 		boolean deleteAndReturnNull = false;
-		if (data_lifeTime.size() > 0) {
-			Object o = data_lifeTime.get(dataid);
-			if (o != null) {
-				long data[] = (long[]) o;
-				long t0 = System.currentTimeMillis();
-				long t1 = data[1] + data[0] * 1000;
-				if (t0 > t1) {
-					deleteAndReturnNull = true;
-					data_lifeTime.remove(dataid);
-				}
+		if (!data_lifeTime.isEmpty()) {
+			Expiration expiration = data_lifeTime.get(key);
+			if (expiration != null && System.currentTimeMillis() > expiration.time) {
+				deleteAndReturnNull = true;
+				if (data_lifeTime.remove(key, expiration)) expiration.future.cancel(false);
 			}
 		}
 
 		if (forceMemory) {
-			int index = dataID.indexOf(dataid);
-			if (index == -1) {
+			Entry entry = data.get(key);
+			if (entry == null) {
 				return null;
 			}
 
 			if (deleteAndReturnNull) {
-				data.set(index, null);
+				entry.value = null;
 				return null;
 			}
 
-/*			if (data.get(index) != null) {
-				try {
-					int n = ((Object[]) data.get(index)).length;
-					System.out.println("retrieved "+dataid+" / "+n+" / "+data.get(index).getClass()); //+" / "+JPARSECException.getCurrentTrace());
-				} catch (Exception exc) {}
-			}
-*/
-			return data.get(index);
+			return entry.value;
 		}
 
-		String of = cacheDir + dataid;
+		String of = cacheDir + key.getFileName();
 		if (deleteAndReturnNull) {
 			File file = new File(of);
 			file.delete();
@@ -288,14 +370,18 @@ public class DataBase
 	 * Returns the data for a given index in the database, without
 	 * any kind of check.
 	 * @param index The index.
-	 * @return The data.
+	 * @return The data, or null if the index does not exist.
 	 */
 	public static Object getData(int index) {
-		return data.get(index);
+		Entry[] e = dataByIndex;
+		if (index < 0 || index >= e.length || e[index] == null) return null;
+		return e[index].value;
 	}
 
 	/**
-	 * Returns the index of a specific item in the database.
+	 * Returns the index of a specific item in the database. The index of data
+	 * removed with {@linkplain #deleteThreadData(String)} can be given later to
+	 * other data, so indexes should be obtained again after that.
 	 * @param id The identifier of the data.
 	 * @param pid The process id, should be identical to
 	 * {@linkplain ApplicationLauncher#getProcessID()}. You can set it here
@@ -305,9 +391,9 @@ public class DataBase
 	 */
 	public static int getIndex(String id, String pid) {
 		if (pid == null) pid = "";
-		String dataid = id+"_"+pid;
-		int index = dataID.indexOf(dataid);
-		return index;
+		Entry entry = data.get(new Key(id, pid));
+		if (entry == null) return -1;
+		return entry.index;
 	}
 
 
@@ -333,103 +419,100 @@ public class DataBase
 	 * @return The identifiers.
 	 */
 	public static String[] getThreads() {
-		return DataSet.arrayListToStringArray(threads);
+		return threads.toArray(new String[0]);
 	}
 
 	/**
 	 * Removes all the data corresponding to certain thread.
+	 * Indexes of the removed data are released to be used by new data.
 	 * @param pid The thread id.
 	 */
-	public static synchronized void deleteThreadData(String pid) {
-		int index = threads.indexOf(pid);
-		if (index < 0) return;
-
-		for (int i=0; i<dataID.size(); i++) {
-			String d = dataID.get(i);
-			if (d.endsWith("_"+pid)) {
-				dataID.remove(i);
-				data.remove(i);
+	public static void deleteThreadData(String pid) {
+		synchronized (lock) {
+			if (threadSet.remove(pid) == null) return;
+			threads.remove(pid);
+
+			Entry[] e = dataByIndex;
+			for (Iterator<Entry> it = data.values().iterator(); it.hasNext();) {
+				Entry entry = it.next();
+				if (entry.key.pid.equals(pid)) {
+					it.remove();
+					entry.value = null;
+					e[entry.index] = null;
+					freeIndexes.push(Integer.valueOf(entry.index));
+				}
 			}
+			dataByIndex = e;
 		}
 
-		for (int i=0; i<dataID_disk.size(); i++) {
-			String d = dataID_disk.get(i);
-			if (d.endsWith("_"+pid)) {
-				dataID_disk.remove(i);
-				File file = new File(d);
+		for (Iterator<Map.Entry<String, Key>> it = data_disk.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, Key> d = it.next();
+			Key key = d.getValue();
+			if (key != null && key.pid.equals(pid)) {
+				it.remove();
+				File file = new File(d.getKey());
 				if (file.exists()) file.delete();
 			}
 		}
-
-		threads.remove(index);
 	}
 
 	/**
 	 * Clears the Database entirely.
 	 */
 	public static void clearEntireDatabase() {
-		/*
-		int nnull = 0;
-		String notNull = "";
-		for (int i=0; i<data.size(); i++) {
-			if (data.get(i) == null) {
-				nnull ++;
-			} else {
-				notNull += dataID.get(i)+",";
+		synchronized (lock) {
+			for (Iterator<Expiration> it = data_lifeTime.values().iterator(); it.hasNext();) {
+				it.next().future.cancel(false);
 			}
+			threads = new CopyOnWriteArrayList<String>();
+			threadSet = new ConcurrentHashMap<String, Boolean>();
+			data = new ConcurrentHashMap<Key, Entry>(); // Memory
+			data_disk = new ConcurrentHashMap<String, Key>(); // Disk
+			data_lifeTime = new ConcurrentHashMap<Key, Expiration>();
+			dataByIndex = new Entry[16];
+			dataSize = 0;
+			freeIndexes = new ArrayDeque<Integer>();
+			cacheDir = null;
 		}
-		System.out.println("Total objects: "+data.size()+"/"+dataID.size()+", null objects: "+nnull+", non null elements "+(data.size()-nnull)+": "+notNull);
-		*/
-
-		threads = new ArrayList<String>();
-		dataID = new ArrayList<String>(); // Memory
-		dataID_disk = new ArrayList<String>(); // Disk
-		data = new ArrayList<Object>(); // Memory
-		data_lifeTime = new HashMap<String, Object>(); // Memory
-		cacheDir = null;
+	}
 
+	private static ScheduledExecutorService expirationService = null;
+	private static synchronized ScheduledExecutorService getExpirationService() {
+		if (expirationService == null) {
+			expirationService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "DataBase expiration");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return expirationService;
 	}
 
-	private static Thread gc = null;
-	private static class gcThread implements Runnable {
-		public gcThread() { }
+	/**
+	 * Task to delete data after its life time. In case the data was replaced
+	 * the task is cancelled, and it does nothing if it was already running.
+	 */
+	private static class Expiration implements Runnable {
+		private final Key key;
+		private final long time;
+		private volatile ScheduledFuture<?> future;
+		public Expiration(Key key, long time) {
+			this.key = key;
+			this.time = time;
+		}
 		public void run() {
-			try {
-				while(true) {
-					if (data_lifeTime.size() > 0) {
-						Object keys[] = data_lifeTime.keySet().toArray();
-						int alive = 0;
-						long sleep = 1000, minTime = -1;
-						for (int i=0; i<keys.length; i++) {
-							Object o = data_lifeTime.get(keys[i]);
-							long data[] = (long[]) o;
-							long t0 = System.currentTimeMillis();
-							long lifetime = data[0] * 1000;
-							long t1 = data[1] + lifetime;
-							if (t0 > t1) {
-								data_lifeTime.remove(keys[i]);
-
-								int index = dataID.indexOf(keys[i]);
-								if (index >= 0) {
-									DataBase.data.set(index, null);
-								} else {
-									String of = cacheDir + keys[i];
-									File file = new File(of);
-									if (file.exists()) file.delete();
-								}
-							} else {
-								if (lifetime < minTime || minTime == -1) minTime = lifetime;
-								alive ++;
-							}
-						}
-						if (alive == 0) break;
-						if (minTime > sleep) sleep = minTime;
-						Thread.sleep(sleep);
-					} else {
-						break;
-					}
-				}
-			} catch (Exception exc) {}
+			if (!data_lifeTime.remove(key, this)) return;
+
+			Entry entry = data.get(key);
+			if (entry != null) {
+				entry.value = null;
+			} else {
+				String of = cacheDir + key.getFileName();
+				File file = new File(of);
+				if (file.exists()) file.delete();
+			}
 		}
 	}
 }
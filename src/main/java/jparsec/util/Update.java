@@ -354,6 +354,7 @@ public class Update
 		// deleted during the compression process.
 		Logger.log(LEVEL.TRACE_LEVEL1, "   Deleting temp dir");
 		FileIO.deleteFile(Update.JPARSEC_TEMP_DIRECTORY);
+		EarthOrientationParameters.clearEOPTables();
 	}
 
 	/**
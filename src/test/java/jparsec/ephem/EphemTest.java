@@ -13,6 +13,7 @@ import jparsec.observer.ObserverElement;
 import jparsec.time.AstroDate;
 import jparsec.time.TimeElement;
 import jparsec.util.Configuration;
+import jparsec.util.JPARSECException;
 
 public class EphemTest {
     /**
@@ -207,5 +208,93 @@ DEC: -23 &ordm; 06' 56.9669"
         System.out.println(in.toStringAsEquatorialLocation());
         System.out.println(out.toStringAsEquatorialLocation());
         System.out.println(out2.toStringAsEquatorialLocation());
+
+        // Explicit calculation contexts: results must not depend on which thread or context is used
+        System.out.println("EphemerisContext test");
+        eph.targetBody = Target.TARGET.MARS;
+        eph.algorithm = EphemerisElement.ALGORITHM.MOSHIER;
+        final EphemerisElement ephC = eph;
+        final TimeElement timeC = time;
+        EphemElement ref = Ephem.getEphemeris(timeC, observer, ephC, false, false, new EphemerisContext());
+        final EphemElement results[] = new EphemElement[4];
+        Thread threads[] = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        EphemerisContext context = new EphemerisContext();
+                        for (int j = 0; j < 20; j++) {
+                            results[index] = Ephem.getEphemeris(timeC, observer, ephC, false, false, context);
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            System.out.println("Thread " + i + ": RA difference (mas) " + (results[i].rightAscension - ref.rightAscension) * Constant.RAD_TO_ARCSEC * 1000.0 +
+                    ", DEC difference (mas) " + (results[i].declination - ref.declination) * Constant.RAD_TO_ARCSEC * 1000.0);
+        }
+
+        // Series of ephemerides compared to single calls
+        System.out.println("Ephemeris series test");
+        eph.isTopocentric = true;
+        eph.ephemMethod = EphemerisElement.REDUCTION_METHOD.IAU_2009;
+        int n = 1440;
+        double step = 1.0 / 1440.0;
+        // Time the series and the single calls separately, keeping the best of several rounds after a first one to warm up
+        EphemerisSeries series = null;
+        EphemElement single[] = new EphemElement[n];
+        long tSeriesNs = Long.MAX_VALUE, tSingleNs = Long.MAX_VALUE;
+        for (int round = 0; round < 4; round++) {
+            long t0 = System.nanoTime();
+            series = Ephem.getEphemerisSeries(time, step, n, observer, eph, true);
+            long t1 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                TimeElement timeS = new TimeElement(time.astroDate.jd() + step * i, time.timeScale);
+                single[i] = Ephem.getEphemeris(timeS, observer, eph, false, true);
+            }
+            long t2 = System.nanoTime();
+            if (round == 0) continue;
+            tSeriesNs = Math.min(tSeriesNs, t1 - t0);
+            tSingleNs = Math.min(tSingleNs, t2 - t1);
+        }
+        double maxRA = 0, maxDEC = 0, maxAz = 0, maxEl = 0, maxMag = 0;
+        for (int i = 0; i < n; i++) {
+            maxRA = Math.max(maxRA, Math.abs(Math.IEEEremainder(single[i].rightAscension - series.rightAscension[i], Constant.TWO_PI)) * Math.cos(single[i].declination));
+            maxDEC = Math.max(maxDEC, Math.abs(single[i].declination - series.declination[i]));
+            maxAz = Math.max(maxAz, Math.abs(Math.IEEEremainder(single[i].azimuth - series.azimuth[i], Constant.TWO_PI)) * Math.cos(single[i].elevation));
+            maxEl = Math.max(maxEl, Math.abs(single[i].elevation - series.elevation[i]));
+            maxMag = Math.max(maxMag, Math.abs(single[i].magnitude - series.magnitude[i]));
+        }
+        double tSeries = tSeriesNs / 1.0E6, tSingle = tSingleNs / 1.0E6;
+        System.out.println("Series of " + n + " instants: " + (float) tSeries + " ms, single calls: " + (float) tSingle + " ms, speedup: " + (float) (tSingle / tSeries));
+        System.out.println("Max magnitude difference: " + maxMag);
+        System.out.println("Max difference (mas): RA " + maxRA * Constant.RAD_TO_ARCSEC * 1000.0 + ", DEC " + maxDEC * Constant.RAD_TO_ARCSEC * 1000.0 +
+                ", azimuth " + maxAz * Constant.RAD_TO_ARCSEC * 1000.0 + ", elevation " + maxEl * Constant.RAD_TO_ARCSEC * 1000.0);
+        if (Math.max(maxRA, maxDEC) * Constant.RAD_TO_ARCSEC > 0.001 || Math.max(maxAz, maxEl) * Constant.RAD_TO_ARCSEC > 0.005 || maxMag > 1.0E-4)
+            throw new JPARSECException("series and single calls differ.");
+
+        // A series from 1899 to 2101: Moshier at both ends, Series96 between them
+        TimeElement time1900 = new TimeElement(2414900.5, TimeElement.SCALE.UNIVERSAL_TIME_UT1);
+        n = 740;
+        step = 100.0;
+        series = Ephem.getEphemerisSeries(time1900, step, n, observer, eph, true);
+        maxRA = maxDEC = 0;
+        for (int i = 0; i < n; i++) {
+            TimeElement timeS = new TimeElement(time1900.astroDate.jd() + step * i, time1900.timeScale);
+            EphemElement ephemS = Ephem.getEphemeris(timeS, observer, eph, false, true);
+            maxRA = Math.max(maxRA, Math.abs(Math.IEEEremainder(ephemS.rightAscension - series.rightAscension[i], Constant.TWO_PI)) * Math.cos(ephemS.declination));
+            maxDEC = Math.max(maxDEC, Math.abs(ephemS.declination - series.declination[i]));
+        }
+        System.out.println("Max difference from 1899 to 2101 (mas): RA " + maxRA * Constant.RAD_TO_ARCSEC * 1000.0 + ", DEC " + maxDEC * Constant.RAD_TO_ARCSEC * 1000.0);
+        // Calculated step by step, reusing the slowly varying quantities within Configuration.EPHEMERIS_SERIES_REUSE_INTERVAL
+        if (Math.max(maxRA, maxDEC) * Constant.RAD_TO_ARCSEC > 0.005)
+            throw new JPARSECException("series from 1899 to 2101 and single calls differ.");
     }
 }
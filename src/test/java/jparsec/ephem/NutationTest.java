@@ -103,6 +103,17 @@ public class NutationTest {
             System.out.println(eq2[0]+"/"+eq2[1]+"/"+eq2[2]);
             System.out.println(eq3[0]+"/"+eq3[1]+"/"+eq3[2]);
             */
+
+            // Interleaved dates, as in event searches: the last value is not enough
+            System.out.println("Interleaved dates");
+            eph.ephemMethod = EphemerisElement.REDUCTION_METHOD.IAU_2006;
+            ReductionCache.clearAll();
+            double t1 = Functions.toCenturies(d), t2 = Functions.toCenturies(d + 0.5);
+            long t0 = System.currentTimeMillis();
+            for (int i = 0; i < 10000; i++) {
+                Nutation.calcNutation(i % 2 == 0 ? t1 : t2, eph);
+            }
+            System.out.println("10000 calls: " + (System.currentTimeMillis() - t0) + " ms. " + ReductionCache.NUTATION);
         } catch (JPARSECException ve) {
             JPARSECException.showException(ve);
         }
@@ -0,0 +1,55 @@
+package jparsec.ephem.event;
+
+import java.util.ArrayList;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.Target;
+import jparsec.observer.City;
+import jparsec.observer.CityElement;
+import jparsec.observer.ObserverElement;
+import jparsec.time.AstroDate;
+import jparsec.time.TimeElement;
+
+public class EventReportTest {
+    /**
+     * Test program.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        CityElement city = City.findCity("Madrid");
+        ObserverElement observer = ObserverElement.parseCity(city);
+        EphemerisElement eph = new EphemerisElement(Target.TARGET.NOT_A_PLANET, EphemerisElement.COORDINATES_TYPE.APPARENT,
+                EphemerisElement.EQUINOX_OF_DATE, EphemerisElement.TOPOCENTRIC, EphemerisElement.REDUCTION_METHOD.IAU_2006,
+                EphemerisElement.FRAME.DYNAMICAL_EQUINOX_J2000);
+        eph.optimizeForSpeed();
+        TimeElement init = new TimeElement(new AstroDate(2015, 1, 1), TimeElement.SCALE.LOCAL_TIME);
+        TimeElement end = new TimeElement(new AstroDate(2015, 3, 1), TimeElement.SCALE.LOCAL_TIME);
+
+        EventReportElement config = new EventReportElement();
+        config.setEverythingTo(true);
+        config.occultationsConjunctionsAddCometsAsteroids = false;
+        config.artSatTransits = config.artSatTransitsSunMoon = config.artSatIridium = false;
+
+        // Same events calculated in the calling thread and using all processors
+        config.threads = 1;
+        long t0 = System.currentTimeMillis();
+        ArrayList<SimpleEventElement> list1 = EventReport.getEvents(init, end, observer, eph, config);
+        long t1 = System.currentTimeMillis();
+        config.threads = 0;
+        ArrayList<SimpleEventElement> list2 = EventReport.getEvents(init, end, observer, eph, config);
+        long t2 = System.currentTimeMillis();
+
+        int dif = 0;
+        if (list1.size() != list2.size()) {
+            dif = Math.abs(list1.size() - list2.size());
+        } else {
+            for (int i = 0; i < list1.size(); i++) {
+                if (!list1.get(i).toString().equals(list2.get(i).toString())) dif++;
+            }
+        }
+        System.out.println("Found " + list1.size() + " events");
+        System.out.println("Sequential: " + (t1 - t0) + " ms, parallel: " + (t2 - t1) + " ms, differences: " + dif);
+    }
+}
@@ -0,0 +1,96 @@
+package jparsec.ephem.event;
+
+import jparsec.ephem.Ephem;
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.Target;
+import jparsec.ephem.event.MainEvents.EVENT_TIME;
+import jparsec.ephem.planets.EphemElement;
+import jparsec.observer.City;
+import jparsec.observer.CityElement;
+import jparsec.observer.ObserverElement;
+import jparsec.time.AstroDate;
+import jparsec.time.TimeElement;
+import jparsec.util.JPARSECException;
+
+public class EventSearchTest {
+    /**
+     * Test program.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        CityElement city = City.findCity("Madrid");
+        final ObserverElement observer = ObserverElement.parseCity(city);
+        final EphemerisElement eph = new EphemerisElement(Target.TARGET.Moon, EphemerisElement.COORDINATES_TYPE.APPARENT,
+                EphemerisElement.EQUINOX_OF_DATE, EphemerisElement.GEOCENTRIC, EphemerisElement.REDUCTION_METHOD.IAU_2006,
+                EphemerisElement.FRAME.ICRF, EphemerisElement.ALGORITHM.MOSHIER);
+        eph.optimizeForSpeed();
+
+        // Maximum declinations of the Moon in one year, compared to Meeus
+        EventSearch.Function dec = new EventSearch.Function() {
+            public double evaluate(double jd) throws JPARSECException {
+                EphemElement ephem = Ephem.getEphemeris(new TimeElement(jd, TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME), observer, eph, false);
+                return ephem.declination;
+            }
+        };
+        double jd0 = new AstroDate(2020, 1, 1).jd(), jdf = jd0 + 365.25;
+        double precision = 1.0 / 1440.0;
+        long t0 = System.currentTimeMillis();
+        EventSearch search = new EventSearch(dec, 0.5, precision);
+        double max[] = search.findAll(jd0, jdf, EventSearch.MAXIMUM, 0);
+        long t1 = System.currentTimeMillis();
+        System.out.println("Found " + max.length + " maxima in " + (t1 - t0) + " ms, " + search.getNumberOfEvaluations() + " evaluations");
+        double maxDifMeeus = 0;
+        for (int i = 0; i < max.length; i++) {
+            SimpleEventElement s = LunarEvent.MoonMaximumDeclination(max[i], EVENT_TIME.CLOSEST);
+            maxDifMeeus = Math.max(maxDifMeeus, Math.abs(max[i] - s.time));
+        }
+        System.out.println("Maximum difference with Meeus: " + (maxDifMeeus * 1440.0) + " minutes");
+
+        // A function without events should stop at the end of the interval
+        EventSearch monotonic = new EventSearch(new EventSearch.Function() {
+            public double evaluate(double jd) {
+                return jd;
+            }
+        }, 0.5, precision);
+        double none[] = monotonic.findAll(jd0, jd0 + 10.0, EventSearch.MAXIMUM, 0);
+        System.out.println("Monotonic function: " + none.length + " maxima, " + monotonic.getNumberOfEvaluations() + " evaluations");
+
+        // An extremum within the first step from the initial time should be found
+        EventSearch.Function cos = new EventSearch.Function() {
+            public double evaluate(double jd) {
+                return -Math.cos(2.0 * Math.PI * (jd - 10.1) / 100.0);
+            }
+        };
+        double closest = new EventSearch(cos, 0.5, precision).findMinimum(10.0, EVENT_TIME.CLOSEST);
+        double next = new EventSearch(cos, 0.5, precision).findMinimum(10.0, EVENT_TIME.NEXT);
+        double all[] = new EventSearch(cos, 0.5, precision).findAll(10.0, 250.0, EventSearch.MINIMUM, 0);
+        System.out.println("Minimum at 10.1: closest " + closest + ", next " + next + ", " + all.length + " minima in 10-250");
+        if (Math.abs(closest - 10.1) > precision || Math.abs(next - 10.1) > precision || all.length != 3)
+            throw new JPARSECException("minimum within the first step not found.");
+
+        // Planetary events and Saturn rings. The elongations are compared to the approximate instants by Meeus
+        t0 = System.currentTimeMillis();
+        Target.TARGET targets[] = new Target.TARGET[] {Target.TARGET.MERCURY, Target.TARGET.VENUS, Target.TARGET.MARS,
+                Target.TARGET.JUPITER, Target.TARGET.SATURN, Target.TARGET.URANUS, Target.TARGET.NEPTUNE};
+        SimpleEventElement.EVENT events[] = new SimpleEventElement.EVENT[] {SimpleEventElement.EVENT.PLANET_MAXIMUM_ELONGATION,
+                SimpleEventElement.EVENT.PLANET_MINIMUM_ELONGATION};
+        for (int i = 0; i < targets.length; i++) {
+            SimpleEventElement s = MainEvents.getPlanetaryEvent(targets[i], jd0, SimpleEventElement.EVENT.PLANET_MINIMUM_DISTANCE, EVENT_TIME.NEXT, true);
+            System.out.println(targets[i].getName() + " minimum distance: " + s.time + " (" + s.details + ")");
+            for (int j = 0; j < events.length; j++) {
+                s = MainEvents.getPlanetaryEvent(targets[i], jd0, events[j], EVENT_TIME.NEXT, true);
+                SimpleEventElement approx = MainEvents.getPlanetaryEvent(targets[i], jd0, events[j], EVENT_TIME.NEXT, false);
+                System.out.println(targets[i].getName() + " " + events[j] + ": " + s.time + " (" + s.details + "), " + ((s.time - approx.time) * 24.0) + " hours from Meeus");
+                if (Math.abs(s.time - approx.time) > 0.5)
+                    throw new JPARSECException(targets[i].getName() + " " + events[j] + " is " + (s.time - approx.time) + " days from Meeus.");
+            }
+        }
+        SimpleEventElement s = MainEvents.SaturnRingsEdgeOn(jd0, EVENT_TIME.NEXT);
+        System.out.println("Saturn rings edge-on: " + s.time);
+        s = MainEvents.SaturnRingsMaximumAperture(jd0, EVENT_TIME.NEXT);
+        System.out.println("Saturn rings maximum aperture: " + s.time + " (" + s.details + ")");
+        System.out.println("Done in " + (System.currentTimeMillis() - t0) + " ms");
+    }
+}
@@ -20,8 +20,9 @@ public class MoonEventTest {
      * For unit testing only.
      *
      * @param args Not used.
+     * @throws JPARSECException If an error occurs.
      */
-    public static void main(String args[]) {
+    public static void main(String args[]) throws JPARSECException {
         System.out.println("MoonEvent test - mutual phenomena");
 
         try {
@@ -127,8 +128,63 @@ public class MoonEventTest {
             JPARSECException.showWarnings();
             t1 = System.currentTimeMillis();
             System.out.println("Done in " + (float) ((t1 - t0) / 1000.0) + " seconds.");
+
+            // Serial and parallel search during the 2021 season of mutual events of Galilean satellites,
+            // compared to the events found scanning with the fixed step of minimum distance / 50000
+            System.out.println();
+            System.out.println("MoonEvent test - mutual phenomena in parallel");
+            astroi = new AstroDate(2021, AstroDate.AUGUST, 1);
+            astrof = new AstroDate(astroi.jd() + 30.0);
+            timei = new TimeElement(astroi, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+            timef = new TimeElement(astrof, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+            eph.targetBody = Target.TARGET.JUPITER;
+            me = new MoonEvent(timei, observer, eph, timef, 30, 10, true);
+            t0 = System.currentTimeMillis();
+            MoonEventElement serial[] = me.getMutualPhenomena(false, 1);
+            t1 = System.currentTimeMillis();
+            MoonEventElement parallel[] = me.getMutualPhenomena(false, 0);
+            long t2 = System.currentTimeMillis();
+            System.out.println("Serial: " + serial.length + " events in " + (float) ((t1 - t0) / 1000.0) + " seconds.");
+            System.out.println("Parallel: " + parallel.length + " events in " + (float) ((t2 - t1) / 1000.0) + " seconds.");
+            checkMutualEvents("serial", serial);
+            checkMutualEvents("parallel", parallel);
         } catch (JPARSECException e) {
             e.showException();
+            throw e;
+        }
+    }
+
+    /** Main body, event type, and secondary body of the mutual events in August 2021. */
+    private static final String[] EVENTS_2021 = new String[] {
+        "Europa OCCULTED Ganymede", "Europa OCCULTED Ganymede", "Europa ECLIPSED Ganymede", "Europa ECLIPSED Ganymede",
+        "Europa OCCULTED Ganymede", "Ganymede ECLIPSED Io", "Europa OCCULTED Ganymede", "Europa ECLIPSED Ganymede",
+        "Europa OCCULTED Ganymede", "Ganymede ECLIPSED Io", "Europa ECLIPSED Ganymede", "Europa ECLIPSED Ganymede",
+        "Europa ECLIPSED Ganymede"
+    };
+
+    /** Start and end times (TDB) of the mutual events in August 2021. */
+    private static final double[][] TIMES_2021 = new double[][] {
+        {2459428.4201288805, 2459428.5028833942}, {2459435.2540056193, 2459435.2910426045},
+        {2459435.3498807090, 2459435.3888852840}, {2459435.6507883080, 2459435.6924549164},
+        {2459435.7627025205, 2459435.7831886030}, {2459438.7531558110, 2459438.7650770910},
+        {2459442.1837899615, 2459442.2411972885}, {2459442.9193116436, 2459442.9385245796},
+        {2459442.9476230760, 2459442.9549147324}, {2459445.6810009520, 2459445.6911861230},
+        {2459449.0883541997, 2459449.1450670830}, {2459450.1166462717, 2459450.1289147730},
+        {2459457.2945086390, 2459457.3000641866}
+    };
+
+    private static void checkMutualEvents(String label, MoonEventElement events[]) throws JPARSECException {
+        if (events.length != EVENTS_2021.length)
+            throw new JPARSECException(label + " search found " + events.length + " events instead of " + EVENTS_2021.length + ".");
+        for (int i = 0; i < events.length; i++) {
+            String event = events[i].mainBody.name() + " " + events[i].eventType.name() + " " + events[i].secondaryBody.name();
+            // Accuracy is 10s, so times can differ by that amount at both ends
+            if (!event.equals(EVENTS_2021[i]) ||
+                    Math.abs(events[i].startTime - TIMES_2021[i][0]) * Constant.SECONDS_PER_DAY > 20 ||
+                    Math.abs(events[i].endTime - TIMES_2021[i][1]) * Constant.SECONDS_PER_DAY > 20)
+                throw new JPARSECException(label + " event " + i + " is " + event + " " +
+                        TimeFormat.formatJulianDayAsDateAndTime(events[i].startTime, TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME) + " instead of " +
+                        EVENTS_2021[i] + " " + TimeFormat.formatJulianDayAsDateAndTime(TIMES_2021[i][0], TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME) + ".");
         }
     }
 }
@@ -1,18 +1,62 @@
 package jparsec.ephem.moons;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import jparsec.io.ConsoleReport;
 
 public class TASS17Test {
     /**
-     * Test program.
+     * Test program. In case a path is given as argument, the series of the
+     * theory are written there in binary format.
      *
-     * @param args Not used.
+     * @param args Optional path to the output binary file.
      * @throws Exception If an error occurs.
      */
     public static void main(String args[]) throws Exception {
+        if (args.length > 0) {
+            TASS17.writeBinaryData(args[0]);
+            System.out.println("Binary file written to " + args[0]);
+        }
+
         double jd = 2421677.4;
+        long t0 = System.currentTimeMillis();
         double e[] = TASS17.TASS17_theory(jd, 1, false);
+        long t1 = System.currentTimeMillis();
+        System.out.println("First call in " + (t1 - t0) + " ms");
 
         ConsoleReport.doubleArrayReport(e, "f2.12");
+
+        // Full and truncated theories from several threads at the same time
+        final int n = 2000;
+        final double serial[][] = new double[n][];
+        for (int i = 0; i < n; i++) {
+            serial[i] = TASS17.TASS17_theory(jd + i * 3.1, 1 + i % 8, i % 2 == 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ArrayList<Future<Double>> futures = new ArrayList<Future<Double>>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(new Callable<Double>() {
+                public Double call() throws Exception {
+                    double max = 0;
+                    for (int i = 0; i < n; i++) {
+                        double p[] = TASS17.TASS17_theory(2421677.4 + i * 3.1, 1 + i % 8, i % 2 == 0);
+                        for (int j = 0; j < p.length; j++) {
+                            max = Math.max(max, Math.abs(p[j] - serial[i][j]));
+                        }
+                    }
+                    return max;
+                }
+            }));
+        }
+        double max = 0;
+        for (int t = 0; t < futures.size(); t++) {
+            max = Math.max(max, futures.get(t).get());
+        }
+        executor.shutdown();
+        System.out.println("Maximum difference between serial and parallel calculations: " + max);
     }
 }
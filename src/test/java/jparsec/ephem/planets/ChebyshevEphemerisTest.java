@@ -0,0 +1,75 @@
+package jparsec.ephem.planets;
+
+import jparsec.ephem.Target.TARGET;
+import jparsec.math.Constant;
+import jparsec.util.Configuration;
+import jparsec.util.JPARSECException;
+
+public class ChebyshevEphemerisTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        System.out.println("ChebyshevEphemeris test");
+
+        TARGET targets[] = new TARGET[] {TARGET.MERCURY, TARGET.VENUS, TARGET.EARTH, TARGET.MARS, TARGET.JUPITER, TARGET.SATURN, TARGET.Moon};
+        double jd0 = Constant.J2000, jd1 = Constant.J2000 + 365.25;
+        double maxError = 1.0E-9;
+
+        long t0 = System.currentTimeMillis();
+        ChebyshevEphemeris cheb = ChebyshevEphemeris.compile(ChebyshevEphemeris.MOSHIER, targets, jd0, jd1, maxError, 12);
+        long t1 = System.currentTimeMillis();
+        System.out.println("Compiled in " + (t1 - t0) + " ms");
+        for (int i = 0; i < targets.length; i++) {
+            System.out.println(targets[i] + ": " + cheb.getNumberOfSegments(targets[i]) + " segments");
+        }
+
+        String path = System.getProperty("java.io.tmpdir") + "/moshier2000.cheb";
+        cheb.write(path);
+        cheb = ChebyshevEphemeris.read(path);
+
+        // Accuracy and speed compared to the theory
+        int n = 20000;
+        double out[] = new double[6], maxDif = 0.0, maxVelDif = 0.0;
+        for (int i = 0; i < n; i++) {
+            double jd = jd0 + (jd1 - jd0) * i / n;
+            cheb.getPositionAndVelocity(jd, TARGET.MARS, out);
+            double p[] = PlanetEphem.getHeliocentricEclipticPositionJ2000(jd, TARGET.MARS);
+            for (int c = 0; c < 3; c++) {
+                maxDif = Math.max(maxDif, Math.abs(out[c] - p[c]));
+                if (i % 100 == 0) {
+                    double p2[] = PlanetEphem.getHeliocentricEclipticPositionJ2000(jd + 0.001, TARGET.MARS);
+                    maxVelDif = Math.max(maxVelDif, Math.abs(out[c + 3] - (p2[c] - p[c]) / 0.001));
+                }
+            }
+        }
+        System.out.println("Maximum difference in position: " + maxDif + " AU, in velocity " + maxVelDif + " AU/day");
+
+        t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            PlanetEphem.getHeliocentricEclipticPositionJ2000(jd0 + i * 0.01, TARGET.MARS);
+        }
+        t1 = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            cheb.getPositionAndVelocity(jd0 + i * 0.01, TARGET.MARS, out);
+        }
+        long t2 = System.nanoTime();
+        System.out.println("Theory " + (t1 - t0) / n + " ns/call, compiled " + (t2 - t1) / n + " ns/call");
+
+        // An impossible fit should fail with an exception, not exhaust the memory
+        int maxSegments = Configuration.MAX_CHEBYSHEV_SEGMENTS;
+        Configuration.MAX_CHEBYSHEV_SEGMENTS = 1000;
+        t0 = System.currentTimeMillis();
+        try {
+            ChebyshevEphemeris.compile(ChebyshevEphemeris.MOSHIER, new TARGET[] {TARGET.Moon}, jd0, jd1, 1.0E-15, 2);
+            System.out.println("ERROR: impossible fit compiled");
+        } catch (JPARSECException exc) {
+            System.out.println("Impossible fit rejected in " + (System.currentTimeMillis() - t0) + " ms: " + exc.getMessage());
+        } finally {
+            Configuration.MAX_CHEBYSHEV_SEGMENTS = maxSegments;
+        }
+    }
+}
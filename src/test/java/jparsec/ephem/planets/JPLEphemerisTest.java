@@ -69,5 +69,74 @@ public class JPLEphemerisTest {
         double ang3 = -2 * 0.001 * Constant.ARCSEC_TO_RAD;
         Matrix m = Matrix.getR1(ang1).times(Matrix.getR2(ang2).times(Matrix.getR3(ang3)));
         m.print(19, 16);
+
+        // Binary files: convert DE430 and time a cold 20-year sweep using the memory-mapped files
+        String tmp = jparsec.io.FileIO.getTemporalDirectory();
+        System.out.println("Converted files: " + new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE430).convertToBinary(tmp));
+        JPLEphemeris binary = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE430, tmp);
+        long t0 = System.currentTimeMillis();
+        for (double jd = 2451545.0; jd < 2451545.0 + 20 * 365.25; jd += 10) {
+            binary.getPositionAndVelocity(jd, Target.TARGET.MARS);
+        }
+        long t1 = System.currentTimeMillis();
+        System.out.println("20-year sweep with binary files: " + (t1 - t0) / 1000.0 + " s");
+
+        // Instances are independent: compare ASCII and binary files interleaving the calls
+        JPLEphemeris ascii = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE430);
+        double maxDif = 0;
+        for (double jd = 2451545.0; jd < 2451545.0 + 200 * 365.25; jd += 1000) {
+            double p1[] = ascii.getPositionAndVelocity(jd, Target.TARGET.MARS);
+            double p2[] = binary.getPositionAndVelocity(jd, Target.TARGET.MARS);
+            maxDif = Math.max(maxDif, Math.abs(p1[0] - p2[0]));
+        }
+        System.out.println("Maximum difference ASCII/binary: " + maxDif + " AU (should be 0)");
+
+        // Throughput of the method returning a new array and of the allocation-free one
+        int n = 2000000;
+        double out[] = new double[6];
+        for (int pass = 0; pass < 2; pass++) {
+            t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                out = binary.getPositionAndVelocity(2451545.0 + i * 0.001, Target.TARGET.Moon);
+            }
+            t1 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                binary.getPositionAndVelocity(2451545.0 + i * 0.001, Target.TARGET.Moon, out);
+            }
+            long t2 = System.nanoTime();
+            System.out.println("Pass " + (pass + 1) + ": new array " + (t1 - t0) / n + " ns/call, output buffer " + (t2 - t1) / n + " ns/call");
+        }
+
+        // Batch calculations over a time grid, sequential and in parallel
+        double jds[] = new double[n];
+        for (int i = 0; i < n; i++) {
+            jds[i] = 2451545.0 + i * 0.001;
+        }
+        double grid[][] = new double[n][];
+        t0 = System.nanoTime();
+        binary.getPositionAndVelocity(jds, Target.TARGET.Moon, grid);
+        t1 = System.nanoTime();
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        binary.getPositionAndVelocity(jds, Target.TARGET.Moon, grid, executor);
+        long t2 = System.nanoTime();
+        executor.shutdown();
+        binary.getPositionAndVelocity(jds[n / 2], Target.TARGET.Moon, out);
+        System.out.println("Batch: " + (t1 - t0) / n + " ns/date, parallel " + (t2 - t1) / n + " ns/date, difference " + (grid[n / 2][0] - out[0]) + " (should be 0)");
+        ConsoleReport.stringArrayReport(DataSet.toStringValues(binary.getPositionAndVelocity(2455713.5, Target.TARGET.Libration)));
+
+        // Cost of creating an instance and checking availability, with and without the registry
+        int ni = 200;
+        t0 = System.nanoTime();
+        for (int i = 0; i < ni; i++) {
+            JPLEphemeris e = new JPLEphemeris(EphemerisElement.ALGORITHM.JPL_DE405);
+            e.isAvailable(2451545.0 + i);
+        }
+        t1 = System.nanoTime();
+        for (int i = 0; i < ni; i++) {
+            JPLEphemeris e = JPLEphemeris.getInstance(EphemerisElement.ALGORITHM.JPL_DE405);
+            e.isAvailable(2451545.0 + i);
+        }
+        long t3 = System.nanoTime();
+        System.out.println("New instance: " + (t1 - t0) / ni + " ns, shared instance: " + (t3 - t1) / ni + " ns");
     }
 }
@@ -1,5 +1,12 @@
 package jparsec.ephem.planets;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import jparsec.ephem.Ephem;
 import jparsec.ephem.EphemerisElement;
 import jparsec.ephem.Functions;
@@ -13,6 +20,52 @@ import jparsec.time.TimeElement;
 import jparsec.util.JPARSECException;
 
 public class PlanetEphemTest {
+    private static final Target.TARGET BENCHMARK_TARGETS[] = new Target.TARGET[] {
+        Target.TARGET.MERCURY, Target.TARGET.VENUS, Target.TARGET.EARTH, Target.TARGET.MARS, Target.TARGET.JUPITER,
+        Target.TARGET.SATURN, Target.TARGET.URANUS, Target.TARGET.NEPTUNE, Target.TARGET.Pluto, Target.TARGET.Moon
+    };
+
+    /**
+     * Evaluates the Moshier series for all planets over a number of dates, splitting
+     * the dates among the given number of threads.
+     *
+     * @param threads Number of threads.
+     * @param ndates Number of dates.
+     * @return The sum of all coordinates, to compare the results.
+     * @throws Exception If an error occurs.
+     */
+    private static double benchmark(int threads, final int ndates) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Double>> results = new ArrayList<Future<Double>>();
+            final int chunk = (ndates + threads - 1) / threads;
+            for (int t = 0; t < threads; t++) {
+                final int i0 = t * chunk, i1 = Math.min(ndates, i0 + chunk);
+                results.add(executor.submit(new Callable<Double>() {
+                    @Override
+                    public Double call() throws Exception {
+                        double sum = 0;
+                        for (int i = i0; i < i1; i++) {
+                            double jd = 2451545.0 + i * 0.37;
+                            for (int j = 0; j < BENCHMARK_TARGETS.length; j++) {
+                                double p[] = PlanetEphem.getHeliocentricEclipticPositionJ2000(jd, BENCHMARK_TARGETS[j]);
+                                sum += p[0] + p[1] + p[2];
+                            }
+                        }
+                        return sum;
+                    }
+                }));
+            }
+            double sum = 0;
+            for (int t = 0; t < results.size(); t++) {
+                sum += results.get(t).get();
+            }
+            return sum;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * For unit testing only.
      *
@@ -71,5 +124,25 @@ public class PlanetEphemTest {
         } catch (JPARSECException ve) {
             JPARSECException.showException(ve);
         }
+
+        // Multi-threaded throughput of the Moshier theory
+        try {
+            int ndates = 20000, ncpu = Runtime.getRuntime().availableProcessors();
+            benchmark(ncpu, ndates / 10); // warm up
+            double ref = 0, t1 = 0;
+            for (int threads = 1; threads <= ncpu; threads *= 2) {
+                long t0 = System.nanoTime();
+                double sum = benchmark(threads, ndates);
+                double elapsed = (System.nanoTime() - t0) * 1.0E-9;
+                if (threads == 1) {
+                    ref = sum;
+                    t1 = elapsed;
+                }
+                System.out.println(threads + " threads: " + (int) (ndates * BENCHMARK_TARGETS.length / elapsed) + " positions/s, speedup " +
+                        (float) (t1 / elapsed) + ", difference with 1 thread: " + (sum - ref));
+            }
+        } catch (Exception exc) {
+            exc.printStackTrace();
+        }
     }
 }
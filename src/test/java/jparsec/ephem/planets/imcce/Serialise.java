@@ -1,73 +1,99 @@
 package jparsec.ephem.planets.imcce;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
-//import java.nio.file.Files;
-//import java.nio.file.Path;
-//import java.nio.file.Paths;
-
 public class Serialise {
-    private static Elp2000_data data = new Elp2000_data();
-
     private Serialise () {
     }
 
+    /**
+     * Measures the time to obtain the first position of the Moon, including the
+     * loading of the data of the theory. Should be executed in a new JVM. With an
+     * argument, it converts the old serialized file given as argument to the binary
+     * gzipped binary format used by {@linkplain Elp2000}.
+     *
+     * @param args Path to elp2000_data.ser.gz, optional.
+     * @throws Exception If an error occurs.
+     */
     public static void main(final String[] args) throws Exception {
-        long t0, t1;
+        if (args.length > 0) {
+            Elp2000_data data = (Elp2000_data) deserialiseObject(args[0]);
+            writeBinary(data, "elp2000_data.bin.gz");
+            return;
+        }
 
-        t0 = System.currentTimeMillis();
-        data = (Elp2000_data) deserialiseObject("elp2000_data.ser.gz");
-        //serialiseObject(data, "elp2000_data.ser.gz");
-        t1 = System.currentTimeMillis();
-        System.out.println("elp2000_data " + (t1 - t0));
+        long t0 = System.nanoTime();
+        double p[] = Elp2000.calc(2451545.0, 0);
+        long t1 = System.nanoTime();
+        Elp2000.calc(2451546.0, 0);
+        long t2 = System.nanoTime();
+        System.out.println("Time to first Moon position: " + (t1 - t0) / 1000000.0 + " ms (" + p[0] + ", " + p[1] + ", " + p[2] + ")");
+        System.out.println("Time for the second one: " + (t2 - t1) / 1000000.0 + " ms");
     }
 
-    private static void serialiseObject (final Object obj, final String fileName) throws Exception {
-        //Path dir = Paths.get("target/resources/jparsec/ephem/planets/imcce");
+    private static void writeBinary (final Elp2000_data data, final String fileName) throws Exception {
         File dir = new File("src/main/resources/jparsec/ephem/planets/imcce");
-
-        //Files.createDirectories(dir);
         dir.mkdirs();
 
-        //Path file = dir.resolve(fileName);
-        File file = new File(dir, fileName);
-        //Files.createFile(file);
-        file.createNewFile();
+        Field fields[] = Elp2000_data.class.getDeclaredFields();
+        int n = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getType().isArray()) n++;
+        }
 
-        //FileOutputStream fos = new FileOutputStream(file.toFile());
-        FileOutputStream fos = new FileOutputStream(file);
-        GZIPOutputStream gos = new GZIPOutputStream(fos, 4096);
-        ObjectOutputStream oos = new ObjectOutputStream(gos);
-        oos.writeObject(obj);
-        oos.close();
-        gos.close();
-        fos.close();
-    }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(new File(dir, fileName)))));
+        out.writeInt(Elp2000.DATA_MAGIC);
+        out.writeInt(n);
+        for (int i = 0; i < fields.length; i++) {
+            if (!fields[i].getType().isArray()) continue;
 
-    private static Object deserialiseObject (final String fileName) throws Exception {
-        InputStream fis = Serialise.class.getClassLoader().getResourceAsStream("jparsec/ephem/planets/imcce/" + fileName);
-        //FileInputStream fis = new FileInputStream(file);
-        BufferedInputStream bis = new BufferedInputStream (fis);
-        GZIPInputStream gis = new GZIPInputStream(bis);
-        ObjectInputStream ois = new ObjectInputStream(gis);
-        Object result = ois.readObject();
+            Object set[] = (Object[]) fields[i].get(data);
+            int ilu[][] = new int[set.length][];
+            double coef[][] = new double[set.length][];
+            for (int j = 0; j < set.length; j++) {
+                if (set[j] instanceof Elp2000Set1) {
+                    ilu[j] = ((Elp2000Set1) set[j]).ILU;
+                    coef[j] = ((Elp2000Set1) set[j]).COEF;
+                } else if (set[j] instanceof Elp2000Set2) {
+                    ilu[j] = ((Elp2000Set2) set[j]).ILU;
+                    coef[j] = ((Elp2000Set2) set[j]).COEF;
+                } else {
+                    ilu[j] = ((Elp2000Set3) set[j]).ILU;
+                    coef[j] = ((Elp2000Set3) set[j]).COEF;
+                }
+            }
 
-        try {
-            ois.close();
-            gis.close();
-            bis.close();
-            fis.close();
-        } catch (Exception e) {
-            throw new RuntimeException("Could not close input stream for " + fileName);
+            out.writeUTF(fields[i].getName());
+            out.writeInt(set.length);
+            out.writeInt(set.length == 0 ? 0 : ilu[0].length);
+            out.writeInt(set.length == 0 ? 0 : coef[0].length);
+            for (int j = 0; j < set.length; j++) {
+                for (int k = 0; k < ilu[j].length; k++) {
+                    out.writeInt(ilu[j][k]);
+                }
+            }
+            for (int j = 0; j < set.length; j++) {
+                for (int k = 0; k < coef[j].length; k++) {
+                    out.writeDouble(coef[j][k]);
+                }
+            }
         }
+        out.close();
+    }
 
+    private static Object deserialiseObject (final String fileName) throws Exception {
+        ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(fileName))));
+        Object result = ois.readObject();
+        ois.close();
         return result;
     }
-}
\ No newline at end of file
+}
@@ -44,6 +44,16 @@ public class Series96Test {
             ephem.name = eph.targetBody.getName() + " (DE403)";
             ConsoleReport.basicEphemReportToConsole(ephem);
 
+            // Timing of a sweep with the coefficients in memory
+            long t0 = System.currentTimeMillis();
+            boolean available = Series96.isSeries96Available();
+            long t1 = System.currentTimeMillis();
+            for (int i = 0; i < 10000; i++) {
+                Series96.getHeliocentricEquatorialPositionJ2000(2451545.0 + i, Target.TARGET.JUPITER);
+            }
+            long t2 = System.currentTimeMillis();
+            System.out.println("Series96 available: " + available + " (" + (t1 - t0) + " ms). 10000 positions of Jupiter in " + (t2 - t1) + " ms");
+
             JPARSECException.showWarnings();
         } catch (JPARSECException ve) {
             JPARSECException.showException(ve);
@@ -6,6 +6,7 @@ import jparsec.ephem.Functions;
 import jparsec.ephem.Target;
 import jparsec.ephem.planets.EphemElement;
 import jparsec.io.ConsoleReport;
+import jparsec.math.Constant;
 import jparsec.observer.City;
 import jparsec.observer.CityElement;
 import jparsec.observer.ObserverElement;
@@ -51,6 +52,20 @@ public class VsopTest {
             System.out.println("" + name + " h lon: " + Functions.formatAngleAsDegrees(ephem.heliocentricEclipticLongitude, 8));
             System.out.println("" + name + " h lat: " + Functions.formatAngleAsDegrees(ephem.heliocentricEclipticLatitude, 8));
 
+            // Timing of a sweep, full theory and truncated
+            double full[] = Vsop.getHeliocentricEclipticPositionJ2000(Constant.J2000 + 1000, Target.TARGET.JUPITER, 0);
+            double thresholds[] = new double[] {0, 1.0E-9, 1.0E-8, 1.0E-7};
+            for (int i = 0; i < thresholds.length; i++) {
+                long t0 = System.currentTimeMillis();
+                for (int j = 0; j < 10000; j++) {
+                    Vsop.getHeliocentricEclipticPositionJ2000(Constant.J2000 + j, Target.TARGET.JUPITER, thresholds[i]);
+                }
+                long t1 = System.currentTimeMillis();
+                double p[] = Vsop.getHeliocentricEclipticPositionJ2000(Constant.J2000 + 1000, Target.TARGET.JUPITER, thresholds[i]);
+                double err = Math.sqrt(Math.pow(p[0] - full[0], 2) + Math.pow(p[1] - full[1], 2) + Math.pow(p[2] - full[2], 2));
+                System.out.println("Threshold " + thresholds[i] + ": 10000 positions in " + (t1 - t0) + " ms, error " + err + " AU");
+            }
+
             /*
             double p[] = new double[] { 1, 1, 1.0 };
             double p1[] = Vsop.meanEclipticJ2000ToEquatorial(p);
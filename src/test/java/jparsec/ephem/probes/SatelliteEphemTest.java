@@ -8,6 +8,7 @@ import jparsec.ephem.Functions;
 import jparsec.ephem.Target;
 import jparsec.ephem.Target.TARGET;
 import jparsec.ephem.event.EventReport;
+import jparsec.ephem.event.EventReportElement;
 import jparsec.ephem.event.SimpleEventElement;
 import jparsec.graph.DataSet;
 import jparsec.io.ReadFile;
@@ -141,12 +142,13 @@ public class SatelliteEphemTest {
             eph.optimizeForSpeed();
             
             // Test of EventReport with events of artificial satellites
-            EventReport.setEverythingTo(false);
-            EventReport.artSatIridium = EventReport.artSatTransitsSunMoon = EventReport.artSatTransits = true;
+            EventReportElement config = new EventReportElement();
+            config.setEverythingTo(false);
+            config.artSatIridium = config.artSatTransitsSunMoon = config.artSatTransits = true;
             TimeElement tinit = new TimeElement();
             TimeElement tend = tinit.clone();
             tend.add(3.0);
-            ArrayList<SimpleEventElement> list = EventReport.getEvents(tinit, tend, observer, eph);
+            ArrayList<SimpleEventElement> list = EventReport.getEvents(tinit, tend, observer, eph, config);
             System.out.println("found "+list.size());
             // Change language to check output in Spanish
             Translate.setDefaultLanguage(LANGUAGE.SPANISH);
@@ -0,0 +1,83 @@
+package jparsec.ephem.probes;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.Target;
+import jparsec.math.Constant;
+import jparsec.observer.City;
+import jparsec.observer.ObserverElement;
+import jparsec.time.AstroDate;
+import jparsec.time.TimeElement;
+import jparsec.time.TimeFormat;
+import jparsec.time.TimeScale;
+
+public class SatellitePassFinderTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        AstroDate astro = new AstroDate(2011, AstroDate.OCTOBER, 27, 13, 29, 0);
+        final TimeElement time = new TimeElement(astro, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+        final ObserverElement observer = ObserverElement.parseCity(City.findCity("Madrid"));
+        final EphemerisElement eph = new EphemerisElement(
+            Target.TARGET.NOT_A_PLANET,
+            EphemerisElement.COORDINATES_TYPE.APPARENT,
+            EphemerisElement.EQUINOX_OF_DATE,
+            EphemerisElement.TOPOCENTRIC,
+            EphemerisElement.REDUCTION_METHOD.IAU_2006,
+            EphemerisElement.FRAME.ICRF);
+        eph.algorithm = EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE;
+        final double jd = TimeScale.getJD(time, observer, eph, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+        final double minElev = 10 * Constant.DEG_TO_RAD;
+
+        int index = SatelliteEphem.getArtificialSatelliteTargetIndex("ISS");
+        SatelliteOrbitalElement sat = SatelliteEphem.getArtificialSatelliteOrbitalElement(index);
+
+        // Compare with the full ephemeris at the instants found
+        SatellitePassFinder finder = new SatellitePassFinder(sat, observer, eph, SatellitePassFinder.ACCURACY.PRECISE);
+        ArrayList<SatellitePassFinder.Pass> passes = finder.getPasses(jd, minElev, 3, 10, true);
+        SDP4_SGP4 s = new SDP4_SGP4(sat);
+        for (int i = 0; i < passes.size(); i++) {
+            SatellitePassFinder.Pass pass = passes.get(i);
+            System.out.println("RISE:      " + TimeFormat.formatJulianDayAsDateAndTime(pass.rise, TimeElement.SCALE.UNIVERSAL_TIME_UTC));
+            System.out.println("TRANSIT:   " + TimeFormat.formatJulianDayAsDateAndTime(pass.transit, TimeElement.SCALE.UNIVERSAL_TIME_UTC));
+            System.out.println("MAX_ELEV:  " + (pass.transitElevation * Constant.RAD_TO_DEG));
+            System.out.println("SET:       " + TimeFormat.formatJulianDayAsDateAndTime(pass.set, TimeElement.SCALE.UNIVERSAL_TIME_UTC));
+            SatelliteEphemElement ephem = s.calcSatellite(new TimeElement(pass.rise, TimeElement.SCALE.UNIVERSAL_TIME_UTC), observer, eph, false);
+            System.out.println("Elevation at rise from full ephemeris: " + (ephem.elevation * Constant.RAD_TO_DEG));
+        }
+        double old = SDP4_SGP4.getNextPass(time, observer, eph, sat, minElev, 3, true);
+        System.out.println("Next pass from SDP4_SGP4 (LT): " + TimeFormat.formatJulianDayAsDateAndTime(Math.abs(old), TimeElement.SCALE.LOCAL_TIME));
+
+        // Concurrent search for all satellites
+        int n = SatelliteEphem.getArtificialSatelliteCount();
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            ArrayList<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            long t0 = System.currentTimeMillis();
+            for (int i = 0; i < n; i++) {
+                final SatelliteOrbitalElement so = SatelliteEphem.getArtificialSatelliteOrbitalElement(i);
+                results.add(executor.submit(new java.util.concurrent.Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        SatellitePassFinder f = new SatellitePassFinder(so, observer, eph, SatellitePassFinder.ACCURACY.FAST);
+                        return f.getPasses(jd, minElev, 1, 10, false).size();
+                    }
+                }));
+            }
+            int count = 0;
+            for (int i = 0; i < results.size(); i++) {
+                count += results.get(i).get();
+            }
+            executor.shutdown();
+            long t1 = System.currentTimeMillis();
+            System.out.println(threads + " threads: " + count + " passes of " + n + " satellites in " + (t1 - t0) + " ms");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package jparsec.ephem.probes;
+
+import java.util.ArrayList;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.Target;
+import jparsec.math.Constant;
+import jparsec.observer.City;
+import jparsec.observer.ObserverElement;
+import jparsec.time.AstroDate;
+import jparsec.time.TimeElement;
+import jparsec.time.TimeFormat;
+import jparsec.time.TimeScale;
+import jparsec.util.JPARSECException;
+
+public class SatellitePassSchedulerTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        AstroDate astro = new AstroDate(2011, AstroDate.OCTOBER, 27, 13, 29, 0);
+        TimeElement time = new TimeElement(astro, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+        ObserverElement observer = ObserverElement.parseCity(City.findCity("Madrid"));
+        EphemerisElement eph = new EphemerisElement(
+            Target.TARGET.NOT_A_PLANET,
+            EphemerisElement.COORDINATES_TYPE.APPARENT,
+            EphemerisElement.EQUINOX_OF_DATE,
+            EphemerisElement.TOPOCENTRIC,
+            EphemerisElement.REDUCTION_METHOD.IAU_2006,
+            EphemerisElement.FRAME.ICRF);
+        eph.algorithm = EphemerisElement.ALGORITHM.ARTIFICIAL_SATELLITE;
+        double jd = TimeScale.getJD(time, observer, eph, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+        double minElev = 10 * Constant.DEG_TO_RAD;
+
+        final SatelliteOrbitalElement sats[] = SatellitePassScheduler.getCatalog();
+        int pruned = 0;
+        for (int i = 0; i < sats.length; i++) {
+            if (!SatellitePassScheduler.canRise(sats[i], observer, minElev)) pruned ++;
+        }
+        System.out.println(sats.length + " satellites, " + pruned + " can never rise");
+
+        SatellitePassScheduler.PassListener listener = new SatellitePassScheduler.PassListener() {
+            public void passesFound(int index, SatelliteOrbitalElement sat, ArrayList<SatellitePassFinder.Pass> passes) throws JPARSECException {
+                if (passes.size() > 0) System.out.println(sat.name + ": " + passes.size() + " passes, first at " +
+                    TimeFormat.formatJulianDayAsDateAndTime(passes.get(0).rise, TimeElement.SCALE.UNIVERSAL_TIME_UTC));
+            }
+        };
+        SatellitePassScheduler.getPasses(sats, observer, eph, SatellitePassFinder.ACCURACY.FAST, jd, 1, minElev, 5, 0, listener);
+
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            long t0 = System.currentTimeMillis();
+            ArrayList<ArrayList<SatellitePassFinder.Pass>> passes = SatellitePassScheduler.getPasses(sats, observer, eph,
+                SatellitePassFinder.ACCURACY.FAST, jd, 1, minElev, 5, threads, null);
+            long t1 = System.currentTimeMillis();
+            int n = 0;
+            for (int i = 0; i < passes.size(); i++) {
+                n += passes.get(i).size();
+            }
+            System.out.println(threads + " threads: " + n + " passes in " + (t1 - t0) + " ms");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package jparsec.ephem.stars;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jparsec.ephem.EphemerisElement;
+import jparsec.ephem.Target;
+import jparsec.math.Constant;
+import jparsec.observer.City;
+import jparsec.observer.ObserverElement;
+import jparsec.time.AstroDate;
+import jparsec.time.TimeElement;
+
+public class StarEphemBatchTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String args[]) throws Exception {
+        System.out.println("StarEphemBatch test");
+
+        AstroDate astro = new AstroDate(2020, AstroDate.MARCH, 1, 22, 0, 0);
+        TimeElement time = new TimeElement(astro, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+        ObserverElement observer = ObserverElement.parseCity(City.findCity("Madrid"));
+        EphemerisElement eph = new EphemerisElement(Target.TARGET.NOT_A_PLANET, EphemerisElement.COORDINATES_TYPE.APPARENT,
+                EphemerisElement.EQUINOX_OF_DATE, EphemerisElement.TOPOCENTRIC, EphemerisElement.REDUCTION_METHOD.IAU_2009,
+                EphemerisElement.FRAME.ICRF, EphemerisElement.ALGORITHM.STAR);
+        eph.correctForExtinction = false;
+
+        StarEphem.READ_STARS_BEYOND_MAG_6_5 = true;
+        long t0 = System.currentTimeMillis();
+        StarEphemBatch batch = StarEphemBatch.fromCatalog();
+        long t1 = System.currentTimeMillis();
+        System.out.println("Read " + batch.size() + " stars in " + (t1 - t0) + " ms");
+
+        StarEphemBatch.Result result = batch.compute(time, observer, eph, 0);
+        int n = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (int i = 0; i < n; i++) {
+                t0 = System.currentTimeMillis();
+                batch.compute(time, observer, eph, result, executor);
+                t1 = System.currentTimeMillis();
+                System.out.println("Apparent places of " + batch.size() + " stars: " + (t1 - t0) + " ms");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Compare with the star by star method
+        double maxRA = 0, maxDEC = 0, maxEL = 0;
+        for (int i = 0; i < batch.size(); i += 997) {
+            StarEphemElement ephem = StarEphem.starEphemeris(time, observer, eph, StarEphem.getStarElement(i), false);
+            maxRA = Math.max(maxRA, Math.abs(ephem.rightAscension - result.rightAscension[i]) * Math.cos(ephem.declination));
+            maxDEC = Math.max(maxDEC, Math.abs(ephem.declination - result.declination[i]));
+            if (ephem.elevation > 0) maxEL = Math.max(maxEL, Math.abs(ephem.elevation - result.elevation[i]));
+        }
+        System.out.println("Max differences (mas): RA " + maxRA * Constant.RAD_TO_ARCSEC * 1000.0 + ", DEC " + maxDEC * Constant.RAD_TO_ARCSEC * 1000.0 +
+                ", elevation " + maxEL * Constant.RAD_TO_ARCSEC * 1000.0);
+    }
+}
@@ -0,0 +1,76 @@
+package jparsec.io;
+
+import java.util.Random;
+
+public class NameIndexTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     */
+    public static void main(String args[]) {
+        System.out.println("NameIndex test");
+
+        String greek[] = new String[] {"Alp", "Bet", "Gam", "Del", "Eps", "Zet", "Eta", "The"};
+        String con[] = new String[] {"UMa", "UMi", "Ori", "Cyg", "Lyr", "Sco", "CMa", "Cen"};
+        int n = 200000, nq = 500;
+        Random rnd = new Random(1);
+        String names[] = new String[n];
+        boolean stars[] = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "" + (i + 1);
+            if (rnd.nextInt(20) == 0) names[i] += " (" + greek[rnd.nextInt(greek.length)] + " " + con[rnd.nextInt(con.length)] + ")";
+            stars[i] = rnd.nextBoolean();
+        }
+        names[3] = null;
+
+        String queries[] = new String[nq];
+        for (int i = 0; i < nq; i++) {
+            switch (i % 5) {
+            case 0: queries[i] = "" + (rnd.nextInt(n) + 1); break;
+            case 1: queries[i] = greek[rnd.nextInt(greek.length)] + " " + con[rnd.nextInt(con.length)]; break;
+            case 2: queries[i] = "" + rnd.nextInt(100); break;
+            case 3: queries[i] = con[rnd.nextInt(con.length)].toLowerCase(); break;
+            default: queries[i] = "(" + greek[rnd.nextInt(greek.length)]; break;
+            }
+        }
+
+        long t0 = System.currentTimeMillis();
+        NameIndex index = new NameIndex(names, stars);
+        long t1 = System.currentTimeMillis();
+        System.out.println("Index of " + index.size() + " names built in " + (t1 - t0) + " ms");
+
+        int results[] = new int[nq];
+        t0 = System.currentTimeMillis();
+        for (int i = 0; i < nq; i++) {
+            results[i] = index.search(queries[i]);
+        }
+        t1 = System.currentTimeMillis();
+        System.out.println("Indexed search: " + (t1 - t0) + " ms");
+
+        t0 = System.currentTimeMillis();
+        int errors = 0;
+        for (int i = 0; i < nq; i++) {
+            String object = queries[i];
+            int found = -1, count = 0;
+            for (int j = 0; j < n; j++) {
+                String name = names[j];
+                if (name == null) continue;
+                if (name.equals(object) || (stars[j] && name.indexOf("(" + object + ")") >= 0)) {
+                    found = j;
+                    count++;
+                    break;
+                } else {
+                    if (name.toLowerCase().indexOf(object.toLowerCase()) >= 0) {
+                        found = j;
+                        count++;
+                    }
+                }
+            }
+            if (found != results[i] || count != index.searchAll(object).length) errors++;
+        }
+        t1 = System.currentTimeMillis();
+        System.out.println("Full scan: " + (t1 - t0) + " ms");
+        System.out.println("Differences with the full scan: " + errors);
+    }
+}
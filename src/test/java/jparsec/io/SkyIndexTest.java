@@ -0,0 +1,88 @@
+package jparsec.io;
+
+import java.util.Random;
+
+import jparsec.math.Constant;
+import jparsec.observer.LocationElement;
+import jparsec.util.JPARSECException;
+
+public class SkyIndexTest {
+    /**
+     * For unit testing only.
+     *
+     * @param args Not used.
+     */
+    public static void main(String args[]) {
+        System.out.println("SkyIndex test");
+
+        try {
+            int n = 300000, nq = 200;
+            double radius = 0.5 * Constant.DEG_TO_RAD;
+            Random rnd = new Random(1);
+            double ra[] = new double[n], dec[] = new double[n];
+            LocationElement loc[] = new LocationElement[n];
+            for (int i = 0; i < n; i++) {
+                ra[i] = rnd.nextDouble() * Constant.TWO_PI;
+                dec[i] = Math.asin(2.0 * rnd.nextDouble() - 1.0);
+                loc[i] = new LocationElement(ra[i], dec[i], 1.0);
+            }
+            // Include the poles and the origin of right ascension
+            ra[0] = 0.0;
+            dec[0] = Constant.PI_OVER_TWO;
+            loc[0] = new LocationElement(ra[0], dec[0], 1.0);
+            ra[1] = Constant.TWO_PI - 1.0E-6;
+            dec[1] = 0.0;
+            loc[1] = new LocationElement(ra[1], dec[1], 1.0);
+
+            long t0 = System.currentTimeMillis();
+            SkyIndex index = new SkyIndex(ra, dec, Constant.DEG_TO_RAD);
+            long t1 = System.currentTimeMillis();
+            System.out.println("Index of " + index.size() + " objects in " + index.getNumberOfCells() + " cells built in " + (t1 - t0) + " ms");
+
+            double qra[] = new double[nq], qdec[] = new double[nq];
+            for (int i = 0; i < nq; i++) {
+                qra[i] = rnd.nextDouble() * Constant.TWO_PI;
+                qdec[i] = Math.asin(2.0 * rnd.nextDouble() - 1.0);
+            }
+            qra[0] = 1.0E-7;
+            qdec[0] = 0.0;
+            qra[1] = 2.0;
+            qdec[1] = Constant.PI_OVER_TWO - 0.1 * Constant.DEG_TO_RAD;
+
+            t0 = System.currentTimeMillis();
+            int found = 0;
+            int results[][] = new int[nq][];
+            for (int i = 0; i < nq; i++) {
+                results[i] = index.search(qra[i], qdec[i], radius);
+                found += results[i].length;
+            }
+            t1 = System.currentTimeMillis();
+            System.out.println("Indexed search: " + found + " objects found in " + (t1 - t0) + " ms");
+
+            t0 = System.currentTimeMillis();
+            int errors = 0;
+            for (int i = 0; i < nq; i++) {
+                LocationElement q = new LocationElement(qra[i], qdec[i], 1.0);
+                int count = 0, closest = -1;
+                double minDist = -1;
+                for (int j = 0; j < n; j++) {
+                    double d = LocationElement.getAngularDistance(q, loc[j]);
+                    if (d < radius) {
+                        count++;
+                        if (d < minDist || minDist == -1) {
+                            closest = j;
+                            minDist = d;
+                        }
+                    }
+                }
+                if (count != results[i].length || (count > 0 && results[i][0] != closest)
+                        || index.searchClosest(qra[i], qdec[i], radius) != closest) errors++;
+            }
+            t1 = System.currentTimeMillis();
+            System.out.println("Full scan: " + (t1 - t0) + " ms");
+            System.out.println("Differences with the full scan: " + errors);
+        } catch (JPARSECException e) {
+            JPARSECException.showException(e);
+        }
+    }
+}
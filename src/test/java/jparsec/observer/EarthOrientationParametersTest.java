@@ -44,6 +44,18 @@ public class EarthOrientationParametersTest {
             System.out.println("Last  date: " + EarthOrientationParameters.lastEOPRecordDate(eph).toString());
             System.out.println("LOD=" + EarthOrientationParameters.getLOD(d, eph));
 
+            // Multi-decade run: the file is read only once, the rest are table lookups
+            long t0 = System.currentTimeMillis();
+            int n = 0;
+            double sum = 0;
+            for (double jd = new AstroDate(1970, 1, 1).jd(); jd < new AstroDate(2010, 1, 1).jd(); jd += 0.3) {
+                eop = EarthOrientationParameters.obtainEOP(jd, eph);
+                sum += eop[4];
+                n++;
+            }
+            long t1 = System.currentTimeMillis();
+            System.out.println(n + " EOP evaluations in " + (t1 - t0) + " ms (mean UT1-UTC " + (sum / n) + " s)");
+
             // EOP prediction test
             double jd = new AstroDate().jd() + 9.5;
             System.out.println(jd + "/" + (jd - Constant.JD_MINUS_MJD));
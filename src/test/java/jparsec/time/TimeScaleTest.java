@@ -120,6 +120,88 @@ public class TimeScaleTest {
             System.out.println("JD TDB: " + JD);
             // So there is a numerical error in the millisecond level
 
+            // Conversion of many dates without creating objects, compared to the conversion with TimeElement
+            int n = 100000;
+            double jd0 = 2451545.0, step = 0.37, maxDif = 0.0, jd = 0.0;
+            long t0 = System.currentTimeMillis();
+            for (int i = 0; i < n; i++) {
+                TimeElement t = new TimeElement(jd0 + i * step, TimeElement.SCALE.UNIVERSAL_TIME_UTC);
+                jd = TimeScale.getJD(t, observer, eph, TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+            }
+            long t1 = System.currentTimeMillis();
+            for (int i = 0; i < n; i++) {
+                jd = TimeScale.getJD(jd0 + i * step, TimeElement.SCALE.UNIVERSAL_TIME_UTC, observer, eph, TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME);
+            }
+            long t2 = System.currentTimeMillis();
+            System.out.println("UTC -> TDB for " + n + " dates: " + (t1 - t0) + " ms with TimeElement, " + (t2 - t1) + " ms with Julian days");
+
+            // Conversions compared to the values of the implementation based on AstroDate objects, without EOP.
+            // Each row is the input JD, the index of the input scale, and the JDs in UT1, UTC, TT, TDB, and LT
+            EphemerisElement ephNoEOP = eph.clone();
+            ephNoEOP.correctForEOP = false;
+            TimeElement.SCALE inScales[] = new TimeElement.SCALE[] {TimeElement.SCALE.UNIVERSAL_TIME_UTC,
+                    TimeElement.SCALE.LOCAL_TIME, TimeElement.SCALE.TERRESTRIAL_TIME};
+            TimeElement.SCALE outScales[] = new TimeElement.SCALE[] {TimeElement.SCALE.UNIVERSAL_TIME_UT1,
+                    TimeElement.SCALE.UNIVERSAL_TIME_UTC, TimeElement.SCALE.TERRESTRIAL_TIME,
+                    TimeElement.SCALE.BARYCENTRIC_DYNAMICAL_TIME, TimeElement.SCALE.LOCAL_TIME};
+            double expected[][] = new double[][] {
+                // 1800-01-01 12h
+                {2378497.0, 0, 2378497.0, 2378497.0, 2378497.00014223, 2378497.0001422307, 2378497.0416666665},
+                {2378497.0, 1, 2378496.9583333335, 2378496.9583333335, 2378496.958475564, 2378496.9584755646, 2378497.0},
+                {2378497.0, 2, 2378496.99985777, 2378496.99985777, 2378497.0, 2378497.0000000005, 2378497.0415244363},
+                // 1900-06-15 0h
+                {2415185.5, 0, 2415185.5, 2415185.5, 2415185.4999747453, 2415185.4999747514, 2415185.5416666665},
+                {2415185.5, 1, 2415185.4583333335, 2415185.4583333335, 2415185.458308077, 2415185.458308083, 2415185.5},
+                {2415185.5, 2, 2415185.5000252547, 2415185.5000252547, 2415185.5, 2415185.500000006, 2415185.541691921},
+                // 1962-03-01 6h, UTC with drift from TAI
+                {2437724.75, 0, 2437724.75, 2437724.75, 2437724.7503943155, 2437724.7503943318, 2437724.7916666665},
+                {2437724.75, 1, 2437724.7083333335, 2437724.7083333335, 2437724.7087276485, 2437724.708727665, 2437724.75},
+                {2437724.75, 2, 2437724.7496056845, 2437724.7496056845, 2437724.75, 2437724.7500000163, 2437724.791272351},
+                // 1968-02-01 0h, UTC with drift from TAI
+                {2439887.5, 0, 2439887.5, 2439887.5, 2439887.500444056, 2439887.5004440653, 2439887.5416666665},
+                {2439887.5, 1, 2439887.4583333335, 2439887.4583333335, 2439887.458777388, 2439887.4587773974, 2439887.5},
+                {2439887.5, 2, 2439887.499555944, 2439887.499555944, 2439887.5, 2439887.5000000093, 2439887.5412226105},
+                // 1971-12-31 23h
+                {2441317.4583333335, 0, 2441317.4583333335, 2441317.4583333335, 2441317.45882207, 2441317.458822069, 2441317.5},
+                {2441317.4583333335, 1, 2441317.416666667, 2441317.416666667, 2441317.4171554022, 2441317.4171554013, 2441317.4583333335},
+                {2441317.4583333335, 2, 2441317.457844597, 2441317.457844597, 2441317.4583333335, 2441317.4583333326, 2441317.4995112633},
+                // 2000-01-01 12h
+                {2451545.0, 0, 2451545.0, 2451545.0, 2451545.0007387614, 2451545.0007387605, 2451545.0416666665},
+                {2451545.0, 1, 2451544.9583333335, 2451544.9583333335, 2451544.9590720944, 2451544.9590720935, 2451545.0},
+                {2451545.0, 2, 2451544.9992612386, 2451544.9992612386, 2451545.0, 2451544.999999999, 2451545.040927905},
+                // 2013-03-31 0:45h, before the start of DST
+                {2456382.53125, 0, 2456382.53125, 2456382.53125, 2456382.5320257433, 2456382.5320257624, 2456382.5729166665},
+                {2456382.53125, 1, 2456382.4895833335, 2456382.4895833335, 2456382.4903590754, 2456382.4903590945, 2456382.53125},
+                {2456382.53125, 2, 2456382.530474257, 2456382.530474257, 2456382.53125, 2456382.531250019, 2456382.5721409237},
+                // 2013-07-15 12h, DST
+                {2456489.0, 0, 2456489.0, 2456489.0, 2456489.000776966, 2456489.000776963, 2456489.0833333335},
+                {2456489.0, 1, 2456488.9166666665, 2456488.9166666665, 2456488.9174436326, 2456488.9174436294, 2456489.0},
+                {2456489.0, 2, 2456488.999223034, 2456488.999223034, 2456489.0, 2456488.9999999967, 2456489.0825563674},
+                // 2013-10-27 0:30h, before the end of DST
+                {2456592.5208333335, 0, 2456592.5208333335, 2456592.5208333335, 2456592.521611144, 2456592.521611126, 2456592.604166667},
+                {2456592.5208333335, 1, 2456592.4375, 2456592.4375, 2456592.4382778094, 2456592.4382777917, 2456592.5208333335},
+                {2456592.5208333335, 2, 2456592.520055523, 2456592.520055523, 2456592.5208333335, 2456592.520833316, 2456592.6033888566},
+                // 2016-12-31 23:54h, before a leap second
+                {2457754.495833333, 0, 2457754.495833333, 2457754.495833333, 2457754.49662723, 2457754.4966272297, 2457754.5374999996},
+                {2457754.495833333, 1, 2457754.4541666666, 2457754.4541666666, 2457754.4549605628, 2457754.4549605623, 2457754.495833333},
+                {2457754.495833333, 2, 2457754.495039436, 2457754.495039436, 2457754.495833333, 2457754.4958333327, 2457754.536706103},
+                // 2050-07-01 18h, extrapolated TT-UT1
+                {2469989.25, 0, 2469989.25, 2469989.25, 2469989.2510868087, 2469989.2510868097, 2469989.3333333335},
+                {2469989.25, 1, 2469989.1666666665, 2469989.1666666665, 2469989.1677534753, 2469989.1677534766, 2469989.25},
+                {2469989.25, 2, 2469989.2489131913, 2469989.2489131913, 2469989.25, 2469989.250000001, 2469989.3322465247}
+            };
+            for (int i = 0; i < expected.length; i++) {
+                TimeElement.SCALE inScale = inScales[(int) expected[i][1]];
+                for (int j = 0; j < outScales.length; j++) {
+                    double jdE = TimeScale.getJD(new TimeElement(expected[i][0], inScale), observer, ephNoEOP, outScales[j]);
+                    double jdD = TimeScale.getJD(expected[i][0], inScale, observer, ephNoEOP, outScales[j]);
+                    double dif = Math.max(Math.abs(jdE - expected[i][j + 2]), Math.abs(jdD - expected[i][j + 2]));
+                    if (dif > maxDif) maxDif = dif;
+                }
+            }
+            System.out.println("Max difference with expected JDs: " + maxDif * 86400.0 + " s");
+            if (maxDif * 86400.0 > 1.0E-3) throw new JPARSECException("time scale conversions differ from the expected values.");
+
             System.out.println("TABLE dT (s) as year");
             ArrayList<Double> x = new ArrayList<Double>();
             ArrayList<Double> y = new ArrayList<Double>();